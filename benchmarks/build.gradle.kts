@@ -0,0 +1,34 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+// 실행: ./gradlew :benchmarks:jmh
+// 특정 벤치마크만: ./gradlew :benchmarks:jmh -Pjmh.includes=ResilienceOverhead
+// 결과: benchmarks/build/results/jmh/results.json (gc 프로파일러의 gc.alloc.rate.norm 포함)
+dependencies {
+    jmh(project(":caller"))
+    jmh(project(":common"))
+
+    // caller 의 implementation 의존성은 컴파일 클래스패스로 전이되지 않으므로 벤치마크에서 직접 쓰는 것만 명시한다.
+    jmh("org.springframework.boot:spring-boot-starter")
+    jmh("org.springframework.cloud:spring-cloud-starter-openfeign")
+    jmh("org.springframework.cloud:spring-cloud-starter-circuitbreaker-resilience4j")
+    jmh("org.springframework.boot:spring-boot-starter-json")
+    jmh("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    jmh("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+}
+
+// 실행 가능한 애플리케이션이 아니므로 bootJar 는 만들지 않는다.
+tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
+    enabled = false
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
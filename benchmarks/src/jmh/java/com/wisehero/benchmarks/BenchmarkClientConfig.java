@@ -0,0 +1,29 @@
+package com.wisehero.benchmarks;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.wisehero.caller.infra.client.CalleeV1Client;
+
+/**
+ * caller 컨텍스트의 Feign CalleeV1Client 를 StubCalleeV1Client 로 바꿔 끼운다.
+ *
+ * Feign 클라이언트 빈은 primary 로 등록되므로 @Primary 스텁을 하나 더 두는 대신
+ * 만들어진 Feign 프록시를 후처리 단계에서 교체한다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BenchmarkClientConfig {
+
+	static final StubCalleeV1Client STUB = new StubCalleeV1Client();
+
+	@Bean
+	public static BeanPostProcessor stubCalleeV1Client() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean instanceof CalleeV1Client && !(bean instanceof StubCalleeV1Client) ? STUB : bean;
+			}
+		};
+	}
+}
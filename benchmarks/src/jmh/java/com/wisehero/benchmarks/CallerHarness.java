@@ -0,0 +1,65 @@
+package com.wisehero.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.wisehero.caller.CallerApplication;
+import com.wisehero.caller.infra.resilience.CalleeResiliencePolicies;
+import com.wisehero.caller.service.CalleeApiService;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * 웹 서버 없이 caller 컨텍스트를 띄워 AOP 프록시가 적용된 CalleeApiService 를 꺼내준다.
+ *
+ * - 로그 출력은 끈다. (호출마다 남기는 INFO/ERROR 로그가 데코레이터 비용을 덮어버리므로)
+ * - 재시도 대기 시간은 0 으로 둔다. (500ms 대기를 재는 벤치마크가 되지 않도록)
+ * - 실패율 기준을 100% 로 올려서 재시도 벤치마크 도중 서킷이 열리지 않게 한다.
+ * - 재시도 예산은 끈다. stub 은 Feign 을 거치지 않아 토큰이 쌓이지 않으므로 곧 재시도가 막히기 때문
+ */
+final class CallerHarness implements AutoCloseable {
+
+	private static final List<String> DEFAULT_ARGS = List.of(
+		"--logging.level.root=OFF",
+		"--callee.retry.wait-duration=0ms",
+		"--callee.retry.budget.enabled=false",
+		"--resilience4j.circuitbreaker.configs.callee-client-v1.failureRateThreshold=100"
+	);
+
+	private final ConfigurableApplicationContext context;
+	final CalleeApiService service;
+	final StubCalleeV1Client stub;
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+	private CallerHarness(ConfigurableApplicationContext context) {
+		this.context = context;
+		this.service = context.getBean(CalleeApiService.class);
+		this.stub = BenchmarkClientConfig.STUB;
+		this.circuitBreakerRegistry = context.getBean(CircuitBreakerRegistry.class);
+	}
+
+	/** CalleeV1Client 메서드별 서킷 (callee-client-v1-{메서드명}) */
+	CircuitBreaker circuitBreaker(String method) {
+		return circuitBreakerRegistry.circuitBreaker(CalleeResiliencePolicies.instanceName(method));
+	}
+
+	static CallerHarness start(String... extraArgs) {
+		List<String> args = new ArrayList<>(DEFAULT_ARGS);
+		args.addAll(List.of(extraArgs));
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(CallerApplication.class,
+			BenchmarkClientConfig.class)
+			.web(WebApplicationType.NONE)
+			.run(args.toArray(String[]::new));
+		return new CallerHarness(context);
+	}
+
+	@Override
+	public void close() {
+		context.close();
+	}
+}
@@ -0,0 +1,90 @@
+package com.wisehero.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.api.v1.CircuitTestResponse;
+import com.wisehero.caller.config.CalleeCodecProperties.Format;
+import com.wisehero.caller.infra.client.HelloResponse;
+
+/**
+ * caller ↔ callee 본문 형식 비교: JSON vs Smile vs CBOR (callee.codec.format)
+ *
+ * - serialize*: callee 가 응답을 쓰는 비용
+ * - deserialize*: caller 가 응답을 읽는 비용 (CalleeV1Client 의 반환 타입 그대로)
+ *
+ * 본문 크기(bytes)는 시작할 때 형식별로 한 줄씩 출력한다. gc.alloc.rate.norm (B/op) 으로 할당량도 같이 본다.
+ * 실행: ./gradlew :benchmarks:jmh -Pjmh.includes=Codec
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+	private static final ApiResponse<HelloResponse> HELLO =
+		ApiResponse.success(new HelloResponse("Hello from Callee!", 1_735_689_600_000L));
+	private static final ApiResponse<CircuitTestResponse> CIRCUIT_TEST =
+		ApiResponse.success(new CircuitTestResponse(9, 8, "성공 (9/8) - 서킷 회복 테스트", 1_735_689_600_000L));
+
+	@Param({"JSON", "SMILE", "CBOR"})
+	public Format format;
+
+	private ObjectMapper mapper;
+	private JavaType helloType;
+	private JavaType circuitTestType;
+	private byte[] helloBytes;
+	private byte[] circuitTestBytes;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		// 애플리케이션과 같은 설정의 ObjectMapper 에서 JsonFactory 만 바꾼다. (FeignClientConfig, callee WebConfig)
+		ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+		mapper = switch (format) {
+			case JSON -> json;
+			case SMILE -> json.copyWith(new SmileFactory());
+			case CBOR -> json.copyWith(new CBORFactory());
+		};
+		helloType = mapper.getTypeFactory().constructParametricType(ApiResponse.class, HelloResponse.class);
+		circuitTestType = mapper.getTypeFactory().constructParametricType(ApiResponse.class, CircuitTestResponse.class);
+		helloBytes = mapper.writeValueAsBytes(HELLO);
+		circuitTestBytes = mapper.writeValueAsBytes(CIRCUIT_TEST);
+		System.out.printf("%n[%s] payload bytes - hello: %d, circuitTest: %d%n", format, helloBytes.length,
+			circuitTestBytes.length);
+	}
+
+	@Benchmark
+	public byte[] serializeHello() throws IOException {
+		return mapper.writeValueAsBytes(HELLO);
+	}
+
+	@Benchmark
+	public ApiResponse<HelloResponse> deserializeHello() throws IOException {
+		return mapper.readValue(helloBytes, helloType);
+	}
+
+	@Benchmark
+	public byte[] serializeCircuitTest() throws IOException {
+		return mapper.writeValueAsBytes(CIRCUIT_TEST);
+	}
+
+	@Benchmark
+	public ApiResponse<CircuitTestResponse> deserializeCircuitTest() throws IOException {
+		return mapper.readValue(circuitTestBytes, circuitTestType);
+	}
+}
@@ -0,0 +1,129 @@
+package com.wisehero.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.api.CannedResponses;
+import com.wisehero.caller.support.CoreException;
+import com.wisehero.caller.support.ErrorType;
+import com.wisehero.common.web.CannedResponseHttpMessageConverter;
+
+/**
+ * 실패 응답을 HTTP 본문으로 쓰는 비용 비교: 매번 직렬화(기존) vs 미리 직렬화한 본문(CannedResponses)
+ *
+ * - defaultMessage*: ErrorType 기본 메시지 응답. 기존은 ApiResponse 를 만들고 Jackson 으로 직렬화, canned 는 미리 만든 본문을 그대로 쓴다.
+ * - dynamicMessage*: 요청마다 다른 메시지. 기존은 Pattern.compile + String.format, lean 은 미리 컴파일한 Pattern + 문자열 연결
+ *   (직렬화는 둘 다 Jackson)
+ * - exception*: 실패를 알리는 예외 생성 비용. 스택 트레이스를 채우는 예외(기존) vs CoreException(writableStackTrace=false)
+ *
+ * 본문은 재사용하는 ByteArrayOutputStream 에 쓴다. gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 할당량도 같이 본다.
+ * 실행: ./gradlew :benchmarks:jmh -Pjmh.includes=ErrorResponse
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ErrorResponseBenchmark {
+
+	private static final Pattern QUOTED = Pattern.compile("'(.+?)'");
+	private static final String REASON =
+		"Required request parameter 'id' for method parameter type Long is not present";
+
+	private MappingJackson2HttpMessageConverter jackson;
+	private CannedResponseHttpMessageConverter canned;
+	private BufferedOutputMessage message;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+		canned = new CannedResponseHttpMessageConverter(objectMapper);
+		canned.afterSingletonsInstantiated();
+		message = new BufferedOutputMessage();
+	}
+
+	@Benchmark
+	public int defaultMessageJackson() throws IOException {
+		ErrorType errorType = ErrorType.INTERNAL_ERROR;
+		jackson.write(ApiResponse.fail(errorType.getCode(), errorType.getMessage()), MediaType.APPLICATION_JSON,
+			message.reset());
+		return message.body.size();
+	}
+
+	@Benchmark
+	public int defaultMessageCanned() throws IOException {
+		canned.write(CannedResponses.failure(ErrorType.INTERNAL_ERROR), MediaType.APPLICATION_JSON, message.reset());
+		return message.body.size();
+	}
+
+	@Benchmark
+	public int dynamicMessageFormat() throws IOException {
+		Matcher matcher = Pattern.compile("'(.+?)'").matcher(REASON);
+		String missing = matcher.find() ? matcher.group(1) : "";
+		String errorMessage = String.format("필수 요청 값 '%s'가 누락되었습니다.", missing);
+		jackson.write(ApiResponse.fail(ErrorType.BAD_REQUEST.getCode(), errorMessage), MediaType.APPLICATION_JSON,
+			message.reset());
+		return message.body.size();
+	}
+
+	@Benchmark
+	public int dynamicMessageLean() throws IOException {
+		Matcher matcher = QUOTED.matcher(REASON);
+		String missing = matcher.find() ? matcher.group(1) : "";
+		String errorMessage = "필수 요청 값 '" + missing + "'가 누락되었습니다.";
+		canned.write(ApiResponse.fail(ErrorType.BAD_REQUEST.getCode(), errorMessage), MediaType.APPLICATION_JSON,
+			message.reset());
+		return message.body.size();
+	}
+
+	@Benchmark
+	public RuntimeException exceptionWithStackTrace() {
+		return new RuntimeException(ErrorType.INTERNAL_ERROR.getMessage());
+	}
+
+	@Benchmark
+	public RuntimeException exceptionStackless() {
+		return new CoreException(ErrorType.INTERNAL_ERROR);
+	}
+
+	private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+		private HttpHeaders headers;
+
+		BufferedOutputMessage reset() {
+			body.reset();
+			headers = new HttpHeaders();
+			return this;
+		}
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+}
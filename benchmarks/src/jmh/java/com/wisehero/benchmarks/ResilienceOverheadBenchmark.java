@@ -0,0 +1,147 @@
+package com.wisehero.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.wisehero.benchmarks.StubCalleeV1Client.Behavior;
+import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.infra.client.HelloResponse;
+
+/**
+ * CalleeApiService 의 @CircuitBreaker / @Retry AOP 데코레이터 비용 측정
+ *
+ * - direct: 데코레이터 없이 CalleeV1Client(스텁) 직접 호출 (기준선)
+ * - closed / open / halfOpen: 서킷 상태별 callHello() 비용 (open 은 CallNotPermittedException + fallback)
+ * - retryWithoutFailure / retryAfterOneFailure: call503Error() 의 재시도 경로 (대기 시간 0)
+ * - fallback: 서킷은 닫힌 채로 호출이 실패해서 fallback 이 실행되는 call500Error() 경로
+ *
+ * gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 호출당 할당량을 함께 본다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResilienceOverheadBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Closed {
+		CallerHarness harness;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			harness = CallerHarness.start();
+			harness.stub.behave(Behavior.SUCCEED);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			harness.close();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Open {
+		CallerHarness harness;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			// waitDurationInOpenState(20s) 가 지나 HALF_OPEN 으로 넘어가지 않도록 측정 내내 강제로 열어둔다.
+			harness = CallerHarness.start();
+			harness.stub.behave(Behavior.SUCCEED);
+			harness.circuitBreaker("hello").transitionToForcedOpenState();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			harness.close();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Retrying {
+		CallerHarness harness;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			harness = CallerHarness.start();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			harness.close();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Failing {
+		CallerHarness harness;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			// 실패가 쌓여도 서킷이 열리지 않도록 DISABLED 로 두고 fallback 경로만 잰다.
+			harness = CallerHarness.start();
+			harness.stub.behave(Behavior.FAIL);
+			harness.circuitBreaker("error500").transitionToDisabledState();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			harness.close();
+		}
+	}
+
+	@Benchmark
+	public ApiResponse<HelloResponse> direct(Closed state) {
+		return state.harness.stub.hello();
+	}
+
+	@Benchmark
+	public ApiResponse<HelloResponse> closed(Closed state) {
+		return state.harness.service.callHello();
+	}
+
+	@Benchmark
+	public ApiResponse<HelloResponse> open(Open state) {
+		return state.harness.service.callHello();
+	}
+
+	/**
+	 * HALF_OPEN 은 permittedNumberOfCallsInHalfOpenState(3) 번 호출하면 CLOSED 로 돌아가므로
+	 * OPEN → HALF_OPEN 전환과 허용된 3번의 호출을 한 묶음으로 재고 호출 1번당 비용으로 나눈다.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(3)
+	public void halfOpen(Closed state, Blackhole blackhole) {
+		state.harness.circuitBreaker("hello").transitionToOpenState();
+		state.harness.circuitBreaker("hello").transitionToHalfOpenState();
+		blackhole.consume(state.harness.service.callHello());
+		blackhole.consume(state.harness.service.callHello());
+		blackhole.consume(state.harness.service.callHello());
+	}
+
+	@Benchmark
+	public Object retryWithoutFailure(Retrying state) {
+		state.harness.stub.behave(Behavior.SUCCEED);
+		return state.harness.service.call503Error();
+	}
+
+	@Benchmark
+	public Object retryAfterOneFailure(Retrying state) {
+		state.harness.stub.behave(Behavior.FAIL_THEN_SUCCEED);
+		return state.harness.service.call503Error();
+	}
+
+	@Benchmark
+	public Object fallback(Failing state) {
+		return state.harness.service.call500Error();
+	}
+}
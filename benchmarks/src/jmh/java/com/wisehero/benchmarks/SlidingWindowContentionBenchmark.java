@@ -0,0 +1,93 @@
+package com.wisehero.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.wisehero.caller.infra.resilience.StripedSlidingWindow;
+
+import io.github.resilience4j.core.metrics.FixedSizeSlidingWindowMetrics;
+import io.github.resilience4j.core.metrics.Metrics;
+import io.github.resilience4j.core.metrics.Metrics.Outcome;
+import io.github.resilience4j.core.metrics.Snapshot;
+
+/**
+ * CircuitBreaker 슬라이딩 윈도우 경합 비교: FixedSizeSlidingWindowMetrics(기본) vs StripedSlidingWindow
+ *
+ * 각 스레드가 호출 결과(1% 실패)를 같은 윈도우에 기록한다. 기록 뒤 임계치를 보는 방식은 실제 CircuitBreaker 와 같게 맞춘다.
+ * - FIXED: 기본 CircuitBreaker 처럼 매 호출 실패율을 계산한다.
+ * - STRIPED: StripedCircuitBreaker 처럼 실패가 기록될 때만 실패율을 계산한다.
+ *
+ * 스레드 수(8/16/32/64)별로 메서드를 나눴다. 결과는 스레드 전체 처리량(ops/us)
+ * 실행: ./gradlew :benchmarks:jmh -Pjmh.includes=SlidingWindowContention
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SlidingWindowContentionBenchmark {
+
+	public enum Window {
+		FIXED, STRIPED
+	}
+
+	@Param({"FIXED", "STRIPED"})
+	Window window;
+
+	@Param({"100", "1000"})
+	int windowSize;
+
+	private Metrics metrics;
+	private boolean evaluateEveryCall;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		metrics = switch (window) {
+			case FIXED -> new FixedSizeSlidingWindowMetrics(windowSize);
+			case STRIPED -> new StripedSlidingWindow(windowSize);
+		};
+		evaluateEveryCall = window == Window.FIXED;
+	}
+
+	@Benchmark
+	@Threads(8)
+	public float threads08() {
+		return recordCall();
+	}
+
+	@Benchmark
+	@Threads(16)
+	public float threads16() {
+		return recordCall();
+	}
+
+	@Benchmark
+	@Threads(32)
+	public float threads32() {
+		return recordCall();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public float threads64() {
+		return recordCall();
+	}
+
+	private float recordCall() {
+		Outcome outcome = ThreadLocalRandom.current().nextInt(100) == 0 ? Outcome.ERROR : Outcome.SUCCESS;
+		Snapshot snapshot = metrics.record(1_000, TimeUnit.NANOSECONDS, outcome);
+		if (evaluateEveryCall || outcome != Outcome.SUCCESS) {
+			return snapshot.getFailureRate();
+		}
+		return 0;
+	}
+}
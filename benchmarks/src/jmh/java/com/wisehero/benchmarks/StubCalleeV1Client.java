@@ -0,0 +1,108 @@
+package com.wisehero.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.api.v1.CircuitTestResponse;
+import com.wisehero.caller.infra.client.BatchItem;
+import com.wisehero.caller.infra.client.BatchItemResult;
+import com.wisehero.caller.infra.client.CalleeV1Client;
+import com.wisehero.caller.infra.client.HelloResponse;
+
+/**
+ * 네트워크 없이 미리 만들어 둔 응답만 돌려주는 CalleeV1Client
+ *
+ * 벤치마크에서 측정하려는 것은 resilience 데코레이터 비용이므로 callee 호출 자체는 0에 가깝게 만든다.
+ * 실패가 필요한 경로는 스택 트레이스 없는 예외 하나를 재사용해서 예외 생성 비용도 빼낸다.
+ */
+public class StubCalleeV1Client implements CalleeV1Client {
+
+	public enum Behavior {
+		SUCCEED,
+		FAIL,
+		/** 호출마다 실패 → 성공을 번갈아 가며 반환 (재시도 1회 경로) */
+		FAIL_THEN_SUCCEED
+	}
+
+	static final RuntimeException FAILURE = new RuntimeException("stub failure", null, false, false) {
+	};
+
+	private static final ApiResponse<HelloResponse> HELLO = ApiResponse.success(new HelloResponse("Hello From stub", 0L));
+	private static final ApiResponse<CircuitTestResponse> CIRCUIT_TEST = ApiResponse.success(
+		new CircuitTestResponse(0, 0, "stub", 0L));
+	private static final ApiResponse<String> TEXT = ApiResponse.success("stub");
+	private static final ApiResponse<Object> OBJECT = ApiResponse.success();
+	// /batch 항목 결과는 경로와 상관없이 같은 200 본문을 쓴다.
+	private static final BatchItemResult BATCH_ITEM = new BatchItemResult(200, null,
+		new ObjectMapper().<JsonNode>valueToTree(TEXT));
+
+	private final AtomicLong calls = new AtomicLong();
+	private volatile Behavior behavior = Behavior.SUCCEED;
+
+	public void behave(Behavior behavior) {
+		this.behavior = behavior;
+		this.calls.set(0);
+	}
+
+	private <T> T respond(T response) {
+		switch (behavior) {
+			case FAIL -> throw FAILURE;
+			case FAIL_THEN_SUCCEED -> {
+				if ((calls.getAndIncrement() & 1) == 0) {
+					throw FAILURE;
+				}
+			}
+			case SUCCEED -> {
+			}
+		}
+		return response;
+	}
+
+	@Override
+	public ApiResponse<HelloResponse> hello() {
+		return respond(HELLO);
+	}
+
+	@Override
+	public ApiResponse<CircuitTestResponse> circuitTest() {
+		return respond(CIRCUIT_TEST);
+	}
+
+	@Override
+	public ApiResponse<String> slow() {
+		return respond(TEXT);
+	}
+
+	@Override
+	public ApiResponse<Object> error4xx() {
+		return respond(OBJECT);
+	}
+
+	@Override
+	public ApiResponse<Object> error500() {
+		return respond(OBJECT);
+	}
+
+	@Override
+	public ApiResponse<Object> error503() {
+		return respond(OBJECT);
+	}
+
+	@Override
+	public ApiResponse<String> randomError() {
+		return respond(TEXT);
+	}
+
+	@Override
+	public ApiResponse<String> timeout(int seconds) {
+		return respond(TEXT);
+	}
+
+	@Override
+	public ApiResponse<List<BatchItemResult>> batch(List<BatchItem> items) {
+		return respond(ApiResponse.success(items.stream().map(item -> BATCH_ITEM).toList()));
+	}
+}
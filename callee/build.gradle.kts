@@ -1,4 +1,20 @@
 dependencies {
+    implementation(project(":common"))
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+    // caller 가 Accept 로 요청하면 Smile / CBOR 로 응답한다.
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+
+    // 클라이언트별 요청 한도 상태 (ClientRateLimiter)
+    implementation("com.github.ben-manes.caffeine:caffeine")
+}
+
+// ./gradlew :callee:bootRun -PvirtualThreads
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+    if (project.hasProperty("virtualThreads")) {
+        systemProperty("spring.profiles.include", "virtual-threads")
+        jvmArgs("-Djdk.tracePinnedThreads=short")
+    }
 }
@@ -0,0 +1,94 @@
+package com.wisehero.callee.admission;
+
+import java.util.Collection;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tomcat 작업 스레드 풀 대신 쓰는 실행기 (플랫폼 스레드 모드)
+ *
+ * - 작업(요청 처리)을 큐에 넣은 시각을 같이 들고 있다가, 작업 스레드가 꺼낼 때 대기 시간을 AdmissionFilter 에 넘긴다.
+ * - 평소에는 먼저 들어온 작업부터, CoDelAdmission 이 과부하로 판단한 동안에는 최근 작업부터 꺼낸다. (adaptive LIFO)
+ *   오래 기다린 요청은 어차피 target 을 넘겨 503 으로 끝나므로, 아직 기다리는 클라이언트가 있는 요청을 먼저 처리한다.
+ *
+ * 스레드 수는 server.tomcat.threads.max 를 그대로 쓴다.
+ * - callee.admission.queue: 작업 스레드를 기다리는 작업 수
+ */
+public class AdmissionExecutor extends ThreadPoolExecutor {
+
+	private static final ThreadLocal<Long> QUEUE_DELAY = new ThreadLocal<>();
+
+	public AdmissionExecutor(int threads, CoDelAdmission admission, MeterRegistry meterRegistry) {
+		super(threads, threads, 60, TimeUnit.SECONDS, new AdaptiveLifoQueue(admission::overloaded),
+			Thread.ofPlatform().name("callee-exec-", 1).daemon().factory());
+		allowCoreThreadTimeOut(true);
+		Gauge.builder("callee.admission.queue", getQueue(), Collection::size)
+			.description("Tomcat 작업 스레드를 기다리는 작업 수")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		super.execute(new Queued(command, System.nanoTime()));
+	}
+
+	/**
+	 * 지금 스레드가 처리 중인 작업이 큐에서 기다린 시간. 한 번 읽으면 지운다.
+	 * keep-alive 연결에서 같은 작업이 다음 요청까지 이어서 처리할 때 같은 값을 다시 쓰지 않도록 하기 위함
+	 *
+	 * @return 이 실행기의 작업이 아니거나 이미 읽었으면 -1
+	 */
+	public static long takeQueueDelayNanos() {
+		Long delay = QUEUE_DELAY.get();
+		if (delay == null) {
+			return -1;
+		}
+		QUEUE_DELAY.remove();
+		return delay;
+	}
+
+	private record Queued(Runnable task, long enqueuedNanos) implements Runnable {
+
+		@Override
+		public void run() {
+			QUEUE_DELAY.set(System.nanoTime() - enqueuedNanos);
+			try {
+				task.run();
+			} finally {
+				QUEUE_DELAY.remove();
+			}
+		}
+	}
+
+	/**
+	 * 넣을 때는 항상 뒤에 넣고, 꺼낼 때 과부하면 뒤(최근)에서, 아니면 앞(오래된)에서 꺼낸다.
+	 */
+	private static final class AdaptiveLifoQueue extends LinkedBlockingDeque<Runnable> {
+
+		private final transient BooleanSupplier lifo;
+
+		AdaptiveLifoQueue(BooleanSupplier lifo) {
+			this.lifo = lifo;
+		}
+
+		@Override
+		public Runnable take() throws InterruptedException {
+			return lifo.getAsBoolean() ? takeLast() : takeFirst();
+		}
+
+		@Override
+		public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+			return lifo.getAsBoolean() ? pollLast(timeout, unit) : pollFirst(timeout, unit);
+		}
+
+		@Override
+		public Runnable poll() {
+			return lifo.getAsBoolean() ? pollLast() : pollFirst();
+		}
+	}
+}
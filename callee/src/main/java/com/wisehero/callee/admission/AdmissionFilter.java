@@ -0,0 +1,130 @@
+package com.wisehero.callee.admission;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisehero.callee.api.CannedResponses;
+import com.wisehero.callee.config.CalleeAdmissionProperties;
+import com.wisehero.callee.support.ErrorType;
+import com.wisehero.common.web.CannedBodies;
+import com.wisehero.common.web.CannedBody;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * callee API 입구에서 작업 큐 대기 시간을 보고 요청을 받을지 정한다. (CoDelAdmission)
+ *
+ * - 차단할 요청은 컨트롤러, 요청 한도, 장애 주입을 거치지 않고 미리 만들어 둔 503 본문으로 바로 끝낸다.
+ * - 받은 요청은 응답이 끝날 때까지(DeferredResult 대기 포함) 처리 중으로 센다.
+ *
+ * - callee.admission.in-flight: 받아서 아직 응답을 끝내지 않은 요청 수
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+	private static final String API_PREFIX = "/api/v1/callee/";
+
+	private final CalleeAdmissionProperties properties;
+	private final CoDelAdmission admission;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final CannedBody shedBody;
+
+	public AdmissionFilter(CalleeAdmissionProperties properties, CoDelAdmission admission, ObjectMapper objectMapper,
+		MeterRegistry meterRegistry) throws JsonProcessingException {
+		this.properties = properties;
+		this.admission = admission;
+		// 컨트롤러가 내는 503 과 같은 미리 직렬화한 본문을 쓴다.
+		this.shedBody = CannedBodies.bodyOf(CannedResponses.failure(ErrorType.SERVICE_UNAVAILABLE), objectMapper);
+		Gauge.builder("callee.admission.in-flight", inFlight, AtomicInteger::get)
+			.description("받아서 아직 응답을 끝내지 않은 요청 수")
+			.register(meterRegistry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !properties.enabled() || !request.getRequestURI().startsWith(API_PREFIX);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+		throws ServletException, IOException {
+		long queueDelayNanos = AdmissionExecutor.takeQueueDelayNanos();
+		if (queueDelayNanos >= 0 && !admission.admit(queueDelayNanos)) {
+			log.debug("요청 차단 - uri: {}, queueDelay: {}ms, inFlight: {}", request.getRequestURI(),
+				queueDelayNanos / 1_000_000, inFlight.get());
+			shed(response);
+			return;
+		}
+
+		inFlight.incrementAndGet();
+		boolean async = false;
+		try {
+			chain.doFilter(request, response);
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new ReleaseOnCompletion());
+				async = true;
+			}
+		} finally {
+			if (!async) {
+				inFlight.decrementAndGet();
+			}
+		}
+	}
+
+	private void shed(HttpServletResponse response) throws IOException {
+		response.setStatus(ErrorType.SERVICE_UNAVAILABLE.getStatus().value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(shedBody.length());
+		shedBody.writeTo(response.getOutputStream());
+	}
+
+	// 타임아웃/오류 뒤에도 onComplete 가 오므로 한 번만 줄인다.
+	private final class ReleaseOnCompletion implements AsyncListener {
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				inFlight.decrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.wisehero.callee.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.callee.config.CalleeAdmissionProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 작업 큐 대기 시간으로 요청을 받을지 정한다. (CoDel 방식)
+ *
+ * 과부하 상태에서 callee 가 모든 요청을 받으면, 큐에서 오래 기다린 요청은 caller 가 이미 read-timeout(3s)으로
+ * 포기한 뒤에야 처리된다. 아무도 읽지 않을 응답에 CPU 를 쓰는 동안 새 요청도 같이 늦어져서 처리량이 무너진다.
+ *
+ * - interval 마다 그 구간의 최소 대기 시간을 본다. 최소값도 target 을 넘었다면 큐가 한 번도 비지 않은 것이므로 과부하로 본다.
+ *   (잠깐 몰린 요청은 큐가 금방 비어서 최소값이 작다)
+ * - 평소에는 interval 보다 오래 기다린 요청만, 과부하일 때는 target 보다 오래 기다린 요청을 바로 503 으로 끝낸다.
+ * - 과부하인 동안 작업 큐는 최근 요청부터 꺼낸다. (AdmissionExecutor) 오래 기다린 요청은 이미 포기됐을 가능성이 크다.
+ *
+ * 메트릭
+ * - callee.admission.queue-delay: 작업 큐 대기 시간
+ * - callee.admission.shed: 대기 시간 때문에 503 으로 끝낸 요청 수
+ * - callee.admission.overloaded: 과부하 판단 여부 (1/0)
+ */
+@Component
+public class CoDelAdmission {
+
+	private final long targetNanos;
+	private final long intervalNanos;
+	private final LongSupplier clock;
+
+	private final AtomicLong intervalEnd;
+	private final AtomicLong minDelay = new AtomicLong(Long.MAX_VALUE);
+	private volatile boolean overloaded;
+
+	private final Timer queueDelay;
+	private final Counter shed;
+
+	@Autowired
+	public CoDelAdmission(CalleeAdmissionProperties properties, MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, System::nanoTime);
+	}
+
+	CoDelAdmission(CalleeAdmissionProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+		this.targetNanos = properties.target().toNanos();
+		this.intervalNanos = properties.interval().toNanos();
+		this.clock = clock;
+		this.intervalEnd = new AtomicLong(clock.getAsLong() + intervalNanos);
+		this.queueDelay = Timer.builder("callee.admission.queue-delay")
+			.description("Tomcat 작업 큐에서 기다린 시간")
+			.register(meterRegistry);
+		this.shed = Counter.builder("callee.admission.shed")
+			.description("작업 큐 대기 시간이 길어 503 으로 끝낸 요청 수")
+			.register(meterRegistry);
+		Gauge.builder("callee.admission.overloaded", this, admission -> admission.overloaded ? 1 : 0)
+			.description("작업 큐 대기 시간 기준 과부하 여부")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * @return 처리해도 되면 true, 503 으로 끝내야 하면 false
+	 */
+	public boolean admit(long queueDelayNanos) {
+		long now = clock.getAsLong();
+		long end = intervalEnd.get();
+		if (now - end >= 0 && intervalEnd.compareAndSet(end, now + intervalNanos)) {
+			long min = minDelay.getAndSet(Long.MAX_VALUE);
+			// 구간 동안 요청이 없었다면 (min == MAX) 과부하가 아니다.
+			overloaded = min != Long.MAX_VALUE && min > targetNanos;
+		}
+		minDelay.accumulateAndGet(queueDelayNanos, Math::min);
+		queueDelay.record(queueDelayNanos, TimeUnit.NANOSECONDS);
+
+		if (queueDelayNanos > (overloaded ? targetNanos : intervalNanos)) {
+			shed.increment();
+			return false;
+		}
+		return true;
+	}
+
+	public boolean overloaded() {
+		return overloaded;
+	}
+}
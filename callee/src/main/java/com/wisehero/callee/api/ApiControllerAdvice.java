@@ -5,6 +5,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -19,6 +20,7 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.wisehero.callee.support.CoreException;
 import com.wisehero.callee.support.ErrorType;
+import com.wisehero.callee.support.RateLimitedException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,18 +28,37 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ApiControllerAdvice {
 
+	public static final String RETRY_AFTER_MS = "retry-after-ms";
+
+	private static final Pattern QUOTED = Pattern.compile("'(.+?)'");
+	private static final ApiResponse<Object> UNREADABLE_BODY = CannedResponses.register(ApiResponse.fail(
+		ErrorType.BAD_REQUEST.getCode(), "요청 본문을 처리하는 중 오류가 발생했습니다. JSON 메세지 규격을 확인해주세요."));
+
 	@ExceptionHandler
 	public ResponseEntity<ApiResponse<?>> handle(CoreException e) {
-		log.warn("CoreException : {}", e.getCustomMessage() != null ? e.getCustomMessage() : e.getMessage(), e);
+		// 의도한 실패라 스택 트레이스는 남기지 않는다. (CoreException 도 스택을 만들지 않는다)
+		log.warn("CoreException : {} - {}", e.getErrorType(), e.getMessage());
 		return failureResponse(e.getErrorType(), e.getCustomMessage());
 	}
 
+	/**
+	 * 429 + Retry-After. 표준 Retry-After 는 초 단위라서 밀리초 단위 값(retry-after-ms)도 같이 보낸다.
+	 */
+	@ExceptionHandler
+	public ResponseEntity<ApiResponse<?>> handle(RateLimitedException e) {
+		long retryAfterMillis = Math.max(1, e.getRetryAfter().toMillis());
+		return ResponseEntity.status(ErrorType.TOO_MANY_REQUESTS.getStatus())
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+			.header(RETRY_AFTER_MS, String.valueOf(retryAfterMillis))
+			.body(CannedResponses.failure(ErrorType.TOO_MANY_REQUESTS));
+	}
+
 	@ExceptionHandler
 	public ResponseEntity<ApiResponse<?>> handleBadRequest(MethodArgumentTypeMismatchException e) {
 		String name = e.getName();
 		String type = e.getRequiredType() != null ? e.getRequiredType().getSimpleName() : "unknown";
 		String value = e.getValue() != null ? e.getValue().toString() : "null";
-		String message = String.format("요청 파라미터 '%s' (타입: %s)의 값 '%s'이(가) 잘못되었습니다.", name, type, value);
+		String message = "요청 파라미터 '" + name + "' (타입: " + type + ")의 값 '" + value + "'이(가) 잘못되었습니다.";
 		return failureResponse(ErrorType.BAD_REQUEST, message);
 	}
 
@@ -45,7 +66,7 @@ public class ApiControllerAdvice {
 	public ResponseEntity<ApiResponse<?>> handleBadRequest(MissingServletRequestParameterException e) {
 		String name = e.getParameterName();
 		String type = e.getParameterType();
-		String message = String.format("필수 요청 파라미터 '%s' (타입: %s)가 누락되었습니다.", name, type);
+		String message = "필수 요청 파라미터 '" + name + "' (타입: " + type + ")가 누락되었습니다.";
 		return failureResponse(ErrorType.BAD_REQUEST, message);
 	}
 
@@ -72,25 +93,26 @@ public class ApiControllerAdvice {
 				String expectedType = invalidFormat.getTargetType().getSimpleName();
 				Object value = invalidFormat.getValue();
 
-				errorMessage = String.format("필드 '%s'의 값 '%s'이(가) 예상 타입(%s)과 일치하지 않습니다. %s",
-					fieldName, value, expectedType, valueIndicationMessage);
+				errorMessage = "필드 '" + fieldName + "'의 값 '" + value + "'이(가) 예상 타입(" + expectedType
+					+ ")과 일치하지 않습니다. " + valueIndicationMessage;
 			}
 			case MismatchedInputException mismatchedInput -> {
 				String fieldPath = mismatchedInput.getPath().stream()
 					.map(ref -> ref.getFieldName() != null ? ref.getFieldName() : "?")
 					.collect(Collectors.joining("."));
-				errorMessage = String.format("필수 필드 '%s'이(가) 누락되었습니다.", fieldPath);
+				errorMessage = "필수 필드 '" + fieldPath + "'이(가) 누락되었습니다.";
 
 			}
 			case JsonMappingException jsonMapping -> {
 				String fieldPath = jsonMapping.getPath().stream()
 					.map(ref -> ref.getFieldName() != null ? ref.getFieldName() : "?")
 					.collect(Collectors.joining("."));
-				errorMessage = String.format("필드 '%s'에서 JSON 매핑 오류가 발생했습니다: %s",
-					fieldPath, jsonMapping.getOriginalMessage());
+				errorMessage = "필드 '" + fieldPath + "'에서 JSON 매핑 오류가 발생했습니다: " + jsonMapping.getOriginalMessage();
 
 			}
-			case null, default -> errorMessage = "요청 본문을 처리하는 중 오류가 발생했습니다. JSON 메세지 규격을 확인해주세요.";
+			case null, default -> {
+				return ResponseEntity.status(ErrorType.BAD_REQUEST.getStatus()).body(UNREADABLE_BODY);
+			}
 		}
 
 		return failureResponse(ErrorType.BAD_REQUEST, errorMessage);
@@ -100,7 +122,7 @@ public class ApiControllerAdvice {
 	public ResponseEntity<ApiResponse<?>> handleBadRequest(ServerWebInputException e) {
 		String missingParams = extractMissingParameter(e.getReason() != null ? e.getReason() : "");
 		if (!missingParams.isEmpty()) {
-			String message = String.format("필수 요청 값 '%s'가 누락되었습니다.", missingParams);
+			String message = "필수 요청 값 '" + missingParams + "'가 누락되었습니다.";
 			return failureResponse(ErrorType.BAD_REQUEST, message);
 		} else {
 			return failureResponse(ErrorType.BAD_REQUEST, null);
@@ -119,13 +141,14 @@ public class ApiControllerAdvice {
 	}
 
 	private String extractMissingParameter(String message) {
-		Pattern pattern = Pattern.compile("'(.+?)'");
-		Matcher matcher = pattern.matcher(message);
+		Matcher matcher = QUOTED.matcher(message);
 		return matcher.find() ? matcher.group(1) : "";
 	}
 
+	// 기본 메시지는 미리 직렬화해 둔 응답(CannedResponses)을, 그 밖의 메시지만 새로 만들어 직렬화한다.
 	private ResponseEntity<ApiResponse<?>> failureResponse(ErrorType errorType, String errorMessage) {
 		return ResponseEntity.status(errorType.getStatus())
-			.body(ApiResponse.fail(errorType.getCode(), errorMessage != null ? errorMessage : errorType.getMessage()));
+			.body(errorMessage != null ? ApiResponse.fail(errorType.getCode(), errorMessage)
+				: CannedResponses.failure(errorType));
 	}
 }
\ No newline at end of file
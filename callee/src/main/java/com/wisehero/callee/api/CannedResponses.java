@@ -0,0 +1,40 @@
+package com.wisehero.callee.api;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.wisehero.common.web.CannedBodies;
+import com.wisehero.callee.support.ErrorType;
+
+/**
+ * 내용이 바뀌지 않는 ApiResponse(ErrorType 기본 메시지 실패 응답, 고정 fallback 응답)를 등록하는 곳
+ *
+ * 등록한 응답은 CannedBodies 가 시작할 때 한 번 직렬화해 두고, 응답으로 나갈 때 그 본문을 그대로 쓴다.
+ * (CannedResponseHttpMessageConverter)
+ */
+public final class CannedResponses {
+
+	private static final Map<ErrorType, ApiResponse<Object>> FAILURES = new EnumMap<>(ErrorType.class);
+
+	static {
+		for (ErrorType errorType : ErrorType.values()) {
+			FAILURES.put(errorType, register(ApiResponse.fail(errorType.getCode(), errorType.getMessage())));
+		}
+	}
+
+	private CannedResponses() {
+	}
+
+	/**
+	 * 바뀌지 않는 응답 상수를 등록하고 그대로 돌려준다.
+	 * 예) private static final ApiResponse<Object> X = CannedResponses.register(ApiResponse.success("..."));
+	 */
+	public static <T> ApiResponse<T> register(ApiResponse<T> response) {
+		return CannedBodies.register(response);
+	}
+
+	/** ErrorType 의 기본 메시지로 만든 실패 응답 */
+	public static ApiResponse<Object> failure(ErrorType errorType) {
+		return FAILURES.get(errorType);
+	}
+}
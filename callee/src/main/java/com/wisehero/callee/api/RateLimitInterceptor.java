@@ -0,0 +1,52 @@
+package com.wisehero.callee.api;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.wisehero.callee.config.CalleeRateLimitProperties;
+import com.wisehero.callee.support.ClientRateLimiter;
+import com.wisehero.callee.support.RateLimitedException;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * callee API 입구에서 클라이언트별 요청 한도를 확인한다.
+ * 한도를 넘으면 RateLimitedException 을 던지고 ApiControllerAdvice 가 429 + Retry-After 로 응답한다.
+ * /batch 는 여기서 한 번만 세지 않고 항목마다 센다. (CalleeControllerV1#batch)
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+	private final ClientRateLimiter rateLimiter;
+	private final CalleeRateLimitProperties properties;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		// DeferredResult 응답을 쓰러 다시 들어오는 async dispatch 는 이미 한도를 확인한 요청이다.
+		if (request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
+		}
+		Duration retryAfter = rateLimiter.tryAcquire(clientId(request));
+		if (!retryAfter.isZero()) {
+			throw new RateLimitedException(retryAfter);
+		}
+		return true;
+	}
+
+	/**
+	 * 접속 주소. callee.rate-limit.trust-client-id-header 를 켠 경우에만 X-Client-Id 헤더가 있으면 그 값
+	 * (헤더는 인증하지 않은 값이다. CalleeRateLimitProperties 참고)
+	 */
+	public String clientId(HttpServletRequest request) {
+		String clientId = properties.trustClientIdHeader() ? request.getHeader(CLIENT_ID_HEADER) : null;
+		return clientId != null ? clientId : request.getRemoteAddr();
+	}
+}
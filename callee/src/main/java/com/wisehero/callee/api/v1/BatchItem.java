@@ -0,0 +1,10 @@
+package com.wisehero.callee.api.v1;
+
+/**
+ * /batch 의 항목 하나
+ *
+ * @param path    /api/v1/callee 아래 GET 경로 (예: /hello, /timeout/2)
+ * @param session 장애 주입 세션 (X-Fault-Session 과 같은 역할, 없으면 기본 세션)
+ */
+public record BatchItem(String path, String session) {
+}
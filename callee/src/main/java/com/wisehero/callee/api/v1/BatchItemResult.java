@@ -0,0 +1,11 @@
+package com.wisehero.callee.api.v1;
+
+import com.wisehero.callee.api.ApiResponse;
+
+/**
+ * /batch 항목 하나의 결과. 항목을 따로 호출했을 때의 상태 코드와 응답 본문을 그대로 담는다.
+ *
+ * @param retryAfterMillis 429 일 때 다시 보내도 되는 시점까지 남은 시간 (retry-after-ms 와 같은 값)
+ */
+public record BatchItemResult(int status, Long retryAfterMillis, ApiResponse<?> response) {
+}
@@ -1,49 +1,72 @@
 package com.wisehero.callee.api.v1;
 
-import java.net.ConnectException;
-import java.net.SocketTimeoutException;
-import java.rmi.server.SocketSecurityException;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import javax.naming.ServiceUnavailableException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.wisehero.callee.api.ApiResponse;
+import com.wisehero.callee.api.CannedResponses;
+import com.wisehero.callee.api.RateLimitInterceptor;
+import com.wisehero.callee.config.CalleeBatchProperties;
+import com.wisehero.callee.fault.FaultDecision;
+import com.wisehero.callee.fault.FaultInjector;
+import com.wisehero.callee.support.ClientRateLimiter;
 import com.wisehero.callee.support.CoreException;
+import com.wisehero.callee.support.DelayedResponder;
 import com.wisehero.callee.support.ErrorType;
 
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 장애 재현용 callee 엔드포인트
+ *
+ * 각 엔드포인트의 실패/지연은 코드에 고정하지 않고 FaultInjector 규칙(callee.faults.rules, /actuator/faults)으로 정한다.
+ * X-Fault-Session 헤더를 보내면 호출 횟수와 규칙을 세션별로 따로 쓴다.
+ * POST /batch 로 여러 GET 엔드포인트를 한 번에 호출할 수 있다.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/callee")
+@RequiredArgsConstructor
 public class CalleeControllerV1 {
 
-	private final AtomicInteger callCounter = new AtomicInteger(0);
+	private static final String TIMEOUT_PATH = "/timeout/";
+
+	private final FaultInjector faultInjector;
+	private final ClientRateLimiter rateLimiter;
+	private final RateLimitInterceptor rateLimitInterceptor;
+	private final CalleeBatchProperties batchProperties;
 
 	// 단순 호출
 	@GetMapping("/hello")
-	public ApiResponse<HelloResponse> hello() {
+	public DeferredResult<ApiResponse<HelloResponse>> hello(
+		@RequestHeader(name = FaultInjector.SESSION_HEADER, required = false) String session) {
 		log.info("Hello Endpoint 호출");
-		HelloResponse response = new HelloResponse(
-			"Hello From callee",
-			System.currentTimeMillis()
-		);
-
-		return ApiResponse.success(response);
+		return faultInjector.respond("hello", session, this::helloBody);
 	}
 
 	/**
 	 * Circuit Breaker 전체 상태 전환을 테스트하기 위한 엔드포인트
 	 *
-	 * 동작 방식:
-	 * - 처음 N번(기본 5번)까지는 500 에러 발생
+	 * 동작 방식 (기본 규칙 fail-first=8):
+	 * - 세션의 처음 N번까지는 500 에러 발생
 	 * - N+1번째부터는 성공 응답 반환
+	 * - DELETE /actuator/faults?session=... 로 횟수를 초기화하면 처음부터 다시 재현할 수 있다.
 	 *
 	 * 이를 통해 다음 시나리오를 테스트할 수 있습니다:
 	 * 1. CLOSED 상태에서 N번 실패 → OPEN으로 전환
@@ -52,82 +75,189 @@ public class CalleeControllerV1 {
 	 * 4. 테스트 호출 성공 → CLOSED로 복구
 	 */
 	@GetMapping("/circuit-test")
-	public ApiResponse<CircuitTestResponse> circuitTest() {
-		int currentCount = callCounter.incrementAndGet();
-
-		int failUntilCount = 8;
-		log.info("🔵 Circuit Test 호출 - Count: {}, FailUntil: {}",
-			currentCount, failUntilCount);
-
-		// 설정된 횟수까지는 실패
-		if (currentCount <= failUntilCount) {
-			log.error("🔴 의도적 실패 발생 - {}/{}", currentCount, failUntilCount);
-			throw new CoreException(
-				ErrorType.INTERNAL_ERROR,
-				String.format("의도적 실패 (%d/%d)", currentCount, failUntilCount)
-			);
-		}
-
-		// 설정된 횟수를 넘으면 성공
-		log.info("✅ 성공 응답 반환 - Count: {}", currentCount);
-
-		CircuitTestResponse response = new CircuitTestResponse(
-			currentCount,
-			failUntilCount,
-			"Success after " + failUntilCount + " failures",
-			System.currentTimeMillis()
-		);
-
-		return ApiResponse.success(response);
+	public DeferredResult<ApiResponse<CircuitTestResponse>> circuitTest(
+		@RequestHeader(name = FaultInjector.SESSION_HEADER, required = false) String session) {
+		return faultInjector.respond("circuit-test", session, this::circuitTestBody);
 	}
 
-	// 지연 응답
+	// 지연 응답 - 대기하는 동안 Tomcat 스레드를 붙잡지 않는다. (기본 규칙 latency=fixed:3s)
 	@GetMapping("/slow")
-
-	public ApiResponse<String> slow() throws InterruptedException {
-		log.info("Slow Endpoint 호출 - 3초 지연");
-		Thread.sleep(3000);
-		log.info("Slow Endpoint - 지연 완료");
-
-		return ApiResponse.success("Slow reponse completed");
+	public DeferredResult<ApiResponse<String>> slow(
+		@RequestHeader(name = FaultInjector.SESSION_HEADER, required = false) String session) {
+		log.info("Slow Endpoint 호출");
+		return faultInjector.respond("slow", session, this::slowBody);
 	}
 
-	// 4XX 오류 응답
+	// 4XX 오류 응답 (기본 규칙: BAD_REQUEST / NOT_FOUND / CONFLICT 중 하나)
 	@GetMapping("/4xx-error")
-	public ApiResponse<Object> error4xx() {
+	public DeferredResult<ApiResponse<Object>> error4xx(
+		@RequestHeader(name = FaultInjector.SESSION_HEADER, required = false) String session) {
 		log.warn("Random 4xx error endpoint called");
-
-		ErrorType[] errorTypes = {
-			ErrorType.BAD_REQUEST,
-			ErrorType.NOT_FOUND,
-			ErrorType.CONFLICT
-		};
-
-		ErrorType randomError = errorTypes[new Random().nextInt(errorTypes.length)];
-		log.warn("Throwing random error: {}", randomError.getStatus());
-
-		throw new CoreException(randomError, "Random " + randomError.getStatus().getReasonPhrase());
+		return faultInjector.respond("4xx-error", session, CalleeControllerV1::empty);
 	}
 
 	// 500 오류 응답
 	@GetMapping("/500-error")
-	public ApiResponse<Object> error5xx() {
+	public DeferredResult<ApiResponse<Object>> error5xx(
+		@RequestHeader(name = FaultInjector.SESSION_HEADER, required = false) String session) {
 		log.error("Error endpoint called");
-		throw new CoreException(ErrorType.INTERNAL_ERROR, "Internal error");
+		return faultInjector.respond("500-error", session, CalleeControllerV1::empty);
 	}
 
 	@GetMapping("/503-error")
-	public ApiResponse<Object> error503() {
+	public DeferredResult<ApiResponse<Object>> error503(
+		@RequestHeader(name = FaultInjector.SESSION_HEADER, required = false) String session) {
 		log.error("503 Service Unavailable endpoint called");
-		throw new CoreException(ErrorType.SERVICE_UNAVAILABLE, "Service Unavailable");
+		return faultInjector.respond("503-error", session, CalleeControllerV1::empty);
 	}
 
-	// n초 지연 응답
+	// n초 지연 응답. "timeout" 규칙이 있으면 그 지연을 더한다.
 	@GetMapping("/timeout/{seconds}")
-	public ApiResponse<String> timeout(@PathVariable int seconds) throws InterruptedException {
+	public DeferredResult<ApiResponse<String>> timeout(@PathVariable int seconds,
+		@RequestHeader(name = FaultInjector.SESSION_HEADER, required = false) String session) {
 		log.info("Timeout endpoint called with {} seconds", seconds);
-		Thread.sleep(seconds * 1000L);
-		return ApiResponse.success("Completed after " + seconds + " seconds");
+		return faultInjector.respond("timeout", session, Duration.ofSeconds(seconds),
+			decision -> ApiResponse.success("Completed after " + seconds + " seconds"));
+	}
+
+	/**
+	 * 여러 GET 요청을 한 번에 처리하고 항목별 상태 코드와 응답을 순서대로 돌려준다.
+	 *
+	 * - 항목마다 따로 호출한 것과 같은 장애 규칙, 지연, 요청 한도를 적용한다. (요청 한도는 /batch 요청이 아니라 항목마다 센다)
+	 * - 항목의 실패는 /batch 전체의 실패가 아니라 그 항목의 status / response 로 돌려준다.
+	 * - 모든 항목이 끝나면 응답한다. 가장 느린 항목만큼 걸린다.
+	 *   async 타임아웃은 단건 엔드포인트와 같이 가장 긴 항목 지연 + DelayedResponder.TIMEOUT_MARGIN 으로 둔다.
+	 */
+	@PostMapping("/batch")
+	public DeferredResult<ApiResponse<List<BatchItemResult>>> batch(@RequestBody List<BatchItem> items,
+		HttpServletRequest request) {
+		if (items.size() > batchProperties.maxItems()) {
+			throw new CoreException(ErrorType.BAD_REQUEST,
+				"배치 항목은 최대 " + batchProperties.maxItems() + "개까지 보낼 수 있습니다.");
+		}
+		String clientId = rateLimitInterceptor.clientId(request);
+		List<CompletableFuture<?>> calls = new ArrayList<>(items.size());
+		List<CompletableFuture<BatchItemResult>> results = new ArrayList<>(items.size());
+		Duration longestDelay = Duration.ZERO;
+		for (BatchItem item : items) {
+			Duration retryAfter = rateLimiter.tryAcquire(clientId);
+			if (!retryAfter.isZero()) {
+				results.add(CompletableFuture.completedFuture(new BatchItemResult(
+					ErrorType.TOO_MANY_REQUESTS.getStatus().value(), Math.max(1, retryAfter.toMillis()),
+					CannedResponses.failure(ErrorType.TOO_MANY_REQUESTS))));
+				continue;
+			}
+			ItemCall call = call(item);
+			if (call.delay().compareTo(longestDelay) > 0) {
+				longestDelay = call.delay();
+			}
+			calls.add(call.response());
+			results.add(call.response().handle((response, failure) -> failure == null
+				? new BatchItemResult(HttpStatus.OK.value(), null, response)
+				: failed(item, failure)));
+		}
+
+		DeferredResult<ApiResponse<List<BatchItemResult>>> result = new DeferredResult<>(
+			longestDelay.plus(DelayedResponder.TIMEOUT_MARGIN).toMillis());
+		CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).whenComplete((done, failure) -> {
+			if (failure == null) {
+				result.setResult(ApiResponse.success(results.stream().map(CompletableFuture::join).toList()));
+			}
+		});
+		// 클라이언트가 끊거나 async 타임아웃이 나면 아직 기다리는 항목의 지연 응답 예약을 취소한다.
+		result.onCompletion(() -> calls.forEach(call -> call.cancel(false)));
+		return result;
+	}
+
+	// 항목 하나의 응답과 그 응답까지 기다리는 지연
+	private record ItemCall(CompletableFuture<? extends ApiResponse<?>> response, Duration delay) {
+	}
+
+	private ItemCall call(BatchItem item) {
+		String path = item.path() != null ? item.path() : "";
+		String session = item.session();
+		return switch (path) {
+			case "/hello" -> later("hello", session, this::helloBody);
+			case "/circuit-test" -> later("circuit-test", session, this::circuitTestBody);
+			case "/slow" -> later("slow", session, this::slowBody);
+			case "/4xx-error" -> later("4xx-error", session, CalleeControllerV1::empty);
+			case "/500-error" -> later("500-error", session, CalleeControllerV1::empty);
+			case "/503-error" -> later("503-error", session, CalleeControllerV1::empty);
+			default -> path.startsWith(TIMEOUT_PATH)
+				? timeoutLater(path.substring(TIMEOUT_PATH.length()), session)
+				: failedCall(ErrorType.NOT_FOUND);
+		};
+	}
+
+	private <T> ItemCall later(String endpoint, String session, Function<FaultDecision, ApiResponse<T>> body) {
+		FaultDecision decision = faultInjector.decide(endpoint, session);
+		return new ItemCall(faultInjector.respondLater(decision, Duration.ZERO, body), decision.delay());
+	}
+
+	private ItemCall timeoutLater(String secondsPath, String session) {
+		int seconds;
+		try {
+			seconds = Integer.parseInt(secondsPath);
+		} catch (NumberFormatException e) {
+			return failedCall(ErrorType.BAD_REQUEST);
+		}
+		Duration baseDelay = Duration.ofSeconds(seconds);
+		FaultDecision decision = faultInjector.decide("timeout", session);
+		return new ItemCall(faultInjector.respondLater(decision, baseDelay,
+			ignored -> ApiResponse.success("Completed after " + seconds + " seconds")),
+			baseDelay.plus(decision.delay()));
+	}
+
+	private static ItemCall failedCall(ErrorType errorType) {
+		return new ItemCall(CompletableFuture.failedFuture(new CoreException(errorType)), Duration.ZERO);
+	}
+
+	// 따로 호출했을 때 ApiControllerAdvice 가 만들었을 상태 코드와 본문
+	private static BatchItemResult failed(BatchItem item, Throwable failure) {
+		Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+			? failure.getCause() : failure;
+		if (cause instanceof CoreException e) {
+			ErrorType errorType = e.getErrorType();
+			return new BatchItemResult(errorType.getStatus().value(), null, e.getCustomMessage() != null
+				? ApiResponse.fail(errorType.getCode(), e.getCustomMessage())
+				: CannedResponses.failure(errorType));
+		}
+		log.error("배치 항목 처리 실패 - path: {}", item.path(), cause);
+		return new BatchItemResult(ErrorType.INTERNAL_ERROR.getStatus().value(), null,
+			CannedResponses.failure(ErrorType.INTERNAL_ERROR));
+	}
+
+	/*
+	 * ========== 응답 본문 ==========
+	 * GET 엔드포인트와 /batch 항목이 같이 쓴다.
+	 */
+
+	private ApiResponse<HelloResponse> helloBody(FaultDecision decision) {
+		return ApiResponse.success(new HelloResponse(
+			"Hello From callee",
+			System.currentTimeMillis()
+		));
+	}
+
+	private ApiResponse<CircuitTestResponse> circuitTestBody(FaultDecision decision) {
+		int currentCount = (int)decision.callNumber();
+		int failUntilCount = decision.rule().failFirst();
+		log.info("✅ 성공 응답 반환 - Count: {}", currentCount);
+		return ApiResponse.success(new CircuitTestResponse(
+			currentCount,
+			failUntilCount,
+			"Success after " + failUntilCount + " failures",
+			System.currentTimeMillis()
+		));
+	}
+
+	private ApiResponse<String> slowBody(FaultDecision decision) {
+		log.info("Slow Endpoint - 지연 완료 ({}ms)", decision.delay().toMillis());
+		return ApiResponse.success("Slow reponse completed");
+	}
+
+	private static ApiResponse<Object> empty(FaultDecision decision) {
+		return ApiResponse.success();
 	}
 
 	public record CircuitTestResponse(
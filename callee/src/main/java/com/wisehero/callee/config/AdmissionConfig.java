@@ -0,0 +1,36 @@
+package com.wisehero.callee.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.wisehero.callee.admission.AdmissionExecutor;
+import com.wisehero.callee.admission.CoDelAdmission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 플랫폼 스레드 모드에서 Tomcat 작업 스레드 풀을 AdmissionExecutor 로 바꾼다.
+ * 가상 스레드 모드는 Spring Boot 가 VirtualThreadExecutor 를 넣으므로 건드리지 않는다.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.PLATFORM)
+@ConditionalOnProperty(name = "callee.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+	// Tomcat 이 직접 만든 실행기가 아니면 종료하지 않으므로 빈 종료 시점(shutdown)에 정리된다.
+	@Bean
+	public AdmissionExecutor admissionExecutor(ServerProperties serverProperties, CoDelAdmission admission,
+		MeterRegistry meterRegistry) {
+		return new AdmissionExecutor(serverProperties.getTomcat().getThreads().getMax(), admission, meterRegistry);
+	}
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> admissionExecutorCustomizer(AdmissionExecutor admissionExecutor) {
+		return protocol -> protocol.setExecutor(admissionExecutor);
+	}
+}
@@ -0,0 +1,28 @@
+package com.wisehero.callee.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 대기 시간 기반 부하 차단 설정 (CoDelAdmission)
+ *
+ * - enabled: 끄면 Tomcat 기본 작업 스레드 풀을 쓰고 아무것도 차단하지 않는다.
+ * - target: 과부하로 판단한 뒤에 허용하는 작업 큐 대기 시간
+ * - interval: 과부하 여부를 다시 판단하는 주기. 평소에는 이보다 오래 기다린 요청만 차단한다.
+ *
+ * 작업 큐 대기 시간은 플랫폼 스레드 모드에서만 잰다. 가상 스레드 모드에는 작업 큐가 없어서 차단하지 않는다.
+ */
+@ConfigurationProperties("callee.admission")
+public record CalleeAdmissionProperties(
+	Boolean enabled,
+	Duration target,
+	Duration interval
+) {
+
+	public CalleeAdmissionProperties {
+		enabled = enabled != null ? enabled : Boolean.TRUE;
+		target = target != null ? target : Duration.ofMillis(50);
+		interval = interval != null ? interval : Duration.ofMillis(500);
+	}
+}
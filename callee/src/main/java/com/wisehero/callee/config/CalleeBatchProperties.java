@@ -0,0 +1,18 @@
+package com.wisehero.callee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * /batch 설정
+ *
+ * - max-items: 요청 하나에 담을 수 있는 항목 수. 넘으면 400 으로 응답한다.
+ */
+@ConfigurationProperties("callee.batch")
+public record CalleeBatchProperties(
+	int maxItems
+) {
+
+	public CalleeBatchProperties {
+		maxItems = maxItems > 0 ? maxItems : 100;
+	}
+}
@@ -0,0 +1,39 @@
+package com.wisehero.callee.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 장애 주입(FaultInjector) 기본 규칙
+ *
+ * 예)
+ * callee:
+ *   faults:
+ *     rules:
+ *       circuit-test: fail-first=8
+ *       4xx-error: error-rate=1, statuses=BAD_REQUEST:1|NOT_FOUND:1|CONFLICT:1
+ *       slow: latency=fixed:3s
+ *       hello: 30s>error-rate=0; 10s>error-rate=1, statuses=SERVICE_UNAVAILABLE:1
+ *
+ * - key 는 엔드포인트 이름, 값은 FaultRule / FaultScenario 문법을 따른다.
+ * - 실행 중에는 /actuator/faults 로 엔드포인트 / 세션별로 바꿀 수 있다.
+ * - 세션: X-Fault-Session 헤더 값이 같은 요청끼리 호출 횟수, 시나리오 시계, 규칙을 나눠 쓴다. 없으면 "default" 세션
+ * - max-sessions: 동시에 유지할 세션 수 (default 포함). 넘으면 새 세션의 요청은 어느 세션의 횟수도 늘리지 않고
+ *   503 으로 거절하고, 새 세션에 규칙을 쓰는 /actuator/faults 요청도 거절한다.
+ * - session-idle-timeout: 이 시간 동안 요청도 규칙 변경도 없는 세션은 지운다. (default 세션은 지우지 않는다)
+ */
+@ConfigurationProperties("callee.faults")
+public record CalleeFaultProperties(
+	int maxSessions,
+	Duration sessionIdleTimeout,
+	Map<String, String> rules
+) {
+
+	public CalleeFaultProperties {
+		maxSessions = maxSessions > 0 ? maxSessions : 1024;
+		sessionIdleTimeout = sessionIdleTimeout != null ? sessionIdleTimeout : Duration.ofMinutes(10);
+		rules = rules != null ? Map.copyOf(rules) : Map.of();
+	}
+}
@@ -0,0 +1,33 @@
+package com.wisehero.callee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 클라이언트별 요청 한도 설정 (ClientRateLimiter)
+ *
+ * - enabled: 끄면 한도 없이 받는다. (스레드 모델 비교처럼 일부러 몰아넣는 부하 테스트용)
+ * - permits-per-second: 클라이언트 하나가 지속적으로 보낼 수 있는 초당 요청 수
+ * - burst: 한 번에 몰아서 받아줄 수 있는 요청 수
+ * - max-clients: 기억할 클라이언트 수 (Caffeine maximumSize). 넘으면 덜 쓰이는 클라이언트부터 잊는다.
+ * - trust-client-id-header: X-Client-Id 헤더로 클라이언트를 구분할지 (기본 false)
+ *
+ * 클라이언트는 기본으로 접속 주소로 구분한다. X-Client-Id 는 인증하지 않은 값이라 믿으면 요청마다 다른 값을 보내서
+ * 한도를 피할 수 있다. 앞단 게이트웨이가 인증한 뒤 이 헤더를 채우고 외부 값은 지우는 구성에서만 켠다.
+ */
+@ConfigurationProperties("callee.rate-limit")
+public record CalleeRateLimitProperties(
+	Boolean enabled,
+	double permitsPerSecond,
+	int burst,
+	int maxClients,
+	Boolean trustClientIdHeader
+) {
+
+	public CalleeRateLimitProperties {
+		enabled = enabled != null ? enabled : Boolean.TRUE;
+		permitsPerSecond = permitsPerSecond > 0 ? permitsPerSecond : 1000;
+		burst = burst > 0 ? burst : 2000;
+		maxClients = maxClients > 0 ? maxClients : 10_000;
+		trustClientIdHeader = trustClientIdHeader != null ? trustClientIdHeader : Boolean.FALSE;
+	}
+}
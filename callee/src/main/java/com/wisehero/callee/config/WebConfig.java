@@ -0,0 +1,52 @@
+package com.wisehero.callee.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wisehero.callee.api.RateLimitInterceptor;
+import com.wisehero.common.web.CannedResponseHttpMessageConverter;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+	private final RateLimitInterceptor rateLimitInterceptor;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(rateLimitInterceptor)
+			.addPathPatterns("/api/v1/callee/**")
+			.excludePathPatterns("/api/v1/callee/batch");
+	}
+
+	// 기본 JSON 컨버터 자리를 대신한다. ErrorType 기본 실패 응답은 미리 직렬화한 본문을 그대로 쓴다.
+	@Bean
+	public CannedResponseHttpMessageConverter cannedResponseHttpMessageConverter(ObjectMapper objectMapper) {
+		return new CannedResponseHttpMessageConverter(objectMapper);
+	}
+
+	/*
+	 * Accept 가 application/x-jackson-smile, application/cbor 인 요청에는 바이너리로 응답한다.
+	 * 기본 컨버터 자리를 그대로 대신하므로 Accept 가 없거나 * / * 이면 지금처럼 JSON 으로 응답한다.
+	 * ObjectMapper 설정(spring.jackson.*)은 JSON 과 같게 맞춘다.
+	 */
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+		return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+	}
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+		return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+	}
+}
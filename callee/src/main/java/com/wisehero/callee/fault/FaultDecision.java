@@ -0,0 +1,16 @@
+package com.wisehero.callee.fault;
+
+import java.time.Duration;
+
+import com.wisehero.callee.support.ErrorType;
+
+/**
+ * 요청 한 건에 대한 장애 주입 결정
+ *
+ * @param callNumber 세션에서 이 엔드포인트의 몇 번째 호출인지 (1부터)
+ * @param rule 적용한 규칙
+ * @param delay 응답 전에 기다릴 시간
+ * @param error 오류로 응답할 ErrorType. 정상 응답이면 null
+ */
+public record FaultDecision(long callNumber, FaultRule rule, Duration delay, ErrorType error) {
+}
@@ -0,0 +1,239 @@
+package com.wisehero.callee.fault;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wisehero.callee.api.ApiResponse;
+import com.wisehero.callee.config.CalleeFaultProperties;
+import com.wisehero.callee.support.CoreException;
+import com.wisehero.callee.support.DelayedResponder;
+import com.wisehero.callee.support.ErrorType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 엔드포인트별 장애 주입기
+ *
+ * - 규칙(FaultScenario)은 엔드포인트 단위로 두고, 세션 헤더(X-Fault-Session)가 있으면 세션별로 덮어쓸 수 있다.
+ * - 호출 횟수와 시나리오 시계도 세션마다 따로 센다. 병렬로 도는 부하 테스트끼리 fail-first 나 시나리오 단계가 섞이지 않는다.
+ * - 세션은 session-idle-timeout 동안 쓰이지 않으면 지운다. (Caffeine expireAfterAccess, default 세션은 따로 둔다)
+ *   max-sessions 에 도달하면 새 세션의 요청은 어느 세션의 횟수도 늘리지 않고 503 으로 끝낸다.
+ * - 지연은 DelayedResponder 로 기다리므로 요청 스레드를 붙잡지 않는다.
+ * - 규칙 변경 / 세션 초기화는 FaultsEndpoint(/actuator/faults)로 한다.
+ */
+@Slf4j
+@Component
+public class FaultInjector {
+
+	public static final String SESSION_HEADER = "X-Fault-Session";
+	public static final String DEFAULT_SESSION = "default";
+
+	/** max-sessions 를 넘은 새 세션의 요청. 세션 상태를 건드리지 않고 바로 503 으로 끝낸다. */
+	private static final FaultDecision OVER_MAX_SESSIONS = new FaultDecision(0, FaultRule.NONE, Duration.ZERO,
+		ErrorType.SERVICE_UNAVAILABLE);
+
+	private final DelayedResponder delayedResponder;
+	private final CalleeFaultProperties properties;
+	private final LongSupplier clock;
+	private final Map<String, FaultScenario> rules = new ConcurrentHashMap<>();
+	private final Cache<String, Session> sessions;
+	private volatile Session defaultSession;
+
+	@Autowired
+	public FaultInjector(DelayedResponder delayedResponder, CalleeFaultProperties properties) {
+		this(delayedResponder, properties, System::nanoTime);
+	}
+
+	FaultInjector(DelayedResponder delayedResponder, CalleeFaultProperties properties, LongSupplier clock) {
+		this.delayedResponder = delayedResponder;
+		this.properties = properties;
+		this.clock = clock;
+		properties.rules().forEach((endpoint, spec) -> rules.put(endpoint, FaultScenario.parse(spec)));
+		this.sessions = Caffeine.newBuilder()
+			.expireAfterAccess(properties.sessionIdleTimeout())
+			.ticker(clock::getAsLong)
+			.build();
+		this.defaultSession = new Session(clock.getAsLong());
+	}
+
+	/**
+	 * 규칙에 따라 기다린 뒤 오류를 던지거나 body 로 응답한다.
+	 */
+	public <T> DeferredResult<ApiResponse<T>> respond(String endpoint, String sessionId,
+		Function<FaultDecision, ApiResponse<T>> body) {
+		return respond(endpoint, sessionId, Duration.ZERO, body);
+	}
+
+	/**
+	 * @param baseDelay 규칙과 상관없이 엔드포인트가 원래 갖는 지연. 규칙의 지연은 여기에 더한다.
+	 */
+	public <T> DeferredResult<ApiResponse<T>> respond(String endpoint, String sessionId, Duration baseDelay,
+		Function<FaultDecision, ApiResponse<T>> body) {
+		FaultDecision decision = decide(endpoint, sessionId);
+		return delayedResponder.after(baseDelay.plus(decision.delay()), responder(decision, body));
+	}
+
+	/**
+	 * respond 와 같지만 decide 로 미리 내린 결정을 받아서 CompletableFuture 로 돌려준다. (/batch 의 항목별 응답)
+	 * 호출하는 쪽이 항목별 지연을 보고 전체 응답의 타임아웃을 정할 수 있다.
+	 * 오류는 CoreException 으로 future 를 끝낸다.
+	 */
+	public <T> CompletableFuture<ApiResponse<T>> respondLater(FaultDecision decision, Duration baseDelay,
+		Function<FaultDecision, ApiResponse<T>> body) {
+		return delayedResponder.later(baseDelay.plus(decision.delay()), responder(decision, body));
+	}
+
+	private static <T> Supplier<ApiResponse<T>> responder(FaultDecision decision,
+		Function<FaultDecision, ApiResponse<T>> body) {
+		return () -> {
+			if (decision.error() != null) {
+				// 메시지 없이 던져서 ErrorType 기본 실패 응답(CannedResponses)을 그대로 쓴다. 호출 횟수는 /actuator/faults 로 본다.
+				throw new CoreException(decision.error());
+			}
+			return body.apply(decision);
+		};
+	}
+
+	public FaultDecision decide(String endpoint, String sessionId) {
+		Session session = session(sessionId);
+		if (session == null) {
+			return OVER_MAX_SESSIONS;
+		}
+		FaultScenario scenario = session.rules.getOrDefault(endpoint, rules.get(endpoint));
+		AtomicLong calls = session.calls.get(endpoint);
+		if (calls == null) {
+			calls = session.calls.computeIfAbsent(endpoint, key -> new AtomicLong());
+		}
+		long callNumber = calls.incrementAndGet();
+		if (scenario == null) {
+			return new FaultDecision(callNumber, FaultRule.NONE, Duration.ZERO, null);
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		FaultScenario.Active active = scenario.activeAt(Duration.ofNanos(clock.getAsLong() - session.startedNanos));
+		FaultRule rule = active.rule();
+		ErrorType error = rule.pickError(callNumber, active.elapsedInStep(), random);
+		return new FaultDecision(callNumber, rule, rule.latency().sample(random), error);
+	}
+
+	/*
+	 * ========== 실행 중 규칙 변경 (FaultsEndpoint) ==========
+	 */
+
+	/**
+	 * spec 이 비어 있으면 규칙을 지운다. sessionId 가 null 이면 모든 세션의 기본 규칙을 바꾼다.
+	 *
+	 * @throws IllegalArgumentException spec 형식이 틀렸을 때
+	 * @throws IllegalStateException 새 세션인데 세션 수가 max-sessions 에 도달했을 때
+	 *         (요청 처리와 달리 default 세션으로 대신하면 default 세션의 규칙을 바꿔 버린다)
+	 */
+	public void updateRule(String endpoint, String sessionId, String spec) {
+		Map<String, FaultScenario> target = sessionId != null ? sessionForUpdate(sessionId).rules : rules;
+		if (spec == null || spec.isBlank()) {
+			target.remove(endpoint);
+		} else {
+			target.put(endpoint, FaultScenario.parse(spec));
+		}
+		log.info("장애 규칙 변경 - endpoint: {}, session: {}, rule: {}", endpoint,
+			sessionId != null ? sessionId : "*", spec);
+	}
+
+	/** 세션의 호출 횟수, 시나리오 시계, 세션 규칙을 지운다. sessionId 가 null 이면 모든 세션 */
+	public void reset(String sessionId) {
+		if (sessionId == null || isDefault(sessionId)) {
+			defaultSession = new Session(clock.getAsLong());
+		}
+		if (sessionId == null) {
+			sessions.invalidateAll();
+		} else {
+			sessions.invalidate(sessionId);
+		}
+		log.info("장애 주입 세션 초기화 - session: {}", sessionId != null ? sessionId : "*");
+	}
+
+	public Map<String, Object> describe() {
+		Map<String, Object> description = new LinkedHashMap<>();
+		Map<String, String> defaultRules = new LinkedHashMap<>();
+		rules.forEach((endpoint, scenario) -> defaultRules.put(endpoint, scenario.spec()));
+		description.put("rules", defaultRules);
+
+		Map<String, Object> sessionDescriptions = new LinkedHashMap<>();
+		Map<String, Session> all = new LinkedHashMap<>();
+		all.put(DEFAULT_SESSION, defaultSession);
+		all.putAll(sessions.asMap());
+		long now = clock.getAsLong();
+		all.forEach((id, session) -> {
+			Map<String, Long> calls = new LinkedHashMap<>();
+			session.calls.forEach((endpoint, count) -> calls.put(endpoint, count.get()));
+			Map<String, String> overrides = new LinkedHashMap<>();
+			session.rules.forEach((endpoint, scenario) -> overrides.put(endpoint, scenario.spec()));
+			sessionDescriptions.put(id, Map.of(
+				"age", Duration.ofNanos(now - session.startedNanos).toString(),
+				"calls", calls,
+				"rules", overrides));
+		});
+		description.put("sessions", sessionDescriptions);
+		return description;
+	}
+
+	/** max-sessions 에 도달해 새 세션을 만들 수 없으면 null */
+	private Session session(String sessionId) {
+		if (sessionId == null || isDefault(sessionId)) {
+			return defaultSession;
+		}
+		Session session = sessions.getIfPresent(sessionId);
+		if (session != null) {
+			return session;
+		}
+		if (isFull()) {
+			return null;
+		}
+		return sessions.get(sessionId, key -> new Session(clock.getAsLong()));
+	}
+
+	private Session sessionForUpdate(String sessionId) {
+		Session session = session(sessionId);
+		if (session == null) {
+			throw new IllegalStateException(String.format("세션 수가 max-sessions(%d)에 도달해 새 세션을 만들 수 없습니다: %s",
+				properties.maxSessions(), sessionId));
+		}
+		return session;
+	}
+
+	// default 세션도 한 자리를 차지한다. 만료됐지만 아직 치우지 않은 세션이 자리를 잡고 있지 않도록 한 번 치우고 다시 센다.
+	private boolean isFull() {
+		if (sessions.estimatedSize() + 1 < properties.maxSessions()) {
+			return false;
+		}
+		sessions.cleanUp();
+		return sessions.estimatedSize() + 1 >= properties.maxSessions();
+	}
+
+	private static boolean isDefault(String sessionId) {
+		return sessionId.isBlank() || DEFAULT_SESSION.equals(sessionId);
+	}
+
+	private static final class Session {
+		private final long startedNanos;
+		private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+		private final Map<String, FaultScenario> rules = new ConcurrentHashMap<>();
+
+		private Session(long startedNanos) {
+			this.startedNanos = startedNanos;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.wisehero.callee.fault;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import com.wisehero.callee.support.ErrorType;
+
+/**
+ * 엔드포인트 하나에 적용할 장애 규칙
+ *
+ * 문법: 쉼표로 구분한 key=value (생략한 항목은 장애 없음)
+ * - error-rate=0.3: 이 비율만큼 오류로 응답
+ * - statuses=INTERNAL_ERROR:3|SERVICE_UNAVAILABLE:1: 오류일 때 고를 ErrorType 과 가중치 (기본 INTERNAL_ERROR)
+ * - latency=lognormal:200ms:0.5: 응답 지연 분포 (LatencyDistribution)
+ * - fail-first=8: 세션의 처음 N번 호출은 무조건 오류
+ * - fail-window=30s:20s: 세션(또는 시나리오 단계) 시작 30초 뒤부터 20초 동안 무조건 오류
+ *
+ * 형식이 틀리면 IllegalArgumentException 을 던진다.
+ *
+ * @param statuses 오류일 때 고를 ErrorType
+ * @param cumulativeWeights statuses 와 같은 순서의 누적 가중치
+ */
+public record FaultRule(
+	double errorRate,
+	List<ErrorType> statuses,
+	List<Integer> cumulativeWeights,
+	LatencyDistribution latency,
+	int failFirst,
+	Duration failWindowStart,
+	Duration failWindowLength
+) {
+
+	public static final FaultRule NONE = parse("");
+
+	public FaultRule {
+		statuses = List.copyOf(statuses);
+		cumulativeWeights = List.copyOf(cumulativeWeights);
+		if (statuses.isEmpty() || statuses.size() != cumulativeWeights.size()) {
+			throw new IllegalArgumentException("statuses 와 가중치 수가 맞지 않습니다");
+		}
+	}
+
+	public static FaultRule parse(String spec) {
+		double errorRate = 0;
+		String statuses = ErrorType.INTERNAL_ERROR.name() + ":1";
+		LatencyDistribution latency = LatencyDistribution.NONE;
+		int failFirst = 0;
+		Duration windowStart = Duration.ZERO;
+		Duration windowLength = Duration.ZERO;
+
+		for (String entry : spec.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] keyValue = entry.split("=", 2);
+			if (keyValue.length != 2) {
+				throw new IllegalArgumentException("key=value 형식이 아닙니다: " + entry);
+			}
+			String value = keyValue[1].trim();
+			switch (keyValue[0].trim()) {
+				case "error-rate" -> errorRate = Double.parseDouble(value);
+				case "statuses" -> statuses = value;
+				case "latency" -> latency = LatencyDistribution.parse(value);
+				case "fail-first" -> failFirst = Integer.parseInt(value);
+				case "fail-window" -> {
+					String[] window = value.split(":");
+					if (window.length != 2) {
+						throw new IllegalArgumentException("fail-window 는 {시작}:{길이} 형식이어야 합니다: " + value);
+					}
+					windowStart = DurationStyle.detectAndParse(window[0].trim());
+					windowLength = DurationStyle.detectAndParse(window[1].trim());
+				}
+				default -> throw new IllegalArgumentException("알 수 없는 규칙: " + keyValue[0]);
+			}
+		}
+
+		String[] weighted = statuses.split("\\|");
+		List<ErrorType> types = new ArrayList<>(weighted.length);
+		List<Integer> cumulative = new ArrayList<>(weighted.length);
+		int total = 0;
+		for (String typeWeightSpec : weighted) {
+			String[] typeWeight = typeWeightSpec.split(":");
+			int weight = typeWeight.length > 1 ? Integer.parseInt(typeWeight[1].trim()) : 1;
+			if (weight <= 0) {
+				throw new IllegalArgumentException("가중치는 0보다 커야 합니다: " + typeWeightSpec);
+			}
+			types.add(ErrorType.valueOf(typeWeight[0].trim()));
+			total += weight;
+			cumulative.add(total);
+		}
+		return new FaultRule(errorRate, types, cumulative, latency, failFirst, windowStart, windowLength);
+	}
+
+	/**
+	 * @param callNumber 세션에서 이 엔드포인트의 몇 번째 호출인지 (1부터)
+	 * @param elapsed 세션(또는 시나리오 단계)이 시작된 뒤 지난 시간
+	 * @return 오류로 응답할 ErrorType, 정상이면 null
+	 */
+	ErrorType pickError(long callNumber, Duration elapsed, ThreadLocalRandom random) {
+		boolean fail = callNumber <= failFirst
+			|| (!failWindowLength.isZero() && elapsed.compareTo(failWindowStart) >= 0
+				&& elapsed.compareTo(failWindowStart.plus(failWindowLength)) < 0)
+			|| (errorRate > 0 && random.nextDouble() < errorRate);
+		if (!fail) {
+			return null;
+		}
+		int pick = random.nextInt(cumulativeWeights.getLast());
+		for (int i = 0; i < cumulativeWeights.size(); i++) {
+			if (pick < cumulativeWeights.get(i)) {
+				return statuses.get(i);
+			}
+		}
+		return statuses.getLast();
+	}
+}
@@ -0,0 +1,62 @@
+package com.wisehero.callee.fault;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * 시간에 따라 바뀌는 장애 규칙 (시나리오 스크립트)
+ *
+ * 문법: "{기간}>{규칙}; {기간}>{규칙}; ..." - 세션이 시작된 뒤 단계를 차례로 적용하고, 끝나면 처음부터 반복한다.
+ * 예) "30s>error-rate=0; 10s>error-rate=1, statuses=SERVICE_UNAVAILABLE:1; 20s>latency=lognormal:800ms:0.4"
+ *     정상 30초 → 503 10초 → 느린 응답 20초 → 다시 정상 ...
+ *
+ * ">" 가 없으면 규칙 하나를 계속 적용한다.
+ */
+public record FaultScenario(String spec, List<Step> steps, Duration cycle) {
+
+	public record Step(Duration duration, FaultRule rule) {
+	}
+
+	/** 지금 적용할 규칙과 그 단계가 시작된 뒤 지난 시간 */
+	public record Active(FaultRule rule, Duration elapsedInStep) {
+	}
+
+	public static FaultScenario parse(String spec) {
+		if (!spec.contains(">")) {
+			return new FaultScenario(spec, List.of(new Step(Duration.ZERO, FaultRule.parse(spec))), Duration.ZERO);
+		}
+		List<Step> steps = new ArrayList<>();
+		Duration cycle = Duration.ZERO;
+		for (String step : spec.split(";")) {
+			if (step.isBlank()) {
+				continue;
+			}
+			String[] durationRule = step.split(">", 2);
+			Duration duration = DurationStyle.detectAndParse(durationRule[0].trim());
+			if (duration.isZero() || duration.isNegative()) {
+				throw new IllegalArgumentException("단계 기간은 0보다 커야 합니다: " + step);
+			}
+			steps.add(new Step(duration, FaultRule.parse(durationRule.length > 1 ? durationRule[1] : "")));
+			cycle = cycle.plus(duration);
+		}
+		return new FaultScenario(spec, List.copyOf(steps), cycle);
+	}
+
+	Active activeAt(Duration sinceStart) {
+		if (cycle.isZero()) {
+			return new Active(steps.getFirst().rule(), sinceStart);
+		}
+		long offset = sinceStart.toNanos() % cycle.toNanos();
+		for (Step step : steps) {
+			long length = step.duration().toNanos();
+			if (offset < length) {
+				return new Active(step.rule(), Duration.ofNanos(offset));
+			}
+			offset -= length;
+		}
+		return new Active(steps.getLast().rule(), Duration.ZERO);
+	}
+}
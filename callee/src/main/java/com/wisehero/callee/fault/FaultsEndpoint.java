@@ -0,0 +1,51 @@
+package com.wisehero.callee.fault;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 장애 주입 규칙 조회/변경 (management 포트 /actuator/faults)
+ *
+ * - GET: 기본 규칙, 세션별 호출 횟수와 덮어쓴 규칙
+ * - POST {"endpoint": "hello", "rule": "error-rate=0.2, latency=lognormal:100ms:0.6", "session": "load-a"}
+ *   session 을 빼면 기본 규칙을 바꾼다. rule 을 비우면 규칙을 지운다. 문법은 FaultRule / FaultScenario 참고
+ *   규칙 형식이 틀렸거나 세션 수가 max-sessions 에 도달해 새 세션을 만들 수 없으면 400 으로 거절한다.
+ * - DELETE ?session=load-a: 세션의 호출 횟수, 시나리오 시계, 세션 규칙 초기화 (session 을 빼면 전체)
+ */
+@Component
+@Endpoint(id = "faults")
+@RequiredArgsConstructor
+public class FaultsEndpoint {
+
+	private final FaultInjector faultInjector;
+
+	@ReadOperation
+	public Map<String, Object> faults() {
+		return faultInjector.describe();
+	}
+
+	@WriteOperation
+	public Map<String, Object> update(String endpoint, @Nullable String rule, @Nullable String session) {
+		try {
+			faultInjector.updateRule(endpoint, session, rule);
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+		}
+		return faultInjector.describe();
+	}
+
+	@DeleteOperation
+	public Map<String, Object> reset(@Nullable String session) {
+		faultInjector.reset(session);
+		return faultInjector.describe();
+	}
+}
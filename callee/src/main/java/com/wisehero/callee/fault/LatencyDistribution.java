@@ -0,0 +1,72 @@
+package com.wisehero.callee.fault;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * 주입할 응답 지연 분포
+ *
+ * - fixed:{지연}
+ * - uniform:{최소}:{최대}
+ * - lognormal:{중앙값}:{sigma} - 대부분 빠르고 가끔 길게 늘어지는 실제 서비스 지연에 가깝다.
+ * - bimodal:{빠른 지연}:{느린 지연}:{느린 비율} - 예) GC 나 콜드 캐시로 일부만 느린 경우
+ *
+ * 난수는 ThreadLocalRandom 을 써서 요청 스레드끼리 경합하지 않는다.
+ */
+public sealed interface LatencyDistribution {
+
+	LatencyDistribution NONE = new Fixed(Duration.ZERO);
+
+	Duration sample(ThreadLocalRandom random);
+
+	static LatencyDistribution parse(String spec) {
+		String[] parts = spec.trim().split(":");
+		try {
+			return switch (parts[0].toLowerCase()) {
+				case "fixed" -> new Fixed(duration(parts[1]));
+				case "uniform" -> new Uniform(duration(parts[1]), duration(parts[2]));
+				case "lognormal" -> new LogNormal(duration(parts[1]), Double.parseDouble(parts[2]));
+				case "bimodal" -> new Bimodal(duration(parts[1]), duration(parts[2]), Double.parseDouble(parts[3]));
+				default -> throw new IllegalArgumentException("알 수 없는 지연 분포: " + parts[0]);
+			};
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("지연 분포 인자가 부족합니다: " + spec);
+		}
+	}
+
+	private static Duration duration(String value) {
+		return DurationStyle.detectAndParse(value.trim());
+	}
+
+	record Fixed(Duration delay) implements LatencyDistribution {
+		@Override
+		public Duration sample(ThreadLocalRandom random) {
+			return delay;
+		}
+	}
+
+	record Uniform(Duration min, Duration max) implements LatencyDistribution {
+		@Override
+		public Duration sample(ThreadLocalRandom random) {
+			long minNanos = min.toNanos();
+			long maxNanos = max.toNanos();
+			return maxNanos > minNanos ? Duration.ofNanos(random.nextLong(minNanos, maxNanos)) : min;
+		}
+	}
+
+	record LogNormal(Duration median, double sigma) implements LatencyDistribution {
+		@Override
+		public Duration sample(ThreadLocalRandom random) {
+			return Duration.ofNanos((long)(median.toNanos() * Math.exp(sigma * random.nextGaussian())));
+		}
+	}
+
+	record Bimodal(Duration fast, Duration slow, double slowRatio) implements LatencyDistribution {
+		@Override
+		public Duration sample(ThreadLocalRandom random) {
+			return random.nextDouble() < slowRatio ? slow : fast;
+		}
+	}
+}
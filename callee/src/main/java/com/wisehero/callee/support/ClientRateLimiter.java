@@ -0,0 +1,96 @@
+package com.wisehero.callee.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wisehero.callee.config.CalleeRateLimitProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 클라이언트별 토큰 버킷 (GCRA 방식)
+ *
+ * 토큰 개수 대신 "다음 요청이 이론상 도착해야 할 시각(TAT)" 하나만 AtomicLong 으로 들고 있다.
+ * - 요청이 오면 TAT 를 요청 간격(1 / permits-per-second)만큼 뒤로 민다.
+ * - TAT 가 지금보다 burst 간격 이상 앞서 있으면 거절하고, 그 차이를 Retry-After 로 알려준다.
+ * 락 없이 CAS 한 번으로 끝나고, 거절된 요청은 한도를 깎지 않는다.
+ *
+ * 클라이언트별 TAT 는 크기가 max-clients 로 묶인 Caffeine 캐시에 둔다.
+ * - 마지막 요청 뒤 (burst + 1) 간격이 지나면 TAT 가 이미 지나 버킷이 가득 찬 상태라 잊어도 동작이 같다. (expireAfterAccess)
+ * - 그 전에 max-clients 를 넘으면 Caffeine 이 덜 쓰이는 클라이언트부터 내보낸다.
+ *   내보낸 클라이언트는 버킷이 가득 찬 상태로 다시 시작한다.
+ *
+ * - callee.rate-limit.rejected: 한도를 넘어 429 로 응답한 요청 수
+ * - callee.rate-limit.clients: 기억하고 있는 클라이언트 수
+ */
+@Component
+public class ClientRateLimiter {
+
+	private final CalleeRateLimitProperties properties;
+	private final long intervalNanos;
+	private final long toleranceNanos;
+	private final LongSupplier clock;
+	private final Cache<String, AtomicLong> clients;
+	private final Counter rejected;
+
+	@Autowired
+	public ClientRateLimiter(CalleeRateLimitProperties properties, MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, System::nanoTime);
+	}
+
+	ClientRateLimiter(CalleeRateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+		this.properties = properties;
+		this.intervalNanos = (long)(1_000_000_000L / properties.permitsPerSecond());
+		this.toleranceNanos = intervalNanos * properties.burst();
+		this.clock = clock;
+		this.clients = Caffeine.newBuilder()
+			.maximumSize(properties.maxClients())
+			.expireAfterAccess(Duration.ofNanos(toleranceNanos + intervalNanos))
+			.ticker(clock::getAsLong)
+			.build();
+		this.rejected = Counter.builder("callee.rate-limit.rejected")
+			.description("클라이언트별 요청 한도를 넘어 429 로 응답한 요청 수")
+			.register(meterRegistry);
+		Gauge.builder("callee.rate-limit.clients", this, ClientRateLimiter::trackedClients)
+			.description("요청 한도 상태를 기억하고 있는 클라이언트 수")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * @return 받아도 되면 Duration.ZERO, 아니면 다시 보내도 되는 시점까지 남은 시간
+	 */
+	public Duration tryAcquire(String client) {
+		if (!properties.enabled()) {
+			return Duration.ZERO;
+		}
+		AtomicLong theoreticalArrival = clients.get(client, key -> new AtomicLong(clock.getAsLong()));
+
+		long now = clock.getAsLong();
+		while (true) {
+			long tat = theoreticalArrival.get();
+			long start = Math.max(tat, now);
+			long ahead = start - now;
+			if (ahead > toleranceNanos) {
+				rejected.increment();
+				return Duration.ofNanos(ahead - toleranceNanos);
+			}
+			if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+				return Duration.ZERO;
+			}
+		}
+	}
+
+	// 만료 / 크기 초과로 내보낼 항목을 먼저 정리하고 센다.
+	long trackedClients() {
+		clients.cleanUp();
+		return clients.estimatedSize();
+	}
+}
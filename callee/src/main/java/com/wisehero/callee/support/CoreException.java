@@ -2,6 +2,12 @@ package com.wisehero.callee.support;
 
 import lombok.Getter;
 
+/**
+ * 의도한 실패(ErrorType)를 알리는 예외. ApiControllerAdvice 가 ErrorType 에 맞는 응답으로 바꾼다.
+ *
+ * 장애 주입 중에는 요청마다 던져지는 예외라 스택 트레이스를 만들지 않는다. (writableStackTrace=false)
+ * 어디서 던졌는지는 ErrorType 과 메시지로 충분하다.
+ */
 @Getter
 public class CoreException extends RuntimeException {
 	private final ErrorType errorType;
@@ -12,7 +18,7 @@ public class CoreException extends RuntimeException {
 	}
 
 	public CoreException(ErrorType errorType, String customMessage) {
-		super(customMessage != null ? customMessage : errorType.getMessage());
+		super(customMessage != null ? customMessage : errorType.getMessage(), null, false, false);
 		this.errorType = errorType;
 		this.customMessage = customMessage;
 	}
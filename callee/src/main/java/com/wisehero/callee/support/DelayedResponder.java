@@ -0,0 +1,109 @@
+package com.wisehero.callee.support;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 지연 응답을 스레드를 재우지 않고 흉내 내는 도우미
+ *
+ * Thread.sleep 으로 지연을 만들면 대기하는 동안 Tomcat 스레드(기본 200개)를 하나씩 붙잡아서
+ * 느린 요청 200개 남짓에서 callee 가 포화된다.
+ * 여기서는 DeferredResult 를 돌려주고 Tomcat 스레드는 바로 반납한 뒤, 지연이 끝나면 스케줄러 스레드 하나가 응답을 채운다.
+ * 대기 중인 응답 수는 스레드 수가 아니라 server.tomcat.max-connections 로 제한된다.
+ *
+ * - 클라이언트가 먼저 끊거나 async 타임아웃이 나면 예약한 응답을 취소한다.
+ * - callee.delayed.pending: 지연이 끝나길 기다리는 응답 수
+ */
+@Slf4j
+@Component
+public class DelayedResponder {
+
+	// async 타임아웃은 지연보다 조금 길게 둔다. 응답이 늦게 채워져도 타임아웃으로 끊기지 않도록 하기 위함 (/batch 도 같이 쓴다)
+	public static final Duration TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+		Thread.ofPlatform().name("callee-delay-scheduler").daemon().factory());
+	private final AtomicInteger pending = new AtomicInteger();
+
+	public DelayedResponder(MeterRegistry meterRegistry) {
+		Gauge.builder("callee.delayed.pending", pending, AtomicInteger::get)
+			.description("지연이 끝나길 기다리는 응답 수")
+			.register(meterRegistry);
+	}
+
+	public <T> DeferredResult<T> after(Duration delay, Supplier<T> response) {
+		if (delay.isZero() || delay.isNegative()) {
+			// 기다릴 게 없으면 스케줄러를 거치지 않고 바로 채운다.
+			DeferredResult<T> result = new DeferredResult<>();
+			complete(result, response);
+			return result;
+		}
+		DeferredResult<T> result = new DeferredResult<>(delay.plus(TIMEOUT_MARGIN).toMillis());
+		pending.incrementAndGet();
+		ScheduledFuture<?> scheduled = scheduler.schedule(() -> complete(result, response), delay.toNanos(),
+			TimeUnit.NANOSECONDS);
+
+		result.onCompletion(() -> {
+			pending.decrementAndGet();
+			if (scheduled.cancel(false)) {
+				log.debug("지연 응답 취소 - 클라이언트 연결 종료 또는 타임아웃");
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * after 와 같지만 DeferredResult 대신 CompletableFuture 로 돌려준다. 여러 응답을 모아서 하나로 내보내는 /batch 용
+	 * 결과를 기다리지 않게 되면 cancel 로 예약한 응답을 취소한다.
+	 */
+	public <T> CompletableFuture<T> later(Duration delay, Supplier<T> response) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		if (delay.isZero() || delay.isNegative()) {
+			complete(result, response);
+			return result;
+		}
+		pending.incrementAndGet();
+		ScheduledFuture<?> scheduled = scheduler.schedule(() -> complete(result, response), delay.toNanos(),
+			TimeUnit.NANOSECONDS);
+		result.whenComplete((value, failure) -> {
+			pending.decrementAndGet();
+			scheduled.cancel(false);
+		});
+		return result;
+	}
+
+	private static <T> void complete(CompletableFuture<T> result, Supplier<T> response) {
+		try {
+			result.complete(response.get());
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	private static <T> void complete(DeferredResult<T> result, Supplier<T> response) {
+		try {
+			result.setResult(response.get());
+		} catch (RuntimeException e) {
+			result.setErrorResult(e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+}
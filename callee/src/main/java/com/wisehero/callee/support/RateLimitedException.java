@@ -0,0 +1,20 @@
+package com.wisehero.callee.support;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * 클라이언트별 요청 한도(ClientRateLimiter)를 넘은 요청
+ * ApiControllerAdvice 가 429 + Retry-After 로 응답한다.
+ */
+@Getter
+public class RateLimitedException extends CoreException {
+
+	private final Duration retryAfter;
+
+	public RateLimitedException(Duration retryAfter) {
+		super(ErrorType.TOO_MANY_REQUESTS);
+		this.retryAfter = retryAfter;
+	}
+}
@@ -0,0 +1,85 @@
+package com.wisehero.callee.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.callee.config.CalleeAdmissionProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoDelAdmissionTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// target 50ms, interval 500ms
+	private final CoDelAdmission admission = new CoDelAdmission(new CalleeAdmissionProperties(true,
+		Duration.ofMillis(50), Duration.ofMillis(500)), meterRegistry, clock::get);
+
+	@Test
+	void admitsUpToIntervalWhileNotOverloaded() {
+		assertThat(admission.admit(millis(100))).isTrue();
+		assertThat(admission.admit(millis(500))).isTrue();
+		assertThat(admission.admit(millis(501))).isFalse();
+
+		assertThat(admission.overloaded()).isFalse();
+		assertThat(meterRegistry.counter("callee.admission.shed").count()).isEqualTo(1);
+	}
+
+	@Test
+	void shortBurstIsNotOverload() {
+		// 오래 기다린 요청이 있어도 한 번이라도 큐가 비었으면 (최소값 <= target) 과부하가 아니다.
+		admission.admit(millis(300));
+		admission.admit(millis(10));
+		admission.admit(millis(300));
+
+		endInterval();
+		assertThat(admission.admit(millis(100))).isTrue();
+		assertThat(admission.overloaded()).isFalse();
+	}
+
+	@Test
+	void shedsAboveTargetOnceMinimumStaysAboveTarget() {
+		admission.admit(millis(100));
+		admission.admit(millis(80));
+
+		endInterval();
+		assertThat(admission.admit(millis(100))).isFalse();
+		assertThat(admission.overloaded()).isTrue();
+		assertThat(admission.admit(millis(50))).isTrue();
+		assertThat(meterRegistry.get("callee.admission.overloaded").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void recoversWhenQueueDrainsWithinAnInterval() {
+		admission.admit(millis(100));
+		endInterval();
+		admission.admit(millis(100));
+		assertThat(admission.overloaded()).isTrue();
+
+		admission.admit(millis(5));
+		endInterval();
+		assertThat(admission.admit(millis(100))).isTrue();
+		assertThat(admission.overloaded()).isFalse();
+	}
+
+	@Test
+	void idleIntervalIsNotOverload() {
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+
+		assertThat(admission.admit(millis(100))).isTrue();
+		assertThat(admission.overloaded()).isFalse();
+	}
+
+	private void endInterval() {
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+	}
+
+	private static long millis(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+}
@@ -0,0 +1,87 @@
+package com.wisehero.callee.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.callee.config.CalleeFaultProperties;
+import com.wisehero.callee.support.DelayedResponder;
+import com.wisehero.callee.support.ErrorType;
+
+class FaultInjectorTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final FaultInjector faultInjector = new FaultInjector(mock(DelayedResponder.class),
+		new CalleeFaultProperties(2, Duration.ofMinutes(10), Map.of("hello", "fail-first=1")), clock::get);
+
+	@Test
+	void sessionsCountCallsSeparately() {
+		assertThat(faultInjector.decide("hello", null).error()).isEqualTo(ErrorType.INTERNAL_ERROR);
+		assertThat(faultInjector.decide("hello", null).error()).isNull();
+		assertThat(faultInjector.decide("hello", "load-a").error()).isEqualTo(ErrorType.INTERNAL_ERROR);
+	}
+
+	@Test
+	void sessionRuleOverridesOnlyThatSession() {
+		faultInjector.updateRule("hello", "load-a", "error-rate=1, statuses=SERVICE_UNAVAILABLE");
+
+		assertThat(faultInjector.decide("hello", "load-a").error()).isEqualTo(ErrorType.SERVICE_UNAVAILABLE);
+		assertThat(faultInjector.decide("hello", null).error()).isEqualTo(ErrorType.INTERNAL_ERROR);
+		assertThat(faultInjector.decide("hello", null).error()).isNull();
+	}
+
+	@Test
+	void rejectsRuleForNewSessionOverMaxSessions() {
+		faultInjector.updateRule("hello", "load-a", "error-rate=1");
+
+		assertThatThrownBy(() -> faultInjector.updateRule("hello", "load-b", "error-rate=1, statuses=CONFLICT"))
+			.isInstanceOf(IllegalStateException.class);
+
+		// default 세션 규칙은 그대로다.
+		assertThat(faultInjector.decide("hello", null).error()).isEqualTo(ErrorType.INTERNAL_ERROR);
+		assertThat(faultInjector.decide("hello", null).error()).isNull();
+	}
+
+	@Test
+	void requestsOverMaxSessionsTouchNoSessionState() {
+		faultInjector.updateRule("hello", "load-a", "error-rate=1");
+
+		FaultDecision rejected = faultInjector.decide("hello", "load-b");
+
+		assertThat(rejected.error()).isEqualTo(ErrorType.SERVICE_UNAVAILABLE);
+		assertThat(rejected.callNumber()).isZero();
+		// default 세션의 횟수는 그대로라 fail-first=1 의 첫 호출이 아직 남아 있다.
+		assertThat(faultInjector.decide("hello", null).error()).isEqualTo(ErrorType.INTERNAL_ERROR);
+		assertThat(faultInjector.describe()).extractingByKey("sessions")
+			.asInstanceOf(InstanceOfAssertFactories.MAP).containsOnlyKeys("default", "load-a");
+	}
+
+	@Test
+	void idleSessionsExpireAndFreeTheirSlots() {
+		faultInjector.updateRule("hello", "load-a", "error-rate=1");
+
+		clock.addAndGet(Duration.ofMinutes(11).toNanos());
+
+		faultInjector.updateRule("hello", "load-b", "error-rate=1, statuses=CONFLICT");
+		assertThat(faultInjector.decide("hello", "load-b").error()).isEqualTo(ErrorType.CONFLICT);
+		// 지워진 세션은 새 세션으로 다시 시작하지만 자리가 없어 거절된다.
+		assertThat(faultInjector.decide("hello", "load-a").error()).isEqualTo(ErrorType.SERVICE_UNAVAILABLE);
+	}
+
+	@Test
+	void resetFreesSessionSlots() {
+		faultInjector.updateRule("hello", "load-a", "error-rate=1");
+		faultInjector.reset("load-a");
+
+		faultInjector.updateRule("hello", "load-b", "error-rate=1, statuses=CONFLICT");
+
+		assertThat(faultInjector.decide("hello", "load-b").error()).isEqualTo(ErrorType.CONFLICT);
+	}
+}
@@ -0,0 +1,99 @@
+package com.wisehero.callee.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.callee.support.ErrorType;
+
+class FaultRuleTest {
+
+	@Test
+	void parsesAllKeys() {
+		FaultRule rule = FaultRule.parse(
+			"error-rate=0.3, statuses=SERVICE_UNAVAILABLE:3|BAD_GATEWAY, latency=fixed:200ms, fail-first=8,"
+				+ " fail-window=30s:20s");
+
+		assertThat(rule.errorRate()).isEqualTo(0.3);
+		assertThat(rule.statuses()).containsExactly(ErrorType.SERVICE_UNAVAILABLE, ErrorType.BAD_GATEWAY);
+		assertThat(rule.cumulativeWeights()).containsExactly(3, 4);
+		assertThat(rule.latency()).isEqualTo(new LatencyDistribution.Fixed(Duration.ofMillis(200)));
+		assertThat(rule.failFirst()).isEqualTo(8);
+		assertThat(rule.failWindowStart()).isEqualTo(Duration.ofSeconds(30));
+		assertThat(rule.failWindowLength()).isEqualTo(Duration.ofSeconds(20));
+	}
+
+	@Test
+	void emptySpecInjectsNothing() {
+		FaultRule rule = FaultRule.parse("");
+
+		assertThat(rule.errorRate()).isZero();
+		assertThat(rule.statuses()).containsExactly(ErrorType.INTERNAL_ERROR);
+		assertThat(rule.latency()).isSameAs(LatencyDistribution.NONE);
+		assertThat(rule.pickError(1, Duration.ZERO, ThreadLocalRandom.current())).isNull();
+	}
+
+	@Test
+	void failFirstFailsOnlyTheFirstCalls() {
+		FaultRule rule = FaultRule.parse("fail-first=2, statuses=CONFLICT");
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		assertThat(rule.pickError(1, Duration.ZERO, random)).isEqualTo(ErrorType.CONFLICT);
+		assertThat(rule.pickError(2, Duration.ZERO, random)).isEqualTo(ErrorType.CONFLICT);
+		assertThat(rule.pickError(3, Duration.ZERO, random)).isNull();
+	}
+
+	@Test
+	void failWindowIsHalfOpen() {
+		FaultRule rule = FaultRule.parse("fail-window=30s:20s");
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		assertThat(rule.pickError(1, Duration.ofSeconds(29), random)).isNull();
+		assertThat(rule.pickError(1, Duration.ofSeconds(30), random)).isEqualTo(ErrorType.INTERNAL_ERROR);
+		assertThat(rule.pickError(1, Duration.ofSeconds(49), random)).isEqualTo(ErrorType.INTERNAL_ERROR);
+		assertThat(rule.pickError(1, Duration.ofSeconds(50), random)).isNull();
+	}
+
+	@Test
+	void picksOnlyWeightedStatuses() {
+		FaultRule rule = FaultRule.parse("error-rate=1, statuses=BAD_REQUEST:1|NOT_FOUND:1");
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(rule.pickError(i + 1, Duration.ZERO, random)).isIn(ErrorType.BAD_REQUEST, ErrorType.NOT_FOUND);
+		}
+	}
+
+	@Test
+	void componentsAreImmutableCopies() {
+		List<ErrorType> statuses = new ArrayList<>(List.of(ErrorType.CONFLICT));
+		List<Integer> weights = new ArrayList<>(List.of(1));
+		FaultRule rule = new FaultRule(1, statuses, weights, LatencyDistribution.NONE, 0, Duration.ZERO, Duration.ZERO);
+
+		statuses.set(0, ErrorType.NOT_FOUND);
+		weights.set(0, 0);
+
+		assertThat(rule.statuses()).containsExactly(ErrorType.CONFLICT);
+		assertThat(rule.cumulativeWeights()).containsExactly(1);
+		assertThatThrownBy(() -> rule.statuses().add(ErrorType.BAD_REQUEST))
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void rejectsMalformedSpecsWithIllegalArgumentException() {
+		assertThatThrownBy(() -> FaultRule.parse("fail-window=30s")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultRule.parse("fail-window=30s:20s:10s"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultRule.parse("error-rate")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultRule.parse("unknown=1")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultRule.parse("error-rate=abc")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultRule.parse("statuses=NO_SUCH_TYPE")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultRule.parse("statuses=CONFLICT:0")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,61 @@
+package com.wisehero.callee.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.callee.support.ErrorType;
+
+class FaultScenarioTest {
+
+	@Test
+	void specWithoutStepsAppliesOneRuleForever() {
+		FaultScenario scenario = FaultScenario.parse("fail-first=3");
+
+		assertThat(scenario.steps()).hasSize(1);
+		assertThat(scenario.cycle()).isZero();
+		FaultScenario.Active active = scenario.activeAt(Duration.ofHours(1));
+		assertThat(active.rule().failFirst()).isEqualTo(3);
+		assertThat(active.elapsedInStep()).isEqualTo(Duration.ofHours(1));
+	}
+
+	@Test
+	void stepsRepeatInACycle() {
+		FaultScenario scenario = FaultScenario.parse(
+			"30s>error-rate=0; 10s>error-rate=1, statuses=SERVICE_UNAVAILABLE:1; 20s>latency=fixed:800ms");
+
+		assertThat(scenario.steps()).hasSize(3);
+		assertThat(scenario.cycle()).isEqualTo(Duration.ofSeconds(60));
+
+		assertThat(scenario.activeAt(Duration.ofSeconds(29)).rule().errorRate()).isZero();
+
+		FaultScenario.Active outage = scenario.activeAt(Duration.ofSeconds(35));
+		assertThat(outage.rule().statuses()).containsExactly(ErrorType.SERVICE_UNAVAILABLE);
+		assertThat(outage.elapsedInStep()).isEqualTo(Duration.ofSeconds(5));
+
+		FaultScenario.Active slow = scenario.activeAt(Duration.ofSeconds(45));
+		assertThat(slow.rule().latency()).isEqualTo(new LatencyDistribution.Fixed(Duration.ofMillis(800)));
+		assertThat(slow.elapsedInStep()).isEqualTo(Duration.ofSeconds(5));
+
+		assertThat(scenario.activeAt(Duration.ofSeconds(95)).rule().errorRate()).isEqualTo(1.0);
+	}
+
+	@Test
+	void stepWithoutRuleInjectsNothing() {
+		FaultScenario scenario = FaultScenario.parse("10s>; 10s>error-rate=1");
+
+		assertThat(scenario.activeAt(Duration.ofSeconds(5)).rule().errorRate()).isZero();
+		assertThat(scenario.activeAt(Duration.ofSeconds(15)).rule().errorRate()).isEqualTo(1.0);
+	}
+
+	@Test
+	void rejectsMalformedSteps() {
+		assertThatThrownBy(() -> FaultScenario.parse("0s>error-rate=1")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultScenario.parse("abc>error-rate=1")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FaultScenario.parse("10s>fail-window=30s"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,50 @@
+package com.wisehero.callee.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyDistributionTest {
+
+	private final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+	@Test
+	void parsesEachDistribution() {
+		assertThat(LatencyDistribution.parse("fixed:200ms"))
+			.isEqualTo(new LatencyDistribution.Fixed(Duration.ofMillis(200)));
+		assertThat(LatencyDistribution.parse(" Uniform:10ms:20ms"))
+			.isEqualTo(new LatencyDistribution.Uniform(Duration.ofMillis(10), Duration.ofMillis(20)));
+		assertThat(LatencyDistribution.parse("lognormal:100ms:0.5"))
+			.isEqualTo(new LatencyDistribution.LogNormal(Duration.ofMillis(100), 0.5));
+		assertThat(LatencyDistribution.parse("bimodal:5ms:1s:0.1"))
+			.isEqualTo(new LatencyDistribution.Bimodal(Duration.ofMillis(5), Duration.ofSeconds(1), 0.1));
+	}
+
+	@Test
+	void samplesStayWithinTheDistribution() {
+		LatencyDistribution uniform = LatencyDistribution.parse("uniform:10ms:20ms");
+		LatencyDistribution bimodal = LatencyDistribution.parse("bimodal:5ms:1s:0.5");
+		LatencyDistribution lognormal = LatencyDistribution.parse("lognormal:100ms:0");
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(uniform.sample(random)).isBetween(Duration.ofMillis(10), Duration.ofMillis(20));
+			assertThat(bimodal.sample(random)).isIn(Duration.ofMillis(5), Duration.ofSeconds(1));
+			assertThat(lognormal.sample(random)).isEqualTo(Duration.ofMillis(100));
+		}
+		assertThat(LatencyDistribution.parse("uniform:10ms:10ms").sample(random)).isEqualTo(Duration.ofMillis(10));
+	}
+
+	@Test
+	void rejectsMalformedSpecsWithIllegalArgumentException() {
+		assertThatThrownBy(() -> LatencyDistribution.parse("uniform:10ms"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LatencyDistribution.parse("pareto:10ms"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LatencyDistribution.parse("fixed:soon"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
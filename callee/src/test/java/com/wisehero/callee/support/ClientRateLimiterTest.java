@@ -0,0 +1,114 @@
+package com.wisehero.callee.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.callee.config.CalleeRateLimitProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClientRateLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void acceptsBurstThenRejectsWithTimeUntilNextSlot() {
+		// 초당 10개 = 100ms 간격, burst 2 = 200ms 까지 앞당겨 받는다.
+		ClientRateLimiter limiter = limiter(true, 10, 2, 100);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(100));
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+		assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(60));
+		assertThat(meterRegistry.counter("callee.rate-limit.rejected").count()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectedRequestsDoNotConsumeTheLimit() {
+		ClientRateLimiter limiter = limiter(true, 10, 1, 100);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(100));
+		}
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(limiter.tryAcquire("a")).isZero();
+	}
+
+	@Test
+	void refillsAtPermitsPerSecond() {
+		ClientRateLimiter limiter = limiter(true, 10, 1, 100);
+		int accepted = 0;
+
+		for (int i = 0; i < 100; i++) {
+			if (limiter.tryAcquire("a").isZero()) {
+				accepted++;
+			}
+			clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+
+		// 1초 동안 10ms 마다 보내도 처음 burst 1개에 더해 100ms 간격으로 10개만 받는다.
+		assertThat(accepted).isEqualTo(11);
+	}
+
+	@Test
+	void clientsHaveSeparateLimits() {
+		ClientRateLimiter limiter = limiter(true, 10, 1, 100);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+		assertThat(limiter.tryAcquire("b")).isZero();
+	}
+
+	@Test
+	void disabledAcceptsEverything() {
+		ClientRateLimiter limiter = limiter(false, 10, 1, 100);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(limiter.tryAcquire("a")).isZero();
+		}
+		assertThat(limiter.trackedClients()).isZero();
+	}
+
+	@Test
+	void forgetsIdleClientsOnceTheirBucketIsFull() {
+		ClientRateLimiter limiter = limiter(true, 10, 2, 100);
+		limiter.tryAcquire("a");
+		assertThat(limiter.trackedClients()).isEqualTo(1);
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+		assertThat(limiter.trackedClients()).isEqualTo(1);
+
+		// 마지막 요청 뒤 (burst + 1) * 100ms = 300ms 가 지나면 잊는다.
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(101));
+		assertThat(limiter.trackedClients()).isZero();
+	}
+
+	@Test
+	void trackedClientsAreBoundedByMaxClients() {
+		ClientRateLimiter limiter = limiter(true, 10, 2, 100);
+
+		for (int i = 0; i < 10_000; i++) {
+			limiter.tryAcquire("client-" + i);
+		}
+
+		assertThat(limiter.trackedClients()).isLessThanOrEqualTo(100);
+	}
+
+	private ClientRateLimiter limiter(boolean enabled, double permitsPerSecond, int burst, int maxClients) {
+		return new ClientRateLimiter(new CalleeRateLimitProperties(enabled, permitsPerSecond, burst, maxClients, null),
+			meterRegistry, clock::get);
+	}
+}
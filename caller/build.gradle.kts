@@ -1,11 +1,31 @@
 dependencies {
+    implementation(project(":common"))
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+    // callee 와 주고받는 바이너리 본문 형식 (callee.codec.format)
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
     implementation("org.springframework.boot:spring-boot-starter-aop")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     // OpenFeign
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign")
+    implementation("io.github.openfeign:feign-hc5")
+    implementation("io.github.openfeign:feign-java11")
 
     // Resilience with Spring Cloud
     implementation("org.springframework.cloud:spring-cloud-starter-circuitbreaker-resilience4j")
-}
\ No newline at end of file
+    implementation("io.github.resilience4j:resilience4j-bulkhead")
+
+    // fallback 용 last-known-good 캐시
+    implementation("com.github.ben-manes.caffeine:caffeine")
+}
+// ./gradlew :caller:bootRun -PvirtualThreads
+// 가상 스레드 프로파일로 실행하고, synchronized 등으로 가상 스레드가 캐리어에 고정(pinning)되면 스택을 출력한다.
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+    if (project.hasProperty("virtualThreads")) {
+        systemProperty("spring.profiles.include", "virtual-threads")
+        jvmArgs("-Djdk.tracePinnedThreads=short")
+    }
+}
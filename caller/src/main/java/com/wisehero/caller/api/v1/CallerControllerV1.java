@@ -1,5 +1,7 @@
 package com.wisehero.caller.api.v1;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -54,4 +56,40 @@ public class CallerControllerV1 {
 		log.info("[Caller] test-error-503 호출");
 		return calleeService.call503Error();
 	}
+
+	@GetMapping("/test-hello-async")
+	public CompletableFuture<ApiResponse<HelloResponse>> testHelloAsync() {
+		log.info("[Caller] test-hello-async 호출");
+		return calleeService.callHelloAsync();
+	}
+
+	@GetMapping("/test-circuit-flow-async")
+	public CompletableFuture<ApiResponse<CircuitTestResponse>> testCircuitFlowAsync() {
+		log.info("[Caller] test-circuit-flow-async 호출");
+		return calleeService.callCircuitTestAsync();
+	}
+
+	@GetMapping("/test-slow-async")
+	public CompletableFuture<ApiResponse<String>> testSlowAsync() {
+		log.info("[Caller] test-slow-async 호출");
+		return calleeService.callSlowAsync();
+	}
+
+	@GetMapping("/test-error-4xx-async")
+	public CompletableFuture<ApiResponse<Object>> testError4xxAsync() {
+		log.info("[Caller] test-error-4xx-async 호출");
+		return calleeService.call4xxErrorAsync();
+	}
+
+	@GetMapping("/test-error-500-async")
+	public CompletableFuture<ApiResponse<Object>> testError500Async() {
+		log.info("[Caller] test-error-500-async 호출");
+		return calleeService.call500ErrorAsync();
+	}
+
+	@GetMapping("/test-error-503-async")
+	public CompletableFuture<ApiResponse<Object>> testError503Async() {
+		log.info("[Caller] test-error-503-async 호출");
+		return calleeService.call503ErrorAsync();
+	}
 }
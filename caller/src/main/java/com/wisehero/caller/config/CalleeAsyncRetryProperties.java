@@ -0,0 +1,28 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 비동기(*Async) 호출의 재시도 설정 (AsyncRetrier)
+ *
+ * - max-attempts: 최초 호출을 포함한 최대 시도 횟수
+ * - base-delay / max-delay: decorrelated jitter 백오프의 최소 / 최대 대기 시간
+ *   다음 대기 = min(max-delay, random(base-delay, 직전 대기 * 3))
+ *
+ * 재시도는 모두 TimeLimiter 안에서 일어나므로 전체 시간은 TimeLimiter timeoutDuration 을 넘지 않는다.
+ */
+@ConfigurationProperties("callee.retry.async")
+public record CalleeAsyncRetryProperties(
+	int maxAttempts,
+	Duration baseDelay,
+	Duration maxDelay
+) {
+
+	public CalleeAsyncRetryProperties {
+		maxAttempts = maxAttempts > 0 ? maxAttempts : 3;
+		baseDelay = baseDelay != null ? baseDelay : Duration.ofMillis(100);
+		maxDelay = maxDelay != null ? maxDelay : Duration.ofSeconds(1);
+	}
+}
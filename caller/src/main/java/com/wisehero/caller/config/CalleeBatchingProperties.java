@@ -0,0 +1,31 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CalleeV1Client 호출을 모아서 callee /batch 로 보내는 설정 (BatchingDispatcher)
+ *
+ * - enabled: 끄면 지금처럼 호출마다 HTTP 요청을 하나씩 보낸다.
+ * - window: 첫 호출이 들어온 뒤 다른 호출을 기다리는 시간. 모든 묶인 호출의 지연이 최대 이만큼 늘어난다.
+ * - max-size: 이만큼 모이면 window 를 기다리지 않고 바로 보낸다. (callee.batch.max-items 이하)
+ * - methods: 묶어서 보낼 CalleeV1Client 메서드. 인자 없는 GET 메서드만 의미가 있다.
+ *   hedging 이 켜져 있으면 @Hedged 메서드(hello)는 넣을 수 없다.
+ */
+@ConfigurationProperties("callee.batching")
+public record CalleeBatchingProperties(
+	Boolean enabled,
+	Duration window,
+	int maxSize,
+	Set<String> methods
+) {
+
+	public CalleeBatchingProperties {
+		enabled = enabled != null ? enabled : Boolean.FALSE;
+		window = window != null ? window : Duration.ofMillis(2);
+		maxSize = maxSize > 0 ? maxSize : 32;
+		methods = methods != null ? Set.copyOf(methods) : Set.of("circuitTest");
+	}
+}
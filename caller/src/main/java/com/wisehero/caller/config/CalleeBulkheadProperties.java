@@ -0,0 +1,43 @@
+package com.wisehero.caller.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CalleeV1Client 메서드별 Bulkhead 격리 수준 설정
+ *
+ * 예)
+ * callee:
+ *   bulkhead:
+ *     default-isolation: semaphore
+ *     isolation:
+ *       slow: thread-pool
+ *
+ * - key 는 CalleeV1Client 의 메서드 이름 (hello, slow, error500 ...)
+ * - 지정하지 않은 메서드는 default-isolation 을 따른다.
+ * - 실제 동시성/큐 크기는 resilience4j.bulkhead / resilience4j.thread-pool-bulkhead 의
+ *   "callee-client-v1-{메서드명}" 인스턴스 설정을 사용한다.
+ */
+@ConfigurationProperties("callee.bulkhead")
+public record CalleeBulkheadProperties(
+	Isolation defaultIsolation,
+	Map<String, Isolation> isolation
+) {
+
+	public enum Isolation {
+		/** 호출 스레드에서 그대로 실행하고 동시 호출 수만 제한 */
+		SEMAPHORE,
+		/** 전용 스레드 풀 + 대기 큐에서 실행 */
+		THREAD_POOL
+	}
+
+	public CalleeBulkheadProperties {
+		defaultIsolation = defaultIsolation != null ? defaultIsolation : Isolation.SEMAPHORE;
+		isolation = isolation != null ? Map.copyOf(isolation) : Map.of();
+	}
+
+	public Isolation isolationOf(String method) {
+		return isolation.getOrDefault(method, defaultIsolation);
+	}
+}
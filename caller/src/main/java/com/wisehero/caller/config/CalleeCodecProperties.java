@@ -0,0 +1,46 @@
+package com.wisehero.caller.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.MediaType;
+
+/**
+ * CalleeV1Client 가 callee 와 주고받는 본문 형식 (FeignClientConfig)
+ *
+ * - format
+ *   - json (기본)
+ *   - smile: Jackson Smile (application/x-jackson-smile). JSON 과 같은 구조의 바이너리 형식
+ *   - cbor: CBOR (application/cbor)
+ *
+ * 요청의 Accept 에 JSON 을 낮은 우선순위로 같이 보내서 callee 가 바이너리 형식을 주지 못하면 JSON 으로 받는다.
+ * 응답은 Content-Type 을 보고 맞는 컨버터로 읽는다.
+ */
+@ConfigurationProperties("callee.codec")
+public record CalleeCodecProperties(
+	Format format
+) {
+
+	public enum Format {
+		JSON(MediaType.APPLICATION_JSON),
+		SMILE(new MediaType("application", "x-jackson-smile")),
+		CBOR(MediaType.APPLICATION_CBOR);
+
+		private final MediaType mediaType;
+
+		Format(MediaType mediaType) {
+			this.mediaType = mediaType;
+		}
+
+		public MediaType mediaType() {
+			return mediaType;
+		}
+
+		/** 이 형식을 우선으로, JSON 을 대안으로 받는 Accept 헤더 값 */
+		public String accept() {
+			return this == JSON ? mediaType.toString() : mediaType + ", " + MediaType.APPLICATION_JSON + ";q=0.5";
+		}
+	}
+
+	public CalleeCodecProperties {
+		format = format != null ? format : Format.JSON;
+	}
+}
@@ -0,0 +1,39 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CalleeV1Client 메서드별 적응형 동시성 제한(Vegas) 설정
+ *
+ * - enabled: 끄면 동시 호출 수를 제한하지 않는다. (Bulkhead 의 고정 한도만 남는다)
+ * - initial-limit / min-limit / max-limit: 동시 호출 한도의 시작값과 범위
+ * - alpha / beta: 추정 대기열 길이가 alpha 보다 작으면 한도를 늘리고, beta 보다 크면 줄인다.
+ * - backoff-ratio: 타임아웃/연결 실패가 나면 한도에 곱하는 비율
+ * - probe-interval: 이 주기마다 최소 RTT(no-load RTT)를 지난 주기 동안 본 RTT 의 최솟값으로 다시 잡는다.
+ *   callee 성능이 바뀌어도 따라가기 위함
+ */
+@ConfigurationProperties("callee.concurrency-limit")
+public record CalleeConcurrencyLimitProperties(
+	Boolean enabled,
+	int initialLimit,
+	int minLimit,
+	int maxLimit,
+	int alpha,
+	int beta,
+	double backoffRatio,
+	Duration probeInterval
+) {
+
+	public CalleeConcurrencyLimitProperties {
+		enabled = enabled != null ? enabled : Boolean.TRUE;
+		initialLimit = initialLimit > 0 ? initialLimit : 20;
+		minLimit = minLimit > 0 ? minLimit : 1;
+		maxLimit = maxLimit > 0 ? maxLimit : 200;
+		alpha = alpha > 0 ? alpha : 3;
+		beta = beta > alpha ? beta : alpha * 2;
+		backoffRatio = backoffRatio > 0 && backoffRatio < 1 ? backoffRatio : 0.9;
+		probeInterval = probeInterval != null ? probeInterval : Duration.ofSeconds(30);
+	}
+}
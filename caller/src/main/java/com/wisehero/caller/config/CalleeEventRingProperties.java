@@ -0,0 +1,18 @@
+package com.wisehero.caller.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * callee 호출 결정 기록(CalleeEventRing) 설정
+ *
+ * - capacity: 보관할 최근 호출 수. 2의 거듭제곱으로 올림한다. 가득 차면 가장 오래된 기록부터 덮어쓴다.
+ */
+@ConfigurationProperties("callee.event-ring")
+public record CalleeEventRingProperties(
+	int capacity
+) {
+
+	public CalleeEventRingProperties {
+		capacity = capacity > 0 ? capacity : 4096;
+	}
+}
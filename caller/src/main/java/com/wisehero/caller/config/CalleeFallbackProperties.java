@@ -0,0 +1,20 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CalleeApiService fallback 로그 집계 설정
+ *
+ * - report-interval: fallback 을 건마다 찍지 않고 이 주기마다 "엔드포인트/사유별 N건" 으로 묶어서 남긴다.
+ */
+@ConfigurationProperties("callee.fallback")
+public record CalleeFallbackProperties(
+	Duration reportInterval
+) {
+
+	public CalleeFallbackProperties {
+		reportInterval = reportInterval != null ? reportInterval : Duration.ofSeconds(10);
+	}
+}
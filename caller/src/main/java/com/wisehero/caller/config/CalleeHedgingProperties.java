@@ -0,0 +1,38 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @Hedged 가 붙은 CalleeV1Client 메서드의 hedging 설정
+ *
+ * - enabled: 끄면 @Hedged 가 붙어 있어도 한 번만 호출한다.
+ * - max-extra-ratio: 전체 호출 대비 추가로 보낼 수 있는 hedge 요청 비율 (0.05 = 5%)
+ * - burst: 한가할 때 모아둘 수 있는 hedge 토큰 최대치
+ * - min-delay: 백분위 값이 아무리 작아도 이보다 빨리 두 번째 요청을 보내지 않는다.
+ * - min-samples: 이만큼 응답 시간이 쌓이기 전에는 hedge 하지 않는다.
+ * - window-size: 백분위 계산에 쓰는 최근 응답 시간 개수
+ * - refresh-interval: hedge 지연(백분위)을 다시 계산하는 주기
+ */
+@ConfigurationProperties("callee.hedging")
+public record CalleeHedgingProperties(
+	Boolean enabled,
+	double maxExtraRatio,
+	int burst,
+	Duration minDelay,
+	int minSamples,
+	int windowSize,
+	Duration refreshInterval
+) {
+
+	public CalleeHedgingProperties {
+		enabled = enabled != null ? enabled : Boolean.TRUE;
+		maxExtraRatio = maxExtraRatio > 0 ? maxExtraRatio : 0.05;
+		burst = burst > 0 ? burst : 10;
+		minDelay = minDelay != null ? minDelay : Duration.ofMillis(5);
+		minSamples = minSamples > 0 ? minSamples : 100;
+		windowSize = windowSize > 0 ? windowSize : 1000;
+		refreshInterval = refreshInterval != null ? refreshInterval : Duration.ofSeconds(1);
+	}
+}
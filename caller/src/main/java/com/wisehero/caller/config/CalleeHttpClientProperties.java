@@ -0,0 +1,43 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CalleeV1Client 가 사용하는 HTTP 클라이언트 설정
+ *
+ * - type: hc5 (기본, Apache HttpClient 5 커넥션 풀) | h2c (JDK HttpClient, HTTP/2 cleartext)
+ * - max-connections: 풀 전체 최대 커넥션 수
+ * - max-connections-per-route: callee 한 곳(route)당 최대 커넥션 수
+ * - time-to-live: 커넥션 최대 수명. 지나면 재사용하지 않고 닫는다.
+ * - idle-eviction: 이 시간 이상 놀고 있는 커넥션은 백그라운드에서 정리한다.
+ * - validate-after-inactivity: 이 시간 이상 쉬었던 커넥션은 빌려주기 전에 살아있는지 확인한다.
+ * - connection-request-timeout: 풀이 가득 찼을 때 커넥션을 빌리려고 기다리는 최대 시간.
+ *   read-timeout 보다 훨씬 짧게 둔다. 지정하지 않으면 HttpClient 5 기본값(3분)까지 기다린다.
+ */
+@ConfigurationProperties("callee.http-client")
+public record CalleeHttpClientProperties(
+	Type type,
+	int maxConnections,
+	int maxConnectionsPerRoute,
+	Duration timeToLive,
+	Duration idleEviction,
+	Duration validateAfterInactivity,
+	Duration connectionRequestTimeout
+) {
+
+	public enum Type {
+		HC5, H2C
+	}
+
+	public CalleeHttpClientProperties {
+		type = type != null ? type : Type.HC5;
+		maxConnections = maxConnections > 0 ? maxConnections : 200;
+		maxConnectionsPerRoute = maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : 50;
+		timeToLive = timeToLive != null ? timeToLive : Duration.ofMinutes(1);
+		idleEviction = idleEviction != null ? idleEviction : Duration.ofSeconds(30);
+		validateAfterInactivity = validateAfterInactivity != null ? validateAfterInactivity : Duration.ofSeconds(2);
+		connectionRequestTimeout = connectionRequestTimeout != null ? connectionRequestTimeout : Duration.ofMillis(500);
+	}
+}
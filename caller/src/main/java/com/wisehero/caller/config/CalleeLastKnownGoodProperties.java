@@ -0,0 +1,26 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * fallback 에서 돌려줄 마지막 정상 응답(last-known-good) 캐시 설정
+ *
+ * - maximum-size: 보관할 응답 수 (endpoint + 인자 조합 기준)
+ * - time-to-live: 정상 응답을 받은 뒤 이 시간이 지나면 fallback 에서도 더 이상 쓰지 않는다.
+ * - revalidate-interval: 같은 키를 callee 실패 때문에 다시 재검증하기까지 기다리는 최소 간격
+ */
+@ConfigurationProperties("callee.last-known-good")
+public record CalleeLastKnownGoodProperties(
+	long maximumSize,
+	Duration timeToLive,
+	Duration revalidateInterval
+) {
+
+	public CalleeLastKnownGoodProperties {
+		maximumSize = maximumSize > 0 ? maximumSize : 1000;
+		timeToLive = timeToLive != null ? timeToLive : Duration.ofMinutes(5);
+		revalidateInterval = revalidateInterval != null ? revalidateInterval : Duration.ofSeconds(1);
+	}
+}
@@ -0,0 +1,24 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * callee 호출 메트릭 설정 (CalleeCallMetricsAspect)
+ *
+ * - slo-buckets: callee.calls 타이머의 히스토그램 경계. Prometheus 에서는 callee_calls_seconds_bucket{le=...} 로 나온다.
+ *   경계 수만큼 시계열이 늘어나므로 필요한 지점만 적는다.
+ */
+@ConfigurationProperties("callee.metrics")
+public record CalleeMetricsProperties(
+	List<Duration> sloBuckets
+) {
+
+	public CalleeMetricsProperties {
+		sloBuckets = sloBuckets != null && !sloBuckets.isEmpty() ? List.copyOf(sloBuckets) : List.of(
+			Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+			Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(3));
+	}
+}
@@ -0,0 +1,33 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CalleeV1Client 메서드별 Feign read-timeout
+ *
+ * 예)
+ * callee:
+ *   read-timeout:
+ *     methods:
+ *       hello: 1s
+ *       slow: 5s
+ *
+ * - key 는 CalleeV1Client 의 메서드 이름
+ * - 지정하지 않은 메서드는 spring.cloud.openfeign.client.config.callee-client-v1.read-timeout 을 따른다.
+ */
+@ConfigurationProperties("callee.read-timeout")
+public record CalleeReadTimeoutProperties(
+	Map<String, Duration> methods
+) {
+
+	public CalleeReadTimeoutProperties {
+		methods = methods != null ? Map.copyOf(methods) : Map.of();
+	}
+
+	public Duration of(String method) {
+		return methods.get(method);
+	}
+}
@@ -0,0 +1,27 @@
+package com.wisehero.caller.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 재시도 예산(retry budget) 설정
+ *
+ * - enabled: 끄면 maxAttempts 만큼 항상 재시도한다.
+ * - ratio: 정상 응답 1건마다 쌓이는 재시도 토큰. 0.1 이면 재시도는 정상 호출의 10% 를 넘지 못한다.
+ * - min-retries-per-second: 정상 응답이 없어도 초당 이만큼은 재시도를 허용한다. (트래픽이 적을 때의 하한)
+ * - burst: 쌓아둘 수 있는 토큰 최대치
+ */
+@ConfigurationProperties("callee.retry.budget")
+public record CalleeRetryBudgetProperties(
+	Boolean enabled,
+	double ratio,
+	double minRetriesPerSecond,
+	int burst
+) {
+
+	public CalleeRetryBudgetProperties {
+		enabled = enabled != null ? enabled : Boolean.TRUE;
+		ratio = ratio > 0 ? ratio : 0.1;
+		minRetriesPerSecond = minRetriesPerSecond > 0 ? minRetriesPerSecond : 5;
+		burst = burst > 0 ? burst : 50;
+	}
+}
@@ -0,0 +1,23 @@
+package com.wisehero.caller.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * callee-client-v1-* CircuitBreaker 의 CLOSED 상태 슬라이딩 윈도우를 StripedSlidingWindow 로 바꾸는 설정
+ *
+ * - enabled: 켜면 COUNT_BASED 인 메서드별 CircuitBreaker 를 StripedCircuitBreaker 로 감싼다.
+ * - max-stripes: stripe 최대 개수. 0 이면 CPU 코어 수
+ *
+ * 윈도우 크기, 최소 호출 수, 실패율/느린 호출 기준은 각 CircuitBreaker 설정을 그대로 쓴다.
+ * stripe 가 2개 이상 나오지 않는 작은 윈도우(slidingWindowSize < 32)는 감싸지 않고 원래 CircuitBreaker 를 쓴다.
+ */
+@ConfigurationProperties("callee.circuit-breaker.striped-window")
+public record CalleeStripedWindowProperties(
+	boolean enabled,
+	int maxStripes
+) {
+
+	public CalleeStripedWindowProperties {
+		maxStripes = maxStripes > 0 ? maxStripes : Runtime.getRuntime().availableProcessors();
+	}
+}
@@ -0,0 +1,39 @@
+package com.wisehero.caller.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CalleeV1Client 요청/응답(wire) 로그 설정
+ *
+ * - mode
+ *   - sampled (기본): CalleeWireLogger. 요청 스레드는 기록할 내용만 큐에 넣고, 출력은 별도 스레드가 한다.
+ *   - full: Feign 기본 Slf4jLogger + Logger.Level.FULL. 모든 호출의 헤더/본문을 요청 스레드에서 바로 출력한다. (로컬 디버깅용)
+ *   - none: 로그를 남기지 않는다.
+ * - sample-rate: 정상 호출 중 기록할 비율 (0.01 = 1%). 실패(4xx/5xx, IOException)와 느린 호출은 항상 기록한다.
+ * - slow-threshold: 이 시간 이상 걸린 호출은 느린 호출로 보고 항상 기록한다.
+ * - max-body-bytes: 요청/응답 본문은 앞에서부터 이만큼만 남긴다.
+ * - queue-capacity: 출력 대기 큐 크기. 가득 차면 기다리지 않고 버리고 callee.wire-log.dropped 로 센다.
+ */
+@ConfigurationProperties("callee.wire-log")
+public record CalleeWireLogProperties(
+	Mode mode,
+	Double sampleRate,
+	Duration slowThreshold,
+	int maxBodyBytes,
+	int queueCapacity
+) {
+
+	public enum Mode {
+		SAMPLED, FULL, NONE
+	}
+
+	public CalleeWireLogProperties {
+		mode = mode != null ? mode : Mode.SAMPLED;
+		sampleRate = sampleRate != null ? Math.clamp(sampleRate, 0.0, 1.0) : 0.01;
+		slowThreshold = slowThreshold != null ? slowThreshold : Duration.ofSeconds(1);
+		maxBodyBytes = maxBodyBytes > 0 ? maxBodyBytes : 1024;
+		queueCapacity = queueCapacity > 0 ? queueCapacity : 10_000;
+	}
+}
@@ -1,11 +1,39 @@
 package com.wisehero.caller.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.wisehero.caller.config.CalleeCodecProperties.Format;
+import com.wisehero.caller.config.CalleeWireLogProperties.Mode;
+import com.wisehero.caller.infra.client.CalleeWireLogger;
+import com.wisehero.caller.infra.resilience.RateLimitErrorDecoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
 import feign.Logger;
+import feign.RequestInterceptor;
 import feign.Retryer;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.codec.ErrorDecoder;
+import feign.optionals.OptionalDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableFeignClients(basePackages = "com.wisehero.caller.infra.client")
@@ -16,8 +44,72 @@ public class FeignClientConfig {
 		return Retryer.NEVER_RETRY;
 	}
 
+	// 429 는 Retry-After 를 담은 RateLimitedException 으로, 나머지는 기본 FeignException 으로 바꾼다.
+	@Bean
+	public ErrorDecoder errorDecoder() {
+		return new RateLimitErrorDecoder();
+	}
+
+	/**
+	 * sampled 모드에서도 FULL 로 둬야 Feign 이 응답마다 로거를 부른다.
+	 * 무엇을 남길지는 CalleeWireLogger 가 정한다. (callee.wire-log.mode)
+	 */
 	@Bean
-	public Logger.Level feignLoggerLevel() {
-		return Logger.Level.FULL;
+	public Logger.Level feignLoggerLevel(CalleeWireLogProperties properties) {
+		return properties.mode() == Mode.NONE ? Logger.Level.NONE : Logger.Level.FULL;
+	}
+
+	// Logger 빈이 없으면(full 모드) Spring Cloud OpenFeign 이 기본 Slf4jLogger 를 쓴다.
+	@Bean
+	@ConditionalOnProperty(name = "callee.wire-log.mode", havingValue = "sampled", matchIfMissing = true)
+	public Logger calleeWireLogger(CalleeWireLogProperties properties, MeterRegistry meterRegistry) {
+		return new CalleeWireLogger(properties, meterRegistry);
+	}
+
+	/*
+	 * ========== 본문 형식 (callee.codec.format) ==========
+	 *
+	 * callee 와 주고받는 컨버터는 Smile / CBOR / JSON 세 가지만 둔다. 모두 애플리케이션 ObjectMapper 설정을 그대로 쓴다.
+	 * - 요청: Accept 에 지정한 형식(+ JSON 대안)을 보내고, 본문이 있으면 지정한 형식으로 인코딩한다.
+	 * - 응답: Content-Type 에 맞는 컨버터로 읽는다. 형식을 바꿔도 JSON 응답은 계속 읽을 수 있다.
+	 */
+
+	@Bean
+	public RequestInterceptor calleeAcceptInterceptor(CalleeCodecProperties properties) {
+		String accept = properties.format().accept();
+		return template -> {
+			if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+				template.header(HttpHeaders.ACCEPT, accept);
+			}
+		};
+	}
+
+	@Bean
+	public Decoder feignDecoder(ObjectMapper objectMapper,
+		ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+		HttpMessageConverters converters = calleeMessageConverters(objectMapper);
+		return new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters, customizers)));
+	}
+
+	@Bean
+	public Encoder feignEncoder(ObjectMapper objectMapper, CalleeCodecProperties properties) {
+		HttpMessageConverters converters = calleeMessageConverters(objectMapper);
+		Encoder delegate = new SpringEncoder(() -> converters);
+		String contentType = properties.format().mediaType().toString();
+		return (object, bodyType, template) -> {
+			// SpringEncoder 는 요청의 Content-Type 으로 컨버터를 고른다.
+			if (properties.format() != Format.JSON && !template.headers().containsKey(HttpHeaders.CONTENT_TYPE)) {
+				template.header(HttpHeaders.CONTENT_TYPE, contentType);
+			}
+			delegate.encode(object, bodyType, template);
+		};
+	}
+
+	private static HttpMessageConverters calleeMessageConverters(ObjectMapper objectMapper) {
+		return new HttpMessageConverters(false, List.of(
+			new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory())),
+			new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory())),
+			new MappingJackson2HttpMessageConverter(objectMapper)
+		));
 	}
 }
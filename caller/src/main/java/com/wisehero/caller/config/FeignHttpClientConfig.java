@@ -0,0 +1,104 @@
+package com.wisehero.caller.config;
+
+import java.net.http.HttpClient;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * CalleeV1Client 의 HTTP 클라이언트
+ *
+ * 별도 설정이 없으면 Feign 은 HttpURLConnection 을 쓰고, 커넥션 풀/route 별 한도를 제어할 수 없다.
+ * 작은 /hello 응답은 TCP 연결 수립과 소켓 교체 비용이 지연의 대부분이라 keep-alive 풀을 명시적으로 둔다.
+ *
+ * callee.http-client.type
+ * - hc5 (기본): Apache HttpClient 5 커넥션 풀. 풀 상태는 httpcomponents.httpclient.pool.* 메트릭으로 노출
+ *   (total.connections{state=leased|available}, total.pending, total.max, route.max.default)
+ * - h2c: JDK HttpClient 로 HTTP/2 cleartext 연결. callee 하나와 커넥션 하나를 다중화해서 쓴다.
+ *   callee 쪽 server.http2.enabled=true 필요
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+	private static final String CLIENT_NAME = "callee-client-v1";
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(name = "callee.http-client.type", havingValue = "hc5", matchIfMissing = true)
+	static class PooledHttpClientConfig {
+
+		@Bean
+		public PoolingHttpClientConnectionManager calleeConnectionManager(CalleeHttpClientProperties properties) {
+			return PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(properties.maxConnections())
+				.setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+				// STRICT: 전체/route 한도를 모두 지킨다. LIFO: 최근에 쓴 (살아있을 확률이 높은) 커넥션부터 재사용
+				.setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+				.setConnPoolPolicy(PoolReusePolicy.LIFO)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+					.setTimeToLive(TimeValue.ofMilliseconds(properties.timeToLive().toMillis()))
+					.setValidateAfterInactivity(TimeValue.ofMilliseconds(properties.validateAfterInactivity().toMillis()))
+					.build())
+				.build();
+		}
+
+		@Bean(destroyMethod = "close")
+		public CloseableHttpClient calleeHttpClient(PoolingHttpClientConnectionManager calleeConnectionManager,
+			CalleeHttpClientProperties properties) {
+			Timeout leaseTimeout = Timeout.ofMilliseconds(properties.connectionRequestTimeout().toMillis());
+			return HttpClients.custom()
+				.setConnectionManager(calleeConnectionManager)
+				// 풀이 가득 차면 read-timeout / TimeLimiter 보다 먼저 포기한다. (기본값 3분)
+				// ApacheHttp5Client 는 이 기본 설정을 복사한 뒤 요청마다 connect/read timeout 만 덮어쓴다.
+				.setDefaultRequestConfig(RequestConfig.custom()
+					.setConnectionRequestTimeout(leaseTimeout)
+					.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.ofMilliseconds(properties.idleEviction().toMillis()))
+				.disableCookieManagement()
+				// 재시도는 resilience4j 가 담당한다.
+				.disableAutomaticRetries()
+				.build();
+		}
+
+		@Bean
+		public Client calleeFeignClient(CloseableHttpClient calleeHttpClient) {
+			return new ApacheHttp5Client(calleeHttpClient);
+		}
+
+		@Bean
+		public MeterBinder calleeConnectionPoolMetrics(PoolingHttpClientConnectionManager calleeConnectionManager) {
+			return new PoolingHttpClientConnectionManagerMetricsBinder(calleeConnectionManager, CLIENT_NAME);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(name = "callee.http-client.type", havingValue = "h2c")
+	static class H2cHttpClientConfig {
+
+		@Bean
+		public Client calleeFeignClient() {
+			// http:// 주소에 HTTP_2 를 지정하면 첫 요청에서 Upgrade: h2c 로 전환하고 이후 한 커넥션을 다중화한다.
+			HttpClient httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.build();
+			return new Http2Client(httpClient);
+		}
+	}
+}
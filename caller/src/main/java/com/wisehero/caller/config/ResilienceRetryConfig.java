@@ -1,88 +1,139 @@
 package com.wisehero.caller.config;
 
 import java.time.Duration;
+import java.util.function.Predicate;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.wisehero.caller.infra.resilience.ConcurrencyLimitExceededException;
+import com.wisehero.caller.infra.resilience.RateLimitedException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.core.IntervalBiFunction;
 import io.github.resilience4j.core.IntervalFunction;
-import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
-import io.github.resilience4j.retry.RetryRegistry;
-import lombok.RequiredArgsConstructor;
 
 @Configuration
-@RequiredArgsConstructor
 public class ResilienceRetryConfig {
 
-	private final RetryRegistry retryRegistry;
-
+	/**
+	 * CalleeV1Client 메서드별 Retry("callee-client-v1-{메서드명}")의 기본 설정
+	 * application.yml 에 resilience4j.retry.instances / configs.callee-client-v1 이 없을 때만 쓴다.
+	 * 인스턴스는 CalleeResiliencePolicies 가 Feign Contract 의 메서드마다 만들고, 어느 설정이든
+	 * withCalleeRules 를 덧씌운 뒤 재시도 예산(RetryBudget)을 확인하는 BudgetedRetry 로 감싼다.
+	 */
 	@Bean
-	public Retry retry() {
-		return retryRegistry.retry("callee-client-v1",
-			RetryConfig.custom()
-				/*
-				 * ========== Resilience4j Retry 주요 옵션 설명 ==========
-				 *
-				 * 1. maxAttempts(int)
-				 *    - 최초 호출을 포함한 최대 시도 횟수
-				 *    - 기본값: 3
-				 *    - 예: maxAttempts(3) → 최초 1회 + 재시도 2회
-				 *
-				 * 2. waitDuration(Duration)
-				 *    - 재시도 사이의 고정 대기 시간
-				 *    - 기본값: 500ms
-				 *    - 네트워크 일시적 장애 복구를 위한 시간 확보 목적
-				 *
-				 * 3. intervalFunction(IntervalFunction)
-				 *    - 재시도 간격을 동적으로 조절 (Exponential Backoff 등)
-				 *    - waitDuration 대신 사용하면 더 유연한 재시도 전략 가능
-				 *    - 예: IntervalFunction.ofExponentialBackoff(500, 2.0)
-				 *         → 500ms, 1000ms, 2000ms... 로 대기 시간 증가
-				 *    - 예: IntervalFunction.ofExponentialRandomBackoff(500, 2.0, 0.5)
-				 *         → Exponential Backoff에 랜덤 지터(jitter) 추가로 thundering herd 방지
-				 *
-				 * 4. retryExceptions(Class<? extends Throwable>...)
-				 *    - 재시도를 수행할 예외 클래스 목록
-				 *    - 지정하지 않으면 모든 예외에 대해 재시도 수행
-				 *    - 예: retryExceptions(IOException.class, TimeoutException.class)
-				 *
-				 * 5. ignoreExceptions(Class<? extends Throwable>...)
-				 *    - 재시도하지 않고 즉시 실패 처리할 예외 목록
-				 *    - 비즈니스 로직 예외나 4xx 클라이언트 오류에 적합
-				 *    - 예: ignoreExceptions(IllegalArgumentException.class, FeignException.BadRequest.class)
-				 *
-				 * 6. retryOnException(Predicate<Throwable>)
-				 *    - 예외 조건을 세밀하게 제어하는 Predicate
-				 *    - 예: retryOnException(e -> e instanceof FeignException
-				 *              && ((FeignException) e).status() >= 500)
-				 *         → 5xx 서버 오류만 재시도
-				 *
-				 * 7. retryOnResult(Predicate<T>)
-				 *    - 응답 결과에 따라 재시도 여부 결정
-				 *    - 예외가 아닌 특정 응답값에 대해 재시도가 필요할 때 사용
-				 *    - 예: retryOnResult(response -> response.getStatusCode() == 204)
-				 *
-				 * 8. failAfterMaxAttempts(boolean)
-				 *    - 최대 시도 후 MaxRetriesExceededException 발생 여부
-				 *    - 기본값: false (마지막 예외를 그대로 던짐)
-				 *    - true로 설정 시 재시도 실패를 명확히 구분 가능
-				 *
-				 * ========================================================
-				 */
-				.maxAttempts(3)
-				.waitDuration(Duration.ofMillis(500))
-				// .intervalFunction(IntervalFunction.ofExponentialBackoff(500, 2.0))
-				.retryExceptions(
-					// 여기에 재시도할 예외를 추가합니다.
-					// 추가하지 않을 시 기본적으로 모든 예외에 대해 재시도가 수행됩니다.
-					// 예: FeignException.FeignServerException.class (5xx 오류)
-				)
-				// .ignoreExceptions(FeignException.BadRequest.class)
-				// .retryOnException(e -> e instanceof FeignException
-				//     && ((FeignException) e).status() >= 500)
-				// .failAfterMaxAttempts(true)
-				.build());
+	public RetryConfig calleeRetryConfig(@Value("${callee.retry.wait-duration:500ms}") Duration waitDuration) {
+		return RetryConfig.custom()
+			/*
+			 * ========== Resilience4j Retry 주요 옵션 설명 ==========
+			 *
+			 * 1. maxAttempts(int)
+			 *    - 최초 호출을 포함한 최대 시도 횟수
+			 *    - 기본값: 3
+			 *    - 예: maxAttempts(3) → 최초 1회 + 재시도 2회
+			 *
+			 * 2. waitDuration(Duration)
+			 *    - 재시도 사이의 고정 대기 시간
+			 *    - 기본값: 500ms
+			 *    - 네트워크 일시적 장애 복구를 위한 시간 확보 목적
+			 *
+			 * 3. intervalFunction(IntervalFunction)
+			 *    - 재시도 간격을 동적으로 조절 (Exponential Backoff 등)
+			 *    - waitDuration 대신 사용하면 더 유연한 재시도 전략 가능
+			 *    - 예: IntervalFunction.ofExponentialBackoff(500, 2.0)
+			 *         → 500ms, 1000ms, 2000ms... 로 대기 시간 증가
+			 *    - 예: IntervalFunction.ofExponentialRandomBackoff(500, 2.0, 0.5)
+			 *         → Exponential Backoff에 랜덤 지터(jitter) 추가로 thundering herd 방지
+			 *
+			 * 4. retryExceptions(Class<? extends Throwable>...)
+			 *    - 재시도를 수행할 예외 클래스 목록
+			 *    - 지정하지 않으면 모든 예외에 대해 재시도 수행
+			 *    - 예: retryExceptions(IOException.class, TimeoutException.class)
+			 *
+			 * 5. ignoreExceptions(Class<? extends Throwable>...)
+			 *    - 재시도하지 않고 즉시 실패 처리할 예외 목록
+			 *    - 비즈니스 로직 예외나 4xx 클라이언트 오류에 적합
+			 *    - 예: ignoreExceptions(IllegalArgumentException.class, FeignException.BadRequest.class)
+			 *
+			 * 6. retryOnException(Predicate<Throwable>)
+			 *    - 예외 조건을 세밀하게 제어하는 Predicate
+			 *    - 예: retryOnException(e -> e instanceof FeignException
+			 *              && ((FeignException) e).status() >= 500)
+			 *         → 5xx 서버 오류만 재시도
+			 *
+			 * 7. retryOnResult(Predicate<T>)
+			 *    - 응답 결과에 따라 재시도 여부 결정
+			 *    - 예외가 아닌 특정 응답값에 대해 재시도가 필요할 때 사용
+			 *    - 예: retryOnResult(response -> response.getStatusCode() == 204)
+			 *
+			 * 8. failAfterMaxAttempts(boolean)
+			 *    - 최대 시도 후 MaxRetriesExceededException 발생 여부
+			 *    - 기본값: false (마지막 예외를 그대로 던짐)
+			 *    - true로 설정 시 재시도 실패를 명확히 구분 가능
+			 *
+			 * ========================================================
+			 */
+			.maxAttempts(3)
+			.waitDuration(waitDuration)
+			// .intervalFunction(IntervalFunction.ofExponentialBackoff(500, 2.0))
+			.retryExceptions(
+				// 여기에 재시도할 예외를 추가합니다.
+				// 추가하지 않을 시 기본적으로 모든 예외에 대해 재시도가 수행됩니다.
+				// 예: FeignException.FeignServerException.class (5xx 오류)
+			)
+			// .ignoreExceptions(FeignException.BadRequest.class)
+			// .retryOnException(e -> e instanceof FeignException
+			//     && ((FeignException) e).status() >= 500)
+			// .failAfterMaxAttempts(true)
+			.build();
+	}
+
+	/**
+	 * 어느 설정에서 온 Retry 든 callee 호출에 꼭 지켜야 하는 규칙을 덧씌운다. 나머지 값은 base 를 그대로 쓴다.
+	 *
+	 * - 부하를 덜려고 거절한 호출(Bulkhead / 동시성 한도)은 곧바로 다시 보내지 않는다.
+	 * - callee 가 429 로 Retry-After 를 알려준 경우에는 그 시간보다 먼저 다시 보내지 않는다.
+	 *   base 의 대기 간격(waitDuration, exponential backoff 등)보다 짧아지지는 않는다.
+	 * - 동기 Retry 의 대기는 호출 스레드(Tomcat 스레드)를 붙잡는다. Retry-After 가 maxRetryAfter 보다 길면
+	 *   기다리지 않고 RateLimitedException 그대로 끝내서 fallback 으로 넘긴다.
+	 *
+	 * 재시도 예산은 여기서 확인하지 않는다. 예외로 끊으면 Retry 의 실패 집계와 이벤트가 빠지므로
+	 * BudgetedRetry 가 재시도 직전에 확인한다.
+	 */
+	public static RetryConfig withCalleeRules(RetryConfig base, Duration maxRetryAfter) {
+		Predicate<Throwable> retryable = base.getExceptionPredicate();
+		return RetryConfig.custom()
+			.maxAttempts(base.getMaxAttempts())
+			.failAfterMaxAttempts(base.isFailAfterMaxAttempts())
+			.writableStackTraceEnabled(base.isWritableStackTraceEnabled())
+			.retryOnResult(base.getResultPredicate())
+			.consumeResultBeforeRetryAttempt(base.getConsumeResultBeforeRetryAttempt())
+			.retryOnException(failure -> !isShedding(failure) && !waitsLongerThan(failure, maxRetryAfter)
+				&& retryable.test(failure))
+			.intervalBiFunction(honoringRetryAfter(base.getIntervalBiFunction()))
+			.build();
+	}
+
+	private static boolean isShedding(Throwable failure) {
+		return failure instanceof BulkheadFullException || failure instanceof ConcurrencyLimitExceededException;
+	}
+
+	private static boolean waitsLongerThan(Throwable failure, Duration maxRetryAfter) {
+		return failure instanceof RateLimitedException rateLimited
+			&& rateLimited.retryAfter().compareTo(maxRetryAfter) > 0;
+	}
+
+	private static IntervalBiFunction<Object> honoringRetryAfter(IntervalBiFunction<Object> interval) {
+		return (attempt, result) -> {
+			long wait = interval.apply(attempt, result);
+			if (result.isLeft() && result.getLeft() instanceof RateLimitedException rateLimited) {
+				return Math.max(wait, rateLimited.retryAfter().toMillis());
+			}
+			return wait;
+		};
 	}
 
 }
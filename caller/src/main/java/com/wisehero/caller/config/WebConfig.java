@@ -0,0 +1,17 @@
+package com.wisehero.caller.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisehero.common.web.CannedResponseHttpMessageConverter;
+
+@Configuration
+public class WebConfig {
+
+	// 기본 JSON 컨버터 자리를 대신한다. 고정 fallback / 실패 응답은 미리 직렬화한 본문을 그대로 쓴다.
+	@Bean
+	public CannedResponseHttpMessageConverter cannedResponseHttpMessageConverter(ObjectMapper objectMapper) {
+		return new CannedResponseHttpMessageConverter(objectMapper);
+	}
+}
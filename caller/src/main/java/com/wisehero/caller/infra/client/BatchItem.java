@@ -0,0 +1,10 @@
+package com.wisehero.caller.infra.client;
+
+/**
+ * callee /batch 의 항목 하나
+ *
+ * @param path    /api/v1/callee 아래 GET 경로 (예: /hello)
+ * @param session 장애 주입 세션 (X-Fault-Session). 없으면 callee 기본 세션
+ */
+public record BatchItem(String path, String session) {
+}
@@ -0,0 +1,12 @@
+package com.wisehero.caller.infra.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * callee /batch 항목 하나의 결과. 따로 호출했을 때의 상태 코드와 응답 본문
+ * 본문은 원래 메서드의 반환 타입으로 다시 읽을 수 있도록 JsonNode 로 받는다.
+ *
+ * @param retryAfterMillis 429 일 때 다시 보내도 되는 시점까지 남은 시간
+ */
+public record BatchItemResult(int status, Long retryAfterMillis, JsonNode response) {
+}
@@ -1,8 +1,12 @@
 package com.wisehero.caller.infra.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import com.wisehero.caller.api.ApiResponse;
 import com.wisehero.caller.api.v1.CircuitTestResponse;
@@ -14,6 +18,7 @@ import io.github.resilience4j.retry.annotation.Retry;
 	url = "${callee.service.url}"
 )
 public interface CalleeV1Client {
+	@Hedged
 	@GetMapping("/hello")
 	ApiResponse<HelloResponse> hello();
 
@@ -37,4 +42,8 @@ public interface CalleeV1Client {
 
 	@GetMapping("/timeout/{seconds}")
 	ApiResponse<String> timeout(@PathVariable int seconds);
+
+	// 여러 GET 호출을 한 번에 보낸다. 직접 부르지 않고 BatchingDispatcher 가 모아서 부른다.
+	@PostMapping("/batch")
+	ApiResponse<List<BatchItemResult>> batch(@RequestBody List<BatchItem> items);
 }
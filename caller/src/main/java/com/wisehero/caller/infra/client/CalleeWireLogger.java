@@ -0,0 +1,272 @@
+package com.wisehero.caller.infra.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.http.HttpHeaders;
+
+import com.wisehero.caller.config.CalleeWireLogProperties;
+
+import feign.Logger;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청 스레드를 붙잡지 않는 CalleeV1Client wire 로거 (callee.wire-log.mode=sampled)
+ *
+ * Logger.Level.FULL + 기본 Slf4jLogger 는 호출마다 헤더를 한 줄씩 찍고, 응답 본문 전체를 byte[] 로 읽어
+ * 다시 감싼(rebuffer) 다음 요청 스레드에서 바로 출력한다. 로그가 가장 필요한 장애 중에 caller 지연이 같이 늘어난다.
+ *
+ * 여기서는
+ * - 요청 로그는 따로 찍지 않고, 응답이 오면 요청/응답을 한 건으로 묶어서 기록할지 정한다.
+ *   - 실패(4xx/5xx, IOException)와 slow-threshold 이상 걸린 호출은 항상 기록 (INFO)
+ *   - 나머지는 sample-rate 비율만 기록 (DEBUG)
+ * - 기록하지 않는 호출은 응답을 그대로 돌려준다. 본문을 읽지도 복사하지도 않는다.
+ * - 기록하는 호출도 본문은 앞 max-body-bytes 만 읽고, 읽은 부분 + 남은 스트림을 이어서 돌려준다.
+ * - 요청 스레드는 필요한 값만 큐에 넣는다. 문자열 조립과 출력은 "callee-wire-log" 스레드가 한다.
+ * - 큐가 가득 차면 기다리지 않고 버린다.
+ * - Smile / CBOR 응답(callee.codec.format) 본문은 크기만 남긴다.
+ *
+ * 메트릭
+ * - callee.wire-log.records{reason=failure|slow|sampled}: 큐에 넣은 기록 수
+ * - callee.wire-log.dropped: 큐가 가득 차서 버린 기록 수
+ * - callee.wire-log.queue: 출력 대기 중인 기록 수
+ */
+@Slf4j
+public class CalleeWireLogger extends Logger {
+
+	private final CalleeWireLogProperties properties;
+	private final long slowThresholdMillis;
+	private final BlockingQueue<Entry> queue;
+	private final Thread writer;
+
+	private final Counter failures;
+	private final Counter slowCalls;
+	private final Counter sampled;
+	private final Counter dropped;
+
+	public CalleeWireLogger(CalleeWireLogProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.slowThresholdMillis = properties.slowThreshold().toMillis();
+		this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+		this.failures = records(meterRegistry, Reason.FAILURE);
+		this.slowCalls = records(meterRegistry, Reason.SLOW);
+		this.sampled = records(meterRegistry, Reason.SAMPLED);
+		this.dropped = Counter.builder("callee.wire-log.dropped")
+			.description("출력 큐가 가득 차서 버린 wire 로그 수")
+			.register(meterRegistry);
+		Gauge.builder("callee.wire-log.queue", queue, BlockingQueue::size)
+			.description("출력 대기 중인 wire 로그 수")
+			.register(meterRegistry);
+		this.writer = Thread.ofPlatform().name("callee-wire-log").daemon().start(this::drain);
+	}
+
+	@Override
+	protected void logRequest(String configKey, Level logLevel, Request request) {
+		// 응답 시점에 response.request() 와 함께 기록한다.
+	}
+
+	@Override
+	protected void logRetry(String configKey, Level logLevel) {
+		// 재시도는 resilience4j 가 담당한다. (Retryer.NEVER_RETRY)
+	}
+
+	@Override
+	protected Response logAndRebufferResponse(String configKey, Level logLevel, Response response, long elapsedTime)
+		throws IOException {
+		Reason reason = reasonOf(response.status(), elapsedTime);
+		if (reason == null) {
+			return response;
+		}
+		byte[] bodyHead = null;
+		if (response.body() != null) {
+			InputStream body = response.body().asInputStream();
+			bodyHead = body.readNBytes(properties.maxBodyBytes());
+			response = response.toBuilder()
+				.body(new SequenceInputStream(new ByteArrayInputStream(bodyHead), body), response.body().length())
+				.build();
+		}
+		enqueue(reason, new Entry(configKey, reason, response.request(), response.status(), response.reason(),
+			response.headers(), bodyHead, response.body() != null ? response.body().length() : null, elapsedTime,
+			null));
+		return response;
+	}
+
+	@Override
+	protected IOException logIOException(String configKey, Level logLevel, IOException ioe, long elapsedTime) {
+		enqueue(Reason.FAILURE, new Entry(configKey, Reason.FAILURE, null, 0, null, Map.of(), null, null,
+			elapsedTime, ioe.getClass().getSimpleName() + ": " + ioe.getMessage()));
+		return ioe;
+	}
+
+	@Override
+	protected void log(String configKey, String format, Object... args) {
+		// 위에서 재정의하지 않은 경로(Feign 내부 메시지)만 여기로 온다. 드물어서 바로 출력한다.
+		if (log.isDebugEnabled()) {
+			log.debug(String.format(methodTag(configKey) + format, args));
+		}
+	}
+
+	public void shutdown() {
+		writer.interrupt();
+	}
+
+	private Reason reasonOf(int status, long elapsedMillis) {
+		if (status >= 400) {
+			return Reason.FAILURE;
+		}
+		if (elapsedMillis >= slowThresholdMillis) {
+			return Reason.SLOW;
+		}
+		if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < properties.sampleRate()) {
+			return Reason.SAMPLED;
+		}
+		return null;
+	}
+
+	private void enqueue(Reason reason, Entry entry) {
+		if (!queue.offer(entry)) {
+			dropped.increment();
+			return;
+		}
+		switch (reason) {
+			case FAILURE -> failures.increment();
+			case SLOW -> slowCalls.increment();
+			case SAMPLED -> sampled.increment();
+		}
+	}
+
+	private void drain() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				Entry entry = queue.take();
+				try {
+					write(entry);
+				} catch (RuntimeException e) {
+					log.warn("wire 로그 출력 실패 - Reason: {}", e.getMessage());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void write(Entry entry) {
+		if (entry.reason() == Reason.SAMPLED && !log.isDebugEnabled()) {
+			return;
+		}
+		StringBuilder message = new StringBuilder(256)
+			.append(methodTag(entry.configKey()))
+			.append("reason=").append(entry.reason().name().toLowerCase());
+
+		Request request = entry.request();
+		if (request != null) {
+			message.append("\n---> ").append(request.httpMethod()).append(' ').append(request.url());
+			appendHeaders(message, request.headers());
+			appendBody(message, request.body(), request.body() != null ? request.body().length : null,
+				request.charset());
+		}
+		if (entry.error() != null) {
+			message.append("\n<--- ERROR ").append(entry.error())
+				.append(" (").append(entry.elapsedMillis()).append("ms)");
+		} else {
+			message.append("\n<--- ").append(entry.status());
+			if (entry.statusReason() != null) {
+				message.append(' ').append(entry.statusReason());
+			}
+			message.append(" (").append(entry.elapsedMillis()).append("ms)");
+			appendHeaders(message, entry.responseHeaders());
+			if (isBinary(entry.responseHeaders())) {
+				appendBinaryBody(message, entry.responseBodyHead(), entry.responseBodyLength());
+			} else {
+				appendBody(message, entry.responseBodyHead(), entry.responseBodyLength(), StandardCharsets.UTF_8);
+			}
+		}
+
+		if (entry.reason() == Reason.SAMPLED) {
+			log.debug(message.toString());
+		} else {
+			log.info(message.toString());
+		}
+	}
+
+	private static void appendHeaders(StringBuilder message, Map<String, Collection<String>> headers) {
+		headers.forEach((name, values) -> values.forEach(value ->
+			message.append("\n  ").append(name).append(": ").append(value)));
+	}
+
+	private void appendBody(StringBuilder message, byte[] body, Integer totalLength, Charset charset) {
+		if (body == null || body.length == 0) {
+			return;
+		}
+		int shown = Math.min(body.length, properties.maxBodyBytes());
+		message.append("\n  ").append(new String(body, 0, shown, charset != null ? charset : StandardCharsets.UTF_8));
+		boolean truncated = totalLength != null ? totalLength > shown : body.length >= properties.maxBodyBytes();
+		if (truncated) {
+			message.append(" ...(")
+				.append(totalLength != null ? totalLength + "-byte body" : "length unknown")
+				.append(", first ").append(shown).append(" bytes)");
+		}
+	}
+
+	// callee.codec.format=smile|cbor 응답 본문은 문자열로 찍지 않는다.
+	private static boolean isBinary(Map<String, Collection<String>> headers) {
+		Collection<String> contentType = headers.get(HttpHeaders.CONTENT_TYPE);
+		if (contentType == null) {
+			return false;
+		}
+		for (String value : contentType) {
+			if (value.contains("smile") || value.contains("cbor")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void appendBinaryBody(StringBuilder message, byte[] bodyHead, Integer totalLength) {
+		if (bodyHead == null || bodyHead.length == 0) {
+			return;
+		}
+		message.append("\n  (binary ")
+			.append(totalLength != null ? totalLength : bodyHead.length + "+")
+			.append(" bytes)");
+	}
+
+	private static Counter records(MeterRegistry meterRegistry, Reason reason) {
+		return Counter.builder("callee.wire-log.records")
+			.description("출력 큐에 넣은 wire 로그 수")
+			.tag("reason", reason.name().toLowerCase())
+			.register(meterRegistry);
+	}
+
+	private enum Reason {
+		FAILURE, SLOW, SAMPLED
+	}
+
+	private record Entry(
+		String configKey,
+		Reason reason,
+		Request request,
+		int status,
+		String statusReason,
+		Map<String, Collection<String>> responseHeaders,
+		byte[] responseBodyHead,
+		Integer responseBodyLength,
+		long elapsedMillis,
+		String error
+	) {
+	}
+}
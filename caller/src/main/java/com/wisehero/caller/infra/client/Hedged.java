@@ -0,0 +1,22 @@
+package com.wisehero.caller.infra.client;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 멱등(idempotent)한 CalleeV1Client 메서드에만 붙인다.
+ *
+ * 첫 요청이 최근 응답 시간의 percentile 안에 오지 않으면 같은 요청을 한 번 더 보내고
+ * 먼저 온 응답을 쓴다. 늦은 쪽은 취소한다. (HedgingCapability)
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Hedged {
+
+	/** 두 번째 요청을 보내기까지 기다릴 지연. 최근 응답 시간의 이 백분위 값을 쓴다. */
+	double percentile() default 0.95;
+}
@@ -0,0 +1,32 @@
+package com.wisehero.caller.infra.resilience;
+
+import org.springframework.core.Ordered;
+
+/**
+ * CalleeApiService 메서드에 걸리는 애스펙트의 적용 순서 (@Order 값, 작을수록 바깥)
+ *
+ * resilience4j 애스펙트 순서는 기본값(Retry -4, CircuitBreaker -3, RateLimiter -2, TimeLimiter -1)이 빈틈없이 붙어 있어서
+ * 사이에 끼울 자리가 없다. 그래서 application.yml 의 resilience4j.*.*-aspect-order 로 10 씩 띄워 두고
+ * 여기 값과 맞춘다. (AspectOrderTest 가 확인한다) 바깥에서 안쪽으로:
+ *
+ *   Coalescing → CalleeCallMetrics → Retry → CircuitBreaker → CalleeAttempt → RateLimiter → TimeLimiter → Bulkhead
+ *
+ * - Coalescing 은 가장 바깥이라 합쳐진 호출은 CircuitBreaker 에 한 번만 기록된다.
+ * - CalleeCallMetrics 는 fallback 까지 포함한 호출 한 건을 잰다.
+ * - CalleeAttempt 는 CircuitBreaker 가 허용한 시도마다 지나가고, fallback 보다 먼저 실패 원인을 본다.
+ */
+final class AspectOrder {
+
+	static final int COALESCING = Ordered.LOWEST_PRECEDENCE - 60;
+	static final int CALLEE_CALL_METRICS = Ordered.LOWEST_PRECEDENCE - 50;
+	static final int RETRY = Ordered.LOWEST_PRECEDENCE - 40;
+	static final int CIRCUIT_BREAKER = Ordered.LOWEST_PRECEDENCE - 30;
+	static final int CALLEE_ATTEMPT = Ordered.LOWEST_PRECEDENCE - 25;
+	static final int RATE_LIMITER = Ordered.LOWEST_PRECEDENCE - 20;
+	static final int TIME_LIMITER = Ordered.LOWEST_PRECEDENCE - 10;
+	/** resilience4j 가 설정으로 바꾸지 못하게 해 둔 기본값 */
+	static final int BULKHEAD = Ordered.LOWEST_PRECEDENCE;
+
+	private AspectOrder() {
+	}
+}
@@ -0,0 +1,175 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeAsyncRetryProperties;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 스레드를 재우지 않는 비동기 재시도
+ *
+ * resilience4j 의 동기 Retry 는 waitDuration 동안 호출 스레드(Tomcat)를 park 한다.
+ * 여기서는
+ * - 시도마다 future 를 받아서 실패하면 다음 시도를 공용 스케줄러에 예약하고 스레드는 바로 돌려준다.
+ * - 대기 중인 요청이 몇 개든 스케줄러 스레드 하나로 처리하므로 스레드 수가 늘지 않는다.
+ * - 대기 시간은 decorrelated jitter 로 정한다. 여러 요청이 같은 순간에 몰려서 다시 보내지 않도록 하기 위함
+ * - 재시도마다 RetryBudget 에서 토큰을 꺼낸다. 동기 Retry 와 같은 예산을 쓴다.
+ * - 429(RateLimitedException)는 callee 가 알려준 Retry-After 보다 일찍 보내지 않는다.
+ *
+ * 결과 future 가 바깥(TimeLimiter)에서 취소되면 진행 중인 시도와 예약된 재시도를 함께 취소한다.
+ *
+ * 메트릭
+ * - callee.retry.async.retries: 예약한 재시도 수
+ * - callee.retry.async.waiting: 지금 백오프 대기 중인 요청 수
+ */
+@Slf4j
+@Component
+public class AsyncRetrier {
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+		Thread.ofPlatform().name("callee-retry-scheduler").daemon().factory());
+	private final CalleeAsyncRetryProperties properties;
+	private final RetryBudget retryBudget;
+	private final Counter retries;
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	public AsyncRetrier(CalleeAsyncRetryProperties properties, RetryBudget retryBudget, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.retryBudget = retryBudget;
+		this.retries = Counter.builder("callee.retry.async.retries")
+			.description("비동기 재시도로 예약한 callee 호출 수")
+			.register(meterRegistry);
+		Gauge.builder("callee.retry.async.waiting", waiting, AtomicInteger::get)
+			.description("재시도 백오프 대기 중인 요청 수")
+			.register(meterRegistry);
+	}
+
+	public <T> CompletableFuture<T> execute(String name, Supplier<CompletableFuture<T>> attempt) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Attempts<T> attempts = new Attempts<>(name, attempt, result, CalleeCall.current());
+		result.whenComplete((value, failure) -> attempts.cancel());
+		attempts.run(1, properties.baseDelay().toMillis());
+		return result;
+	}
+
+	private class Attempts<T> {
+
+		private final String name;
+		private final Supplier<CompletableFuture<T>> attempt;
+		private final CompletableFuture<T> result;
+		// 재시도 횟수를 callee.calls.attempts 에 더하기 위한 호출 정보. 호출 스레드에서 잡아 둔다.
+		private final CalleeCall call;
+
+		private volatile CompletableFuture<T> current;
+		private volatile ScheduledFuture<?> scheduled;
+
+		Attempts(String name, Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> result, CalleeCall call) {
+			this.name = name;
+			this.attempt = attempt;
+			this.result = result;
+			this.call = call;
+		}
+
+		void run(int attemptNumber, long previousDelay) {
+			if (result.isDone()) {
+				return;
+			}
+			if (attemptNumber > 1 && call != null) {
+				call.attemptStarted();
+			}
+			CompletableFuture<T> future;
+			try {
+				future = attempt.get();
+			} catch (RuntimeException e) {
+				future = CompletableFuture.failedFuture(e);
+			}
+			current = future;
+			future.whenComplete((value, failure) -> {
+				if (failure == null) {
+					result.complete(value);
+				} else {
+					onFailure(attemptNumber, previousDelay, unwrap(failure));
+				}
+			});
+		}
+
+		private void onFailure(int attemptNumber, long previousDelay, Throwable failure) {
+			if (result.isDone()) {
+				return;
+			}
+			if (attemptNumber >= properties.maxAttempts() || !isRetryable(failure)) {
+				result.completeExceptionally(failure);
+				return;
+			}
+			if (!retryBudget.tryWithdraw()) {
+				result.completeExceptionally(new RetryBudgetExhaustedException(name, failure));
+				return;
+			}
+
+			long jitter = nextDelay(previousDelay);
+			// callee 가 알려준 시간보다 먼저 보내면 다시 429 를 받는다.
+			long delay = failure instanceof RateLimitedException rateLimited
+				? Math.max(jitter, rateLimited.retryAfter().toMillis())
+				: jitter;
+			log.debug("{} 비동기 재시도 예약 - attempt: {}, delay: {}ms, Reason: {}", name, attemptNumber + 1, delay,
+				failure.getClass().getSimpleName());
+			retries.increment();
+			waiting.incrementAndGet();
+			scheduled = scheduler.schedule(() -> {
+				waiting.decrementAndGet();
+				run(attemptNumber + 1, delay);
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+
+		void cancel() {
+			ScheduledFuture<?> pending = scheduled;
+			if (pending != null && pending.cancel(false)) {
+				waiting.decrementAndGet();
+			}
+			CompletableFuture<T> running = current;
+			if (running != null) {
+				running.cancel(true);
+			}
+		}
+	}
+
+	// decorrelated jitter: min(max, random(base, previous * 3))
+	long nextDelay(long previousDelay) {
+		long base = properties.baseDelay().toMillis();
+		long upper = Math.max(base + 1, previousDelay * 3);
+		return Math.min(properties.maxDelay().toMillis(), ThreadLocalRandom.current().nextLong(base, upper));
+	}
+
+	// 동기 Retry 와 같은 기준: 부하를 덜려고 거절한 호출과 취소된 호출은 다시 보내지 않는다.
+	private static boolean isRetryable(Throwable failure) {
+		return !(failure instanceof BulkheadFullException
+			|| failure instanceof ConcurrencyLimitExceededException
+			|| failure instanceof CancellationException);
+	}
+
+	private static Throwable unwrap(Throwable failure) {
+		return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+}
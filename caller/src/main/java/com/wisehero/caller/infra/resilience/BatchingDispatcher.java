@@ -0,0 +1,263 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisehero.caller.config.CalleeBatchingProperties;
+import com.wisehero.caller.config.CalleeHedgingProperties;
+import com.wisehero.caller.infra.client.BatchItem;
+import com.wisehero.caller.infra.client.BatchItemResult;
+import com.wisehero.caller.infra.client.CalleeV1Client;
+import com.wisehero.caller.infra.client.Hedged;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 동시에 들어온 CalleeV1Client 호출을 잠깐 모아서 callee /batch 한 번으로 보내는 Capability (callee.batching)
+ *
+ * - callee.batching.methods 의 GET 호출만 모은다. 메서드별로 따로 모은다.
+ *   query string 이 붙은 요청은 /batch 항목으로 옮길 수 없으므로 모으지 않고 따로 보낸다.
+ * - hedging 이 켜져 있으면 @Hedged 메서드는 methods 에 넣을 수 없다. (시작할 때 실패)
+ *   hedge 요청이 원래 요청과 같은 묶음에 들어가면 지연을 줄이지 못하고 callee 호출만 두 번 센다.
+ * - 묶음의 첫 호출 스레드가 window 만큼 (또는 max-size 가 찰 때까지) 기다린 뒤 묶음을 보낸다.
+ *   보내는 일은 별도 가상 스레드가 해서, 첫 호출이 타임아웃으로 끊겨도 나머지 호출은 영향을 받지 않는다.
+ * - /batch 응답의 항목마다 원래 요청에 대한 feign.Response(상태 코드 + 본문)를 만들어 돌려준다.
+ *   그래서 항목별 4xx/5xx/429 는 따로 호출했을 때처럼 ErrorDecoder 를 거쳐 각자의 예외가 되고,
+ *   CalleeApiService 의 메서드별 CircuitBreaker / Retry 도 항목마다 따로 성공/실패를 센다.
+ * - /batch 자체가 실패하면(연결 오류, 503, 요청 한도 등) 묶인 호출 모두 같은 예외로 끝난다.
+ *
+ * /batch 요청도 CalleeV1Client 로 보내므로 동시성 한도와 wire 로그는 묶음 단위로 한 번 적용된다.
+ * 재시도 예산과 요청 한도 게이트는 이 Capability 바깥에서 항목마다 적용되고 /batch 호출은 건너뛴다. (CapabilityOrder)
+ * - callee.batching.size: 한 번에 보낸 호출 수
+ */
+@Slf4j
+@Component
+@Order(CapabilityOrder.BATCHING)
+public class BatchingDispatcher implements Capability {
+
+	private static final String BATCH_METHOD = "batch";
+	private static final String SESSION_HEADER = "X-Fault-Session";
+	private static final Map<String, Collection<String>> ITEM_HEADERS =
+		Map.of(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+
+	private final CalleeBatchingProperties properties;
+	private final ObjectProvider<CalleeV1Client> calleeV1Client;
+	private final ObjectMapper objectMapper;
+	private final String baseUrl;
+	private final DistributionSummary batchSize;
+
+	private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+	private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+		Thread.ofVirtual().name("callee-batch-", 0).factory());
+
+	public BatchingDispatcher(CalleeBatchingProperties properties, CalleeHedgingProperties hedgingProperties,
+		ObjectProvider<CalleeV1Client> calleeV1Client, ObjectMapper objectMapper,
+		@Value("${callee.service.url}") String baseUrl, MeterRegistry meterRegistry) {
+		if (properties.enabled() && hedgingProperties.enabled()) {
+			List<String> hedged = Arrays.stream(CalleeV1Client.class.getMethods())
+				.filter(method -> method.isAnnotationPresent(Hedged.class))
+				.map(Method::getName)
+				.filter(properties.methods()::contains)
+				.toList();
+			if (!hedged.isEmpty()) {
+				throw new IllegalStateException("@Hedged 메서드는 callee.batching.methods 에 넣을 수 없습니다: " + hedged
+					+ " (callee.hedging.enabled=false 로 끄거나 methods 에서 빼야 합니다)");
+			}
+		}
+		this.properties = properties;
+		this.calleeV1Client = calleeV1Client;
+		this.objectMapper = objectMapper;
+		this.baseUrl = baseUrl;
+		this.batchSize = DistributionSummary.builder("callee.batching.size")
+			.description("callee /batch 한 번에 묶어 보낸 호출 수")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public Client enrich(Client client) {
+		if (!properties.enabled()) {
+			return client;
+		}
+		return (request, options) -> {
+			String method = FeignRequests.methodName(request);
+			if (request.httpMethod() != Request.HttpMethod.GET || !properties.methods().contains(method)
+				|| request.url().indexOf('?') >= 0) {
+				return client.execute(request, options);
+			}
+			return dispatch(method, request, options);
+		};
+	}
+
+	private Response dispatch(String method, Request request, Request.Options options) throws IOException {
+		Pending pending = new Pending(request, new CompletableFuture<>());
+		Lane lane = lanes.computeIfAbsent(method, key -> new Lane());
+		Batch batch;
+		boolean first = false;
+		lane.lock.lock();
+		try {
+			if (lane.open == null) {
+				lane.open = new Batch();
+				first = true;
+			}
+			batch = lane.open;
+			batch.items.add(pending);
+			if (batch.items.size() >= properties.maxSize()) {
+				lane.open = null;
+				batch.full.complete(null);
+			}
+		} finally {
+			lane.lock.unlock();
+		}
+		if (first) {
+			awaitWindow(batch);
+			lane.lock.lock();
+			try {
+				if (lane.open == batch) {
+					lane.open = null;
+				}
+			} finally {
+				lane.lock.unlock();
+			}
+			// 닫은 뒤에는 더 이상 items 에 추가되지 않는다.
+			sender.execute(() -> send(batch.items));
+		}
+		return await(pending, options);
+	}
+
+	private void awaitWindow(Batch batch) {
+		try {
+			batch.full.get(properties.window().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// window 가 지났다. 모인 만큼 보낸다.
+		} catch (InterruptedException e) {
+			// 첫 호출이 취소돼도 같이 묶인 호출을 위해 묶음은 보낸다.
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void send(List<Pending> items) {
+		batchSize.record(items.size());
+		List<BatchItem> body = new ArrayList<>(items.size());
+		for (Pending pending : items) {
+			body.add(new BatchItem(pathOf(pending.request()), firstHeader(pending.request(), SESSION_HEADER)));
+		}
+		try {
+			List<BatchItemResult> results = calleeV1Client.getObject().batch(body).data();
+			for (int i = 0; i < items.size(); i++) {
+				Pending pending = items.get(i);
+				if (results == null || i >= results.size()) {
+					pending.response().completeExceptionally(new IOException("callee /batch 응답 항목 수가 요청과 다릅니다."));
+				} else {
+					pending.response().complete(toResponse(pending.request(), results.get(i)));
+				}
+			}
+		} catch (Throwable e) {
+			log.debug("callee /batch 실패 - size: {}, Reason: {}", items.size(), e.getMessage());
+			items.forEach(pending -> pending.response().completeExceptionally(e));
+		}
+	}
+
+	private Response toResponse(Request request, BatchItemResult result) throws IOException {
+		Map<String, Collection<String>> headers = ITEM_HEADERS;
+		if (result.retryAfterMillis() != null) {
+			headers = Map.of(
+				HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE),
+				"retry-after-ms", List.of(String.valueOf(result.retryAfterMillis())));
+		}
+		HttpStatus status = HttpStatus.resolve(result.status());
+		return Response.builder()
+			.request(request)
+			.status(result.status())
+			.reason(status != null ? status.getReasonPhrase() : null)
+			.headers(headers)
+			.body(objectMapper.writeValueAsBytes(result.response()))
+			.build();
+	}
+
+	// 따로 보냈을 때와 같은 read-timeout 안에 결과가 오지 않으면 read-timeout 처럼 끝낸다.
+	private Response await(Pending pending, Request.Options options) throws IOException {
+		long timeoutMillis = options.readTimeoutMillis() + properties.window().toMillis();
+		try {
+			return pending.response().get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new SocketTimeoutException("Read timed out (batched)");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("callee 호출 대기 중 interrupt");
+		} catch (ExecutionException e) {
+			switch (e.getCause()) {
+				case RuntimeException runtime -> throw runtime;
+				case IOException io -> throw io;
+				default -> throw new IOException(e.getCause());
+			}
+		}
+	}
+
+	/** 여러 호출을 묶어서 보내는 CalleeV1Client#batch 호출인지 */
+	static boolean isBatchCall(Request request) {
+		return BATCH_METHOD.equals(FeignRequests.methodName(request));
+	}
+
+	// query string 이 있는 요청은 enrich 에서 걸러서 여기로 오지 않는다.
+	private String pathOf(Request request) {
+		String url = request.url();
+		return url.startsWith(baseUrl) ? url.substring(baseUrl.length()) : url;
+	}
+
+	private static String firstHeader(Request request, String name) {
+		Collection<String> values = request.headers().get(name);
+		return values == null || values.isEmpty() ? null : values.iterator().next();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sender.shutdownNow();
+	}
+
+	private record Pending(Request request, CompletableFuture<Response> response) {
+	}
+
+	// 가상 스레드에서 호출되므로 synchronized 대신 ReentrantLock 을 쓴다. (경합 중 캐리어 스레드 고정 방지)
+	private static final class Lane {
+		private final ReentrantLock lock = new ReentrantLock();
+		private Batch open;
+	}
+
+	private static final class Batch {
+		private final List<Pending> items = new ArrayList<>();
+		private final CompletableFuture<Void> full = new CompletableFuture<>();
+	}
+}
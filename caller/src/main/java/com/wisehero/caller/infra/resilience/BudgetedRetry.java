@@ -0,0 +1,170 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.resilience4j.core.EventProcessor;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.event.RetryEvent;
+import io.github.resilience4j.retry.event.RetryOnErrorEvent;
+
+/**
+ * 재시도 직전에 RetryBudget 에서 토큰을 꺼내는 Retry
+ *
+ * 예산 확인을 intervalBiFunction 에서 예외로 끊으면 resilience4j 가 그 호출을 실패로 집계하지 않는다.
+ * (RetryOnErrorEvent 와 failed 카운터가 빠진다) 그래서 원래 Retry 에 위임하는 구현으로 감싸고
+ * 레지스트리의 인스턴스를 교체한다. (CalleeResiliencePolicies)
+ *
+ * - 실패가 재시도 대상이고 시도 횟수가 남았을 때만 토큰을 꺼낸다. 꺼내면 원래 Retry 가 평소대로 대기 후 재시도한다.
+ * - 토큰이 없으면 원래 Retry 가 재시도를 끝낼 때처럼 RetryOnErrorEvent 를 발행하고,
+ *   실패 카운터(재시도가 있었으면 with-retry, 없었으면 without-retry)에 더한 뒤
+ *   이 Retry 이름의 RetryBudgetExhaustedException 을 던진다. (@Retry 의 fallbackMethod 로 처리)
+ * - 결과 기반 재시도(retryOnResult)는 토큰이 없으면 재시도하지 않고 그 결과를 돌려준다.
+ */
+final class BudgetedRetry implements Retry {
+
+	private final Retry delegate;
+	private final RetryBudget retryBudget;
+	private final int maxAttempts;
+	private final LongAdder exhaustedWithRetry = new LongAdder();
+	private final LongAdder exhaustedWithoutRetry = new LongAdder();
+	private final Metrics metrics = new BudgetedMetrics();
+
+	BudgetedRetry(Retry delegate, RetryBudget retryBudget) {
+		this.delegate = delegate;
+		this.retryBudget = retryBudget;
+		this.maxAttempts = delegate.getRetryConfig().getMaxAttempts();
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public <T> Context<T> context() {
+		return new BudgetedContext<>(delegate.context());
+	}
+
+	// 비동기 재시도는 AsyncRetrier 가 같은 예산으로 따로 처리한다.
+	@Override
+	public <T> AsyncContext<T> asyncContext() {
+		return delegate.asyncContext();
+	}
+
+	@Override
+	public RetryConfig getRetryConfig() {
+		return delegate.getRetryConfig();
+	}
+
+	@Override
+	public Map<String, String> getTags() {
+		return delegate.getTags();
+	}
+
+	@Override
+	public EventPublisher getEventPublisher() {
+		return delegate.getEventPublisher();
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public String toString() {
+		return "BudgetedRetry(" + delegate + ")";
+	}
+
+	@SuppressWarnings("unchecked")
+	private void publishError(int attempts, Throwable lastFailure) {
+		if (delegate.getEventPublisher() instanceof EventProcessor<?> processor && processor.hasConsumers()) {
+			((EventProcessor<RetryEvent>)processor).processEvent(
+				new RetryOnErrorEvent(getName(), attempts, lastFailure));
+		}
+	}
+
+	private final class BudgetedContext<T> implements Context<T> {
+
+		private final Context<T> context;
+		private int failures;
+
+		private BudgetedContext(Context<T> context) {
+			this.context = context;
+		}
+
+		@Override
+		public void onComplete() {
+			context.onComplete();
+		}
+
+		@Override
+		public boolean onResult(T result) {
+			RetryConfig config = getRetryConfig();
+			if (config.getResultPredicate() != null && config.getResultPredicate().test(result)
+				&& failures + 1 < maxAttempts && !retryBudget.tryWithdraw()) {
+				return false;
+			}
+			boolean retry = context.onResult(result);
+			if (retry) {
+				failures++;
+			}
+			return retry;
+		}
+
+		@Override
+		public void onError(Exception exception) throws Exception {
+			withdrawOrGiveUp(exception);
+			context.onError(exception);
+		}
+
+		@Override
+		public void onRuntimeError(RuntimeException runtimeException) {
+			withdrawOrGiveUp(runtimeException);
+			context.onRuntimeError(runtimeException);
+		}
+
+		private void withdrawOrGiveUp(Exception exception) {
+			failures++;
+			boolean retryable = getRetryConfig().getExceptionPredicate().test(exception) && failures < maxAttempts;
+			if (!retryable || retryBudget.tryWithdraw()) {
+				return;
+			}
+			(failures > 1 ? exhaustedWithRetry : exhaustedWithoutRetry).increment();
+			publishError(failures, exception);
+			throw new RetryBudgetExhaustedException(getName(), exception);
+		}
+	}
+
+	// 예산 부족으로 끝낸 호출을 원래 Retry 의 실패 집계에 더한다.
+	private final class BudgetedMetrics implements Metrics {
+
+		@Override
+		public long getNumberOfSuccessfulCallsWithoutRetryAttempt() {
+			return delegate.getMetrics().getNumberOfSuccessfulCallsWithoutRetryAttempt();
+		}
+
+		@Override
+		public long getNumberOfFailedCallsWithoutRetryAttempt() {
+			return delegate.getMetrics().getNumberOfFailedCallsWithoutRetryAttempt() + exhaustedWithoutRetry.sum();
+		}
+
+		@Override
+		public long getNumberOfSuccessfulCallsWithRetryAttempt() {
+			return delegate.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt();
+		}
+
+		@Override
+		public long getNumberOfFailedCallsWithRetryAttempt() {
+			return delegate.getMetrics().getNumberOfFailedCallsWithRetryAttempt() + exhaustedWithRetry.sum();
+		}
+
+		@Override
+		public long getNumberOfTotalCalls() {
+			return delegate.getMetrics().getNumberOfTotalCalls()
+				+ exhaustedWithRetry.sum() + exhaustedWithoutRetry.sum();
+		}
+	}
+}
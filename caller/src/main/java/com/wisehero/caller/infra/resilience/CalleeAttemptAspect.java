@@ -0,0 +1,58 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * CircuitBreaker 가 호출을 허용한 뒤의 시도 한 번을 CalleeCall 에 적는 애스펙트
+ *
+ * CircuitBreaker 안쪽, RateLimiter / TimeLimiter / Bulkhead 바깥에 둔다. (AspectOrder)
+ * - 동기 @Retry 는 시도마다 이 애스펙트를 다시 지나므로 시도 횟수가 그대로 세어진다.
+ * - CircuitBreaker 가 막은 호출은 여기까지 오지 않는다. (시도 0회 = rejected)
+ * - fallback 이 예외를 삼키기 전에 실패 원인(타임아웃, 거절, callee 오류)을 본다.
+ */
+@Aspect
+@Component
+@Order(AspectOrder.CALLEE_ATTEMPT)
+public class CalleeAttemptAspect {
+
+	@Around("execution(public * com.wisehero.caller.service.CalleeApiService.*(..)) "
+		+ "&& @annotation(io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker)")
+	public Object attempt(ProceedingJoinPoint joinPoint) throws Throwable {
+		CalleeCall call = CalleeCall.current();
+		if (call == null) {
+			return joinPoint.proceed();
+		}
+		call.attemptStarted();
+
+		Object result;
+		try {
+			result = joinPoint.proceed();
+		} catch (Throwable t) {
+			call.attemptFailed(t);
+			throw t;
+		}
+
+		if (result instanceof CompletionStage<?> stage) {
+			// 바깥 CircuitBreaker 의 fallback 보다 먼저 실패를 적어야 하므로 새 future 로 한 번 거쳐서 넘긴다.
+			// whenComplete 가 돌려주는 future 는 예외를 CompletionException 으로 감싸서 ignore-exceptions 판정이 달라진다.
+			CompletableFuture<Object> observed = new CompletableFuture<>();
+			stage.whenComplete((value, failure) -> {
+				if (failure != null) {
+					call.attemptFailed(failure);
+					observed.completeExceptionally(failure);
+				} else {
+					observed.complete(value);
+				}
+			});
+			return observed;
+		}
+		return result;
+	}
+}
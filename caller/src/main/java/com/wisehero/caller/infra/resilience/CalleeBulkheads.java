@@ -0,0 +1,130 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeBulkheadProperties;
+import com.wisehero.caller.config.CalleeBulkheadProperties.Isolation;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CalleeV1Client 메서드별 Bulkhead
+ *
+ * - 메서드마다 "callee-client-v1-{메서드명}" 이름의 Bulkhead 를 따로 둔다.
+ *   /slow 호출이 몰려도 /hello 호출이 같은 자원을 두고 기다리지 않도록 하기 위함
+ * - yml 에 따로 적지 않은 메서드는 configs.callee-client-v1 설정으로 만든다. (CalleeResiliencePolicies)
+ * - 격리 수준(SEMAPHORE / THREAD_POOL)은 CalleeBulkheadProperties 로 메서드별로 지정한다.
+ * - 허용치를 넘으면 대기하지 않고 BulkheadFullException 을 던진다. (CalleeApiService 의 fallback 으로 처리)
+ *
+ * 사용 가능 동시 호출 수, 큐 깊이 등은 resilience4j-micrometer 가 resilience4j.bulkhead.* 로 노출하고,
+ * 거절 횟수는 여기서 callee.bulkhead.rejected 카운터로 따로 집계한다.
+ *
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true)에서는 THREAD_POOL 격리를 SEMAPHORE 로 대신한다.
+ * 가상 스레드는 대기 비용이 거의 없어서 Tomcat 스레드를 지키려고 플랫폼 스레드 풀로 옮길 이유가 없고,
+ * 오히려 Feign 호출이 다시 플랫폼 스레드 위에서 돌게 되기 때문이다.
+ */
+@Slf4j
+@Component
+public class CalleeBulkheads {
+
+	private final BulkheadRegistry bulkheadRegistry;
+	private final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry;
+	private final CalleeBulkheadProperties properties;
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Bulkhead> semaphores = new ConcurrentHashMap<>();
+	private final Map<String, ThreadPoolBulkhead> threadPools = new ConcurrentHashMap<>();
+	private final boolean virtualThreads;
+
+	public CalleeBulkheads(BulkheadRegistry bulkheadRegistry, ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+		CalleeBulkheadProperties properties, MeterRegistry meterRegistry, Environment environment) {
+		this.bulkheadRegistry = bulkheadRegistry;
+		this.threadPoolBulkheadRegistry = threadPoolBulkheadRegistry;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+	}
+
+	public <T> T execute(String method, Supplier<T> call) {
+		return switch (isolationOf(method)) {
+			case SEMAPHORE -> semaphore(method).executeSupplier(call);
+			case THREAD_POOL -> await(threadPool(method).executeSupplier(call));
+		};
+	}
+
+	/**
+	 * 이미 별도 작업 스레드(CancellableCallExecutor)에서 실행 중인 비동기 호출용.
+	 * 스레드 풀로 한 번 더 옮기면 취소 시 interrupt 가 실제 Feign 호출 스레드에 닿지 않으므로 세마포어만 적용한다.
+	 */
+	public <T> T executeInPlace(String method, Supplier<T> call) {
+		return semaphore(method).executeSupplier(call);
+	}
+
+	/** 시작할 때 메서드의 Bulkhead 를 미리 만들어 둔다. */
+	public void prepare(String method) {
+		semaphore(method);
+		if (isolationOf(method) == Isolation.THREAD_POOL) {
+			threadPool(method);
+		}
+	}
+
+	public Isolation isolationOf(String method) {
+		Isolation isolation = properties.isolationOf(method);
+		return virtualThreads && isolation == Isolation.THREAD_POOL ? Isolation.SEMAPHORE : isolation;
+	}
+
+	private Bulkhead semaphore(String method) {
+		return semaphores.computeIfAbsent(method, key -> {
+			Bulkhead bulkhead = bulkheadRegistry.bulkhead(CalleeResiliencePolicies.instanceName(key),
+				CalleeResiliencePolicies.CLIENT_NAME);
+			Counter rejected = rejectedCounter(key, Isolation.SEMAPHORE);
+			bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+			return bulkhead;
+		});
+	}
+
+	private ThreadPoolBulkhead threadPool(String method) {
+		return threadPools.computeIfAbsent(method, key -> {
+			ThreadPoolBulkhead bulkhead = threadPoolBulkheadRegistry.bulkhead(CalleeResiliencePolicies.instanceName(key),
+				CalleeResiliencePolicies.CLIENT_NAME);
+			Counter rejected = rejectedCounter(key, Isolation.THREAD_POOL);
+			bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+			return bulkhead;
+		});
+	}
+
+	private Counter rejectedCounter(String method, Isolation isolation) {
+		log.info("Bulkhead 생성 - name: {}, isolation: {}", CalleeResiliencePolicies.instanceName(method), isolation);
+		return Counter.builder("callee.bulkhead.rejected")
+			.description("Bulkhead 허용치를 넘어 즉시 거절된 호출 수")
+			.tag("name", CalleeResiliencePolicies.instanceName(method))
+			.tag("isolation", isolation.name())
+			.register(meterRegistry);
+	}
+
+	// 스레드 풀에서 실행된 결과를 기다린다. Feign 예외는 CompletionException 을 벗겨서 그대로 던진다.
+	private static <T> T await(CompletionStage<T> stage) {
+		try {
+			return stage.toCompletableFuture().join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+
+/**
+ * CalleeApiService 호출 한 건의 진행 상황 (CalleeCallMetricsAspect 가 만들고 메트릭 태그로 쓴다)
+ *
+ * - 호출 스레드의 ThreadLocal 에 묶어 두고, CalleeAttemptAspect / AsyncRetrier 가 시도 횟수와 마지막 실패를 적는다.
+ * - CircuitBreaker 가 호출을 막으면 CalleeCallMetricsAspect 가 onCallNotPermitted 이벤트로 적는다.
+ * - 비동기 호출은 다른 스레드에서 적을 수 있으므로 필드는 volatile 이다. 시도는 한 번에 하나씩만 진행된다.
+ */
+final class CalleeCall {
+
+	enum Outcome {
+		/** 첫 시도에 성공 */
+		SUCCESS,
+		/** 재시도 끝에 성공 */
+		RETRIED,
+		/** callee 가 실패했고 fallback 으로 응답 */
+		FALLBACK,
+		/** 서킷 OPEN / Bulkhead / 동시성 한도 / callee 요청 한도(429) / 재시도 예산으로 거절 */
+		REJECTED,
+		/** TimeLimiter 타임아웃 */
+		TIMEOUT,
+		/** fallback 없이 예외로 끝남 */
+		ERROR
+	}
+
+	private static final ThreadLocal<CalleeCall> CURRENT = new ThreadLocal<>();
+
+	private volatile int attempts;
+	private volatile Throwable lastFailure;
+	private volatile boolean notPermitted;
+
+	static CalleeCall current() {
+		return CURRENT.get();
+	}
+
+	/** 이 호출을 현재 스레드에 묶는다. 돌려받은 이전 값을 unbind 에 넘긴다. */
+	CalleeCall bind() {
+		CalleeCall previous = CURRENT.get();
+		CURRENT.set(this);
+		return previous;
+	}
+
+	static void unbind(CalleeCall previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	void attemptStarted() {
+		attempts++;
+		lastFailure = null;
+		notPermitted = false;
+	}
+
+	/** CircuitBreaker 가 이번 시도를 막았다. (CallNotPermittedException) */
+	void callNotPermitted() {
+		notPermitted = true;
+	}
+
+	void attemptFailed(Throwable failure) {
+		lastFailure = failure instanceof CompletionException && failure.getCause() != null
+			? failure.getCause() : failure;
+	}
+
+	int attempts() {
+		return attempts;
+	}
+
+	Throwable lastFailure() {
+		return lastFailure;
+	}
+
+	/**
+	 * CircuitBreaker 의 마지막 판정이 허용이었는지.
+	 * Bulkhead / 동시성 한도 / 요청 한도 거절은 CircuitBreaker 가 허용한 뒤의 일이라 true 로 남는다.
+	 */
+	boolean permitted() {
+		return !notPermitted;
+	}
+
+	/**
+	 * @param completedNormally 호출자가 응답을 받았는지 (fallback 포함). false 면 예외로 끝났다.
+	 */
+	Outcome outcome(boolean completedNormally) {
+		if (attempts == 0) {
+			// CircuitBreaker 가 호출 자체를 막았다. (CallNotPermittedException)
+			return Outcome.REJECTED;
+		}
+		Throwable failure = lastFailure;
+		if (failure == null) {
+			return attempts > 1 ? Outcome.RETRIED : Outcome.SUCCESS;
+		}
+		return switch (failure) {
+			case TimeoutException timeout -> Outcome.TIMEOUT;
+			case BulkheadFullException full -> Outcome.REJECTED;
+			case ConcurrencyLimitExceededException limited -> Outcome.REJECTED;
+			case RateLimitedException rateLimited -> Outcome.REJECTED;
+			case RetryBudgetExhaustedException exhausted -> Outcome.REJECTED;
+			default -> completedNormally ? Outcome.FALLBACK : Outcome.ERROR;
+		};
+	}
+}
@@ -0,0 +1,147 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeMetricsProperties;
+import com.wisehero.caller.infra.resilience.CalleeCall.Outcome;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.State;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * CalleeApiService 호출 한 건을 처음부터 응답(fallback 포함)까지 재는 애스펙트
+ *
+ * - @CircuitBreaker 가 붙은 CalleeApiService 메서드마다 CalleeCall 을 만들어 호출 스레드에 묶는다.
+ * - CalleeAttemptAspect 가 시도 횟수와 마지막 실패를 적고, 끝나면 그걸로 outcome 을 정한다.
+ * - resilience4j 애스펙트(Retry > CircuitBreaker > TimeLimiter > Bulkhead)보다 바깥, CoalescingAspect 보다는 안쪽에 둔다.
+ *   (AspectOrder)
+ *   합쳐진(follower) 호출은 callee.coalescing.calls 로 따로 센다.
+ *
+ * 메트릭 (tag method 는 CalleeV1Client 메서드명, call=sync|async 라서 조합 수가 고정이다)
+ * - callee.calls{method, call, outcome}: 응답까지 걸린 시간. callee.metrics.slo-buckets 경계로 히스토그램을 낸다.
+ *   outcome = success | retried | fallback | rejected | timeout | error
+ * - callee.calls.attempts{method, call}: 호출 한 건당 callee 에 실제로 보낸 횟수 (재시도 분포)
+ *
+ * 같은 내용을 CalleeEventRing 에도 한 건씩 남긴다. (시작 시점 서킷 상태 포함, /actuator/calleeEvents)
+ *
+ * 미터는 메서드별로 처음 한 번만 찾아 두고, 호출마다는 ThreadLocal 설정 + nanoTime + record 만 한다.
+ */
+@Aspect
+@Component
+@Order(AspectOrder.CALLEE_CALL_METRICS)
+public class CalleeCallMetricsAspect {
+
+	private final MeterRegistry meterRegistry;
+	private final CalleeResiliencePolicies policies;
+	private final CalleeEventRing eventRing;
+	private final Duration[] sloBuckets;
+	private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+	public CalleeCallMetricsAspect(MeterRegistry meterRegistry, CalleeResiliencePolicies policies,
+		CalleeEventRing eventRing, CalleeMetricsProperties properties) {
+		this.meterRegistry = meterRegistry;
+		this.policies = policies;
+		this.eventRing = eventRing;
+		this.sloBuckets = properties.sloBuckets().toArray(Duration[]::new);
+	}
+
+	@Around("execution(public * com.wisehero.caller.service.CalleeApiService.*(..)) && @annotation(circuitBreaker)")
+	public Object observe(ProceedingJoinPoint joinPoint, CircuitBreaker circuitBreaker) throws Throwable {
+		Method method = ((MethodSignature)joinPoint.getSignature()).getMethod();
+		Meters methodMeters = meters.get(method);
+		if (methodMeters == null) {
+			methodMeters = meters.computeIfAbsent(method, key -> createMeters(key, circuitBreaker));
+		}
+
+		State stateAtStart = methodMeters.circuitBreaker().getState();
+		CalleeCall call = new CalleeCall();
+		CalleeCall previous = call.bind();
+		long start = System.nanoTime();
+		Object result;
+		try {
+			result = joinPoint.proceed();
+		} catch (Throwable t) {
+			record(methodMeters, call, stateAtStart, false, System.nanoTime() - start);
+			throw t;
+		} finally {
+			CalleeCall.unbind(previous);
+		}
+
+		if (result instanceof CompletionStage<?> stage) {
+			Meters asyncMeters = methodMeters;
+			stage.whenComplete((value, failure) ->
+				record(asyncMeters, call, stateAtStart, failure == null, System.nanoTime() - start));
+		} else {
+			record(methodMeters, call, stateAtStart, true, System.nanoTime() - start);
+		}
+		return result;
+	}
+
+	private void record(Meters methodMeters, CalleeCall call, State stateAtStart,
+		boolean completedNormally, long elapsedNanos) {
+		Outcome outcome = call.outcome(completedNormally);
+		methodMeters.timers().get(outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+		if (call.attempts() > 0) {
+			methodMeters.attempts().record(call.attempts());
+		}
+		eventRing.record(methodMeters.method(), methodMeters.async(), stateAtStart, call.permitted(), outcome,
+			call.attempts(), elapsedNanos, call.lastFailure());
+	}
+
+	private Meters createMeters(Method method, CircuitBreaker circuitBreaker) {
+		String calleeMethod = circuitBreaker.name().substring(CalleeResiliencePolicies.CLIENT_NAME.length() + 1);
+		boolean async = CompletionStage.class.isAssignableFrom(method.getReturnType());
+		String callType = async ? "async" : "sync";
+
+		Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+		for (Outcome outcome : Outcome.values()) {
+			timers.put(outcome, Timer.builder("callee.calls")
+				.description("CalleeApiService 호출 한 건이 응답(fallback 포함)까지 걸린 시간")
+				.tag("method", calleeMethod)
+				.tag("call", callType)
+				.tag("outcome", outcome.name().toLowerCase())
+				.serviceLevelObjectives(sloBuckets)
+				.register(meterRegistry));
+		}
+		DistributionSummary attempts = DistributionSummary.builder("callee.calls.attempts")
+			.description("호출 한 건당 callee 에 보낸 횟수")
+			.tag("method", calleeMethod)
+			.tag("call", callType)
+			.serviceLevelObjectives(1, 2, 3, 4, 5)
+			.register(meterRegistry);
+		io.github.resilience4j.circuitbreaker.CircuitBreaker breaker = policies.circuitBreaker(calleeMethod);
+		// 거절 이벤트는 tryAcquirePermission 을 부른 호출 스레드에서 바로 나온다. (비동기 호출도 permission 은 호출 스레드에서 받는다)
+		breaker.getEventPublisher().onCallNotPermitted(event -> {
+			CalleeCall call = CalleeCall.current();
+			if (call != null) {
+				call.callNotPermitted();
+			}
+		});
+		return new Meters(calleeMethod, async, breaker, timers, attempts);
+	}
+
+	private record Meters(
+		String method,
+		boolean async,
+		io.github.resilience4j.circuitbreaker.CircuitBreaker circuitBreaker,
+		Map<Outcome, Timer> timers,
+		DistributionSummary attempts
+	) {
+	}
+}
@@ -0,0 +1,128 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeEventRingProperties;
+import com.wisehero.caller.infra.resilience.CalleeCall.Outcome;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * 최근 callee 호출의 결정 기록을 고정 크기로 보관하는 링 버퍼 (CalleeEventsEndpoint 로 조회)
+ *
+ * 호출 한 건마다 시작 시점 서킷 상태, 허용/거절 여부, 시도 횟수, 응답까지 걸린 시간, 마지막 실패 종류를 남긴다.
+ *
+ * - 슬롯은 시작할 때 capacity 만큼 만들어 두고 필드만 덮어쓴다. 기록할 때 객체를 만들지 않고 메모리가 늘지 않는다.
+ * - 쓰는 쪽은 AtomicLong 에서 순번을 받아 자기 슬롯에만 쓴다. 락도 CAS 재시도도 없다.
+ * - 슬롯마다 seqlock 을 둔다. 쓰기 전에 version 을 홀수로(+ storeStore 펜스), 다 쓰고 나면 순번으로 바꾼다.
+ *   읽는 쪽은 읽기 전후의 version 이 같고 짝수일 때만 그 값을 쓴다. 쓰는 도중이거나 덮어쓰인 슬롯은 건너뛴다.
+ */
+@Component
+public class CalleeEventRing {
+
+	private final Slot[] slots;
+	private final int mask;
+	private final AtomicLong sequence = new AtomicLong();
+
+	public CalleeEventRing(CalleeEventRingProperties properties) {
+		int capacity = Integer.highestOneBit(properties.capacity() - 1) << 1;
+		this.slots = new Slot[Math.max(capacity, 2)];
+		this.mask = slots.length - 1;
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = new Slot();
+		}
+	}
+
+	void record(String method, boolean async, CircuitBreaker.State stateAtStart, boolean permitted, Outcome outcome,
+		int attempts, long latencyNanos, Throwable lastFailure) {
+		long seq = sequence.getAndIncrement();
+		Slot slot = slots[(int)(seq & mask)];
+		// 순번을 두 배 해서 짝수(완료) / 홀수(쓰는 중)로 나눈다.
+		slot.version = seq * 2 + 1;
+		// volatile 쓰기는 release 라서 뒤의 일반 쓰기가 그 앞으로 올라갈 수 있다. (ARM 등)
+		// 필드가 홀수 version 보다 먼저 보이면 읽는 쪽이 이전 짝수 version 으로 섞인 기록을 받아들이므로 막는다.
+		VarHandle.storeStoreFence();
+		slot.timestampMillis = System.currentTimeMillis();
+		slot.method = method;
+		slot.async = async;
+		slot.stateAtStart = stateAtStart;
+		slot.permitted = permitted;
+		slot.outcome = outcome;
+		slot.attempts = attempts;
+		slot.latencyNanos = latencyNanos;
+		slot.failureType = lastFailure != null ? lastFailure.getClass() : null;
+		slot.version = seq * 2 + 2;
+	}
+
+	/**
+	 * 최근 기록부터 조건에 맞는 것을 limit 개까지 돌려준다.
+	 */
+	public List<Event> recent(Predicate<Event> filter, int limit) {
+		List<Event> events = new ArrayList<>(Math.min(limit, slots.length));
+		long last = sequence.get() - 1;
+		long first = Math.max(0, last - mask);
+		for (long seq = last; seq >= first && events.size() < limit; seq--) {
+			Event event = read(slots[(int)(seq & mask)], seq);
+			if (event != null && filter.test(event)) {
+				events.add(event);
+			}
+		}
+		return events;
+	}
+
+	public int capacity() {
+		return slots.length;
+	}
+
+	private static Event read(Slot slot, long seq) {
+		long expected = seq * 2 + 2;
+		if (slot.version != expected) {
+			return null;
+		}
+		Event event = new Event(Instant.ofEpochMilli(slot.timestampMillis), slot.method, slot.async ? "async" : "sync",
+			slot.stateAtStart.name(), slot.permitted, slot.outcome.name().toLowerCase(), slot.attempts,
+			slot.latencyNanos / 1_000_000.0, slot.failureType != null ? slot.failureType.getSimpleName() : null);
+		// 필드를 읽은 뒤에 version 을 다시 읽도록 순서를 고정한다.
+		VarHandle.acquireFence();
+		return slot.version == expected ? event : null;
+	}
+
+	/**
+	 * @param outcome callee.calls 의 outcome 태그와 같은 값 (success, retried, fallback, rejected, timeout, error)
+	 * @param permitted CircuitBreaker 가 호출을 허용했는지 (false 면 CallNotPermittedException 으로 callee 에 보내지 않았다).
+	 *                  Bulkhead / 동시성 한도 / 요청 한도 거절은 true 에 outcome=rejected 로 남는다.
+	 * @param failure 마지막 시도의 실패 종류. fallback 사유로 읽으면 된다.
+	 */
+	public record Event(
+		Instant timestamp,
+		String method,
+		String call,
+		String circuitState,
+		boolean permitted,
+		String outcome,
+		int attempts,
+		double latencyMillis,
+		String failure
+	) {
+	}
+
+	private static final class Slot {
+		private volatile long version;
+		private long timestampMillis;
+		private String method;
+		private boolean async;
+		private CircuitBreaker.State stateAtStart;
+		private boolean permitted;
+		private Outcome outcome;
+		private int attempts;
+		private long latencyNanos;
+		private Class<?> failureType;
+	}
+}
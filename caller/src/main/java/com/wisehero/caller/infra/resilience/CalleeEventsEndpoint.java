@@ -0,0 +1,56 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.infra.resilience.CalleeEventRing.Event;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 최근 callee 호출 결정 기록 조회 (management 포트 /actuator/calleeEvents)
+ *
+ * 예) GET /actuator/calleeEvents?method=hello&outcome=fallback&window=30s&limit=50
+ * - method: CalleeV1Client 메서드명 (hello, circuitTest, slow ...)
+ * - outcome: success | retried | fallback | rejected | timeout | error
+ * - window: 지금부터 이 시간 이전까지의 기록만 (30s, 5m ...)
+ * - limit: 최대 개수 (기본 100). 최근 기록부터 돌려준다.
+ */
+@Component
+@Endpoint(id = "calleeEvents")
+@RequiredArgsConstructor
+public class CalleeEventsEndpoint {
+
+	private static final int DEFAULT_LIMIT = 100;
+
+	private final CalleeEventRing eventRing;
+
+	@ReadOperation
+	public EventsResponse events(@Nullable String method, @Nullable String outcome, @Nullable String window,
+		@Nullable Integer limit) {
+		Predicate<Event> filter = event -> true;
+		if (method != null) {
+			filter = filter.and(event -> event.method().equals(method));
+		}
+		if (outcome != null) {
+			filter = filter.and(event -> event.outcome().equalsIgnoreCase(outcome));
+		}
+		if (window != null) {
+			Instant since = Instant.now().minus(DurationStyle.detectAndParse(window));
+			filter = filter.and(event -> !event.timestamp().isBefore(since));
+		}
+		List<Event> events = eventRing.recent(filter, limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+		return new EventsResponse(eventRing.capacity(), events.size(), events);
+	}
+
+	public record EventsResponse(int capacity, int count, List<Event> events) {
+	}
+}
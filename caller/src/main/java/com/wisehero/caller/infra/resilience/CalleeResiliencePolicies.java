@@ -0,0 +1,162 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.cloud.openfeign.FeignClientFactory;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeReadTimeoutProperties;
+import com.wisehero.caller.config.CalleeStripedWindowProperties;
+import com.wisehero.caller.config.ResilienceRetryConfig;
+import com.wisehero.caller.infra.client.CalleeV1Client;
+
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.Request;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CalleeV1Client 메서드별 resilience4j 인스턴스
+ *
+ * 하나의 callee-client-v1 서킷을 모든 메서드가 나눠 쓰면 /slow 지연이나 /500-error 실패가
+ * 멀쩡한 /hello 까지 막는다. 그래서 메서드마다 "callee-client-v1-{메서드명}" 인스턴스를 따로 둔다.
+ *
+ * - 시작할 때 Feign Contract 로 CalleeV1Client 를 파싱해서 메서드마다
+ *   CircuitBreaker / Retry / TimeLimiter / Bulkhead 인스턴스를 미리 만든다.
+ *   (애스펙트가 처음 호출될 때 만들면 default 설정으로 생성되므로 미리 만들어 둔다)
+ * - 공통 설정은 클라이언트 단위 "callee-client-v1" config 를 상속한다.
+ *   circuitbreaker / timelimiter / bulkhead / thread-pool-bulkhead 는 application.yml 의 configs.callee-client-v1 이다.
+ * - 메서드별로 다르게 할 값만 instances."callee-client-v1-{메서드명}" 에 baseConfig: callee-client-v1 과 함께 적는다.
+ * - Retry 는 yml 의 instances."callee-client-v1-{메서드명}" > configs.callee-client-v1 > ResilienceRetryConfig 의
+ *   RetryConfig 순으로 찾은 설정에 ResilienceRetryConfig.withCalleeRules(Retry-After 등)를 덧씌워서 다시 만들고,
+ *   재시도 예산을 확인하는 BudgetedRetry 로 감싼다. Retry-After 를 기다리는 상한은 그 메서드의 read-timeout 이다.
+ * - Feign read-timeout 은 MethodReadTimeoutCapability 가 메서드별로 적용한다.
+ * - callee.circuit-breaker.striped-window.enabled=true 이면 CircuitBreaker 를 StripedCircuitBreaker 로 교체한다.
+ * - 메서드별 서킷 상태를 callee.circuit.state{method} 게이지로 노출한다.
+ */
+@Slf4j
+@Component
+public class CalleeResiliencePolicies {
+
+	public static final String CLIENT_NAME = "callee-client-v1";
+
+	private final FeignClientFactory feignClientFactory;
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final RetryRegistry retryRegistry;
+	private final RetryConfig calleeRetryConfig;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+	private final CalleeBulkheads calleeBulkheads;
+	private final CalleeStripedWindowProperties stripedWindow;
+	private final RetryBudget retryBudget;
+	private final FeignClientProperties feignClientProperties;
+	private final CalleeReadTimeoutProperties readTimeouts;
+	private final MeterRegistry meterRegistry;
+
+	public CalleeResiliencePolicies(FeignClientFactory feignClientFactory, CircuitBreakerRegistry circuitBreakerRegistry,
+		RetryRegistry retryRegistry, RetryConfig calleeRetryConfig, TimeLimiterRegistry timeLimiterRegistry,
+		CalleeBulkheads calleeBulkheads, CalleeStripedWindowProperties stripedWindow, RetryBudget retryBudget,
+		FeignClientProperties feignClientProperties, CalleeReadTimeoutProperties readTimeouts,
+		MeterRegistry meterRegistry) {
+		this.feignClientFactory = feignClientFactory;
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.retryRegistry = retryRegistry;
+		this.calleeRetryConfig = calleeRetryConfig;
+		this.timeLimiterRegistry = timeLimiterRegistry;
+		this.calleeBulkheads = calleeBulkheads;
+		this.stripedWindow = stripedWindow;
+		this.retryBudget = retryBudget;
+		this.feignClientProperties = feignClientProperties;
+		this.readTimeouts = readTimeouts;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	void createFromContract() {
+		for (String method : contractMethods()) {
+			CircuitBreaker circuitBreaker = circuitBreaker(method);
+			if (stripedWindow.enabled()) {
+				CircuitBreaker striped = StripedCircuitBreaker.wrap(circuitBreaker, stripedWindow.maxStripes());
+				if (striped != circuitBreaker) {
+					circuitBreakerRegistry.replace(circuitBreaker.getName(), striped);
+				}
+			}
+			registerStateGauge(method);
+			prepareRetry(method);
+			timeLimiter(method);
+			calleeBulkheads.prepare(method);
+			log.info("Resilience 정책 생성 - name: {}", instanceName(method));
+		}
+	}
+
+	public static String instanceName(String method) {
+		return CLIENT_NAME + "-" + method;
+	}
+
+	public CircuitBreaker circuitBreaker(String method) {
+		return circuitBreakerRegistry.circuitBreaker(instanceName(method), CLIENT_NAME);
+	}
+
+	public Retry retry(String method) {
+		return retryRegistry.retry(instanceName(method));
+	}
+
+	public TimeLimiter timeLimiter(String method) {
+		return timeLimiterRegistry.timeLimiter(instanceName(method), CLIENT_NAME);
+	}
+
+	private void prepareRetry(String method) {
+		String name = instanceName(method);
+		if (retryRegistry.find(name).orElse(null) instanceof BudgetedRetry) {
+			return;
+		}
+		// yml 의 instances 는 RetryRegistry 를 만들 때 이미 등록되어 있다.
+		RetryConfig base = retryRegistry.find(name).map(Retry::getRetryConfig)
+			.or(() -> retryRegistry.getConfiguration(CLIENT_NAME))
+			.orElse(calleeRetryConfig);
+		retryRegistry.remove(name);
+		Retry retry = retryRegistry.retry(name, ResilienceRetryConfig.withCalleeRules(base, readTimeout(method)));
+		retryRegistry.replace(name, new BudgetedRetry(retry, retryBudget));
+	}
+
+	/** MethodReadTimeoutCapability 가 이 메서드에 쓰는 read-timeout */
+	private Duration readTimeout(String method) {
+		Duration readTimeout = readTimeouts.of(method);
+		if (readTimeout != null) {
+			return readTimeout;
+		}
+		FeignClientProperties.FeignClientConfiguration client = feignClientProperties.getConfig().get(CLIENT_NAME);
+		return client != null && client.getReadTimeout() != null
+			? Duration.ofMillis(client.getReadTimeout())
+			: Duration.ofMillis(new Request.Options().readTimeoutMillis());
+	}
+
+	// 0: CLOSED, 1: OPEN, 2: HALF_OPEN, 3: DISABLED, 4: FORCED_OPEN, 5: METRICS_ONLY (CircuitBreaker.State#getOrder)
+	private void registerStateGauge(String method) {
+		Gauge.builder("callee.circuit.state", circuitBreakerRegistry,
+				registry -> registry.circuitBreaker(instanceName(method), CLIENT_NAME).getState().getOrder())
+			.description("메서드별 CircuitBreaker 상태")
+			.tag("method", method)
+			.register(meterRegistry);
+	}
+
+	private List<String> contractMethods() {
+		Contract contract = feignClientFactory.getInstance(CLIENT_NAME, Contract.class);
+		return contract.parseAndValidateMetadata(CalleeV1Client.class).stream()
+			.map(MethodMetadata::method)
+			.map(Method::getName)
+			.toList();
+	}
+}
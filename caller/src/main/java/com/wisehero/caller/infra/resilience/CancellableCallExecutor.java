@@ -0,0 +1,86 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 블로킹 Feign 호출을 CompletableFuture 로 감싸되, 바깥에서 포기하면 실제 HTTP 교환까지 끊어주는 실행기
+ *
+ * CompletableFuture.supplyAsync 는 cancel 이나 TimeLimiter 타임아웃으로 future 가 끝나도
+ * 작업 스레드는 소켓을 붙잡고 read-timeout 까지 계속 기다린다.
+ *
+ * 여기서는
+ * - 호출마다 가상 스레드 하나에서 Feign 호출을 실행하고
+ * - 작업 스레드가 아닌 쪽(TimeLimiter, cancel)에서 future 를 먼저 끝내면 작업 스레드를 interrupt 한다.
+ * - 가상 스레드가 소켓 read 중에 interrupt 되면 JDK 가 소켓을 닫고 SocketException 으로 빠져나오므로
+ *   callee 와의 연결과 스레드가 그 즉시 정리된다. (JEP 444)
+ * - interrupt 보다 응답이 먼저 도착해서 버려지는 경우, Closeable 결과(feign.Response 등)는 닫아준다.
+ */
+@Slf4j
+@Component
+public class CancellableCallExecutor {
+
+	private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+		Thread.ofVirtual().name("callee-async-", 0).factory());
+	private final Counter cancelled;
+
+	public CancellableCallExecutor(MeterRegistry meterRegistry) {
+		this.cancelled = Counter.builder("callee.async.cancelled")
+			.description("타임아웃/취소로 중간에 끊어낸 callee 호출 수")
+			.register(meterRegistry);
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> call) {
+		CompletableFuture<T> promise = new CompletableFuture<>();
+		// 작업 스레드가 직접 결과를 넣었는지 여부. 아니라면 바깥에서 포기한 것
+		AtomicBoolean settledByWorker = new AtomicBoolean(false);
+
+		Future<?> task = executor.submit(() -> {
+			try {
+				T result = call.get();
+				settledByWorker.set(true);
+				if (!promise.complete(result)) {
+					// 받을 쪽이 이미 포기했다. 응답 본문처럼 닫아야 하는 결과는 여기서 정리해서 커넥션을 풀에 돌려준다.
+					closeQuietly(result);
+				}
+			} catch (Throwable t) {
+				settledByWorker.set(true);
+				promise.completeExceptionally(t);
+			}
+		});
+
+		promise.whenComplete((result, failure) -> {
+			if (!settledByWorker.get() && task.cancel(true)) {
+				cancelled.increment();
+				log.debug("callee 호출 취소 - Reason: {}", failure != null ? failure.getClass().getSimpleName() : "-");
+			}
+		});
+		return promise;
+	}
+
+	private static void closeQuietly(Object result) {
+		if (result instanceof AutoCloseable closeable) {
+			try {
+				closeable.close();
+			} catch (Exception e) {
+				log.debug("버려진 결과 정리 실패 - Reason: {}", e.getMessage());
+			}
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,30 @@
+package com.wisehero.caller.infra.resilience;
+
+import org.springframework.core.Ordered;
+
+/**
+ * CalleeV1Client 에 붙는 Capability 의 적용 순서 (@Order 값)
+ *
+ * Spring Cloud OpenFeign 은 Capability 빈을 @Order 순으로 붙이고, Feign 은 앞의 것부터 Client 를 감싼다.
+ * 그래서 값이 작을수록 실제 HTTP 호출에 가깝다. 바깥에서 안쪽으로:
+ *
+ *   RetryBudget → RateLimitGate → MethodReadTimeout → BatchingDispatcher → Hedging → ConcurrencyLimit → HTTP
+ *
+ * - RetryBudget / RateLimitGate 는 BatchingDispatcher 바깥이다. 묶인 호출도 항목마다 원래 메서드로 예산을 쌓고
+ *   게이트를 거친다. BatchingDispatcher 가 안에서 보내는 /batch 호출은 두 곳 모두 건너뛴다.
+ *   (항목 결과로 이미 셌고, callee 도 /batch 는 항목마다 한도를 센다)
+ * - MethodReadTimeout 은 BatchingDispatcher / Hedging 바깥이라 묶음 대기와 hedge 지연도 메서드별 read-timeout 을 쓴다.
+ * - ConcurrencyLimit 는 가장 안쪽이라 hedge 로 보낸 요청과 /batch 요청도 HTTP 요청 한 건씩 센다.
+ */
+final class CapabilityOrder {
+
+	static final int CONCURRENCY_LIMIT = Ordered.HIGHEST_PRECEDENCE;
+	static final int HEDGING = CONCURRENCY_LIMIT + 10;
+	static final int BATCHING = HEDGING + 10;
+	static final int METHOD_READ_TIMEOUT = BATCHING + 10;
+	static final int RATE_LIMIT_GATE = METHOD_READ_TIMEOUT + 10;
+	static final int RETRY_BUDGET = RATE_LIMIT_GATE + 10;
+
+	private CapabilityOrder() {
+	}
+}
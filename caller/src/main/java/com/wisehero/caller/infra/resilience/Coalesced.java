@@ -0,0 +1,19 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 동시에 들어온 같은 호출(같은 메서드 + 같은 인자)을 하나로 합친다. (CoalescingAspect)
+ *
+ * 먼저 들어온 호출만 실제로 실행되고, 그 사이 들어온 호출은 같은 결과나 예외를 나눠 받는다.
+ * 결과를 공유해도 되는 조회성 메서드에만 붙인다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,162 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @Coalesced 메서드의 single-flight 처리
+ *
+ * - 같은 메서드 + 같은 인자로 진행 중인 호출이 있으면 새로 실행하지 않고 그 결과를 기다린다.
+ * - 진행 중인 호출이 끝나면(성공/실패/fallback 모두) 바로 키를 지운다. 결과를 캐시하지는 않는다.
+ * - CompletableFuture 를 돌려주는 비동기 메서드는 그 future 가 끝날 때까지를 진행 중으로 본다.
+ * - 합쳐진 호출은 메서드의 TimeLimiter timeout 까지만 기다린다. (@TimeLimiter, 없으면 @CircuitBreaker 와 같은 이름)
+ *   그 안에 끝나지 않으면 더 기다리지 않고 직접 실행한다. 느린 호출 하나에 뒤따른 호출이 모두 무기한 묶이지 않게 하기 위함
+ *
+ * resilience4j 애스펙트(Retry > CircuitBreaker > TimeLimiter > Bulkhead)와 CalleeCallMetricsAspect 보다 바깥에서
+ * 실행되도록 순서를 가장 앞에 둔다. (AspectOrder)
+ * 그래서 합쳐진 호출은 CircuitBreaker 에 한 번만 기록되고, 타임아웃/예외/fallback 결과도 그대로 나눠 갖는다.
+ *
+ * 메트릭 (tag: method)
+ * - callee.coalescing.calls{role=leader|follower}: 실제 실행한 호출 / 합쳐진 호출 수
+ * - callee.coalescing.calls{role=timed-out}: 합쳐졌다가 기다리는 시간을 넘겨 직접 실행한 호출 수
+ * - callee.coalescing.ratio: 전체 호출 중 합쳐진 호출 비율
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(AspectOrder.COALESCING)
+@RequiredArgsConstructor
+public class CoalescingAspect {
+
+	private final MeterRegistry meterRegistry;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+
+	private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final Map<Method, Stats> stats = new ConcurrentHashMap<>();
+
+	@Around("@annotation(com.wisehero.caller.infra.resilience.Coalesced)")
+	public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+		Method method = ((MethodSignature)joinPoint.getSignature()).getMethod();
+		Stats methodStats = stats.computeIfAbsent(method, Stats::new);
+		Key key = new Key(method, Arrays.asList(joinPoint.getArgs()));
+
+		CompletableFuture<Object> mine = new CompletableFuture<>();
+		CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+		if (leader != null) {
+			methodStats.followers.increment();
+			return follow(leader, method, methodStats, joinPoint);
+		}
+
+		methodStats.leaders.increment();
+		Object result;
+		try {
+			result = joinPoint.proceed();
+		} catch (Throwable t) {
+			settle(key, mine, null, t);
+			throw t;
+		}
+
+		if (result instanceof CompletionStage<?> stage) {
+			// 비동기 메서드: 실제 호출이 끝날 때까지 같은 future 를 나눠준다.
+			mine.complete(result);
+			stage.whenComplete((ignored, failure) -> inFlight.remove(key, mine));
+		} else {
+			settle(key, mine, result, null);
+		}
+		return result;
+	}
+
+	private void settle(Key key, CompletableFuture<Object> mine, Object result, Throwable failure) {
+		inFlight.remove(key, mine);
+		if (failure != null) {
+			mine.completeExceptionally(failure);
+		} else {
+			mine.complete(result);
+		}
+	}
+
+	private static Object follow(CompletableFuture<Object> leader, Method method, Stats methodStats,
+		ProceedingJoinPoint joinPoint) throws Throwable {
+		try {
+			return leader.get(methodStats.followerTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			methodStats.timedOut.increment();
+			log.debug("합쳐진 호출 대기 시간 초과, 직접 실행 - method: {}, timeout: {}ms", method.getName(),
+				TimeUnit.NANOSECONDS.toMillis(methodStats.followerTimeoutNanos));
+			return joinPoint.proceed();
+		} catch (ExecutionException e) {
+			log.debug("합쳐진 호출 실패 전달 - method: {}, Reason: {}", method.getName(),
+				e.getCause().getClass().getSimpleName());
+			throw e.getCause();
+		}
+	}
+
+	private record Key(Method method, List<Object> args) {
+	}
+
+	private class Stats {
+
+		private final Counter leaders;
+		private final Counter followers;
+		private final Counter timedOut;
+		private final long followerTimeoutNanos;
+
+		Stats(Method method) {
+			this.leaders = calls(method, "leader");
+			this.followers = calls(method, "follower");
+			this.timedOut = calls(method, "timed-out");
+			this.followerTimeoutNanos = followerTimeout(method).toNanos();
+			Gauge.builder("callee.coalescing.ratio", this, Stats::ratio)
+				.description("전체 호출 중 진행 중인 호출에 합쳐진 비율")
+				.tag("method", method.getName())
+				.register(meterRegistry);
+		}
+
+		private Counter calls(Method method, String role) {
+			return Counter.builder("callee.coalescing.calls")
+				.description("@Coalesced 메서드 호출 수 (leader: 실제 실행, follower: 합쳐짐, timed-out: 기다리다 직접 실행)")
+				.tag("method", method.getName())
+				.tag("role", role)
+				.register(meterRegistry);
+		}
+
+		private Duration followerTimeout(Method method) {
+			TimeLimiter timeLimiter = method.getAnnotation(TimeLimiter.class);
+			CircuitBreaker circuitBreaker = method.getAnnotation(CircuitBreaker.class);
+			String name = timeLimiter != null ? timeLimiter.name()
+				: circuitBreaker != null ? circuitBreaker.name() : null;
+			return (name != null ? timeLimiterRegistry.timeLimiter(name).getTimeLimiterConfig()
+				: timeLimiterRegistry.getDefaultConfig()).getTimeoutDuration();
+		}
+
+		private double ratio() {
+			double total = leaders.count() + followers.count();
+			return total == 0 ? 0 : followers.count() / total;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.wisehero.caller.infra.resilience;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeConcurrencyLimitProperties;
+
+import feign.Capability;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feign Client 를 ConcurrencyLimitClient 로 감싸는 Capability
+ *
+ * Capability 는 순서대로 Client 를 감싸므로 가장 먼저 적용해서 실제 HTTP 호출 바로 바깥에 둔다. (CapabilityOrder)
+ * 그래야 hedge 로 보낸 두 번째 요청도 동시 호출 한 건으로 세고, RTT 도 요청 한 건 단위로 잰다.
+ */
+@Component
+@Order(CapabilityOrder.CONCURRENCY_LIMIT)
+@RequiredArgsConstructor
+public class ConcurrencyLimitCapability implements Capability {
+
+	private final CalleeConcurrencyLimitProperties properties;
+	private final MeterRegistry meterRegistry;
+
+	@Override
+	public Client enrich(Client client) {
+		if (!properties.enabled()) {
+			return client;
+		}
+		return new ConcurrencyLimitClient(client, properties, meterRegistry);
+	}
+}
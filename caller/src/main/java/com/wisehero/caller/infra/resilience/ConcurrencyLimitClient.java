@@ -0,0 +1,118 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.wisehero.caller.config.CalleeConcurrencyLimitProperties;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CalleeV1Client 메서드별 VegasLimiter 를 적용하는 Feign Client
+ *
+ * - 한도를 넘은 호출은 callee 로 보내지 않고 ConcurrencyLimitExceededException 을 던진다.
+ *   Feign 은 RuntimeException 을 그대로 올려보내므로 CalleeApiService 의 fallback 이 처리한다.
+ * - 메서드마다 RTT 특성이 다르므로(/slow 는 항상 3초) 한도도 메서드별로 따로 둔다.
+ * - caller 가 먼저 포기한 호출(hedge 에서 진 쪽, TimeLimiter 취소, batching 대기 중 interrupt)은
+ *   callee 혼잡과 무관하므로 자리만 돌려주고 한도는 줄이지 않는다. read-timeout 은 혼잡 신호로 본다.
+ *
+ * 메트릭 (tag: method)
+ * - callee.concurrency.limit: 현재 동시 호출 한도
+ * - callee.concurrency.in-flight: 현재 진행 중인 호출 수
+ * - callee.concurrency.rtt{type=no-load|last}: 최소 RTT 추정치와 마지막 RTT
+ * - callee.concurrency.rejected: 한도 초과로 거절한 호출 수
+ */
+@Slf4j
+class ConcurrencyLimitClient implements Client {
+
+	private final Client delegate;
+	private final CalleeConcurrencyLimitProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, MethodLimit> limits = new ConcurrentHashMap<>();
+
+	ConcurrencyLimitClient(Client delegate, CalleeConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Response execute(Request request, Request.Options options) throws IOException {
+		MethodLimit methodLimit = limits.computeIfAbsent(FeignRequests.methodName(request), MethodLimit::new);
+		VegasLimiter limiter = methodLimit.limiter;
+		if (!limiter.tryAcquire()) {
+			methodLimit.rejected.increment();
+			throw new ConcurrencyLimitExceededException(methodLimit.method, limiter.limit());
+		}
+
+		long startedAt = System.nanoTime();
+		try {
+			Response response = delegate.execute(request, options);
+			limiter.onSuccess(System.nanoTime() - startedAt);
+			return response;
+		} catch (IOException | RuntimeException e) {
+			if (cancelledByCaller(e)) {
+				limiter.onCancelled();
+			} else {
+				limiter.onDropped(System.nanoTime() - startedAt);
+			}
+			throw e;
+		}
+	}
+
+	// SocketTimeoutException 도 InterruptedIOException 이지만 callee 가 늦게 응답한 것이므로 제외한다.
+	private static boolean cancelledByCaller(Exception e) {
+		return Thread.currentThread().isInterrupted()
+			|| e instanceof CancellationException
+			|| e instanceof ClosedByInterruptException
+			|| e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException);
+	}
+
+	private class MethodLimit {
+
+		private final String method;
+		private final VegasLimiter limiter;
+		private final Counter rejected;
+
+		MethodLimit(String method) {
+			this.method = method;
+			this.limiter = new VegasLimiter(properties);
+			this.rejected = Counter.builder("callee.concurrency.rejected")
+				.description("적응형 동시성 한도를 넘어 거절된 호출 수")
+				.tag("method", method)
+				.register(meterRegistry);
+			Gauge.builder("callee.concurrency.limit", limiter, VegasLimiter::limit)
+				.description("현재 동시 호출 한도")
+				.tag("method", method)
+				.register(meterRegistry);
+			Gauge.builder("callee.concurrency.in-flight", limiter, VegasLimiter::inFlight)
+				.description("현재 진행 중인 callee 호출 수")
+				.tag("method", method)
+				.register(meterRegistry);
+			Gauge.builder("callee.concurrency.rtt", limiter, l -> l.rttNoLoadNanos() / 1_000_000.0)
+				.description("callee 호출 RTT (no-load: 최소 RTT 추정치, last: 마지막 RTT)")
+				.baseUnit("milliseconds")
+				.tag("method", method)
+				.tag("type", "no-load")
+				.register(meterRegistry);
+			Gauge.builder("callee.concurrency.rtt", limiter, l -> l.lastRttNanos() / 1_000_000.0)
+				.description("callee 호출 RTT (no-load: 최소 RTT 추정치, last: 마지막 RTT)")
+				.baseUnit("milliseconds")
+				.tag("method", method)
+				.tag("type", "last")
+				.register(meterRegistry);
+			log.info("적응형 동시성 한도 생성 - method: {}, initial-limit: {}", method, properties.initialLimit());
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.wisehero.caller.infra.resilience;
+
+/**
+ * 적응형 동시성 한도(VegasLimiter)를 넘어서 callee 로 보내지 않고 거절한 호출
+ * BulkheadFullException 과 마찬가지로 callee 장애가 아니므로 Circuit 실패/재시도 대상에서 제외한다.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+	public ConcurrencyLimitExceededException(String method, int limit) {
+		// 거절이 몰릴 때 스택 트레이스 생성 비용을 아끼기 위해 writableStackTrace = false
+		super(CalleeResiliencePolicies.instanceName(method) + " 동시 호출 한도(" + limit + ") 초과",
+			null, false, false);
+	}
+}
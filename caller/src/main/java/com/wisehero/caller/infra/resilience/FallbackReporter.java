@@ -0,0 +1,157 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeFallbackProperties;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * fallback 발생을 건마다 로그로 찍지 않고 모아서 남기는 집계기
+ *
+ * 서킷이 OPEN 이면 들어오는 요청이 전부 fallback 으로 가서, 건마다 ERROR 로그를 찍으면 초당 수천 줄이 된다.
+ * 여기서는
+ * - 엔드포인트/사유별 카운터(callee.fallback{endpoint, reason})를 올리고 구간 건수만 센다. (문자열 조립 없음)
+ * - report-interval 마다 "N건 / 최근 10s" 를 사유별로 한 줄씩 남긴다.
+ * - 조용하던 사유가 처음 생기면 그 한 건은 바로 남긴다. 장애 시작 시점을 놓치지 않기 위함
+ * - fallback 이 마지막 정상 응답(LastKnownGoodCache)으로 응답한 건수도 같은 방식으로 센다. (callee.fallback.stale)
+ */
+@Slf4j
+@Component
+public class FallbackReporter {
+
+	public enum Reason {
+		CIRCUIT_OPEN, TIMEOUT, BULKHEAD_FULL, CONCURRENCY_LIMITED, RATE_LIMITED, RETRY_BUDGET_EXHAUSTED, ERROR;
+
+		public static Reason of(Throwable e) {
+			return switch (e) {
+				case CallNotPermittedException notPermitted -> CIRCUIT_OPEN;
+				case TimeoutException timeout -> TIMEOUT;
+				case BulkheadFullException full -> BULKHEAD_FULL;
+				case ConcurrencyLimitExceededException limited -> CONCURRENCY_LIMITED;
+				case RateLimitedException rateLimited -> RATE_LIMITED;
+				case RetryBudgetExhaustedException exhausted -> RETRY_BUDGET_EXHAUSTED;
+				default -> ERROR;
+			};
+		}
+	}
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+		Thread.ofPlatform().name("callee-fallback-reporter").daemon().factory());
+	private final Map<String, Slot[]> slots = new ConcurrentHashMap<>();
+	private final Map<String, Slot> staleSlots = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final long intervalSeconds;
+
+	public FallbackReporter(CalleeFallbackProperties properties, MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.intervalSeconds = properties.reportInterval().toSeconds();
+		long intervalMillis = properties.reportInterval().toMillis();
+		scheduler.scheduleAtFixedRate(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public void report(String endpoint, Throwable e) {
+		Reason reason = Reason.of(e);
+		Slot slot = slotsOf(endpoint)[reason.ordinal()];
+		slot.counter.increment();
+		slot.window.increment();
+		slot.lastMessage = e.getMessage();
+		if (slot.quiet) {
+			slot.quiet = false;
+			log.warn("⚠️ Fallback started - endpoint: {}, reason: {}, message: {}", endpoint, reason, e.getMessage());
+		}
+	}
+
+	/** fallback 이 합성 응답 대신 마지막 정상 응답을 돌려줬다. */
+	public void reportStale(String endpoint) {
+		Slot slot = staleSlotOf(endpoint);
+		slot.counter.increment();
+		slot.window.increment();
+		if (slot.quiet) {
+			slot.quiet = false;
+			log.info("📦 Last-known-good 응답 사용 시작 - endpoint: {}", endpoint);
+		}
+	}
+
+	private Slot staleSlotOf(String endpoint) {
+		Slot slot = staleSlots.get(endpoint);
+		return slot != null ? slot : staleSlots.computeIfAbsent(endpoint, key -> new Slot(
+			Counter.builder("callee.fallback.stale")
+				.description("fallback 이 마지막 정상 응답으로 응답한 호출 수")
+				.tag("endpoint", key)
+				.register(meterRegistry)));
+	}
+
+	private Slot[] slotsOf(String endpoint) {
+		Slot[] endpointSlots = slots.get(endpoint);
+		return endpointSlots != null ? endpointSlots : slots.computeIfAbsent(endpoint, this::createSlots);
+	}
+
+	private Slot[] createSlots(String endpoint) {
+		Reason[] reasons = Reason.values();
+		Slot[] endpointSlots = new Slot[reasons.length];
+		for (Reason reason : reasons) {
+			endpointSlots[reason.ordinal()] = new Slot(Counter.builder("callee.fallback")
+				.description("fallback 으로 응답한 호출 수")
+				.tag("endpoint", endpoint)
+				.tag("reason", reason.name().toLowerCase())
+				.register(meterRegistry));
+		}
+		return endpointSlots;
+	}
+
+	private void flush() {
+		slots.forEach((endpoint, endpointSlots) -> {
+			for (Reason reason : Reason.values()) {
+				Slot slot = endpointSlots[reason.ordinal()];
+				long count = slot.window.sumThenReset();
+				if (count > 0) {
+					log.warn("⚠️ {} fallbacks in last {}s - endpoint: {}, reason: {}, last message: {}",
+						count, intervalSeconds, endpoint, reason, slot.lastMessage);
+				} else {
+					slot.quiet = true;
+				}
+			}
+		});
+		staleSlots.forEach((endpoint, slot) -> {
+			long count = slot.window.sumThenReset();
+			if (count > 0) {
+				log.info("📦 {} last-known-good responses in last {}s - endpoint: {}", count, intervalSeconds, endpoint);
+			} else {
+				slot.quiet = true;
+			}
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+		scheduler.shutdownNow();
+	}
+
+	private static final class Slot {
+
+		private final Counter counter;
+		private final LongAdder window = new LongAdder();
+		// 로그용 참고값이라 스레드 간 경쟁은 신경 쓰지 않는다.
+		private volatile String lastMessage;
+		private volatile boolean quiet = true;
+
+		private Slot(Counter counter) {
+			this.counter = counter;
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+
+/**
+ * Feign Request 에서 호출된 CalleeV1Client 메서드 이름을 꺼낸다.
+ * Capability 로 감싼 Client 들이 메서드별 정책(동시성 한도, read-timeout 등)을 고를 때 쓴다.
+ * 429 응답의 Retry-After 도 여기서 읽는다.
+ */
+final class FeignRequests {
+
+	private FeignRequests() {
+	}
+
+	static String methodName(Request request) {
+		if (request.requestTemplate() != null) {
+			MethodMetadata metadata = request.requestTemplate().methodMetadata();
+			if (metadata != null && metadata.method() != null) {
+				return metadata.method().getName();
+			}
+		}
+		return "unknown";
+	}
+
+	private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+	/**
+	 * retry-after-ms(밀리초) 가 있으면 그 값을, 없으면 Retry-After(초 또는 HTTP-date)를 쓴다.
+	 * 둘 다 없거나 읽을 수 없으면 1초
+	 */
+	static Duration retryAfter(Response response) {
+		String millis = firstHeader(response, "retry-after-ms");
+		if (millis != null) {
+			try {
+				return Duration.ofMillis(Math.max(0, Long.parseLong(millis.trim())));
+			} catch (NumberFormatException ignored) {
+				// Retry-After 로 넘어간다.
+			}
+		}
+		String value = firstHeader(response, "Retry-After");
+		if (value == null) {
+			return DEFAULT_RETRY_AFTER;
+		}
+		try {
+			return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+		} catch (NumberFormatException notSeconds) {
+			try {
+				Duration untilDate = Duration.between(ZonedDateTime.now(),
+					ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+				return untilDate.isNegative() ? Duration.ZERO : untilDate;
+			} catch (DateTimeParseException notDate) {
+				return DEFAULT_RETRY_AFTER;
+			}
+		}
+	}
+
+	// Feign 응답 헤더 맵은 이름 대소문자를 구분하지 않는다.
+	private static String firstHeader(Response response, String name) {
+		Collection<String> values = response.headers().get(name);
+		return values == null || values.isEmpty() ? null : values.iterator().next();
+	}
+}
@@ -0,0 +1,37 @@
+package com.wisehero.caller.infra.resilience;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeHedgingProperties;
+
+import feign.Capability;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feign Client 를 HedgingClient 로 감싸는 Capability
+ *
+ * Spring Cloud OpenFeign 은 컨텍스트의 Capability 빈을 FeignClient 빌더에 자동으로 붙인다.
+ * 실제 hedge 여부는 호출된 메서드에 @Hedged 가 있는지로 HedgingClient 가 판단한다.
+ * ConcurrencyLimitClient 바깥에 둬서 hedge 요청도 동시 호출 한 건으로 센다. (CapabilityOrder)
+ */
+@Component
+@Order(CapabilityOrder.HEDGING)
+@RequiredArgsConstructor
+public class HedgingCapability implements Capability {
+
+	private final CancellableCallExecutor cancellableCallExecutor;
+	private final CalleeResiliencePolicies policies;
+	private final CalleeHedgingProperties properties;
+	private final MeterRegistry meterRegistry;
+
+	@Override
+	public Client enrich(Client client) {
+		if (!properties.enabled()) {
+			return client;
+		}
+		return new HedgingClient(client, cancellableCallExecutor, policies, properties, meterRegistry);
+	}
+}
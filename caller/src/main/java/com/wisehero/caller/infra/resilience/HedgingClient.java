@@ -0,0 +1,348 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import com.wisehero.caller.config.CalleeHedgingProperties;
+import com.wisehero.caller.infra.client.Hedged;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @Hedged 메서드의 요청을 hedge 하는 Feign Client
+ *
+ * 1. 첫 요청을 CancellableCallExecutor 에서 보내고 hedge 지연만큼 기다린다.
+ *    hedge 지연 = 메서드별 최근 응답 시간의 @Hedged.percentile 값 (min-delay 이상)
+ * 2. 그 안에 응답이 없으면 같은 요청을 한 번 더 보내고, 먼저 도착한 응답을 쓴다.
+ * 3. 진 쪽은 취소한다. 작업 스레드가 interrupt 되면서 소켓이 닫히고, 이미 도착한 응답은 닫아서 커넥션을 돌려준다.
+ *
+ * 두 번째 요청은 다음 조건을 모두 만족할 때만 보낸다.
+ * - 해당 메서드의 서킷(callee-client-v1-{메서드명})이 CLOSED 일 것.
+ *   느려지거나 장애 중인 callee 에 부하를 두 배로 얹지 않는다.
+ * - hedge 토큰이 남아 있을 것. 호출마다 max-extra-ratio 만큼 쌓이고 hedge 한 번에 1개를 쓴다.
+ *   즉 추가 요청은 전체의 max-extra-ratio(기본 5%)를 넘지 않는다.
+ *
+ * Bulkhead / CircuitBreaker / Retry 는 Feign 호출 바깥에서 적용되므로 hedge 를 포함한 한 번의 호출로 집계된다.
+ */
+@Slf4j
+class HedgingClient implements Client {
+
+	private final Client delegate;
+	private final CancellableCallExecutor executor;
+	private final CalleeResiliencePolicies policies;
+	private final CalleeHedgingProperties properties;
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Optional<MethodHedge>> hedges = new ConcurrentHashMap<>();
+	private final HedgeBudget budget;
+
+	HedgingClient(Client delegate, CancellableCallExecutor executor, CalleeResiliencePolicies policies,
+		CalleeHedgingProperties properties, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.executor = executor;
+		this.policies = policies;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.budget = new HedgeBudget(properties.maxExtraRatio(), properties.burst());
+	}
+
+	@Override
+	public Response execute(Request request, Request.Options options) throws IOException {
+		MethodHedge hedge = hedgeOf(request);
+		if (hedge == null) {
+			return delegate.execute(request, options);
+		}
+		return hedge.execute(request, options);
+	}
+
+	private MethodHedge hedgeOf(Request request) {
+		if (request.requestTemplate() == null) {
+			return null;
+		}
+		MethodMetadata metadata = request.requestTemplate().methodMetadata();
+		if (metadata == null || metadata.method() == null) {
+			return null;
+		}
+		return hedges.computeIfAbsent(metadata.configKey(), key -> {
+			Method method = metadata.method();
+			return Optional.ofNullable(method.getAnnotation(Hedged.class))
+				.map(hedged -> new MethodHedge(method.getName(), hedged.percentile()));
+		}).orElse(null);
+	}
+
+	private class MethodHedge {
+
+		private final String method;
+		private final CircuitBreaker circuitBreaker;
+		private final LatencyWindow latencies;
+		private final Counter fired;
+		private final Counter won;
+		private final Counter skippedByCircuit;
+		private final Counter skippedByBudget;
+
+		MethodHedge(String method, double percentile) {
+			this.method = method;
+			this.circuitBreaker = policies.circuitBreaker(method);
+			this.latencies = new LatencyWindow(percentile, properties);
+			this.fired = counter("callee.hedging.fired", "두 번째 요청을 보낸 횟수");
+			this.won = counter("callee.hedging.won", "두 번째 요청이 먼저 응답한 횟수");
+			this.skippedByCircuit = skippedCounter("circuit");
+			this.skippedByBudget = skippedCounter("budget");
+			Gauge.builder("callee.hedging.delay", latencies, window -> window.delayNanos() / 1_000_000.0)
+				.description("두 번째 요청을 보내기까지 기다리는 시간")
+				.baseUnit("milliseconds")
+				.tag("method", method)
+				.register(meterRegistry);
+			log.info("Hedging 적용 - method: {}, percentile: {}", method, percentile);
+		}
+
+		Response execute(Request request, Request.Options options) throws IOException {
+			budget.deposit();
+			long startedAt = System.nanoTime();
+			CompletableFuture<Response> primary = attempt(request, options);
+
+			long delayNanos = latencies.delayNanos();
+			if (delayNanos <= 0) {
+				// 아직 응답 시간이 충분히 쌓이지 않았다.
+				return record(startedAt, await(primary));
+			}
+			try {
+				return record(startedAt, primary.get(delayNanos, TimeUnit.NANOSECONDS));
+			} catch (TimeoutException e) {
+				// hedge 지연 안에 응답이 없다. 아래에서 두 번째 요청을 고려한다.
+			} catch (ExecutionException e) {
+				throw unwrap(e);
+			} catch (InterruptedException e) {
+				throw interrupted(primary);
+			}
+
+			if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+				skippedByCircuit.increment();
+				return record(startedAt, await(primary));
+			}
+			if (!budget.tryAcquire()) {
+				skippedByBudget.increment();
+				return record(startedAt, await(primary));
+			}
+
+			fired.increment();
+			CompletableFuture<Response> hedge = attempt(request, options);
+			return record(startedAt, await(firstResponse(primary, hedge)));
+		}
+
+		/**
+		 * 먼저 도착한 응답으로 끝나는 future. 둘 다 실패하면 나중 실패로 끝난다.
+		 * 결과가 정해지면 나머지 요청은 취소하고, 그 사이 도착한 응답은 닫는다.
+		 */
+		private CompletableFuture<Response> firstResponse(CompletableFuture<Response> primary,
+			CompletableFuture<Response> hedge) {
+			CompletableFuture<Response> first = new CompletableFuture<>();
+			AtomicInteger failures = new AtomicInteger();
+
+			primary.whenComplete((response, failure) -> settle(first, failures, response, failure, false));
+			hedge.whenComplete((response, failure) -> settle(first, failures, response, failure, true));
+			first.whenComplete((response, failure) -> {
+				primary.cancel(true);
+				hedge.cancel(true);
+			});
+			return first;
+		}
+
+		private void settle(CompletableFuture<Response> first, AtomicInteger failures,
+			Response response, Throwable failure, boolean isHedge) {
+			if (failure != null) {
+				if (failures.incrementAndGet() == 2) {
+					first.completeExceptionally(failure);
+				}
+				return;
+			}
+			if (first.complete(response)) {
+				if (isHedge) {
+					won.increment();
+				}
+			} else {
+				response.close();
+			}
+		}
+
+		private CompletableFuture<Response> attempt(Request request, Request.Options options) {
+			return executor.submit(() -> {
+				try {
+					return delegate.execute(request, options);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+
+		/** hedge 가 이긴 경우에도 "첫 요청이 최소 이만큼 걸렸다"는 값으로 기록한다. */
+		private Response record(long startedAt, Response response) {
+			latencies.record(System.nanoTime() - startedAt);
+			return response;
+		}
+
+		private Counter counter(String name, String description) {
+			return Counter.builder(name)
+				.description(description)
+				.tag("method", method)
+				.register(meterRegistry);
+		}
+
+		private Counter skippedCounter(String reason) {
+			return Counter.builder("callee.hedging.skipped")
+				.description("hedge 지연을 넘겼지만 서킷 상태나 예산 때문에 두 번째 요청을 보내지 않은 횟수")
+				.tag("method", method)
+				.tag("reason", reason)
+				.register(meterRegistry);
+		}
+	}
+
+	private static Response await(CompletableFuture<Response> future) throws IOException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		} catch (InterruptedException e) {
+			// 바깥(TimeLimiter 등)에서 호출을 포기했다. 진행 중인 요청도 함께 끊는다.
+			throw interrupted(future);
+		}
+	}
+
+	private static InterruptedIOException interrupted(CompletableFuture<Response> future) {
+		future.cancel(true);
+		Thread.currentThread().interrupt();
+		return new InterruptedIOException("hedged 호출 중 interrupt");
+	}
+
+	// Feign 이 기대하는 대로 IOException 은 IOException 으로 돌려준다. (RetryableException 으로 변환됨)
+	private static IOException unwrap(ExecutionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof UncheckedIOException unchecked) {
+			return unchecked.getCause();
+		}
+		if (cause instanceof RuntimeException runtime) {
+			throw runtime;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		return new IOException(cause);
+	}
+
+	/**
+	 * 호출마다 ratio 만큼 쌓이고 hedge 한 번에 1개씩 쓰는 토큰 버킷
+	 * 소수점 토큰을 다루기 위해 1/1000 단위 정수로 보관한다.
+	 */
+	static final class HedgeBudget {
+
+		private static final long UNIT = 1000;
+
+		private final long depositPerCall;
+		private final long capacity;
+		private final AtomicLong tokens = new AtomicLong();
+
+		HedgeBudget(double ratio, int burst) {
+			this.depositPerCall = Math.max(1, Math.round(ratio * UNIT));
+			this.capacity = burst * UNIT;
+		}
+
+		void deposit() {
+			tokens.accumulateAndGet(depositPerCall, (current, add) -> Math.min(capacity, current + add));
+		}
+
+		boolean tryAcquire() {
+			long current;
+			do {
+				current = tokens.get();
+				if (current < UNIT) {
+					return false;
+				}
+			} while (!tokens.compareAndSet(current, current - UNIT));
+			return true;
+		}
+	}
+
+	/**
+	 * 최근 window-size 개 응답 시간의 링 버퍼
+	 * 백분위는 refresh-interval 마다 한 번, 그때 기록하던 스레드가 정렬해서 계산한다.
+	 */
+	static final class LatencyWindow {
+
+		private final double percentile;
+		private final int minSamples;
+		private final long minDelayNanos;
+		private final long refreshIntervalNanos;
+
+		private final LongSupplier clock;
+		private final AtomicLongArray samples;
+		private final AtomicLong recorded = new AtomicLong();
+		private final AtomicLong nextRefreshAt;
+		private volatile long delayNanos;
+
+		LatencyWindow(double percentile, CalleeHedgingProperties properties) {
+			this(percentile, properties, System::nanoTime);
+		}
+
+		LatencyWindow(double percentile, CalleeHedgingProperties properties, LongSupplier clock) {
+			this.percentile = percentile;
+			this.minSamples = Math.min(properties.minSamples(), properties.windowSize());
+			this.minDelayNanos = properties.minDelay().toNanos();
+			this.refreshIntervalNanos = properties.refreshInterval().toNanos();
+			this.clock = clock;
+			this.samples = new AtomicLongArray(properties.windowSize());
+			this.nextRefreshAt = new AtomicLong(clock.getAsLong());
+		}
+
+		void record(long elapsedNanos) {
+			long index = recorded.getAndIncrement();
+			samples.set((int)(index % samples.length()), elapsedNanos);
+
+			long now = clock.getAsLong();
+			long refreshAt = nextRefreshAt.get();
+			if (now - refreshAt >= 0 && nextRefreshAt.compareAndSet(refreshAt, now + refreshIntervalNanos)) {
+				refresh(Math.min(index + 1, samples.length()));
+			}
+		}
+
+		/** 0 이면 아직 hedge 하지 않는다. */
+		long delayNanos() {
+			return delayNanos;
+		}
+
+		private void refresh(long count) {
+			if (count < minSamples) {
+				return;
+			}
+			long[] sorted = new long[(int)count];
+			for (int i = 0; i < sorted.length; i++) {
+				sorted[i] = samples.get(i);
+			}
+			Arrays.sort(sorted);
+			int rank = (int)Math.ceil(percentile * sorted.length) - 1;
+			long value = sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+			delayNanos = Math.max(minDelayNanos, value);
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.api.ApiResponse.Metadata;
+import com.wisehero.caller.config.CalleeLastKnownGoodProperties;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * callee 의 마지막 정상 응답 캐시 (stale-while-revalidate)
+ *
+ * - 정상 응답은 remember 로 endpoint + 인자 단위로 보관한다. (크기/TTL 제한은 CalleeLastKnownGoodProperties)
+ *   endpoint 는 CalleeV1Client 메서드 이름이다. (hello, circuitTest ...)
+ * - fallback 은 serveStale 로 보관된 응답을 먼저 찾고, 없을 때만 합성 "Fallback: ..." 응답을 쓴다.
+ *   돌려주는 응답의 meta.message 에 몇 초 전 응답인지 표시한다. 초 단위라 표시가 바뀔 때만 새로 감싸고,
+ *   같은 초 안에서는 감싼 응답을 그대로 다시 준다. 로그는 FallbackReporter 가 묶어서 남긴다.
+ * - 인자 없는 호출(hello, circuitTest)은 endpoint 마다 키를 한 번만 만든다. 서킷이 열려 있는 동안
+ *   fallback 마다 실행되는 경로라 호출마다 객체를 만들지 않기 위함
+ * - stale 응답을 줄 때 fallback 원인에 따라 백그라운드 재검증을 건다.
+ *   - callee 가 실제로 실패했을 때만 바로 재검증한다. 키마다 revalidate-interval 에 한 번까지
+ *   - 서킷이 열려 있으면(CallNotPermittedException 등) 기다렸다가 HALF_OPEN / CLOSED 로 바뀌는 순간 보낸다.
+ *     기다리는 재검증은 endpoint 마다 마지막 것 하나만 둔다. (시험 호출 하나면 충분하고 맵이 커지지 않는다)
+ *   - caller 가 부하를 덜려고 거절한 호출(Bulkhead, 동시성 한도, 요청 한도, 재시도 예산)은 재검증하지 않는다.
+ *     거절하는 중에 Bulkhead 밖에서 callee 호출을 더하면 안 되기 때문
+ *   재검증 호출도 그 메서드의 CircuitBreaker(callee-client-v1-{메서드명})를 거치므로 HALF_OPEN 시험 호출로 집계된다.
+ *
+ * 캐시 적중률 등은 cache.* 메트릭(cache=callee-last-known-good)으로 노출한다.
+ */
+@Slf4j
+@Component
+public class LastKnownGoodCache {
+
+	private static final String CACHE_NAME = "callee-last-known-good";
+
+	private final Cache<Key, Entry> cache;
+	private final long revalidateIntervalMillis;
+	private final CalleeResiliencePolicies policies;
+	private final CancellableCallExecutor executor;
+	private final FallbackReporter fallbackReporter;
+	private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+	private final Map<String, Key> noArgKeys = new ConcurrentHashMap<>();
+
+	// 서킷이 열려 있어서 보내지 못한 재검증. endpoint 마다 하나. 서킷이 다시 호출을 허용하면 보낸다.
+	private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+	private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+
+	public LastKnownGoodCache(CalleeLastKnownGoodProperties properties, CalleeResiliencePolicies policies,
+		CancellableCallExecutor executor, FallbackReporter fallbackReporter, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(properties.maximumSize())
+			.expireAfterWrite(properties.timeToLive())
+			.recordStats()
+			.build();
+		this.revalidateIntervalMillis = properties.revalidateInterval().toMillis();
+		this.policies = policies;
+		this.executor = executor;
+		this.fallbackReporter = fallbackReporter;
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/** 정상 응답이면 보관하고, 받은 응답을 그대로 돌려준다. */
+	public <T> ApiResponse<T> remember(String endpoint, ApiResponse<T> response) {
+		return remember(keyOf(endpoint), response);
+	}
+
+	public <T> ApiResponse<T> remember(String endpoint, ApiResponse<T> response, Object... args) {
+		return remember(new Key(endpoint, args), response);
+	}
+
+	/**
+	 * 보관된 응답이 있으면 돌려주고 failure 에 따라 재검증을 건다. 없으면 otherwise 를 돌려준다.
+	 * loader 는 CircuitBreaker 없이 callee 를 호출하는 함수여야 한다. (여기서 CircuitBreaker 를 씌운다)
+	 */
+	public <T> ApiResponse<T> serveStale(String endpoint, Throwable failure, Supplier<ApiResponse<T>> loader,
+		ApiResponse<T> otherwise) {
+		return serveStale(keyOf(endpoint), failure, loader, otherwise);
+	}
+
+	public <T> ApiResponse<T> serveStale(String endpoint, Throwable failure, Supplier<ApiResponse<T>> loader,
+		ApiResponse<T> otherwise, Object... args) {
+		return serveStale(new Key(endpoint, args), failure, loader, otherwise);
+	}
+
+	private <T> ApiResponse<T> remember(Key key, ApiResponse<T> response) {
+		if (isSuccess(response)) {
+			cache.put(key, new Entry(response, System.currentTimeMillis(), 0));
+		}
+		return response;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> ApiResponse<T> serveStale(Key key, Throwable failure, Supplier<ApiResponse<T>> loader,
+		ApiResponse<T> otherwise) {
+		Entry entry = cache.getIfPresent(key);
+		if (entry == null) {
+			return otherwise;
+		}
+		revalidate(key, entry, failure, loader);
+		fallbackReporter.reportStale(key.endpoint());
+		return (ApiResponse<T>)entry.stale(System.currentTimeMillis());
+	}
+
+	private Key keyOf(String endpoint) {
+		Key key = noArgKeys.get(endpoint);
+		return key != null ? key : noArgKeys.computeIfAbsent(endpoint, name -> new Key(name, List.of()));
+	}
+
+	private void revalidate(Key key, Entry entry, Throwable failure, Supplier<? extends ApiResponse<?>> loader) {
+		if (isShedding(failure)) {
+			return;
+		}
+		CircuitBreaker circuitBreaker = circuitBreaker(key.endpoint());
+		CircuitBreaker.State state = circuitBreaker.getState();
+		if (failure instanceof CallNotPermittedException
+			|| state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN) {
+			pending.put(key.endpoint(), new Pending(key, loader));
+			return;
+		}
+		if (entry.tryStartRevalidation(System.currentTimeMillis(), revalidateIntervalMillis)) {
+			refresh(key, circuitBreaker, loader);
+		}
+	}
+
+	private void refresh(Key key, CircuitBreaker circuitBreaker, Supplier<? extends ApiResponse<?>> loader) {
+		if (!refreshing.add(key)) {
+			// 이미 같은 키를 재검증하는 중
+			return;
+		}
+		executor.submit(() -> circuitBreaker.executeSupplier(loader))
+			.whenComplete((response, failure) -> {
+				refreshing.remove(key);
+				if (failure == null && isSuccess(response)) {
+					long now = System.currentTimeMillis();
+					cache.put(key, new Entry(response, now, now + revalidateIntervalMillis));
+					log.info("🔄 Last-known-good 재검증 성공 - endpoint: {}", key.endpoint());
+				} else {
+					log.debug("Last-known-good 재검증 실패 - endpoint: {}, Reason: {}", key.endpoint(),
+						failure != null ? failure.getClass().getSimpleName() : "FAIL response");
+				}
+			});
+	}
+
+	private CircuitBreaker circuitBreaker(String endpoint) {
+		CircuitBreaker existing = circuitBreakers.get(endpoint);
+		if (existing != null) {
+			return existing;
+		}
+		return circuitBreakers.computeIfAbsent(endpoint, key -> {
+			CircuitBreaker circuitBreaker = policies.circuitBreaker(key);
+			circuitBreaker.getEventPublisher().onStateTransition(event -> {
+				CircuitBreaker.State to = event.getStateTransition().getToState();
+				if (to == CircuitBreaker.State.HALF_OPEN || to == CircuitBreaker.State.CLOSED) {
+					revalidatePending(key);
+				}
+			});
+			return circuitBreaker;
+		});
+	}
+
+	private void revalidatePending(String endpoint) {
+		Pending waiting = pending.remove(endpoint);
+		if (waiting != null) {
+			refresh(waiting.key(), circuitBreakers.get(endpoint), waiting.loader());
+		}
+	}
+
+	// caller 가 부하를 덜려고 callee 로 보내지 않은 호출
+	private static boolean isShedding(Throwable failure) {
+		return failure instanceof BulkheadFullException
+			|| failure instanceof ConcurrencyLimitExceededException
+			|| failure instanceof RateLimitedException
+			|| failure instanceof RetryBudgetExhaustedException;
+	}
+
+	private static boolean isSuccess(ApiResponse<?> response) {
+		return response != null && response.meta() != null
+			&& response.meta().result() == Metadata.Result.SUCCESS;
+	}
+
+	private record Key(String endpoint, List<Object> args) {
+
+		Key(String endpoint, Object[] args) {
+			this(endpoint, Arrays.asList(args.clone()));
+		}
+	}
+
+	private record Pending(Key key, Supplier<? extends ApiResponse<?>> loader) {
+	}
+
+	private static final class Entry {
+
+		private final ApiResponse<?> response;
+		private final long storedAt;
+		// 이 시각 전에는 다시 재검증하지 않는다.
+		private final AtomicLong nextRevalidationAt;
+		// 마지막으로 감싼 stale 응답과 그때의 경과 초. 경쟁해도 같은 값을 다시 만들 뿐이라 volatile 하나로 충분하다.
+		private volatile Stale stale;
+
+		private Entry(ApiResponse<?> response, long storedAt, long nextRevalidationAt) {
+			this.response = response;
+			this.storedAt = storedAt;
+			this.nextRevalidationAt = new AtomicLong(nextRevalidationAt);
+		}
+
+		private boolean tryStartRevalidation(long nowMillis, long intervalMillis) {
+			long next = nextRevalidationAt.get();
+			return nowMillis >= next && nextRevalidationAt.compareAndSet(next, nowMillis + intervalMillis);
+		}
+
+		private ApiResponse<?> stale(long nowMillis) {
+			long ageSeconds = (nowMillis - storedAt) / 1000;
+			Stale current = stale;
+			if (current == null || current.ageSeconds() != ageSeconds) {
+				current = new Stale(ageSeconds, new ApiResponse<>(
+					new Metadata(Metadata.Result.SUCCESS, null, "Stale: " + ageSeconds + "s ago"), response.data()));
+				stale = current;
+			}
+			return current.response();
+		}
+	}
+
+	private record Stale(long ageSeconds, ApiResponse<?> response) {
+	}
+}
@@ -0,0 +1,46 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeReadTimeoutProperties;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CalleeV1Client 메서드별 read-timeout 을 적용하는 Capability
+ *
+ * Spring Cloud OpenFeign 의 read-timeout 은 클라이언트 단위라서 3초 걸리는 /slow 와 /hello 가 같은 값을 쓴다.
+ * 여기서 요청마다 메서드를 보고 Request.Options 의 read-timeout 만 바꿔서 넘긴다.
+ * BatchingDispatcher / HedgingClient 바깥에 둬서 그 안의 대기도 바꾼 값을 쓴다. (CapabilityOrder)
+ */
+@Component
+@Order(CapabilityOrder.METHOD_READ_TIMEOUT)
+@RequiredArgsConstructor
+public class MethodReadTimeoutCapability implements Capability {
+
+	private final CalleeReadTimeoutProperties properties;
+
+	@Override
+	public Client enrich(Client client) {
+		if (properties.methods().isEmpty()) {
+			return client;
+		}
+		return (request, options) -> {
+			Duration readTimeout = properties.of(FeignRequests.methodName(request));
+			if (readTimeout == null) {
+				return client.execute(request, options);
+			}
+			return client.execute(request, new Request.Options(
+				options.connectTimeoutMillis(), TimeUnit.MILLISECONDS,
+				readTimeout.toMillis(), TimeUnit.MILLISECONDS,
+				options.isFollowRedirects()));
+		};
+	}
+}
@@ -0,0 +1,22 @@
+package com.wisehero.caller.infra.resilience;
+
+import feign.Response;
+import feign.codec.ErrorDecoder;
+
+/**
+ * 429 응답을 Retry-After 를 담은 RateLimitedException 으로 바꾼다.
+ * 그 밖의 상태 코드는 Feign 기본 ErrorDecoder 를 그대로 쓴다.
+ */
+public class RateLimitErrorDecoder implements ErrorDecoder {
+
+	private final ErrorDecoder delegate = new ErrorDecoder.Default();
+
+	@Override
+	public Exception decode(String methodKey, Response response) {
+		if (response.status() == 429) {
+			return new RateLimitedException(FeignRequests.methodName(response.request()),
+				FeignRequests.retryAfter(response));
+		}
+		return delegate.decode(methodKey, response);
+	}
+}
@@ -0,0 +1,77 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * callee 의 429 + Retry-After 를 클라이언트 단위로 지키는 Capability
+ *
+ * 429 를 받은 요청만 늦게 재시도해도, 그 사이 새로 들어온 요청이 계속 callee 로 가면 한도를 또 넘는다.
+ * 그래서 429 응답의 Retry-After 가 지날 때까지는 callee 로 보내지 않고
+ * 남은 시간을 담은 RateLimitedException 으로 바로 끝낸다. 요청을 받은 쪽의 한도에 맞춰 보내는 양이 줄어든다.
+ *
+ * callee 는 한도를 메서드가 아니라 클라이언트(접속 주소, trust-client-id-header 를 켜면 X-Client-Id)마다 센다.
+ * /hello 가 받은 429 는 /slow 에도 해당하므로 게이트도 같은 기준으로 나눈다.
+ * X-Client-Id 를 보내는 요청은 그 값마다, 보내지 않는 요청은 이 프로세스 전체가 게이트 하나를 쓴다.
+ *
+ * - callee.rate-limit.gated: Retry-After 가 지나기 전이라 보내지 않은 호출 수
+ * - 429 응답 자체는 RateLimitErrorDecoder 가 RateLimitedException 으로 바꾼다.
+ * - BatchingDispatcher 바깥에 둬서 묶인 호출도 항목마다 게이트를 거친다. (CapabilityOrder)
+ *   안에서 보내는 /batch 호출은 callee 가 항목마다 한도를 세므로 게이트를 건너뛴다.
+ */
+@Component
+@Order(CapabilityOrder.RATE_LIMIT_GATE)
+public class RateLimitGateCapability implements Capability {
+
+	static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+	private final Map<String, AtomicLong> blockedUntil = new ConcurrentHashMap<>();
+	private final Counter gated;
+
+	public RateLimitGateCapability(MeterRegistry meterRegistry) {
+		this.gated = Counter.builder("callee.rate-limit.gated")
+			.description("callee 가 알려준 Retry-After 가 지나기 전이라 보내지 않은 호출 수")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public Client enrich(Client client) {
+		return (request, options) -> {
+			if (BatchingDispatcher.isBatchCall(request)) {
+				return client.execute(request, options);
+			}
+			AtomicLong until = blockedUntil.computeIfAbsent(clientId(request),
+				key -> new AtomicLong(System.nanoTime()));
+			long remaining = until.get() - System.nanoTime();
+			if (remaining > 0) {
+				gated.increment();
+				throw new RateLimitedException(FeignRequests.methodName(request), Duration.ofNanos(remaining));
+			}
+
+			Response response = client.execute(request, options);
+			if (response.status() == 429) {
+				long reopenAt = System.nanoTime() + FeignRequests.retryAfter(response).toNanos();
+				until.accumulateAndGet(reopenAt, Math::max);
+			}
+			return response;
+		};
+	}
+
+	private static String clientId(Request request) {
+		Collection<String> clientId = request.headers().get(CLIENT_ID_HEADER);
+		return clientId == null || clientId.isEmpty() ? "" : clientId.iterator().next();
+	}
+}
@@ -0,0 +1,24 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.time.Duration;
+
+/**
+ * callee 가 429 로 요청 한도를 알려왔거나, 그 Retry-After 가 지나기 전이라 보내지 않은 호출
+ * callee 장애가 아니라 "이만큼 뒤에 다시 보내라" 는 신호이므로 Circuit 실패로 세지 않고,
+ * 재시도는 retryAfter 이상 기다린 뒤에 한다. (ResilienceRetryConfig, AsyncRetrier)
+ */
+public class RateLimitedException extends RuntimeException {
+
+	private final Duration retryAfter;
+
+	public RateLimitedException(String method, Duration retryAfter) {
+		// 거절이 몰릴 때 스택 트레이스 생성 비용을 아끼기 위해 writableStackTrace = false
+		super(CalleeResiliencePolicies.instanceName(method) + " 요청 한도 초과 - " + retryAfter.toMillis() + "ms 뒤 재시도",
+			null, false, false);
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration retryAfter() {
+		return retryAfter;
+	}
+}
@@ -0,0 +1,120 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.wisehero.caller.config.CalleeRetryBudgetProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * callee 재시도 예산 (토큰 버킷)
+ *
+ * - callee 가 정상 응답할 때마다 ratio 만큼 토큰이 쌓이고, 시간이 지나면 min-retries-per-second 만큼 채워진다.
+ * - 재시도 한 번에 토큰 1개를 쓴다. 토큰이 없으면 재시도하지 않고 RetryBudgetExhaustedException 으로 끝낸다.
+ *
+ * callee 장애 중에는 정상 응답이 없으니 토큰이 하한만큼만 생기고, 재시도가 부하를 몇 배로 키우지 못한다.
+ * Retry 인스턴스와 상관없이 하나의 예산을 나눠 쓴다. (BudgetedRetry, AsyncRetrier)
+ *
+ * deposit 은 모든 메서드의 2xx 응답마다 불리므로 락을 잡지 않는다.
+ * - 적립은 LongAdder 에 더하기만 한다. (토큰 1개 = SCALE)
+ * - 잔액, 마지막 정산 시각, 정산한 적립 합계는 불변 State 하나로 묶어 CAS 로 바꾼다.
+ *   재시도할 때(tryWithdraw)만 지난 정산 이후의 적립분과 시간 보충분을 더해 burst 로 자른 뒤 1개를 꺼낸다.
+ * - 정산 사이에는 꺼내는 일이 없으므로 모아서 한 번에 burst 로 잘라도 매번 자른 것과 결과가 같다.
+ *
+ * 메트릭
+ * - callee.retry.budget.balance: 남은 토큰
+ * - callee.retry.budget.retries{outcome=permitted|exhausted}: 예산을 쓰고 재시도한 횟수 / 예산이 없어 포기한 횟수
+ */
+@Component
+public class RetryBudget {
+
+	static final long SCALE = 1_000_000L;
+
+	private final boolean enabled;
+	private final long depositUnits;
+	private final long burstUnits;
+	private final long refillUnitsPerSecond;
+	private final long fillNanos;
+	private final LongSupplier clock;
+	private final Counter permitted;
+	private final Counter exhausted;
+
+	private final LongAdder deposits = new LongAdder();
+	private final AtomicReference<State> state;
+
+	@Autowired
+	public RetryBudget(CalleeRetryBudgetProperties properties, MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, System::nanoTime);
+	}
+
+	RetryBudget(CalleeRetryBudgetProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+		this.enabled = properties.enabled();
+		this.depositUnits = Math.round(properties.ratio() * SCALE);
+		this.burstUnits = properties.burst() * SCALE;
+		this.refillUnitsPerSecond = Math.max(1, Math.round(properties.minRetriesPerSecond() * SCALE));
+		// 빈 예산이 burst 까지 차는 데 걸리는 시간. 이보다 오래 쉬어도 보충분은 같다.
+		this.fillNanos = (long)Math.ceil(burstUnits * 1_000_000_000.0 / refillUnitsPerSecond);
+		this.clock = clock;
+		this.state = new AtomicReference<>(new State(burstUnits, clock.getAsLong(), 0));
+		this.permitted = retries(meterRegistry, "permitted");
+		this.exhausted = retries(meterRegistry, "exhausted");
+		Gauge.builder("callee.retry.budget.balance", this, RetryBudget::balance)
+			.description("남은 재시도 토큰")
+			.register(meterRegistry);
+	}
+
+	/** callee 정상 응답 1건 */
+	public void deposit() {
+		deposits.add(depositUnits);
+	}
+
+	/** 재시도 한 번 분량의 토큰을 꺼낸다. 예산을 끈 상태면 항상 성공한다. */
+	public boolean tryWithdraw() {
+		if (!enabled) {
+			return true;
+		}
+		boolean withdrawn;
+		while (true) {
+			State current = state.get();
+			long now = clock.getAsLong();
+			long deposited = deposits.sum();
+			long balance = settle(current, now, deposited);
+			withdrawn = balance >= SCALE;
+			State next = new State(withdrawn ? balance - SCALE : balance, now, deposited);
+			if (state.compareAndSet(current, next)) {
+				break;
+			}
+		}
+		(withdrawn ? permitted : exhausted).increment();
+		return withdrawn;
+	}
+
+	public double balance() {
+		State current = state.get();
+		return settle(current, clock.getAsLong(), deposits.sum()) / (double)SCALE;
+	}
+
+	private long settle(State current, long now, long deposited) {
+		long elapsed = Math.min(Math.max(0, now - current.settledAt()), fillNanos);
+		long refill = elapsed * refillUnitsPerSecond / 1_000_000_000L;
+		long credit = Math.min(burstUnits, deposited - current.depositsSettled());
+		return Math.min(burstUnits, current.balance() + refill + credit);
+	}
+
+	private static Counter retries(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("callee.retry.budget.retries")
+			.description("재시도 예산 확인 결과 (permitted: 재시도함, exhausted: 예산 부족으로 포기)")
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+	private record State(long balance, long settledAt, long depositsSettled) {
+	}
+}
@@ -0,0 +1,38 @@
+package com.wisehero.caller.infra.resilience;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * callee 가 2xx 로 응답할 때마다 RetryBudget 에 토큰을 쌓는 Capability
+ * 재시도 대상 메서드뿐 아니라 CalleeV1Client 의 모든 정상 응답이 예산이 된다.
+ *
+ * 가장 바깥에 둔다. (CapabilityOrder) hedge 로 두 번 보낸 호출도 한 번, /batch 로 묶인 호출은 항목마다 한 번 쌓는다.
+ * BatchingDispatcher 가 안에서 보내는 /batch 호출 자체는 쌓지 않는다.
+ */
+@Component
+@Order(CapabilityOrder.RETRY_BUDGET)
+@RequiredArgsConstructor
+public class RetryBudgetCapability implements Capability {
+
+	private final RetryBudget retryBudget;
+
+	@Override
+	public Client enrich(Client client) {
+		return (request, options) -> {
+			if (BatchingDispatcher.isBatchCall(request)) {
+				return client.execute(request, options);
+			}
+			Response response = client.execute(request, options);
+			if (response.status() >= 200 && response.status() < 300) {
+				retryBudget.deposit();
+			}
+			return response;
+		};
+	}
+}
@@ -0,0 +1,12 @@
+package com.wisehero.caller.infra.resilience;
+
+/**
+ * 재시도 예산이 바닥나서 재시도하지 않고 끝낸 호출
+ * cause 에 마지막 시도의 실패가 담긴다.
+ */
+public class RetryBudgetExhaustedException extends RuntimeException {
+
+	public RetryBudgetExhaustedException(String retryName, Throwable lastFailure) {
+		super(retryName + " 재시도 예산 소진", lastFailure, false, false);
+	}
+}
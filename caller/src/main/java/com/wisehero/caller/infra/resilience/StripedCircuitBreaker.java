@@ -0,0 +1,345 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.ResultRecordedAsFailureException;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnErrorEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnIgnoredErrorEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnSuccessEvent;
+import io.github.resilience4j.core.EventProcessor;
+import io.github.resilience4j.core.metrics.Metrics.Outcome;
+import io.github.resilience4j.core.metrics.Snapshot;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CLOSED 상태의 호출 결과를 StripedSlidingWindow 에 기록하는 CircuitBreaker
+ *
+ * resilience4j CircuitBreaker 는 슬라이딩 윈도우 구현을 바꿀 수 있는 설정이 없어서
+ * 기존 CircuitBreaker 에 위임하는 구현으로 감싸고 레지스트리의 인스턴스를 교체한다. (CalleeResiliencePolicies)
+ *
+ * - CLOSED 일 때 onSuccess / onError / onResult 는 원래 CircuitBreaker 로 넘기지 않고 striped 윈도우에 기록한다.
+ *   ignore/record 예외, recordResult, 느린 호출 기준은 원래 CircuitBreaker 설정을 그대로 적용한다.
+ * - 정상 호출은 실패율/느린 호출 비율을 낮추기만 하므로 임계치 확인은 실패나 느린 호출이 기록될 때만 한다.
+ *   넘으면 원래 CircuitBreaker 를 OPEN 으로 전환한다.
+ * - OPEN / HALF_OPEN 과 그 밖의 모든 메서드는 원래 CircuitBreaker 가 처리한다. 다시 CLOSED 가 되면 윈도우를 비운다.
+ * - CLOSED 상태의 getMetrics() 는 striped 윈도우 값을 보여준다. (actuator, resilience4j.circuitbreaker.* 메트릭)
+ * - stripe 가 1개가 되는 작은 윈도우(기본 slidingWindowSize 10)는 나눠서 얻는 것이 없으므로 감싸지 않는다.
+ *
+ * - CLOSED 상태에서 기록한 호출도 원래 CircuitBreaker 와 같이 SUCCESS / ERROR / IGNORED_ERROR 이벤트를
+ *   원래 CircuitBreaker 의 EventPublisher 로 발행한다. 그래서 TaggedCircuitBreakerMetrics 의
+ *   resilience4j.circuitbreaker.calls{name, kind=successful|failed|ignored} 와 /actuator/circuitbreakerevents 가
+ *   감싸지 않은 CircuitBreaker 와 같은 값을 보여준다. 구독자가 없으면 이벤트 객체를 만들지 않는다.
+ *   EventPublisher 가 EventProcessor 가 아닌 CircuitBreaker 는 이벤트를 낼 수 없으므로 감싸지 않는다.
+ *
+ * default 메서드(executeSupplier, decorateXxx ...)는 이 객체를 대상으로 실행되므로
+ * 그 안에서 부르는 onSuccess / onError 도 여기를 거친다.
+ */
+@Slf4j
+final class StripedCircuitBreaker implements CircuitBreaker {
+
+	private final CircuitBreaker delegate;
+	private final StripedSlidingWindow window;
+	private final CircuitBreakerConfig config;
+	private final long slowCallThresholdNanos;
+	private final int minimumNumberOfCalls;
+	private final Metrics closedMetrics = new ClosedMetrics();
+	private final ReentrantLock transitionLock = new ReentrantLock();
+	private final EventProcessor<CircuitBreakerEvent> events;
+
+	@SuppressWarnings("unchecked")
+	StripedCircuitBreaker(CircuitBreaker delegate, StripedSlidingWindow window) {
+		this.delegate = delegate;
+		this.config = delegate.getCircuitBreakerConfig();
+		this.window = window;
+		this.slowCallThresholdNanos = config.getSlowCallDurationThreshold().toNanos();
+		this.minimumNumberOfCalls = Math.min(config.getMinimumNumberOfCalls(), config.getSlidingWindowSize());
+		this.events = (EventProcessor<CircuitBreakerEvent>)delegate.getEventPublisher();
+
+		delegate.getEventPublisher().onStateTransition(event -> {
+			if (event.getStateTransition().getToState() == State.CLOSED) {
+				window.reset();
+			}
+		});
+	}
+
+	/**
+	 * COUNT_BASED 이고 stripe 가 2개 이상 나오는 CircuitBreaker 만 감싼다. 나머지는 그대로 돌려준다.
+	 */
+	static CircuitBreaker wrap(CircuitBreaker delegate, int maxStripes) {
+		CircuitBreakerConfig config = delegate.getCircuitBreakerConfig();
+		if (config.getSlidingWindowType() != CircuitBreakerConfig.SlidingWindowType.COUNT_BASED) {
+			log.warn("StripedCircuitBreaker 는 COUNT_BASED 만 지원 - name: {}", delegate.getName());
+			return delegate;
+		}
+		if (!(delegate.getEventPublisher() instanceof EventProcessor<?>)) {
+			log.warn("StripedCircuitBreaker 생략 (이벤트를 발행할 수 없는 CircuitBreaker) - name: {}", delegate.getName());
+			return delegate;
+		}
+		StripedSlidingWindow window = new StripedSlidingWindow(config.getSlidingWindowSize(), maxStripes);
+		if (window.stripeCount() < 2) {
+			log.info("StripedCircuitBreaker 생략 (stripe 1개) - name: {}, slidingWindowSize: {}", delegate.getName(),
+				config.getSlidingWindowSize());
+			return delegate;
+		}
+		log.info("StripedCircuitBreaker 적용 - name: {}, stripes: {}", delegate.getName(), window.stripeCount());
+		return new StripedCircuitBreaker(delegate, window);
+	}
+
+	@Override
+	public void onSuccess(long duration, TimeUnit durationUnit) {
+		if (delegate.getState() != State.CLOSED) {
+			delegate.onSuccess(duration, durationUnit);
+			return;
+		}
+		long nanos = durationUnit.toNanos(duration);
+		if (events.hasConsumers()) {
+			events.processEvent(new CircuitBreakerOnSuccessEvent(getName(), Duration.ofNanos(nanos)));
+		}
+		record(nanos, false);
+	}
+
+	@Override
+	public void onError(long duration, TimeUnit durationUnit, Throwable throwable) {
+		if (delegate.getState() != State.CLOSED) {
+			delegate.onError(duration, durationUnit, throwable);
+			return;
+		}
+		Throwable cause = (throwable instanceof CompletionException || throwable instanceof ExecutionException)
+			&& throwable.getCause() != null ? throwable.getCause() : throwable;
+		long nanos = durationUnit.toNanos(duration);
+		if (config.getIgnoreExceptionPredicate().test(cause)) {
+			if (events.hasConsumers()) {
+				events.processEvent(new CircuitBreakerOnIgnoredErrorEvent(getName(), Duration.ofNanos(nanos), cause));
+			}
+			return;
+		}
+		boolean failure = config.getRecordExceptionPredicate().test(cause);
+		if (events.hasConsumers()) {
+			events.processEvent(failure
+				? new CircuitBreakerOnErrorEvent(getName(), Duration.ofNanos(nanos), cause)
+				: new CircuitBreakerOnSuccessEvent(getName(), Duration.ofNanos(nanos)));
+		}
+		record(nanos, failure);
+	}
+
+	@Override
+	public void onResult(long duration, TimeUnit durationUnit, Object result) {
+		if (delegate.getState() != State.CLOSED) {
+			delegate.onResult(duration, durationUnit, result);
+			return;
+		}
+		if (!config.getRecordResultPredicate().test(result)) {
+			onSuccess(duration, durationUnit);
+			return;
+		}
+		long nanos = durationUnit.toNanos(duration);
+		if (events.hasConsumers()) {
+			events.processEvent(new CircuitBreakerOnErrorEvent(getName(), Duration.ofNanos(nanos),
+				new ResultRecordedAsFailureException(getName(), result)));
+		}
+		record(nanos, true);
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return delegate.getState() == State.CLOSED ? closedMetrics : delegate.getMetrics();
+	}
+
+	private void record(long nanos, boolean failure) {
+		boolean slow = nanos >= slowCallThresholdNanos;
+		Outcome outcome = failure
+			? (slow ? Outcome.SLOW_ERROR : Outcome.ERROR)
+			: (slow ? Outcome.SLOW_SUCCESS : Outcome.SUCCESS);
+		window.record(nanos, TimeUnit.NANOSECONDS, outcome);
+		if (outcome != Outcome.SUCCESS) {
+			evaluate(window.getSnapshot());
+		}
+	}
+
+	private void evaluate(Snapshot snapshot) {
+		if (snapshot.getTotalNumberOfCalls() < minimumNumberOfCalls) {
+			return;
+		}
+		if (snapshot.getFailureRate() >= config.getFailureRateThreshold()
+			|| snapshot.getSlowCallRate() >= config.getSlowCallRateThreshold()) {
+			// 이미 다른 스레드가 전환 중이면 기다리지 않는다. (가상 스레드가 락을 기다리며 캐리어를 고정하지 않도록)
+			if (!transitionLock.tryLock()) {
+				return;
+			}
+			try {
+				if (delegate.getState() == State.CLOSED) {
+					log.info("StripedCircuitBreaker 임계치 초과로 OPEN - name: {}, failureRate: {}, slowCallRate: {}",
+						delegate.getName(), snapshot.getFailureRate(), snapshot.getSlowCallRate());
+					delegate.transitionToOpenState();
+				}
+			} finally {
+				transitionLock.unlock();
+			}
+		}
+	}
+
+	/*
+	 * 아래는 원래 CircuitBreaker 에 그대로 위임한다.
+	 */
+
+	@Override
+	public boolean tryAcquirePermission() {
+		return delegate.tryAcquirePermission();
+	}
+
+	@Override
+	public void releasePermission() {
+		delegate.releasePermission();
+	}
+
+	@Override
+	public void acquirePermission() {
+		delegate.acquirePermission();
+	}
+
+	@Override
+	public void reset() {
+		delegate.reset();
+		window.reset();
+	}
+
+	@Override
+	public void transitionToClosedState() {
+		delegate.transitionToClosedState();
+	}
+
+	@Override
+	public void transitionToOpenState() {
+		delegate.transitionToOpenState();
+	}
+
+	@Override
+	public void transitionToOpenStateFor(Duration waitDuration) {
+		delegate.transitionToOpenStateFor(waitDuration);
+	}
+
+	@Override
+	public void transitionToOpenStateUntil(Instant waitUntil) {
+		delegate.transitionToOpenStateUntil(waitUntil);
+	}
+
+	@Override
+	public void transitionToHalfOpenState() {
+		delegate.transitionToHalfOpenState();
+	}
+
+	@Override
+	public void transitionToDisabledState() {
+		delegate.transitionToDisabledState();
+	}
+
+	@Override
+	public void transitionToMetricsOnlyState() {
+		delegate.transitionToMetricsOnlyState();
+	}
+
+	@Override
+	public void transitionToForcedOpenState() {
+		delegate.transitionToForcedOpenState();
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public State getState() {
+		return delegate.getState();
+	}
+
+	@Override
+	public CircuitBreakerConfig getCircuitBreakerConfig() {
+		return config;
+	}
+
+	@Override
+	public Map<String, String> getTags() {
+		return delegate.getTags();
+	}
+
+	@Override
+	public EventPublisher getEventPublisher() {
+		return delegate.getEventPublisher();
+	}
+
+	@Override
+	public long getCurrentTimestamp() {
+		return delegate.getCurrentTimestamp();
+	}
+
+	@Override
+	public TimeUnit getTimestampUnit() {
+		return delegate.getTimestampUnit();
+	}
+
+	@Override
+	public String toString() {
+		return "StripedCircuitBreaker(" + delegate + ")";
+	}
+
+	// CLOSED 상태의 CircuitBreaker.Metrics. 윈도우와 무관한 값(거절 수)은 원래 Metrics 에서 읽는다.
+	private final class ClosedMetrics implements Metrics {
+
+		@Override
+		public float getFailureRate() {
+			Snapshot snapshot = window.getSnapshot();
+			return snapshot.getTotalNumberOfCalls() < minimumNumberOfCalls ? -1.0f : snapshot.getFailureRate();
+		}
+
+		@Override
+		public float getSlowCallRate() {
+			Snapshot snapshot = window.getSnapshot();
+			return snapshot.getTotalNumberOfCalls() < minimumNumberOfCalls ? -1.0f : snapshot.getSlowCallRate();
+		}
+
+		@Override
+		public int getNumberOfSlowCalls() {
+			return window.getSnapshot().getTotalNumberOfSlowCalls();
+		}
+
+		@Override
+		public int getNumberOfSlowSuccessfulCalls() {
+			return window.getSnapshot().getNumberOfSlowSuccessfulCalls();
+		}
+
+		@Override
+		public int getNumberOfSlowFailedCalls() {
+			return window.getSnapshot().getNumberOfSlowFailedCalls();
+		}
+
+		@Override
+		public int getNumberOfBufferedCalls() {
+			return window.getSnapshot().getTotalNumberOfCalls();
+		}
+
+		@Override
+		public int getNumberOfFailedCalls() {
+			return window.getSnapshot().getNumberOfFailedCalls();
+		}
+
+		@Override
+		public long getNumberOfNotPermittedCalls() {
+			return delegate.getMetrics().getNumberOfNotPermittedCalls();
+		}
+
+		@Override
+		public int getNumberOfSuccessfulCalls() {
+			return window.getSnapshot().getNumberOfSuccessfulCalls();
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.resilience4j.core.metrics.Metrics;
+import io.github.resilience4j.core.metrics.Snapshot;
+
+/**
+ * 스레드별로 나눠 기록하는 COUNT_BASED 슬라이딩 윈도우
+ *
+ * resilience4j 의 FixedSizeSlidingWindowMetrics 는 윈도우 하나를 synchronized 로 감싸서
+ * 모든 호출이 같은 락과 같은 캐시 라인을 두고 경쟁한다.
+ * 여기서는 윈도우를 stripe 여러 개로 나눈다.
+ * - 호출 스레드마다 정해진 stripe 하나에만 기록하므로 서로 다른 스레드끼리는 거의 부딪히지 않는다.
+ * - 각 stripe 는 windowSize / stripe 수 만큼의 최근 결과만 보관한다.
+ * - 실패율/느린 호출 비율은 Snapshot 의 getter 를 부를 때 stripe 들을 합산해서 계산한다. (lazy)
+ *
+ * stripe 사이의 부하가 고르다는 가정 위에서 "최근 windowSize 건"을 근사한다.
+ * stripe 당 최소 MIN_CALLS_PER_STRIPE 건은 담도록 stripe 수를 정하므로 작은 윈도우(10)에서는 stripe 1개가 된다.
+ * (StripedCircuitBreaker 는 이 경우 감싸지 않는다)
+ */
+public class StripedSlidingWindow implements Metrics {
+
+	static final int MIN_CALLS_PER_STRIPE = 16;
+
+	private final Stripe[] stripes;
+	private final int mask;
+	private final Snapshot snapshot = new AggregatedSnapshot();
+
+	public StripedSlidingWindow(int windowSize) {
+		this(windowSize, Runtime.getRuntime().availableProcessors());
+	}
+
+	public StripedSlidingWindow(int windowSize, int maxStripes) {
+		int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(maxStripes, windowSize / MIN_CALLS_PER_STRIPE)));
+		int capacity = (windowSize + stripeCount - 1) / stripeCount;
+		this.stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new Stripe(capacity);
+		}
+		this.mask = stripeCount - 1;
+	}
+
+	@Override
+	public Snapshot record(long duration, TimeUnit durationUnit, Outcome outcome) {
+		stripe().record(durationUnit.toNanos(duration), outcome);
+		return snapshot;
+	}
+
+	/** 기록된 값을 합산하는 뷰. getter 를 부를 때마다 stripe 들을 다시 읽는다. */
+	@Override
+	public Snapshot getSnapshot() {
+		return snapshot;
+	}
+
+	public void reset() {
+		for (Stripe stripe : stripes) {
+			stripe.reset();
+		}
+	}
+
+	int stripeCount() {
+		return stripes.length;
+	}
+
+	private Stripe stripe() {
+		long id = Thread.currentThread().threadId();
+		return stripes[(int)((id * 0x9E3779B97F4A7C15L) >>> 32) & mask];
+	}
+
+	private Totals totals() {
+		int total = 0;
+		int failed = 0;
+		int slow = 0;
+		int slowFailed = 0;
+		long durationNanos = 0;
+		for (Stripe stripe : stripes) {
+			total += stripe.total;
+			failed += stripe.failed;
+			slow += stripe.slow;
+			slowFailed += stripe.slowFailed;
+			durationNanos += stripe.durationNanos;
+		}
+		return new Totals(total, failed, slow, slowFailed, durationNanos);
+	}
+
+	private record Totals(int total, int failed, int slow, int slowFailed, long durationNanos) {
+	}
+
+	/**
+	 * stripe 하나. 쓰기는 stripe 락 안에서 하고, 합계는 volatile 로 두어 합산하는 쪽은 락 없이 읽는다.
+	 * 인접한 stripe 의 카운터가 같은 캐시 라인에 놓이지 않도록 앞뒤에 여분 필드를 둔다.
+	 * 가상 스레드가 기록할 때 락을 기다리느라 캐리어 스레드가 고정되지 않도록 synchronized 대신 ReentrantLock 을 쓴다.
+	 */
+	@SuppressWarnings("unused")
+	private static final class Stripe {
+
+		private long p01, p02, p03, p04, p05, p06, p07;
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Outcome[] outcomes;
+		private final long[] durations;
+		private int head;
+		private int size;
+
+		private volatile int total;
+		private volatile int failed;
+		private volatile int slow;
+		private volatile int slowFailed;
+		private volatile long durationNanos;
+
+		private long p11, p12, p13, p14, p15, p16, p17;
+
+		Stripe(int capacity) {
+			this.outcomes = new Outcome[capacity];
+			this.durations = new long[capacity];
+		}
+
+		void record(long nanos, Outcome outcome) {
+			lock.lock();
+			try {
+				int nextTotal = total;
+				int nextFailed = failed;
+				int nextSlow = slow;
+				int nextSlowFailed = slowFailed;
+				long nextDuration = durationNanos;
+
+				if (size == outcomes.length) {
+					// 가장 오래된 결과를 밀어낸다.
+					Outcome evicted = outcomes[head];
+					nextTotal--;
+					nextFailed -= isFailure(evicted) ? 1 : 0;
+					nextSlow -= isSlow(evicted) ? 1 : 0;
+					nextSlowFailed -= evicted == Outcome.SLOW_ERROR ? 1 : 0;
+					nextDuration -= durations[head];
+				} else {
+					size++;
+				}
+				outcomes[head] = outcome;
+				durations[head] = nanos;
+				head = head + 1 == outcomes.length ? 0 : head + 1;
+
+				total = nextTotal + 1;
+				failed = nextFailed + (isFailure(outcome) ? 1 : 0);
+				slow = nextSlow + (isSlow(outcome) ? 1 : 0);
+				slowFailed = nextSlowFailed + (outcome == Outcome.SLOW_ERROR ? 1 : 0);
+				durationNanos = nextDuration + nanos;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void reset() {
+			lock.lock();
+			try {
+				head = 0;
+				size = 0;
+				total = 0;
+				failed = 0;
+				slow = 0;
+				slowFailed = 0;
+				durationNanos = 0;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private static boolean isFailure(Outcome outcome) {
+			return outcome == Outcome.ERROR || outcome == Outcome.SLOW_ERROR;
+		}
+
+		private static boolean isSlow(Outcome outcome) {
+			return outcome == Outcome.SLOW_SUCCESS || outcome == Outcome.SLOW_ERROR;
+		}
+	}
+
+	private class AggregatedSnapshot implements Snapshot {
+
+		@Override
+		public Duration getTotalDuration() {
+			return Duration.ofNanos(totals().durationNanos());
+		}
+
+		@Override
+		public int getTotalNumberOfSlowCalls() {
+			return totals().slow();
+		}
+
+		@Override
+		public int getNumberOfSlowSuccessfulCalls() {
+			Totals totals = totals();
+			return totals.slow() - totals.slowFailed();
+		}
+
+		@Override
+		public int getNumberOfSlowFailedCalls() {
+			return totals().slowFailed();
+		}
+
+		@Override
+		public float getSlowCallRate() {
+			Totals totals = totals();
+			return totals.total() == 0 ? 0 : totals.slow() * 100.0f / totals.total();
+		}
+
+		@Override
+		public int getNumberOfSuccessfulCalls() {
+			Totals totals = totals();
+			return totals.total() - totals.failed();
+		}
+
+		@Override
+		public int getNumberOfFailedCalls() {
+			return totals().failed();
+		}
+
+		@Override
+		public int getTotalNumberOfCalls() {
+			return totals().total();
+		}
+
+		@Override
+		public float getFailureRate() {
+			Totals totals = totals();
+			return totals.total() == 0 ? 0 : totals.failed() * 100.0f / totals.total();
+		}
+
+		@Override
+		public Duration getAverageDuration() {
+			Totals totals = totals();
+			return totals.total() == 0 ? Duration.ZERO : Duration.ofNanos(totals.durationNanos() / totals.total());
+		}
+	}
+}
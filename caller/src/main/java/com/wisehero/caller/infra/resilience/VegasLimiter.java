@@ -0,0 +1,145 @@
+package com.wisehero.caller.infra.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.wisehero.caller.config.CalleeConcurrencyLimitProperties;
+
+/**
+ * TCP Vegas 방식의 적응형 동시성 한도
+ *
+ * 부하가 없을 때의 최소 RTT(rttNoLoad) 와 방금 잰 RTT 를 비교해서 callee 앞에 쌓인 대기열 길이를 추정한다.
+ *   queue = limit * (1 - rttNoLoad / rtt)
+ * - queue < alpha: callee 가 여유 있음 → 한도 +1
+ * - queue > beta : callee 앞에 요청이 쌓이는 중 → 한도 -1
+ * - 타임아웃/연결 실패: 한도 * backoff-ratio (이 시간은 최소 RTT 에 넣지 않는다)
+ * - caller 가 먼저 취소한 호출: 자리만 돌려주고 한도는 그대로 둔다.
+ *
+ * 고정 Bulkhead 나 CircuitBreaker 는 이미 절반이 실패한 뒤에야 반응하지만,
+ * 여기서는 지연이 늘어나는 시점부터 동시 호출 수를 줄여서 callee 가 무너지기 전에 부하를 덜어준다.
+ *
+ * probe-interval 마다 rttNoLoad 를 다시 잡는다. (callee 성능이 바뀌어도 따라가기 위함)
+ * 그 순간의 RTT 한 건은 부하 중에 잰 값일 수 있으므로 지난 probe 구간에서 본 RTT 의 최솟값을 쓴다.
+ *
+ * update 는 응답마다 불리므로 락을 잡지 않는다.
+ * - limit 은 double 비트를 AtomicLong 에 담아 CAS 로 바꾼다. 동시에 끝난 응답은 각자 한 번씩 반영된다.
+ * - rttNoLoad 와 probe 구간의 최솟값은 AtomicLong 의 min 누적으로 갱신한다.
+ */
+class VegasLimiter {
+
+	private static final long NO_RTT = Long.MAX_VALUE;
+
+	private final CalleeConcurrencyLimitProperties properties;
+	private final long probeIntervalNanos;
+	private final LongSupplier clock;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicLong limitBits;
+	private final AtomicLong rttNoLoadNanos = new AtomicLong(NO_RTT);
+	private final AtomicLong probeWindowMinNanos = new AtomicLong(NO_RTT);
+	private final AtomicLong nextProbeAt;
+	private volatile long lastRttNanos;
+
+	VegasLimiter(CalleeConcurrencyLimitProperties properties) {
+		this(properties, System::nanoTime);
+	}
+
+	VegasLimiter(CalleeConcurrencyLimitProperties properties, LongSupplier clock) {
+		this.properties = properties;
+		this.probeIntervalNanos = properties.probeInterval().toNanos();
+		this.clock = clock;
+		this.limitBits = new AtomicLong(Double.doubleToRawLongBits(properties.initialLimit()));
+		this.nextProbeAt = new AtomicLong(clock.getAsLong() + probeIntervalNanos);
+	}
+
+	boolean tryAcquire() {
+		int current;
+		do {
+			current = inFlight.get();
+			if (current >= limit()) {
+				return false;
+			}
+		} while (!inFlight.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	/** callee 가 응답했다. (상태 코드와 상관없이 RTT 로 쓴다) */
+	void onSuccess(long rttNanos) {
+		inFlight.decrementAndGet();
+		update(rttNanos, false);
+	}
+
+	/** 타임아웃, 연결 실패 등 응답을 받지 못했다. */
+	void onDropped(long rttNanos) {
+		inFlight.decrementAndGet();
+		update(rttNanos, true);
+	}
+
+	/** caller 가 먼저 포기했다. (hedge 취소, 타임아웃 취소 등) callee 상태와 무관하므로 자리만 돌려준다. */
+	void onCancelled() {
+		inFlight.decrementAndGet();
+	}
+
+	private void update(long rttNanos, boolean dropped) {
+		lastRttNanos = rttNanos;
+		long rttNoLoad = rttNoLoadNanos.get();
+		// 응답을 받지 못한 호출(연결 거부 등)의 시간은 RTT 가 아니므로 최소 RTT 에 넣지 않고 바로 줄인다.
+		if (!dropped) {
+			probeWindowMinNanos.accumulateAndGet(rttNanos, Math::min);
+
+			long now = clock.getAsLong();
+			long probeAt = nextProbeAt.get();
+			if (now - probeAt >= 0 && nextProbeAt.compareAndSet(probeAt, now + probeIntervalNanos)) {
+				// 다시 잴 때가 됐다. 지난 구간의 최솟값으로 바꾸고 새 구간을 시작한다.
+				long windowMin = probeWindowMinNanos.getAndSet(NO_RTT);
+				rttNoLoadNanos.set(windowMin != NO_RTT ? windowMin : rttNanos);
+				return;
+			}
+			if (rttNanos < rttNoLoad) {
+				// 처음이거나 더 빠른 RTT 를 봤다.
+				rttNoLoadNanos.accumulateAndGet(rttNanos, Math::min);
+				return;
+			}
+		}
+
+		long currentBits;
+		long nextBits;
+		do {
+			currentBits = limitBits.get();
+			double current = Double.longBitsToDouble(currentBits);
+			double next = dropped ? current * properties.backoffRatio() : adjust(current, rttNoLoad, rttNanos);
+			nextBits = Double.doubleToRawLongBits(
+				Math.max(properties.minLimit(), Math.min(properties.maxLimit(), next)));
+		} while (currentBits != nextBits && !limitBits.compareAndSet(currentBits, nextBits));
+	}
+
+	private double adjust(double limit, long rttNoLoad, long rttNanos) {
+		double queue = limit * (1 - (double)rttNoLoad / rttNanos);
+		if (queue < properties.alpha()) {
+			return limit + 1;
+		}
+		if (queue > properties.beta()) {
+			return limit - 1;
+		}
+		return limit;
+	}
+
+	int limit() {
+		return (int)Double.longBitsToDouble(limitBits.get());
+	}
+
+	int inFlight() {
+		return inFlight.get();
+	}
+
+	/** 아직 잰 RTT 가 없으면 0 */
+	long rttNoLoadNanos() {
+		long rttNoLoad = rttNoLoadNanos.get();
+		return rttNoLoad == NO_RTT ? 0 : rttNoLoad;
+	}
+
+	long lastRttNanos() {
+		return lastRttNanos;
+	}
+}
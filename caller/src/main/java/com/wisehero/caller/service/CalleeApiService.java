@@ -1,16 +1,30 @@
 package com.wisehero.caller.service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import org.springframework.stereotype.Service;
 
 import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.api.CannedResponses;
 import com.wisehero.caller.api.v1.CallerControllerV1;
 import com.wisehero.caller.api.v1.CircuitTestResponse;
 import com.wisehero.caller.infra.client.CalleeV1Client;
 import com.wisehero.caller.infra.client.HelloResponse;
+import com.wisehero.caller.infra.resilience.AsyncRetrier;
+import com.wisehero.caller.infra.resilience.CalleeBulkheads;
+import com.wisehero.caller.infra.resilience.CancellableCallExecutor;
+import com.wisehero.caller.infra.resilience.Coalesced;
+import com.wisehero.caller.infra.resilience.ConcurrencyLimitExceededException;
+import com.wisehero.caller.infra.resilience.FallbackReporter;
+import com.wisehero.caller.infra.resilience.LastKnownGoodCache;
+import com.wisehero.caller.infra.resilience.RateLimitedException;
+import com.wisehero.caller.infra.resilience.RetryBudgetExhaustedException;
 
-import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,92 +34,352 @@ import lombok.extern.slf4j.Slf4j;
 public class CalleeApiService {
 
 	private final CalleeV1Client calleeV1Client;
+	private final CalleeBulkheads calleeBulkheads;
+	private final CancellableCallExecutor cancellableCallExecutor;
+	private final LastKnownGoodCache lastKnownGood;
+	private final AsyncRetrier asyncRetrier;
+	private final FallbackReporter fallbackReporter;
 
-	@CircuitBreaker(name = "callee-client-v1", fallbackMethod = "circuitTestFallback")
+	@Coalesced
+	@CircuitBreaker(name = "callee-client-v1-hello", fallbackMethod = "helloFallback")
 	public ApiResponse<HelloResponse> callHello() {
 		log.info("Calling hello endpoint");
-		return calleeV1Client.hello();
+		return lastKnownGood.remember("hello", fetchHello());
 	}
 
-	@CircuitBreaker(name = "callee-client-v1", fallbackMethod = "circuitTestFallback")
+	@CircuitBreaker(name = "callee-client-v1-circuitTest", fallbackMethod = "circuitTestFallback")
 	public ApiResponse<CircuitTestResponse> callCircuitTest() {
 		log.info("Calling circuit-test endpoint");
-		return calleeV1Client.circuitTest();
+		return lastKnownGood.remember("circuitTest", fetchCircuitTest());
 	}
 
-	@CircuitBreaker(name = "callee-client-v1", fallbackMethod = "slowFallback")
+	@CircuitBreaker(name = "callee-client-v1-slow", fallbackMethod = "slowFallback")
 	public ApiResponse<String> callSlow() {
 		log.info("Calling slow endpoint");
-		return calleeV1Client.slow();
+		return calleeBulkheads.execute("slow", calleeV1Client::slow);
 	}
 
-	@CircuitBreaker(name = "callee-client-v1", fallbackMethod = "error4xxFallback")
+	@CircuitBreaker(name = "callee-client-v1-error4xx", fallbackMethod = "error4xxFallback")
 	public ApiResponse<Object> call4xxError() {
 		log.info("Calling error 4xx endpoint");
-		return calleeV1Client.error4xx();
+		return calleeBulkheads.execute("error4xx", calleeV1Client::error4xx);
 	}
 
-	@CircuitBreaker(name = "callee-client-v1", fallbackMethod = "error500Fallback")
-	@Retry(name = "callee-client-v1")
+	@CircuitBreaker(name = "callee-client-v1-error500", fallbackMethod = "error500Fallback")
+	@Retry(name = "callee-client-v1-error500")
 	public ApiResponse<Object> call500Error() {
 		log.info("Calling error 500 endpoint");
-		return calleeV1Client.error500();
+		return calleeBulkheads.execute("error500", calleeV1Client::error500);
 	}
 
-	@CircuitBreaker(name = "callee-client-v1")
-	@Retry(name = "callee-client-v1")
+	@CircuitBreaker(name = "callee-client-v1-error503", fallbackMethod = "error503BulkheadFallback")
+	@Retry(name = "callee-client-v1-error503", fallbackMethod = "error503RetryBudgetFallback")
 	public ApiResponse<Object> call503Error() {
 		log.info("Calling error 503 endpoint");
-		return calleeV1Client.error503();
+		return calleeBulkheads.execute("error503", calleeV1Client::error503);
 	}
 
-	private ApiResponse<HelloResponse> helloFallback(Exception e) {
-		log.error("⚠️ Hello Fallback - Reason: {}", e.getMessage());
-		HelloResponse fallbackResponse = new HelloResponse(
-			"Fallback: Service unavailable",
-			System.currentTimeMillis()
-		);
-		return ApiResponse.success(fallbackResponse);
+	/*
+	 * ========== 비동기 + TimeLimiter 버전 ==========
+	 *
+	 * - 메서드별 TimeLimiter("callee-client-v1-{메서드명}")의 timeoutDuration 이 Feign read-timeout(3s)보다 짧다.
+	 *   따라서 응답 지연의 상한은 소켓 설정이 아니라 TimeLimiter 정책이 결정한다.
+	 * - 타임아웃이 나면 CancellableCallExecutor 가 Feign 호출 스레드를 interrupt 해서 HTTP 교환 자체를 끊는다.
+	 * - TimeoutException 은 CircuitBreaker 에 실패로 기록되고 각 fallback 으로 처리된다.
+	 * - 500/503 은 @Retry 대신 AsyncRetrier 로 재시도한다. 백오프 동안 스레드를 붙잡지 않고,
+	 *   재시도까지 포함한 전체가 TimeLimiter 안에서 CircuitBreaker 호출 한 번으로 집계된다.
+	 */
+
+	@Coalesced
+	@CircuitBreaker(name = "callee-client-v1-hello", fallbackMethod = "helloAsyncFallback")
+	@TimeLimiter(name = "callee-client-v1-hello")
+	public CompletableFuture<ApiResponse<HelloResponse>> callHelloAsync() {
+		log.info("Calling hello endpoint (async)");
+		// remember 를 thenApply 로 붙이면 TimeLimiter 가 받는 future 가 바뀌어 cancel 이 실제 호출까지 닿지 않는다.
+		return cancellableCallExecutor.submit(() -> lastKnownGood.remember("hello",
+			calleeBulkheads.executeInPlace("hello", calleeV1Client::hello)));
 	}
 
-	private ApiResponse<CircuitTestResponse> circuitTestFallback(Exception e) {
-		log.error("⚠️ Circuit Test Fallback - Reason: {}", e.getMessage());
+	@CircuitBreaker(name = "callee-client-v1-circuitTest", fallbackMethod = "circuitTestAsyncFallback")
+	@TimeLimiter(name = "callee-client-v1-circuitTest")
+	public CompletableFuture<ApiResponse<CircuitTestResponse>> callCircuitTestAsync() {
+		log.info("Calling circuit-test endpoint (async)");
+		return cancellableCallExecutor.submit(() -> lastKnownGood.remember("circuitTest",
+			calleeBulkheads.executeInPlace("circuitTest", calleeV1Client::circuitTest)));
+	}
+
+	@CircuitBreaker(name = "callee-client-v1-slow", fallbackMethod = "slowAsyncFallback")
+	@TimeLimiter(name = "callee-client-v1-slow")
+	public CompletableFuture<ApiResponse<String>> callSlowAsync() {
+		log.info("Calling slow endpoint (async)");
+		return cancellableCallExecutor.submit(() -> calleeBulkheads.executeInPlace("slow", calleeV1Client::slow));
+	}
+
+	@CircuitBreaker(name = "callee-client-v1-error4xx", fallbackMethod = "error4xxAsyncFallback")
+	@TimeLimiter(name = "callee-client-v1-error4xx")
+	public CompletableFuture<ApiResponse<Object>> call4xxErrorAsync() {
+		log.info("Calling error 4xx endpoint (async)");
+		return cancellableCallExecutor.submit(
+			() -> calleeBulkheads.executeInPlace("error4xx", calleeV1Client::error4xx));
+	}
 
-		// Circuit이 OPEN 상태인지 확인
-		if (e instanceof CallNotPermittedException) {
-			log.error("🔴 Circuit is OPEN - Call not permitted!");
+	@CircuitBreaker(name = "callee-client-v1-error500", fallbackMethod = "error500AsyncFallback")
+	@TimeLimiter(name = "callee-client-v1-error500")
+	public CompletableFuture<ApiResponse<Object>> call500ErrorAsync() {
+		log.info("Calling error 500 endpoint (async)");
+		return asyncRetrier.execute("error500", () -> cancellableCallExecutor.submit(
+			() -> calleeBulkheads.executeInPlace("error500", calleeV1Client::error500)));
+	}
+
+	@CircuitBreaker(name = "callee-client-v1-error503", fallbackMethod = "error503AsyncFallback")
+	@TimeLimiter(name = "callee-client-v1-error503")
+	public CompletableFuture<ApiResponse<Object>> call503ErrorAsync() {
+		log.info("Calling error 503 endpoint (async)");
+		return asyncRetrier.execute("error503", () -> cancellableCallExecutor.submit(
+			() -> calleeBulkheads.executeInPlace("error503", calleeV1Client::error503)));
+	}
+
+	/*
+	 * ========== Fallback ==========
+	 *
+	 * 서킷이 OPEN 이면 모든 요청이 여기로 오므로 fallback 은 서비스에서 가장 싼 경로여야 한다.
+	 * - 응답은 미리 만들어 둔 상수를 돌려준다. (합성 응답의 timestamp 는 -1)
+	 *   상수는 CannedResponses 에 등록해서 직렬화 결과도 시작할 때 한 번만 만든다.
+	 * - 건마다 로그를 찍지 않고 FallbackReporter 에 넘긴다. 카운터를 올리고 주기적으로 "N건" 으로 묶어서 남긴다.
+	 * - hello / circuitTest 는 먼저 마지막 정상 응답(LastKnownGoodCache)을 찾고, 없을 때만 합성 응답을 쓴다.
+	 *   재검증에는 아래 fetch* 를 쓴다.
+	 *
+	 * resilience4j 는 같은 이름의 fallback 메서드 중 예외 타입이 가장 가까운 메서드를 고른다.
+	 * BulkheadFullException / ConcurrencyLimitExceededException 은 callee 장애가 아니므로
+	 * Circuit 실패나 재시도 대상으로도 집계하지 않는다. (application.yml ignore-exceptions, ResilienceRetryConfig)
+	 */
+
+	private static final ApiResponse<HelloResponse> HELLO_UNAVAILABLE = CannedResponses.register(
+		ApiResponse.success(new HelloResponse("Fallback: Service unavailable", -1)));
+	private static final ApiResponse<HelloResponse> HELLO_BULKHEAD_FULL = CannedResponses.register(
+		ApiResponse.success(new HelloResponse("Fallback: Too many concurrent requests", -1)));
+	private static final ApiResponse<HelloResponse> HELLO_OVERLOADED = CannedResponses.register(
+		ApiResponse.success(new HelloResponse("Fallback: Callee is overloaded", -1)));
+
+	private static final ApiResponse<CircuitTestResponse> CIRCUIT_TEST_BULKHEAD_FULL = CannedResponses.register(
+		ApiResponse.success(new CircuitTestResponse(-1, -1, "Fallback: Too many concurrent requests", -1)));
+	private static final ApiResponse<CircuitTestResponse> CIRCUIT_TEST_OVERLOADED = CannedResponses.register(
+		ApiResponse.success(new CircuitTestResponse(-1, -1, "Fallback: Callee is overloaded", -1)));
+	// 일반 예외는 "Fallback: {예외 클래스}" 로 응답한다. 예외 클래스마다 한 번만 만든다.
+	private static final ClassValue<ApiResponse<CircuitTestResponse>> CIRCUIT_TEST_ERRORS = new ClassValue<>() {
+		@Override
+		protected ApiResponse<CircuitTestResponse> computeValue(Class<?> type) {
+			return CannedResponses.register(
+				ApiResponse.success(new CircuitTestResponse(-1, -1, "Fallback: " + type.getSimpleName(), -1)));
 		}
+	};
+
+	private static final ApiResponse<String> SLOW_TIMEOUT = CannedResponses.register(
+		ApiResponse.success("Fallback: Request timeout"));
+	private static final ApiResponse<String> SLOW_BULKHEAD_FULL = CannedResponses.register(
+		ApiResponse.success("Fallback: Too many concurrent requests"));
+	private static final ApiResponse<String> SLOW_OVERLOADED = CannedResponses.register(
+		ApiResponse.success("Fallback: Callee is overloaded"));
+
+	private static final ApiResponse<Object> CLIENT_ERROR = CannedResponses.register(
+		ApiResponse.success("Fallback: Client error"));
+	private static final ApiResponse<Object> SERVER_ERROR = CannedResponses.register(
+		ApiResponse.success("Fallback: Server error"));
+	private static final ApiResponse<Object> SERVICE_UNAVAILABLE = CannedResponses.register(
+		ApiResponse.success("Fallback: Service Unavailable"));
+	private static final ApiResponse<Object> BULKHEAD_FULL = CannedResponses.register(
+		ApiResponse.success("Fallback: Too many concurrent requests"));
+	private static final ApiResponse<Object> OVERLOADED = CannedResponses.register(
+		ApiResponse.success("Fallback: Callee is overloaded"));
+	private static final ApiResponse<Object> RETRY_BUDGET_EXHAUSTED = CannedResponses.register(
+		ApiResponse.success("Fallback: Retry budget exhausted"));
+	private static final ApiResponse<Object> RATE_LIMITED = CannedResponses.register(
+		ApiResponse.success("Fallback: Callee rate limit exceeded"));
+
+	// fallback 마다 메서드 참조를 새로 만들지 않도록 한 번만 만들어 둔다.
+	private final Supplier<ApiResponse<HelloResponse>> helloLoader = this::fetchHello;
+	private final Supplier<ApiResponse<CircuitTestResponse>> circuitTestLoader = this::fetchCircuitTest;
 
-		CircuitTestResponse fallbackResponse = new CircuitTestResponse(
-			-1,
-			-1,
-			"Fallback: " + e.getClass().getSimpleName(),
-			System.currentTimeMillis()
-		);
-		return ApiResponse.success(fallbackResponse);
+	private ApiResponse<HelloResponse> fetchHello() {
+		return calleeBulkheads.execute("hello", calleeV1Client::hello);
+	}
+
+	private ApiResponse<CircuitTestResponse> fetchCircuitTest() {
+		return calleeBulkheads.execute("circuitTest", calleeV1Client::circuitTest);
+	}
+
+	private ApiResponse<HelloResponse> helloFallback(Exception e) {
+		fallbackReporter.report("hello", e);
+		return lastKnownGood.serveStale("hello", e, helloLoader, HELLO_UNAVAILABLE);
+	}
+
+	private ApiResponse<CircuitTestResponse> circuitTestFallback(Exception e) {
+		fallbackReporter.report("circuitTest", e);
+		return lastKnownGood.serveStale("circuitTest", e, circuitTestLoader, CIRCUIT_TEST_ERRORS.get(e.getClass()));
 	}
 
 	private ApiResponse<String> slowFallback(Exception e) {
-		log.error("⚠️ Slow Fallback - ErrorName: {} Reason: {}", e.getClass().getSimpleName(), e.getMessage());
-		return ApiResponse.success("Fallback: Request timeout");
+		fallbackReporter.report("slow", e);
+		return SLOW_TIMEOUT;
 	}
 
 	private ApiResponse<Object> error4xxFallback(Exception e) {
-		log.error("⚠️ 4xx Error Fallback - ErrorName : {} Reason: {}", e.getClass().getSimpleName(), e.getMessage());
-		return ApiResponse.success("Fallback: Client error");
+		fallbackReporter.report("error4xx", e);
+		return CLIENT_ERROR;
 	}
 
 	private ApiResponse<Object> error500Fallback(Exception e) {
-		log.error("⚠️ 5xx Error Fallback -ErrorName : {} Reason: {}", e.getClass().getSimpleName(), e.getMessage());
-		return ApiResponse.success("Fallback: Server error");
+		fallbackReporter.report("error500", e);
+		return SERVER_ERROR;
 	}
 
-	// Fallback 메서드
 	private ApiResponse<Object> error503Fallback(Exception e) {
-		log.error("⚠️ 503 Error Fallback - Full Exception Class: {}",
-			e.getClass().getName());  // 전체 클래스 이름 출력
-		log.error("⚠️ 503 Error Fallback - ErrorName: {} Reason: {}",
-			e.getClass().getSimpleName(), e.getMessage());
-		return ApiResponse.success("Fallback: Service Unavailable");
+		fallbackReporter.report("error503", e);
+		return SERVICE_UNAVAILABLE;
+	}
+
+	/*
+	 * ========== Bulkhead 거절 Fallback ==========
+	 */
+
+	private ApiResponse<HelloResponse> helloFallback(BulkheadFullException e) {
+		fallbackReporter.report("hello", e);
+		return lastKnownGood.serveStale("hello", e, helloLoader, HELLO_BULKHEAD_FULL);
+	}
+
+	private ApiResponse<CircuitTestResponse> circuitTestFallback(BulkheadFullException e) {
+		fallbackReporter.report("circuitTest", e);
+		return lastKnownGood.serveStale("circuitTest", e, circuitTestLoader, CIRCUIT_TEST_BULKHEAD_FULL);
+	}
+
+	private ApiResponse<String> slowFallback(BulkheadFullException e) {
+		fallbackReporter.report("slow", e);
+		return SLOW_BULKHEAD_FULL;
+	}
+
+	private ApiResponse<Object> error4xxFallback(BulkheadFullException e) {
+		fallbackReporter.report("error4xx", e);
+		return BULKHEAD_FULL;
+	}
+
+	private ApiResponse<Object> error500Fallback(BulkheadFullException e) {
+		fallbackReporter.report("error500", e);
+		return BULKHEAD_FULL;
+	}
+
+	// call503Error 는 재시도 확인용이라 일반 예외 fallback 이 없다. Bulkhead / 동시성 한도 거절만 fallback 처리한다.
+	private ApiResponse<Object> error503BulkheadFallback(BulkheadFullException e) {
+		fallbackReporter.report("error503", e);
+		return BULKHEAD_FULL;
+	}
+
+	/*
+	 * ========== 적응형 동시성 한도 거절 Fallback ==========
+	 *
+	 * ConcurrencyLimitClient 가 callee 지연 증가를 감지하고 한도를 줄이면 그 초과분이 여기로 온다.
+	 */
+
+	private ApiResponse<HelloResponse> helloFallback(ConcurrencyLimitExceededException e) {
+		fallbackReporter.report("hello", e);
+		return lastKnownGood.serveStale("hello", e, helloLoader, HELLO_OVERLOADED);
+	}
+
+	private ApiResponse<CircuitTestResponse> circuitTestFallback(ConcurrencyLimitExceededException e) {
+		fallbackReporter.report("circuitTest", e);
+		return lastKnownGood.serveStale("circuitTest", e, circuitTestLoader, CIRCUIT_TEST_OVERLOADED);
+	}
+
+	private ApiResponse<String> slowFallback(ConcurrencyLimitExceededException e) {
+		fallbackReporter.report("slow", e);
+		return SLOW_OVERLOADED;
+	}
+
+	private ApiResponse<Object> error4xxFallback(ConcurrencyLimitExceededException e) {
+		fallbackReporter.report("error4xx", e);
+		return OVERLOADED;
+	}
+
+	private ApiResponse<Object> error500Fallback(ConcurrencyLimitExceededException e) {
+		fallbackReporter.report("error500", e);
+		return OVERLOADED;
+	}
+
+	private ApiResponse<Object> error503BulkheadFallback(ConcurrencyLimitExceededException e) {
+		fallbackReporter.report("error503", e);
+		return OVERLOADED;
+	}
+
+	/*
+	 * ========== 재시도 예산 소진 Fallback ==========
+	 *
+	 * RetryBudget 이 바닥나면 재시도하지 않고 RetryBudgetExhaustedException 으로 끝난다. (ResilienceRetryConfig)
+	 * @Retry 의 fallback 이라 이 예외만 처리하고, 그 밖의 예외는 그대로 던져진다.
+	 * call500Error 는 CircuitBreaker fallback 이 먼저 응답을 만들어서 Retry 까지 예외가 오지 않으므로 해당 없다.
+	 * callee 의 429 는 Retry-After 만큼 기다리며 재시도하고, 그래도 한도에 걸리면 여기서 끝낸다.
+	 */
+
+	private ApiResponse<Object> error503RetryBudgetFallback(RetryBudgetExhaustedException e) {
+		fallbackReporter.report("error503", e);
+		return RETRY_BUDGET_EXHAUSTED;
+	}
+
+	private ApiResponse<Object> error503RetryBudgetFallback(RateLimitedException e) {
+		fallbackReporter.report("error503", e);
+		return RATE_LIMITED;
+	}
+
+	/*
+	 * ========== 비동기 Fallback ==========
+	 * 동기 fallback 결과를 그대로 감싸서 돌려준다.
+	 */
+
+	private CompletableFuture<ApiResponse<HelloResponse>> helloAsyncFallback(Exception e) {
+		return CompletableFuture.completedFuture(switch (e) {
+			case BulkheadFullException full -> helloFallback(full);
+			case ConcurrencyLimitExceededException limited -> helloFallback(limited);
+			default -> helloFallback(e);
+		});
+	}
+
+	private CompletableFuture<ApiResponse<CircuitTestResponse>> circuitTestAsyncFallback(Exception e) {
+		return CompletableFuture.completedFuture(switch (e) {
+			case BulkheadFullException full -> circuitTestFallback(full);
+			case ConcurrencyLimitExceededException limited -> circuitTestFallback(limited);
+			default -> circuitTestFallback(e);
+		});
+	}
+
+	private CompletableFuture<ApiResponse<String>> slowAsyncFallback(Exception e) {
+		return CompletableFuture.completedFuture(switch (e) {
+			case BulkheadFullException full -> slowFallback(full);
+			case ConcurrencyLimitExceededException limited -> slowFallback(limited);
+			default -> slowFallback(e);
+		});
+	}
+
+	private CompletableFuture<ApiResponse<Object>> error4xxAsyncFallback(Exception e) {
+		return CompletableFuture.completedFuture(switch (e) {
+			case BulkheadFullException full -> error4xxFallback(full);
+			case ConcurrencyLimitExceededException limited -> error4xxFallback(limited);
+			default -> error4xxFallback(e);
+		});
+	}
+
+	private CompletableFuture<ApiResponse<Object>> error500AsyncFallback(Exception e) {
+		return CompletableFuture.completedFuture(switch (e) {
+			case BulkheadFullException full -> error500Fallback(full);
+			case ConcurrencyLimitExceededException limited -> error500Fallback(limited);
+			default -> error500Fallback(e);
+		});
+	}
+
+	private CompletableFuture<ApiResponse<Object>> error503AsyncFallback(Exception e) {
+		return CompletableFuture.completedFuture(switch (e) {
+			case BulkheadFullException full -> error503BulkheadFallback(full);
+			case ConcurrencyLimitExceededException limited -> error503BulkheadFallback(limited);
+			case RetryBudgetExhaustedException exhausted -> error503RetryBudgetFallback(exhausted);
+			case RateLimitedException rateLimited -> error503RetryBudgetFallback(rateLimited);
+			default -> error503Fallback(e);
+		});
 	}
 }
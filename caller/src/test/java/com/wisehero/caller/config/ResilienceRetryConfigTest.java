@@ -0,0 +1,73 @@
+package com.wisehero.caller.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.infra.resilience.ConcurrencyLimitExceededException;
+import com.wisehero.caller.infra.resilience.RateLimitedException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.core.functions.Either;
+import io.github.resilience4j.retry.RetryConfig;
+
+class ResilienceRetryConfigTest {
+
+	/** yml 의 instances."callee-client-v1-{메서드명}" 에서 온 설정이라고 보고 값이 그대로 남는지 본다. */
+	private static final RetryConfig FROM_YML = RetryConfig.custom()
+		.maxAttempts(5)
+		.intervalFunction(IntervalFunction.ofExponentialBackoff(100, 2.0))
+		.ignoreExceptions(IllegalArgumentException.class)
+		.build();
+	private static final Duration READ_TIMEOUT = Duration.ofSeconds(3);
+
+	@Test
+	void keepsTheBaseConfigValues() {
+		RetryConfig config = ResilienceRetryConfig.withCalleeRules(FROM_YML, READ_TIMEOUT);
+
+		assertThat(config.getMaxAttempts()).isEqualTo(5);
+		assertThat(config.getExceptionPredicate().test(new IOException("boom"))).isTrue();
+		assertThat(config.getExceptionPredicate().test(new IllegalArgumentException())).isFalse();
+		assertThat(interval(config, 3, new IOException("boom"))).isEqualTo(400);
+	}
+
+	@Test
+	void doesNotRetrySheddingRejections() {
+		RetryConfig config = ResilienceRetryConfig.withCalleeRules(FROM_YML, READ_TIMEOUT);
+
+		assertThat(config.getExceptionPredicate()
+			.test(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("slow")))).isFalse();
+		assertThat(config.getExceptionPredicate().test(new ConcurrencyLimitExceededException("slow", 1))).isFalse();
+	}
+
+	@Test
+	void waitsAtLeastRetryAfterOnTopOfTheBaseInterval() {
+		RetryConfig config = ResilienceRetryConfig.withCalleeRules(FROM_YML, READ_TIMEOUT);
+
+		assertThat(interval(config, 1, new RateLimitedException("hello", Duration.ofSeconds(2)))).isEqualTo(2000);
+		// Retry-After 가 base 간격보다 짧으면 base 간격을 따른다.
+		assertThat(interval(config, 3, new RateLimitedException("hello", Duration.ofMillis(10)))).isEqualTo(400);
+	}
+
+	@Test
+	void failsFastWhenRetryAfterIsLongerThanTheReadTimeout() {
+		RetryConfig config = ResilienceRetryConfig.withCalleeRules(FROM_YML, READ_TIMEOUT);
+
+		// 동기 재시도는 Tomcat 스레드를 붙잡고 기다리므로 read-timeout 보다 오래 기다려야 하면 재시도하지 않는다.
+		assertThat(config.getExceptionPredicate().test(new RateLimitedException("hello", Duration.ofSeconds(3))))
+			.isTrue();
+		assertThat(config.getExceptionPredicate().test(new RateLimitedException("hello", Duration.ofSeconds(10))))
+			.isFalse();
+	}
+
+	private static long interval(RetryConfig config, int attempt, Throwable failure) {
+		IntervalBiFunction<Object> interval = config.getIntervalBiFunction();
+		return interval.apply(attempt, Either.left(failure));
+	}
+}
@@ -0,0 +1,46 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.core.io.ClassPathResource;
+
+class AspectOrderTest {
+
+	@Test
+	void resilience4jAspectOrdersMatchApplicationYml() {
+		YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+		yaml.setResources(new ClassPathResource("application.yml"));
+		Properties properties = yaml.getObject();
+
+		assertThat(order(properties, "resilience4j.retry.retry-aspect-order")).isEqualTo(AspectOrder.RETRY);
+		assertThat(order(properties, "resilience4j.circuitbreaker.circuit-breaker-aspect-order"))
+			.isEqualTo(AspectOrder.CIRCUIT_BREAKER);
+		assertThat(order(properties, "resilience4j.ratelimiter.rate-limiter-aspect-order"))
+			.isEqualTo(AspectOrder.RATE_LIMITER);
+		assertThat(order(properties, "resilience4j.timelimiter.time-limiter-aspect-order"))
+			.isEqualTo(AspectOrder.TIME_LIMITER);
+		// Bulkhead 는 설정할 수 없어서 기본값(LOWEST_PRECEDENCE) 그대로다.
+		assertThat(properties.getProperty("resilience4j.bulkhead.bulkhead-aspect-order")).isNull();
+	}
+
+	@Test
+	void aspectsSitBetweenResilience4jAspectsWithoutSharingAnOrder() {
+		assertThat(OrderUtils.getOrder(CoalescingAspect.class)).isEqualTo(AspectOrder.COALESCING);
+		assertThat(OrderUtils.getOrder(CalleeCallMetricsAspect.class)).isEqualTo(AspectOrder.CALLEE_CALL_METRICS);
+		assertThat(OrderUtils.getOrder(CalleeAttemptAspect.class)).isEqualTo(AspectOrder.CALLEE_ATTEMPT);
+
+		// 값이 같으면 Spring AOP 가 순서를 보장하지 않는다.
+		assertThat(new int[] {AspectOrder.COALESCING, AspectOrder.CALLEE_CALL_METRICS, AspectOrder.RETRY,
+			AspectOrder.CIRCUIT_BREAKER, AspectOrder.CALLEE_ATTEMPT, AspectOrder.RATE_LIMITER, AspectOrder.TIME_LIMITER,
+			AspectOrder.BULKHEAD}).isSorted().doesNotHaveDuplicates();
+	}
+
+	private static int order(Properties properties, String key) {
+		return Integer.parseInt(properties.getProperty(key));
+	}
+}
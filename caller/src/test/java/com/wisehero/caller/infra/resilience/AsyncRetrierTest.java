@@ -0,0 +1,175 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.config.CalleeAsyncRetryProperties;
+import com.wisehero.caller.config.CalleeRetryBudgetProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AsyncRetrierTest {
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private AsyncRetrier retrier;
+
+	@AfterEach
+	void tearDown() {
+		if (retrier != null) {
+			retrier.shutdown();
+		}
+	}
+
+	@Test
+	void jitterStaysBetweenBaseAndThreeTimesPrevious() {
+		retrier = retrier(3, 100, 1_000, unlimited());
+
+		for (int i = 0; i < 1_000; i++) {
+			assertThat(retrier.nextDelay(100)).isBetween(100L, 299L);
+		}
+	}
+
+	@Test
+	void jitterIsCappedAtMaxDelay() {
+		retrier = retrier(3, 100, 1_000, unlimited());
+
+		long largest = 0;
+		for (int i = 0; i < 1_000; i++) {
+			long delay = retrier.nextDelay(900);
+			assertThat(delay).isBetween(100L, 1_000L);
+			largest = Math.max(largest, delay);
+		}
+		// random(100, 2700) 의 2/3 가까이가 max-delay 로 잘린다.
+		assertThat(largest).isEqualTo(1_000L);
+	}
+
+	@Test
+	void jitterSpreadsRetries() {
+		retrier = retrier(3, 100, 1_000, unlimited());
+
+		long distinct = LongStream.range(0, 100)
+			.map(i -> retrier.nextDelay(300))
+			.distinct()
+			.count();
+		assertThat(distinct).isGreaterThan(1);
+	}
+
+	@Test
+	void retriesUntilSuccess() throws Exception {
+		retrier = retrier(3, 1, 5, unlimited());
+
+		String result = retrier.execute("test", () -> calls.incrementAndGet() < 3
+			? CompletableFuture.failedFuture(new IOException("boom"))
+			: CompletableFuture.completedFuture("ok")).get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo("ok");
+		assertThat(calls).hasValue(3);
+	}
+
+	@Test
+	void givesUpAfterMaxAttemptsWithLastFailure() {
+		retrier = retrier(3, 1, 5, unlimited());
+
+		CompletableFuture<String> result = retrier.execute("test", this::alwaysFails);
+
+		assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class)
+			.hasCauseInstanceOf(IOException.class);
+		assertThat(calls).hasValue(3);
+	}
+
+	@Test
+	void doesNotRetryShedCalls() {
+		retrier = retrier(3, 1, 5, unlimited());
+
+		CompletableFuture<String> result = retrier.execute("test", () -> {
+			calls.incrementAndGet();
+			return CompletableFuture.failedFuture(new ConcurrencyLimitExceededException("test", 1));
+		});
+
+		assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+			.hasCauseInstanceOf(ConcurrencyLimitExceededException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void exhaustedBudgetEndsWithNamedException() {
+		retrier = retrier(3, 1, 5, budget(0));
+
+		CompletableFuture<String> result = retrier.execute("callee-client-v1-error503", this::alwaysFails);
+
+		assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+			.cause()
+			.isInstanceOf(RetryBudgetExhaustedException.class)
+			.hasMessageContaining("callee-client-v1-error503")
+			.hasCauseInstanceOf(IOException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void waitsAtLeastRetryAfter() throws Exception {
+		retrier = retrier(2, 1, 5, unlimited());
+		AtomicLong failedAt = new AtomicLong();
+		AtomicLong retriedAt = new AtomicLong();
+
+		String result = retrier.execute("test", () -> {
+			if (calls.incrementAndGet() == 1) {
+				failedAt.set(System.nanoTime());
+				return CompletableFuture.failedFuture(new RateLimitedException("error503", Duration.ofMillis(200)));
+			}
+			retriedAt.set(System.nanoTime());
+			return CompletableFuture.completedFuture("ok");
+		}).get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo("ok");
+		// max-delay 5ms 보다 Retry-After 200ms 가 우선한다.
+		assertThat(retriedAt.get() - failedAt.get()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+	}
+
+	@Test
+	void cancellingResultStopsRetrying() throws Exception {
+		retrier = retrier(3, 1_000, 1_000, unlimited());
+
+		CompletableFuture<String> result = retrier.execute("test", this::alwaysFails);
+		result.cancel(true);
+
+		Thread.sleep(1_200);
+		assertThat(calls).hasValue(1);
+	}
+
+	private CompletableFuture<String> alwaysFails() {
+		calls.incrementAndGet();
+		return CompletableFuture.failedFuture(new IOException("boom"));
+	}
+
+	private static AsyncRetrier retrier(int maxAttempts, long baseMillis, long maxMillis, RetryBudget budget) {
+		return new AsyncRetrier(new CalleeAsyncRetryProperties(maxAttempts, Duration.ofMillis(baseMillis),
+			Duration.ofMillis(maxMillis)), budget, new SimpleMeterRegistry());
+	}
+
+	private static RetryBudget unlimited() {
+		return new RetryBudget(new CalleeRetryBudgetProperties(false, 0.1, 10, 100), new SimpleMeterRegistry(),
+			() -> 0L);
+	}
+
+	private static RetryBudget budget(int tokens) {
+		RetryBudget budget = new RetryBudget(new CalleeRetryBudgetProperties(true, 0.1, 0.000_001, 1_000),
+			new SimpleMeterRegistry(), () -> 0L);
+		while (budget.balance() > tokens) {
+			budget.tryWithdraw();
+		}
+		return budget;
+	}
+}
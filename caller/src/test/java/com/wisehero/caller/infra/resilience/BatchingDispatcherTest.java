@@ -0,0 +1,168 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.config.CalleeBatchingProperties;
+import com.wisehero.caller.config.CalleeHedgingProperties;
+import com.wisehero.caller.infra.client.BatchItem;
+import com.wisehero.caller.infra.client.BatchItemResult;
+import com.wisehero.caller.infra.client.CalleeV1Client;
+
+import feign.Client;
+import feign.FeignException;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BatchingDispatcherTest {
+
+	private static final String BASE_URL = "http://callee/api/v1/callee";
+	private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS,
+		true);
+	private static final MethodMetadata CIRCUIT_TEST = new SpringMvcContract()
+		.parseAndValidateMetadata(CalleeV1Client.class).stream()
+		.filter(metadata -> metadata.method().getName().equals("circuitTest"))
+		.findFirst()
+		.orElseThrow();
+
+	private final CalleeV1Client calleeV1Client = mock(CalleeV1Client.class);
+	private final Client unbatched = mock(Client.class);
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void perItemFailuresReachTheMethodCircuitBreakerSeparately() throws Exception {
+		when(calleeV1Client.batch(anyList())).thenAnswer(invocation -> {
+			List<BatchItem> items = invocation.getArgument(0);
+			return ApiResponse.success(items.stream().map(this::resultFor).toList());
+		});
+		Client client = dispatcher(batching(Set.of("circuitTest")), hedging(true)).enrich(unbatched);
+		// CalleeApiService 의 메서드별 CircuitBreaker 와 같이 429(RateLimitedException)는 무시한다.
+		CircuitBreaker circuitBreaker = CircuitBreaker.of("callee-client-v1-circuitTest", CircuitBreakerConfig.custom()
+			.ignoreExceptions(RateLimitedException.class)
+			.build());
+		RateLimitErrorDecoder errorDecoder = new RateLimitErrorDecoder();
+
+		Future<Integer> ok = call(client, circuitBreaker, errorDecoder, "ok");
+		Future<Integer> fail = call(client, circuitBreaker, errorDecoder, "fail");
+		Future<Integer> limited = call(client, circuitBreaker, errorDecoder, "limited");
+
+		assertThat(ok.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+		assertThatThrownBy(() -> fail.get(5, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class)
+			.cause().isInstanceOf(FeignException.InternalServerError.class);
+		assertThatThrownBy(() -> limited.get(5, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class)
+			.cause().isInstanceOf(RateLimitedException.class)
+			.extracting(e -> ((RateLimitedException)e).retryAfter()).isEqualTo(Duration.ofMillis(1500));
+
+		verify(calleeV1Client, times(1)).batch(anyList());
+		verifyNoInteractions(unbatched);
+		assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+		assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+		assertThat(circuitBreaker.getMetrics().getNumberOfBufferedCalls()).isEqualTo(2);
+	}
+
+	@Test
+	void requestWithQueryStringIsSentAlone() throws Exception {
+		Request request = request("/circuit-test?verbose=true", "ok");
+		when(unbatched.execute(any(), any())).thenReturn(Response.builder()
+			.request(request)
+			.status(200)
+			.headers(Map.of())
+			.build());
+		Client client = dispatcher(batching(Set.of("circuitTest")), hedging(true)).enrich(unbatched);
+
+		assertThat(client.execute(request, OPTIONS).status()).isEqualTo(200);
+		verify(unbatched).execute(request, OPTIONS);
+		verify(calleeV1Client, never()).batch(anyList());
+	}
+
+	@Test
+	void hedgedMethodCannotBeBatchedWhileHedgingIsOn() {
+		assertThatThrownBy(() -> dispatcher(batching(Set.of("hello", "circuitTest")), hedging(true)))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("hello");
+
+		dispatcher(batching(Set.of("hello", "circuitTest")), hedging(false));
+	}
+
+	private Future<Integer> call(Client client, CircuitBreaker circuitBreaker, RateLimitErrorDecoder errorDecoder,
+		String session) {
+		return callers.submit(() -> circuitBreaker.executeCallable(() -> {
+			Response response = client.execute(request("/circuit-test", session), OPTIONS);
+			if (response.status() >= 400) {
+				throw errorDecoder.decode(CIRCUIT_TEST.configKey(), response);
+			}
+			return response.status();
+		}));
+	}
+
+	private BatchItemResult resultFor(BatchItem item) {
+		assertThat(item.path()).isEqualTo("/circuit-test");
+		return switch (item.session()) {
+			case "ok" -> new BatchItemResult(200, null, objectMapper.valueToTree(ApiResponse.success("ok")));
+			case "fail" -> new BatchItemResult(500, null,
+				objectMapper.valueToTree(ApiResponse.fail("INTERNAL_ERROR", "boom")));
+			default -> new BatchItemResult(429, 1500L,
+				objectMapper.valueToTree(ApiResponse.fail("TOO_MANY_REQUESTS", "slow down")));
+		};
+	}
+
+	private static Request request(String path, String session) {
+		return Request.create(Request.HttpMethod.GET, BASE_URL + path,
+			Map.<String, Collection<String>>of("X-Fault-Session", List.of(session)), null, null,
+			CIRCUIT_TEST.template());
+	}
+
+	@SuppressWarnings("unchecked")
+	private BatchingDispatcher dispatcher(CalleeBatchingProperties batching, CalleeHedgingProperties hedging) {
+		ObjectProvider<CalleeV1Client> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(calleeV1Client);
+		return new BatchingDispatcher(batching, hedging, provider, objectMapper, BASE_URL, new SimpleMeterRegistry());
+	}
+
+	// max-size 3 이므로 세 호출이 모이면 window 를 기다리지 않고 보낸다.
+	private static CalleeBatchingProperties batching(Set<String> methods) {
+		return new CalleeBatchingProperties(true, Duration.ofSeconds(1), 3, methods);
+	}
+
+	private static CalleeHedgingProperties hedging(boolean enabled) {
+		return new CalleeHedgingProperties(enabled, 0, 0, null, 0, 0, null);
+	}
+}
@@ -0,0 +1,89 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.config.CalleeRetryBudgetProperties;
+
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.event.RetryEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BudgetedRetryTest {
+
+	private static final RetryConfig CONFIG = RetryConfig.custom()
+		.maxAttempts(3)
+		.waitDuration(Duration.ofMillis(1))
+		.build();
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	void retriesWhileBudgetLasts() throws Throwable {
+		Retry retry = new BudgetedRetry(Retry.of("callee-client-v1-error503", CONFIG), budget(10));
+
+		String result = retry.executeCheckedSupplier(() -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new IOException("boom");
+			}
+			return "ok";
+		});
+
+		assertThat(result).isEqualTo("ok");
+		assertThat(calls).hasValue(3);
+		assertThat(retry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt()).isEqualTo(1);
+	}
+
+	@Test
+	void exhaustedBudgetEndsWithNamedExceptionAndIsCountedAsFailure() {
+		Retry retry = new BudgetedRetry(Retry.of("callee-client-v1-error503", CONFIG), budget(1));
+		List<RetryEvent> events = new ArrayList<>();
+		retry.getEventPublisher().onEvent(events::add);
+
+		assertThatThrownBy(() -> retry.executeCheckedSupplier(() -> {
+			calls.incrementAndGet();
+			throw new IOException("boom");
+		}))
+			.isInstanceOf(RetryBudgetExhaustedException.class)
+			.hasMessageContaining("callee-client-v1-error503")
+			.hasCauseInstanceOf(IOException.class);
+
+		// 토큰 1개로 한 번만 재시도했다.
+		assertThat(calls).hasValue(2);
+		assertThat(retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt()).isEqualTo(1);
+		assertThat(events).extracting(RetryEvent::getEventType)
+			.containsExactly(RetryEvent.Type.RETRY, RetryEvent.Type.ERROR);
+	}
+
+	@Test
+	void exhaustedBeforeAnyRetryIsCountedWithoutRetryAttempt() {
+		Retry retry = new BudgetedRetry(Retry.of("callee-client-v1-error500", CONFIG), budget(0));
+
+		assertThatThrownBy(() -> retry.executeCheckedSupplier(() -> {
+			calls.incrementAndGet();
+			throw new IOException("boom");
+		})).isInstanceOf(RetryBudgetExhaustedException.class);
+
+		assertThat(calls).hasValue(1);
+		assertThat(retry.getMetrics().getNumberOfFailedCallsWithoutRetryAttempt()).isEqualTo(1);
+	}
+
+	private static RetryBudget budget(int tokens) {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RetryBudget budget = new RetryBudget(new CalleeRetryBudgetProperties(true, 0.1, 0.000_001, 1_000),
+			meterRegistry, () -> 0L);
+		while (budget.balance() > tokens) {
+			budget.tryWithdraw();
+		}
+		return budget;
+	}
+}
@@ -0,0 +1,122 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.config.CalleeEventRingProperties;
+import com.wisehero.caller.infra.resilience.CalleeCall.Outcome;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+class CalleeEventRingTest {
+
+	@Test
+	void capacityIsRoundedUpToPowerOfTwo() {
+		assertThat(new CalleeEventRing(new CalleeEventRingProperties(1000)).capacity()).isEqualTo(1024);
+		assertThat(new CalleeEventRing(new CalleeEventRingProperties(1024)).capacity()).isEqualTo(1024);
+	}
+
+	@Test
+	void recentReturnsNewestFirstUpToLimit() {
+		CalleeEventRing ring = new CalleeEventRing(new CalleeEventRingProperties(4));
+		for (int i = 1; i <= 6; i++) {
+			ring.record("m" + i, false, CircuitBreaker.State.CLOSED, true, Outcome.SUCCESS, i, i, null);
+		}
+
+		List<CalleeEventRing.Event> events = ring.recent(event -> true, 10);
+
+		// 4칸이라 가장 오래된 두 건은 덮어쓰였다.
+		assertThat(events).extracting(CalleeEventRing.Event::method).containsExactly("m6", "m5", "m4", "m3");
+		assertThat(ring.recent(event -> event.attempts() % 2 == 0, 1))
+			.extracting(CalleeEventRing.Event::method).containsExactly("m6");
+	}
+
+	@Test
+	void permittedIsRecordedApartFromAttempts() {
+		CalleeEventRing ring = new CalleeEventRing(new CalleeEventRingProperties(4));
+		ring.record("bulkhead", false, CircuitBreaker.State.CLOSED, true, Outcome.REJECTED, 0, 1, null);
+		ring.record("open", false, CircuitBreaker.State.OPEN, false, Outcome.REJECTED, 0, 1, null);
+
+		assertThat(ring.recent(event -> true, 2))
+			.extracting(CalleeEventRing.Event::method, CalleeEventRing.Event::permitted)
+			.containsExactly(tuple("open", false), tuple("bulkhead", true));
+	}
+
+	/**
+	 * 작은 링을 계속 덮어쓰는 동안 읽은 기록은 모두 한 번의 record 로 쓴 값이어야 한다.
+	 * 각 기록은 method / attempts / latency / failure 가 같은 번호에서 나오므로 섞이면 바로 드러난다.
+	 * 쓰는 스레드가 한 바퀴 뒤처져 같은 슬롯을 동시에 쓰는 경우는 seqlock 이 다루지 않으므로 쓰는 스레드는 하나만 둔다.
+	 */
+	@Test
+	void concurrentReadersNeverSeeTornRecords() throws Exception {
+		CalleeEventRing ring = new CalleeEventRing(new CalleeEventRingProperties(8));
+		int writers = 1;
+		int readers = 3;
+		AtomicBoolean running = new AtomicBoolean(true);
+		Queue<String> torn = new ConcurrentLinkedQueue<>();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+		try {
+			for (int w = 0; w < writers; w++) {
+				int writer = w;
+				executor.execute(() -> {
+					await(start);
+					for (int i = 0; running.get(); i++) {
+						int n = writer * 1_000_000 + i % 1_000_000;
+						Throwable failure = n % 2 == 0 ? new IllegalStateException() : new IllegalArgumentException();
+						ring.record("m" + n, n % 2 == 0, CircuitBreaker.State.CLOSED, true, Outcome.SUCCESS, n,
+							n * 1_000_000L, failure);
+					}
+				});
+			}
+			for (int r = 0; r < readers; r++) {
+				executor.execute(() -> {
+					await(start);
+					while (running.get()) {
+						for (CalleeEventRing.Event event : ring.recent(e -> true, 8)) {
+							if (!isConsistent(event)) {
+								torn.add(event.toString());
+							}
+						}
+					}
+				});
+			}
+			start.countDown();
+			TimeUnit.MILLISECONDS.sleep(500);
+		} finally {
+			running.set(false);
+			executor.shutdown();
+			assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		}
+
+		assertThat(torn).isEmpty();
+	}
+
+	private static boolean isConsistent(CalleeEventRing.Event event) {
+		int n = event.attempts();
+		String expectedFailure = n % 2 == 0 ? "IllegalStateException" : "IllegalArgumentException";
+		return event.method().equals("m" + n)
+			&& event.call().equals(n % 2 == 0 ? "async" : "sync")
+			&& event.latencyMillis() == n
+			&& expectedFailure.equals(event.failure());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
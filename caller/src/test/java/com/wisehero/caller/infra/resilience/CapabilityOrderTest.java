@@ -0,0 +1,87 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.core.annotation.OrderUtils;
+
+import com.wisehero.caller.infra.client.CalleeV1Client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CapabilityOrderTest {
+
+	private static final List<MethodMetadata> METADATA = new SpringMvcContract()
+		.parseAndValidateMetadata(CalleeV1Client.class);
+
+	@Test
+	void capabilitiesWrapFromTheHttpCallOutwards() {
+		List<Class<?>> sorted = List.<Class<?>>of(RetryBudgetCapability.class, RateLimitGateCapability.class,
+				MethodReadTimeoutCapability.class, BatchingDispatcher.class, HedgingCapability.class,
+				ConcurrencyLimitCapability.class).stream()
+			.sorted(Comparator.comparingInt(type -> OrderUtils.getOrder(type, Integer.MAX_VALUE)))
+			.toList();
+
+		// OpenFeign 은 @Order 순으로 붙이고 먼저 붙인 것이 가장 안쪽이 된다.
+		assertThat(sorted).containsExactly(ConcurrencyLimitCapability.class, HedgingCapability.class,
+			BatchingDispatcher.class, MethodReadTimeoutCapability.class, RateLimitGateCapability.class,
+			RetryBudgetCapability.class);
+	}
+
+	@Test
+	void batchCallDoesNotDepositRetryBudget() throws Exception {
+		RetryBudget retryBudget = mock(RetryBudget.class);
+		Client client = new RetryBudgetCapability(retryBudget).enrich(respondingWith(200, new AtomicInteger()));
+
+		client.execute(request("batch"), new Request.Options());
+		verify(retryBudget, never()).deposit();
+
+		client.execute(request("circuitTest"), new Request.Options());
+		verify(retryBudget, times(1)).deposit();
+	}
+
+	@Test
+	void batchCallBypassesTheRateLimitGate() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		Client client = new RateLimitGateCapability(new SimpleMeterRegistry()).enrich(respondingWith(429, calls));
+
+		client.execute(request("batch"), new Request.Options());
+		client.execute(request("batch"), new Request.Options());
+
+		assertThat(calls).hasValue(2);
+	}
+
+	private static Client respondingWith(int status, AtomicInteger calls) {
+		return (request, options) -> {
+			calls.incrementAndGet();
+			return Response.builder()
+				.request(request)
+				.status(status)
+				.headers(Map.of("Retry-After", List.of("10")))
+				.build();
+		};
+	}
+
+	private static Request request(String method) {
+		MethodMetadata metadata = METADATA.stream()
+			.filter(candidate -> candidate.method().getName().equals(method))
+			.findFirst()
+			.orElseThrow();
+		return Request.create(Request.HttpMethod.GET, "http://callee/api/v1/callee/" + method, Map.of(), null, null,
+			metadata.template());
+	}
+}
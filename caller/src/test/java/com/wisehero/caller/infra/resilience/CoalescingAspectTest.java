@@ -0,0 +1,128 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingAspectTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.ofDefaults();
+	private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+	// CGLIB 프록시의 필드는 비어 있으므로 상태는 target 에서 읽는다.
+	private final SlowService target = new SlowService();
+	private final SlowService service = proxy(target);
+
+	@AfterEach
+	void tearDown() {
+		target.release.countDown();
+		callers.shutdownNow();
+	}
+
+	@Test
+	void followerSharesTheLeaderResult() throws Exception {
+		timeLimiterRegistry.timeLimiter("patient", TimeLimiterConfig.custom()
+			.timeoutDuration(Duration.ofSeconds(5))
+			.build());
+
+		Future<String> leader = callers.submit(service::patient);
+		awaitExecutions(1);
+		Future<String> follower = callers.submit(service::patient);
+		awaitCalls("patient", "follower", 1);
+		target.release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+		assertThat(target.executions.get()).isEqualTo(1);
+	}
+
+	@Test
+	void followerRunsOnItsOwnAfterTheMethodTimeout() throws Exception {
+		timeLimiterRegistry.timeLimiter("quick", TimeLimiterConfig.custom()
+			.timeoutDuration(Duration.ofMillis(100))
+			.build());
+
+		Future<String> leader = callers.submit(service::quick);
+		awaitExecutions(1);
+
+		// leader 는 아직 끝나지 않았지만 100ms 뒤 직접 실행해서 돌아온다.
+		long started = System.nanoTime();
+		assertThat(service.quick()).isEqualTo("own");
+		assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+		assertThat(target.executions.get()).isEqualTo(2);
+		assertThat(meterRegistry.counter("callee.coalescing.calls", "method", "quick", "role", "timed-out").count())
+			.isEqualTo(1);
+
+		target.release.countDown();
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+	}
+
+	private void awaitExecutions(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (target.executions.get() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertThat(target.executions.get()).isEqualTo(expected);
+	}
+
+	private void awaitCalls(String method, String role, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (calls(method, role) < expected && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertThat(calls(method, role)).isEqualTo(expected);
+	}
+
+	private double calls(String method, String role) {
+		return meterRegistry.counter("callee.coalescing.calls", "method", method, "role", role).count();
+	}
+
+	private SlowService proxy(SlowService target) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new CoalescingAspect(meterRegistry, timeLimiterRegistry));
+		return factory.getProxy();
+	}
+
+	// 첫 실행만 release 까지 붙잡고, 그 뒤 실행은 바로 돌아온다.
+	static class SlowService {
+
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger executions = new AtomicInteger();
+
+		@Coalesced
+		@TimeLimiter(name = "patient")
+		public String patient() throws InterruptedException {
+			return execute();
+		}
+
+		@Coalesced
+		@TimeLimiter(name = "quick")
+		public String quick() throws InterruptedException {
+			return execute();
+		}
+
+		private String execute() throws InterruptedException {
+			if (executions.incrementAndGet() == 1) {
+				release.await();
+				return "leader";
+			}
+			return "own";
+		}
+	}
+}
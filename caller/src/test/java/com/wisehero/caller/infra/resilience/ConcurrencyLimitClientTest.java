@@ -0,0 +1,118 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.config.CalleeConcurrencyLimitProperties;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitClientTest {
+
+	// initial 10, backoff 0.5
+	private static final CalleeConcurrencyLimitProperties PROPERTIES = new CalleeConcurrencyLimitProperties(true, 10,
+		1, 20, 3, 6, 0.5, Duration.ofSeconds(30));
+	private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "http://callee/api/v1/callee/hello",
+		Map.of(), null, StandardCharsets.UTF_8, null);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void clearInterrupt() {
+		Thread.interrupted();
+	}
+
+	@Test
+	void readTimeoutBacksOff() throws IOException {
+		Client client = client(afterFirstSuccess(new SocketTimeoutException("Read timed out")));
+		client.execute(REQUEST, new Request.Options());
+
+		assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options()))
+			.isInstanceOf(SocketTimeoutException.class);
+		assertThat(limit()).isEqualTo(5);
+		assertThat(inFlight()).isZero();
+	}
+
+	@Test
+	void interruptedWaitDoesNotBackOff() {
+		Client client = client((request, options) -> {
+			throw new InterruptedIOException("callee 호출 대기 중 interrupt");
+		});
+
+		assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options()))
+			.isInstanceOf(InterruptedIOException.class);
+		assertThat(limit()).isEqualTo(10);
+		assertThat(inFlight()).isZero();
+	}
+
+	@Test
+	void failureOnAnInterruptedThreadDoesNotBackOff() {
+		// hedge 에서 진 쪽이나 TimeLimiter 가 작업 스레드를 interrupt 하면 소켓이 닫히며 IOException 으로 끝난다.
+		Client client = client((request, options) -> {
+			Thread.currentThread().interrupt();
+			throw new IOException("Socket closed");
+		});
+
+		assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options())).isInstanceOf(IOException.class);
+		assertThat(limit()).isEqualTo(10);
+		assertThat(inFlight()).isZero();
+	}
+
+	@Test
+	void cancellationDoesNotBackOff() {
+		Client client = client((request, options) -> {
+			throw new CancellationException();
+		});
+
+		assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options()))
+			.isInstanceOf(CancellationException.class);
+		assertThat(limit()).isEqualTo(10);
+	}
+
+	@Test
+	void connectionFailureBacksOff() throws IOException {
+		Client client = client(afterFirstSuccess(new IOException("Connection refused")));
+		client.execute(REQUEST, new Request.Options());
+
+		assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options())).isInstanceOf(IOException.class);
+		assertThat(limit()).isEqualTo(5);
+	}
+
+	// 첫 응답은 최소 RTT 기준만 잡으므로 한 번 성공시킨 뒤부터 실패시킨다.
+	private static Client afterFirstSuccess(IOException failure) {
+		AtomicInteger calls = new AtomicInteger();
+		return (request, options) -> {
+			if (calls.getAndIncrement() > 0) {
+				throw failure;
+			}
+			return Response.builder().request(request).status(200).headers(Map.of()).build();
+		};
+	}
+
+	private Client client(Client delegate) {
+		return new ConcurrencyLimitClient(delegate, PROPERTIES, meterRegistry);
+	}
+
+	private double limit() {
+		return meterRegistry.get("callee.concurrency.limit").tag("method", "unknown").gauge().value();
+	}
+
+	private double inFlight() {
+		return meterRegistry.get("callee.concurrency.in-flight").tag("method", "unknown").gauge().value();
+	}
+}
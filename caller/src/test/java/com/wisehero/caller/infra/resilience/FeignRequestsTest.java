@@ -0,0 +1,74 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import feign.Request;
+import feign.Response;
+
+class FeignRequestsTest {
+
+	@Test
+	void prefersRetryAfterMillis() {
+		assertThat(FeignRequests.retryAfter(response(Map.of(
+			"retry-after-ms", List.of("1500"),
+			"Retry-After", List.of("3"))))).isEqualTo(Duration.ofMillis(1500));
+	}
+
+	@Test
+	void readsRetryAfterSeconds() {
+		assertThat(FeignRequests.retryAfter(response(Map.of("Retry-After", List.of(" 3 ")))))
+			.isEqualTo(Duration.ofSeconds(3));
+	}
+
+	@Test
+	void headerNamesAreCaseInsensitive() {
+		assertThat(FeignRequests.retryAfter(response(Map.of("RETRY-AFTER", List.of("2")))))
+			.isEqualTo(Duration.ofSeconds(2));
+		assertThat(FeignRequests.retryAfter(response(Map.of("Retry-After-Ms", List.of("250")))))
+			.isEqualTo(Duration.ofMillis(250));
+	}
+
+	@Test
+	void readsRetryAfterHttpDate() {
+		String inThirtySeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30));
+		String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().minusSeconds(30));
+
+		assertThat(FeignRequests.retryAfter(response(Map.of("Retry-After", List.of(inThirtySeconds)))))
+			.isBetween(Duration.ofSeconds(25), Duration.ofSeconds(30));
+		assertThat(FeignRequests.retryAfter(response(Map.of("Retry-After", List.of(past))))).isZero();
+	}
+
+	@Test
+	void negativeValuesMeanNoWait() {
+		assertThat(FeignRequests.retryAfter(response(Map.of("retry-after-ms", List.of("-5"))))).isZero();
+		assertThat(FeignRequests.retryAfter(response(Map.of("Retry-After", List.of("-5"))))).isZero();
+	}
+
+	@Test
+	void fallsBackWhenHeadersAreMissingOrUnreadable() {
+		assertThat(FeignRequests.retryAfter(response(Map.of()))).isEqualTo(Duration.ofSeconds(1));
+		assertThat(FeignRequests.retryAfter(response(Map.of("Retry-After", List.of("soon")))))
+			.isEqualTo(Duration.ofSeconds(1));
+		// retry-after-ms 를 읽을 수 없으면 Retry-After 를 쓴다.
+		assertThat(FeignRequests.retryAfter(response(Map.of(
+			"retry-after-ms", List.of("abc"),
+			"Retry-After", List.of("4"))))).isEqualTo(Duration.ofSeconds(4));
+	}
+
+	private static Response response(Map<String, Collection<String>> headers) {
+		return Response.builder()
+			.request(Request.create(Request.HttpMethod.GET, "http://callee/hello", Map.of(), null, null, null))
+			.status(429)
+			.headers(headers)
+			.build();
+	}
+}
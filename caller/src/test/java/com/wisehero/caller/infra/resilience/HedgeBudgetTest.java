@@ -0,0 +1,56 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.infra.resilience.HedgingClient.HedgeBudget;
+
+class HedgeBudgetTest {
+
+	@Test
+	void startsEmpty() {
+		HedgeBudget budget = new HedgeBudget(0.05, 10);
+
+		assertThat(budget.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void oneHedgePerTwentyCallsAtFivePercent() {
+		HedgeBudget budget = new HedgeBudget(0.05, 10);
+
+		for (int i = 0; i < 19; i++) {
+			budget.deposit();
+		}
+		assertThat(budget.tryAcquire()).isFalse();
+
+		budget.deposit();
+		assertThat(budget.tryAcquire()).isTrue();
+		assertThat(budget.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void savesAtMostBurstTokens() {
+		HedgeBudget budget = new HedgeBudget(0.5, 3);
+
+		// 토큰 50개 분량을 적립해도 3개까지만 남는다.
+		for (int i = 0; i < 100; i++) {
+			budget.deposit();
+		}
+		for (int i = 0; i < 3; i++) {
+			assertThat(budget.tryAcquire()).isTrue();
+		}
+		assertThat(budget.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void tinyRatioStillDepositsSomething() {
+		// 0.0001 * 1000 은 반올림하면 0 이지만 최소 1 단위는 적립한다.
+		HedgeBudget budget = new HedgeBudget(0.0001, 1);
+
+		for (int i = 0; i < 1000; i++) {
+			budget.deposit();
+		}
+		assertThat(budget.tryAcquire()).isTrue();
+	}
+}
@@ -0,0 +1,170 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.api.ApiResponse;
+import com.wisehero.caller.config.CalleeLastKnownGoodProperties;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LastKnownGoodCacheTest {
+
+	private static final ApiResponse<String> SYNTHETIC = ApiResponse.success("Fallback: synthetic");
+	private static final Exception CALLEE_FAILURE = new IOException("Read timed out");
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private final Supplier<ApiResponse<String>> loader = () -> {
+		loads.incrementAndGet();
+		return ApiResponse.success("reloaded");
+	};
+
+	private CircuitBreaker circuitBreaker;
+	private Exception circuitOpen;
+	private CancellableCallExecutor executor;
+	private FallbackReporter fallbackReporter;
+	private LastKnownGoodCache cache;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		CalleeResiliencePolicies policies = mock(CalleeResiliencePolicies.class);
+		circuitBreaker = CircuitBreaker.ofDefaults("callee-client-v1-hello");
+		// 재검증은 서킷이 다시 열릴 때까지 미뤄진다. 테스트 중 백그라운드 호출이 나가지 않도록 열어 둔다.
+		circuitBreaker.transitionToForcedOpenState();
+		circuitOpen = CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+		when(policies.circuitBreaker("hello")).thenReturn(circuitBreaker);
+		executor = new CancellableCallExecutor(meterRegistry);
+		fallbackReporter = mock(FallbackReporter.class);
+		cache = new LastKnownGoodCache(new CalleeLastKnownGoodProperties(10, null, Duration.ofMinutes(1)), policies,
+			executor, fallbackReporter, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void returnsOtherwiseWhenNothingWasRemembered() {
+		assertThat(cache.serveStale("hello", circuitOpen, loader, SYNTHETIC)).isSameAs(SYNTHETIC);
+		verify(fallbackReporter, never()).reportStale("hello");
+	}
+
+	@Test
+	void doesNotRememberFailedResponses() {
+		cache.remember("hello", ApiResponse.fail("E", "failed"));
+
+		assertThat(cache.serveStale("hello", circuitOpen, loader, SYNTHETIC)).isSameAs(SYNTHETIC);
+	}
+
+	@Test
+	void servesLastGoodResponseMarkedAsStale() {
+		cache.remember("hello", ApiResponse.success("hi"));
+
+		ApiResponse<String> stale = cache.serveStale("hello", circuitOpen, loader, SYNTHETIC);
+
+		assertThat(stale.data()).isEqualTo("hi");
+		assertThat(stale.meta().result()).isEqualTo(ApiResponse.Metadata.Result.SUCCESS);
+		assertThat(stale.meta().message()).matches("Stale: \\d+s ago");
+		verify(fallbackReporter).reportStale("hello");
+	}
+
+	@Test
+	void reusesWrappedResponseWithinTheSameSecond() {
+		cache.remember("hello", ApiResponse.success("hi"));
+
+		ApiResponse<String> first = cache.serveStale("hello", circuitOpen, loader, SYNTHETIC);
+		ApiResponse<String> second = cache.serveStale("hello", circuitOpen, loader, SYNTHETIC);
+
+		// 1초 경계를 넘는 드문 경우만 새로 감싼다.
+		if (first.meta().message().equals(second.meta().message())) {
+			assertThat(second).isSameAs(first);
+		}
+		verify(fallbackReporter, times(2)).reportStale("hello");
+	}
+
+	@Test
+	void keysIncludeArguments() {
+		cache.remember("hello", ApiResponse.success("a"), "a");
+
+		assertThat(cache.serveStale("hello", circuitOpen, loader, SYNTHETIC, "a").data()).isEqualTo("a");
+		assertThat(cache.serveStale("hello", circuitOpen, loader, SYNTHETIC, "b")).isSameAs(SYNTHETIC);
+		assertThat(cache.serveStale("hello", circuitOpen, loader, SYNTHETIC)).isSameAs(SYNTHETIC);
+	}
+
+	@Test
+	void calleeFailureRevalidatesOncePerInterval() throws Exception {
+		circuitBreaker.transitionToClosedState();
+		cache.remember("hello", ApiResponse.success("hi"));
+
+		cache.serveStale("hello", CALLEE_FAILURE, loader, SYNTHETIC);
+		awaitLoads(1);
+		for (int i = 0; i < 10; i++) {
+			cache.serveStale("hello", CALLEE_FAILURE, loader, SYNTHETIC);
+		}
+
+		Thread.sleep(100);
+		assertThat(loads).hasValue(1);
+		assertThat(cache.serveStale("hello", CALLEE_FAILURE, loader, SYNTHETIC).data()).isEqualTo("reloaded");
+	}
+
+	@Test
+	void sheddingDoesNotRevalidate() throws Exception {
+		circuitBreaker.transitionToClosedState();
+		cache.remember("hello", ApiResponse.success("hi"));
+
+		cache.serveStale("hello", BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("hello")),
+			loader, SYNTHETIC);
+		cache.serveStale("hello", new ConcurrencyLimitExceededException("hello", 1), loader, SYNTHETIC);
+		cache.serveStale("hello", new RateLimitedException("hello", Duration.ofSeconds(1)), loader, SYNTHETIC);
+
+		Thread.sleep(100);
+		assertThat(loads).hasValue(0);
+	}
+
+	@Test
+	void openCircuitKeepsOnePendingRevalidationPerEndpoint() throws Exception {
+		cache.remember("hello", ApiResponse.success("a"), "a");
+		cache.remember("hello", ApiResponse.success("b"), "b");
+
+		cache.serveStale("hello", circuitOpen, loader, SYNTHETIC, "a");
+		cache.serveStale("hello", circuitOpen, loader, SYNTHETIC, "b");
+		Thread.sleep(100);
+		assertThat(loads).hasValue(0);
+
+		circuitBreaker.transitionToClosedState();
+		awaitLoads(1);
+		Thread.sleep(100);
+		assertThat(loads).hasValue(1);
+		// 마지막으로 기다리던 키만 다시 불러왔다.
+		assertThat(cache.serveStale("hello", circuitOpen, loader, SYNTHETIC, "b").data()).isEqualTo("reloaded");
+		assertThat(cache.serveStale("hello", circuitOpen, loader, SYNTHETIC, "a").data()).isEqualTo("a");
+	}
+
+	private void awaitLoads(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (loads.get() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(loads).hasValue(expected);
+	}
+}
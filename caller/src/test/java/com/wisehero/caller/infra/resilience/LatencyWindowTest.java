@@ -0,0 +1,82 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.config.CalleeHedgingProperties;
+import com.wisehero.caller.infra.resilience.HedgingClient.LatencyWindow;
+
+class LatencyWindowTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	// min-delay 5ms, min-samples 5, window-size 10, refresh-interval 1s
+	private final LatencyWindow window = new LatencyWindow(0.5, new CalleeHedgingProperties(true, 0.05, 10,
+		Duration.ofMillis(5), 5, 10, Duration.ofSeconds(1)), clock::get);
+
+	@Test
+	void noDelayUntilFirstRefresh() {
+		for (int i = 1; i <= 10; i++) {
+			record(i * 10);
+		}
+
+		// 첫 기록에서 바로 계산했지만 그때는 샘플이 1개뿐이었다.
+		assertThat(window.delayNanos()).isZero();
+	}
+
+	@Test
+	void refreshesPercentileOncePerInterval() {
+		for (int i = 1; i <= 10; i++) {
+			record(i * 10);
+		}
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		// 가장 오래된 10ms 를 덮어쓴다. [20, 30, ..., 100, 100] 의 p50 = 60ms
+		record(100);
+		assertThat(window.delayNanos()).isEqualTo(millis(60));
+
+		// 다음 주기 전까지는 다시 계산하지 않는다.
+		for (int i = 0; i < 10; i++) {
+			record(500);
+		}
+		assertThat(window.delayNanos()).isEqualTo(millis(60));
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		record(500);
+		assertThat(window.delayNanos()).isEqualTo(millis(500));
+	}
+
+	@Test
+	void waitsForMinSamples() {
+		record(10);
+		record(10);
+		record(10);
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		record(10);
+		assertThat(window.delayNanos()).isZero();
+	}
+
+	@Test
+	void neverBelowMinDelay() {
+		for (int i = 0; i < 10; i++) {
+			record(1);
+		}
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		record(1);
+		assertThat(window.delayNanos()).isEqualTo(millis(5));
+	}
+
+	private void record(long millis) {
+		window.record(millis(millis));
+	}
+
+	private static long millis(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+}
@@ -0,0 +1,69 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import com.wisehero.caller.infra.client.CalleeV1Client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitGateCapabilityTest {
+
+	private static final List<MethodMetadata> METADATA = new SpringMvcContract()
+		.parseAndValidateMetadata(CalleeV1Client.class);
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private final Client http = (request, options) -> {
+		calls.incrementAndGet();
+		return Response.builder()
+			.request(request)
+			.status(429)
+			.headers(Map.of("Retry-After", List.of("10")))
+			.build();
+	};
+	private final Client client = new RateLimitGateCapability(new SimpleMeterRegistry()).enrich(http);
+
+	@Test
+	void retryAfterFromOneMethodGatesTheOtherMethodsOfTheSameClient() throws Exception {
+		client.execute(request("hello", Map.of()), new Request.Options());
+
+		// callee 는 클라이언트마다 한도를 세므로 /hello 의 429 는 /circuitTest 에도 해당한다.
+		assertThatThrownBy(() -> client.execute(request("circuitTest", Map.of()), new Request.Options()))
+			.isInstanceOf(RateLimitedException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void clientIdsAreGatedSeparately() throws Exception {
+		client.execute(request("hello", Map.of(RateLimitGateCapability.CLIENT_ID_HEADER, List.of("a"))),
+			new Request.Options());
+
+		client.execute(request("hello", Map.of(RateLimitGateCapability.CLIENT_ID_HEADER, List.of("b"))),
+			new Request.Options());
+		assertThatThrownBy(() -> client.execute(
+			request("hello", Map.of(RateLimitGateCapability.CLIENT_ID_HEADER, List.of("a"))), new Request.Options()))
+			.isInstanceOf(RateLimitedException.class);
+		assertThat(calls).hasValue(2);
+	}
+
+	private static Request request(String method, Map<String, Collection<String>> headers) {
+		MethodMetadata metadata = METADATA.stream()
+			.filter(candidate -> candidate.method().getName().equals(method))
+			.findFirst()
+			.orElseThrow();
+		return Request.create(Request.HttpMethod.GET, "http://callee/api/v1/callee/" + method, headers, null, null,
+			metadata.template());
+	}
+}
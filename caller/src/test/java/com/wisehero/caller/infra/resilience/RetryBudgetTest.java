@@ -0,0 +1,93 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.config.CalleeRetryBudgetProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RetryBudgetTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void startsFullAndWithdrawsOneTokenPerRetry() {
+		RetryBudget budget = budget(true, 0.1, 1, 3);
+
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+		assertThat(budget.balance()).isZero();
+		assertThat(meterRegistry.counter("callee.retry.budget.retries", "outcome", "permitted").count()).isEqualTo(3);
+		assertThat(meterRegistry.counter("callee.retry.budget.retries", "outcome", "exhausted").count()).isEqualTo(1);
+	}
+
+	@Test
+	void depositsEarnRatioTokensPerSuccess() {
+		RetryBudget budget = drained(budget(true, 0.1, 1, 10));
+
+		for (int i = 0; i < 9; i++) {
+			budget.deposit();
+		}
+		assertThat(budget.tryWithdraw()).isFalse();
+
+		budget.deposit();
+		assertThat(budget.balance()).isEqualTo(1.0);
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+	}
+
+	@Test
+	void refillsMinRetriesPerSecondOverTime() {
+		RetryBudget budget = drained(budget(true, 0.1, 5, 10));
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(budget.tryWithdraw()).isFalse();
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(budget.tryWithdraw()).isTrue();
+	}
+
+	@Test
+	void balanceIsCappedAtBurst() {
+		RetryBudget budget = budget(true, 1, 1, 2);
+
+		for (int i = 0; i < 100; i++) {
+			budget.deposit();
+		}
+		clock.addAndGet(TimeUnit.DAYS.toNanos(365));
+
+		assertThat(budget.balance()).isEqualTo(2.0);
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+	}
+
+	@Test
+	void disabledBudgetAlwaysPermits() {
+		RetryBudget budget = budget(false, 0.1, 1, 1);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(budget.tryWithdraw()).isTrue();
+		}
+	}
+
+	private RetryBudget budget(boolean enabled, double ratio, double minRetriesPerSecond, int burst) {
+		return new RetryBudget(new CalleeRetryBudgetProperties(enabled, ratio, minRetriesPerSecond, burst),
+			meterRegistry, clock::get);
+	}
+
+	private static RetryBudget drained(RetryBudget budget) {
+		while (budget.tryWithdraw()) {
+			// 시계가 멈춰 있으므로 burst 만큼 꺼내면 끝난다.
+		}
+		return budget;
+	}
+}
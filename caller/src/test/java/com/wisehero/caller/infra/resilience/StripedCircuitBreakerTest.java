@@ -0,0 +1,103 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerEvent;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StripedCircuitBreakerTest {
+
+	@Test
+	void smallWindowIsNotWrapped() {
+		CircuitBreaker delegate = CircuitBreaker.of("small", CircuitBreakerConfig.custom()
+			.slidingWindowSize(10)
+			.build());
+
+		assertThat(StripedCircuitBreaker.wrap(delegate, 8)).isSameAs(delegate);
+	}
+
+	@Test
+	void opensDelegateWhenStripedFailureRateCrossesThreshold() {
+		CircuitBreaker delegate = CircuitBreaker.of("striped", CircuitBreakerConfig.custom()
+			.slidingWindowSize(64)
+			.minimumNumberOfCalls(10)
+			.failureRateThreshold(50)
+			.ignoreExceptions(BulkheadFullException.class)
+			.build());
+		CircuitBreaker striped = StripedCircuitBreaker.wrap(delegate, 4);
+		assertThat(striped).isInstanceOf(StripedCircuitBreaker.class);
+
+		for (int i = 0; i < 5; i++) {
+			striped.onSuccess(1, TimeUnit.MILLISECONDS);
+		}
+		for (int i = 0; i < 4; i++) {
+			striped.onError(1, TimeUnit.MILLISECONDS, new IOException("boom"));
+		}
+		// 무시하는 예외는 윈도우에 넣지 않는다.
+		striped.onError(1, TimeUnit.MILLISECONDS, BulkheadFullException.createBulkheadFullException(
+			Bulkhead.ofDefaults("b")));
+		assertThat(striped.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(striped.getMetrics().getNumberOfBufferedCalls()).isEqualTo(9);
+		assertThat(striped.getMetrics().getFailureRate()).isEqualTo(-1.0f);
+
+		striped.onError(1, TimeUnit.MILLISECONDS, new IOException("boom"));
+
+		assertThat(delegate.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(striped.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void defaultMethodsRecordThroughTheStripedWindow() {
+		CircuitBreaker delegate = CircuitBreaker.of("decorated", CircuitBreakerConfig.custom()
+			.slidingWindowSize(64)
+			.build());
+		CircuitBreaker striped = StripedCircuitBreaker.wrap(delegate, 4);
+
+		assertThat(striped.executeSupplier(() -> "ok")).isEqualTo("ok");
+
+		assertThat(striped.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+		// 원래 CircuitBreaker 의 윈도우에는 기록하지 않는다.
+		assertThat(delegate.getMetrics().getNumberOfBufferedCalls()).isZero();
+	}
+
+	@Test
+	void closedStateCallsArePublishedToTheDelegateEventPublisherAndTaggedMetrics() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+			.slidingWindowSize(64)
+			.ignoreExceptions(BulkheadFullException.class)
+			.build());
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+		CircuitBreaker delegate = registry.circuitBreaker("events");
+		CircuitBreaker striped = StripedCircuitBreaker.wrap(delegate, 4);
+		registry.replace("events", striped);
+		List<CircuitBreakerEvent.Type> events = new ArrayList<>();
+		striped.getEventPublisher().onEvent(event -> events.add(event.getEventType()));
+
+		striped.onSuccess(1, TimeUnit.MILLISECONDS);
+		striped.onError(1, TimeUnit.MILLISECONDS, new IOException("boom"));
+		striped.onError(1, TimeUnit.MILLISECONDS, BulkheadFullException.createBulkheadFullException(
+			Bulkhead.ofDefaults("b")));
+
+		assertThat(events).containsExactly(CircuitBreakerEvent.Type.SUCCESS, CircuitBreakerEvent.Type.ERROR,
+			CircuitBreakerEvent.Type.IGNORED_ERROR);
+		for (String kind : List.of("successful", "failed", "ignored")) {
+			assertThat(meterRegistry.get("resilience4j.circuitbreaker.calls").tag("name", "events").tag("kind", kind)
+				.timer().count()).as(kind).isEqualTo(1);
+		}
+		assertThat(delegate.getMetrics().getNumberOfBufferedCalls()).isZero();
+	}
+}
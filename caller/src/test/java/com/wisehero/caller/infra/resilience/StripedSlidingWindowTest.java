@@ -0,0 +1,77 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.resilience4j.core.metrics.FixedSizeSlidingWindowMetrics;
+import io.github.resilience4j.core.metrics.Metrics.Outcome;
+import io.github.resilience4j.core.metrics.Snapshot;
+
+class StripedSlidingWindowTest {
+
+	private static final Outcome[] OUTCOMES = Outcome.values();
+
+	@Test
+	void singleStripeMatchesFixedSizeSlidingWindow() {
+		int windowSize = 100;
+		StripedSlidingWindow striped = new StripedSlidingWindow(windowSize, 1);
+		FixedSizeSlidingWindowMetrics fixed = new FixedSizeSlidingWindowMetrics(windowSize);
+		Random random = new Random(42);
+
+		// 윈도우를 여러 바퀴 돌면서 밀려난 결과까지 같은지 본다.
+		for (int i = 0; i < windowSize * 5; i++) {
+			Outcome outcome = OUTCOMES[random.nextInt(OUTCOMES.length)];
+			long millis = random.nextInt(1000);
+			striped.record(millis, TimeUnit.MILLISECONDS, outcome);
+			Snapshot expected = fixed.record(millis, TimeUnit.MILLISECONDS, outcome);
+			assertSameTotals(striped.getSnapshot(), expected);
+		}
+	}
+
+	@Test
+	void stripesShareTheWindowSize() {
+		StripedSlidingWindow striped = new StripedSlidingWindow(128, 4);
+		assertThat(striped.stripeCount()).isEqualTo(4);
+
+		// 한 스레드는 stripe 하나(128 / 4 = 32칸)에만 기록한다.
+		for (int i = 0; i < 100; i++) {
+			striped.record(1, TimeUnit.MILLISECONDS, Outcome.ERROR);
+		}
+		assertThat(striped.getSnapshot().getTotalNumberOfCalls()).isEqualTo(32);
+		assertThat(striped.getSnapshot().getFailureRate()).isEqualTo(100.0f);
+	}
+
+	@Test
+	void smallWindowsUseOneStripe() {
+		assertThat(new StripedSlidingWindow(10, 8).stripeCount()).isEqualTo(1);
+		assertThat(new StripedSlidingWindow(31, 8).stripeCount()).isEqualTo(1);
+		assertThat(new StripedSlidingWindow(32, 8).stripeCount()).isEqualTo(2);
+	}
+
+	@Test
+	void resetClearsEveryStripe() {
+		StripedSlidingWindow striped = new StripedSlidingWindow(64, 4);
+		striped.record(1, TimeUnit.MILLISECONDS, Outcome.SLOW_ERROR);
+
+		striped.reset();
+
+		assertThat(striped.getSnapshot().getTotalNumberOfCalls()).isZero();
+		assertThat(striped.getSnapshot().getTotalDuration()).isZero();
+	}
+
+	private static void assertSameTotals(Snapshot actual, Snapshot expected) {
+		assertThat(actual.getTotalNumberOfCalls()).isEqualTo(expected.getTotalNumberOfCalls());
+		assertThat(actual.getNumberOfFailedCalls()).isEqualTo(expected.getNumberOfFailedCalls());
+		assertThat(actual.getNumberOfSuccessfulCalls()).isEqualTo(expected.getNumberOfSuccessfulCalls());
+		assertThat(actual.getTotalNumberOfSlowCalls()).isEqualTo(expected.getTotalNumberOfSlowCalls());
+		assertThat(actual.getNumberOfSlowFailedCalls()).isEqualTo(expected.getNumberOfSlowFailedCalls());
+		assertThat(actual.getNumberOfSlowSuccessfulCalls()).isEqualTo(expected.getNumberOfSlowSuccessfulCalls());
+		assertThat(actual.getFailureRate()).isEqualTo(expected.getFailureRate());
+		assertThat(actual.getSlowCallRate()).isEqualTo(expected.getSlowCallRate());
+		assertThat(actual.getTotalDuration()).isEqualTo(expected.getTotalDuration());
+	}
+}
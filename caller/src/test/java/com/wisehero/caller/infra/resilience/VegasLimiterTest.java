@@ -0,0 +1,154 @@
+package com.wisehero.caller.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.wisehero.caller.config.CalleeConcurrencyLimitProperties;
+
+class VegasLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	// initial 10, 범위 1 ~ 20, alpha 3, beta 6, backoff 0.5, probe 30s
+	private final VegasLimiter limiter = new VegasLimiter(new CalleeConcurrencyLimitProperties(true, 10, 1, 20, 3, 6,
+		0.5, Duration.ofSeconds(30)), clock::get);
+
+	@Test
+	void firstResponseOnlySetsTheBaseline() {
+		respond(100);
+
+		assertThat(limiter.rttNoLoadNanos()).isEqualTo(millis(100));
+		assertThat(limiter.limit()).isEqualTo(10);
+	}
+
+	@Test
+	void growsByOneWhileQueueIsBelowAlpha() {
+		respond(100);
+
+		respond(100);
+		assertThat(limiter.limit()).isEqualTo(11);
+		// queue = 11 * (1 - 100 / 120) = 1.8 < 3
+		respond(120);
+		assertThat(limiter.limit()).isEqualTo(12);
+	}
+
+	@Test
+	void holdsBetweenAlphaAndBeta() {
+		respond(100);
+
+		// queue = 10 * (1 - 100 / 200) = 5
+		respond(200);
+		assertThat(limiter.limit()).isEqualTo(10);
+	}
+
+	@Test
+	void shrinksByOneWhenQueueExceedsBeta() {
+		respond(100);
+
+		// queue = 10 * (1 - 100 / 1000) = 9 > 6
+		respond(1000);
+		assertThat(limiter.limit()).isEqualTo(9);
+	}
+
+	@Test
+	void backsOffOnDropsDownToMinLimit() {
+		respond(100);
+
+		drop(2000);
+		assertThat(limiter.limit()).isEqualTo(5);
+		for (int i = 0; i < 10; i++) {
+			drop(2000);
+		}
+		assertThat(limiter.limit()).isEqualTo(1);
+	}
+
+	@Test
+	void neverGrowsPastMaxLimit() {
+		respond(100);
+
+		for (int i = 0; i < 50; i++) {
+			respond(100);
+		}
+		assertThat(limiter.limit()).isEqualTo(20);
+	}
+
+	@Test
+	void fasterResponseLowersTheBaselineWithoutAdjusting() {
+		respond(100);
+
+		respond(80);
+		assertThat(limiter.rttNoLoadNanos()).isEqualTo(millis(80));
+		assertThat(limiter.limit()).isEqualTo(10);
+	}
+
+	@Test
+	void probeResetsBaselineToTheMinimumOfTheLastWindow() {
+		respond(100);
+
+		// 첫 probe: 지난 구간(0 ~ 30s)의 최솟값은 100ms
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		respond(300);
+		assertThat(limiter.rttNoLoadNanos()).isEqualTo(millis(100));
+
+		// callee 가 느려졌다. 이번 구간의 RTT 는 250ms 이상
+		respond(250);
+		respond(300);
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+		// probe 시점의 400ms 한 건이 아니라 구간 최솟값 250ms 를 쓴다.
+		respond(400);
+		assertThat(limiter.rttNoLoadNanos()).isEqualTo(millis(250));
+		assertThat(limiter.lastRttNanos()).isEqualTo(millis(400));
+	}
+
+	@Test
+	void tryAcquireStopsAtTheLimit() {
+		for (int i = 0; i < 10; i++) {
+			assertThat(limiter.tryAcquire()).isTrue();
+		}
+		assertThat(limiter.tryAcquire()).isFalse();
+		assertThat(limiter.inFlight()).isEqualTo(10);
+
+		limiter.onSuccess(millis(100));
+		assertThat(limiter.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void fastDropBacksOffWithoutLoweringTheBaseline() {
+		respond(100);
+
+		// 연결 거부처럼 바로 끝난 실패는 RTT 가 아니다.
+		drop(1);
+		assertThat(limiter.limit()).isEqualTo(5);
+		assertThat(limiter.rttNoLoadNanos()).isEqualTo(millis(100));
+	}
+
+	@Test
+	void cancelledCallReleasesThePermitWithoutBackingOff() {
+		respond(100);
+		assertThat(limiter.tryAcquire()).isTrue();
+
+		limiter.onCancelled();
+		assertThat(limiter.inFlight()).isZero();
+		assertThat(limiter.limit()).isEqualTo(10);
+		assertThat(limiter.lastRttNanos()).isEqualTo(millis(100));
+	}
+
+	private void respond(long rttMillis) {
+		assertThat(limiter.tryAcquire()).isTrue();
+		limiter.onSuccess(millis(rttMillis));
+	}
+
+	private void drop(long rttMillis) {
+		assertThat(limiter.tryAcquire()).isTrue();
+		limiter.onDropped(millis(rttMillis));
+	}
+
+	private static long millis(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+}
@@ -0,0 +1,11 @@
+import org.springframework.boot.gradle.tasks.bundling.BootJar
+
+// caller / callee 가 같이 쓰는 웹 지원 코드 (실행 가능한 애플리케이션이 아니다)
+dependencies {
+    implementation("org.springframework:spring-web")
+    implementation("com.fasterxml.jackson.core:jackson-databind")
+}
+
+tasks.named<BootJar>("bootJar") {
+    enabled = false
+}
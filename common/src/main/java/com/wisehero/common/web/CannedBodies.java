@@ -0,0 +1,68 @@
+package com.wisehero.common.web;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 내용이 바뀌지 않는 응답 객체의 직렬화 결과를 한 번만 만들어 두는 곳
+ *
+ * 장애 중에는 실패 응답과 fallback 응답이 가장 많이 나가는 응답이다. 매번 Jackson 으로 직렬화하는 대신
+ * - 응답 객체는 상수로 한 번만 만들어 register 로 등록하고
+ * - 시작할 때 (CannedResponseHttpMessageConverter) 등록된 응답을 직렬화해 둔 뒤
+ * - 같은 객체를 응답으로 돌려주면 그 본문(CannedBody)을 그대로 쓴다.
+ *
+ * 객체 동일성(==)으로 찾으므로 등록하지 않은 응답, 같은 내용의 다른 객체는 평소대로 Jackson 이 직렬화한다.
+ * 등록은 주로 클래스 초기화 때 일어나서, 조회 쪽은 락 없이 읽도록 등록할 때마다 맵을 복사해서 바꾼다.
+ */
+public final class CannedBodies {
+
+	private static final Object LOCK = new Object();
+	private static volatile Map<Object, Slot> registry = new IdentityHashMap<>();
+
+	private CannedBodies() {
+	}
+
+	/** 바뀌지 않는 응답 상수를 등록하고 그대로 돌려준다. */
+	public static <T> T register(T response) {
+		synchronized (LOCK) {
+			if (!registry.containsKey(response)) {
+				Map<Object, Slot> copy = new IdentityHashMap<>(registry);
+				copy.put(response, new Slot());
+				registry = copy;
+			}
+		}
+		return response;
+	}
+
+	/**
+	 * 등록된 응답이면 직렬화된 본문을, 아니면 null 을 돌려준다.
+	 * 시작 뒤에 등록된 응답은 처음 쓸 때 한 번 직렬화한다.
+	 */
+	public static CannedBody bodyOf(Object response, ObjectMapper objectMapper) throws JsonProcessingException {
+		Slot slot = registry.get(response);
+		if (slot == null) {
+			return null;
+		}
+		CannedBody body = slot.body;
+		if (body == null) {
+			// 동시에 여러 스레드가 직렬화해도 결과가 같으므로 그대로 둔다.
+			body = new CannedBody(objectMapper.writeValueAsBytes(response));
+			slot.body = body;
+		}
+		return body;
+	}
+
+	/** 지금까지 등록된 응답을 모두 직렬화해 둔다. */
+	public static void prime(ObjectMapper objectMapper) throws JsonProcessingException {
+		for (Object response : registry.keySet()) {
+			bodyOf(response, objectMapper);
+		}
+	}
+
+	private static final class Slot {
+		private volatile CannedBody body;
+	}
+}
@@ -0,0 +1,26 @@
+package com.wisehero.common.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 미리 직렬화해 둔 응답 본문
+ *
+ * 여러 요청이 같은 본문을 같이 쓰므로 byte[] 를 밖으로 내주지 않는다. 길이와 출력만 할 수 있다.
+ */
+public final class CannedBody {
+
+	private final byte[] bytes;
+
+	CannedBody(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	public int length() {
+		return bytes.length;
+	}
+
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(bytes);
+	}
+}
@@ -0,0 +1,66 @@
+package com.wisehero.common.web;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 기본 JSON 컨버터를 대신한다. CannedBodies 에 등록된 응답은 미리 직렬화해 둔 본문을 그대로 쓰고,
+ * 나머지는 원래 MappingJackson2HttpMessageConverter 와 똑같이 처리한다.
+ *
+ * MappingJackson2HttpMessageConverter 빈이 있으면 Spring Boot 는 기본 JSON 컨버터를 만들지 않고 이 빈을 쓴다.
+ * 각 애플리케이션의 설정 클래스에서 빈으로 등록한다.
+ */
+public class CannedResponseHttpMessageConverter extends MappingJackson2HttpMessageConverter
+	implements SmartInitializingSingleton {
+
+	public CannedResponseHttpMessageConverter(ObjectMapper objectMapper) {
+		super(objectMapper);
+	}
+
+	// 응답 상수를 가진 빈(클래스)들이 모두 초기화된 뒤에 직렬화해 둔다.
+	@Override
+	public void afterSingletonsInstantiated() {
+		try {
+			CannedBodies.prime(getObjectMapper());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("고정 응답 직렬화 실패", e);
+		}
+	}
+
+	@Override
+	protected Long getContentLength(Object object, MediaType contentType) throws IOException {
+		CannedBody body = canned(object, contentType);
+		return body != null ? Long.valueOf(body.length()) : super.getContentLength(object, contentType);
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+		throws IOException, HttpMessageNotWritableException {
+		CannedBody body = canned(object, outputMessage.getHeaders().getContentType());
+		if (body == null) {
+			super.writeInternal(object, type, outputMessage);
+			return;
+		}
+		body.writeTo(outputMessage.getBody());
+	}
+
+	// 미리 만든 본문은 UTF-8 이다. 다른 charset 을 요청받으면 평소대로 직렬화한다.
+	private CannedBody canned(Object object, MediaType contentType) throws JsonProcessingException {
+		Charset charset = contentType != null ? contentType.getCharset() : null;
+		if (charset != null && !StandardCharsets.UTF_8.equals(charset)) {
+			return null;
+		}
+		return CannedBodies.bodyOf(object, getObjectMapper());
+	}
+}
@@ -0,0 +1,61 @@
+package com.wisehero.common.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CannedBodiesTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void registeredResponseIsSerializedOnce() throws Exception {
+		Map<String, String> response = CannedBodies.register(Map.of("message", "fallback"));
+
+		CannedBody first = CannedBodies.bodyOf(response, objectMapper);
+		CannedBody second = CannedBodies.bodyOf(response, objectMapper);
+
+		assertThat(first).isSameAs(second);
+		assertThat(bytesOf(first)).isEqualTo(objectMapper.writeValueAsBytes(response));
+		assertThat(first.length()).isEqualTo(objectMapper.writeValueAsBytes(response).length);
+	}
+
+	@Test
+	void lookupIsByIdentity() throws Exception {
+		Map<String, String> registered = CannedBodies.register(Map.of("message", "same"));
+		Map<String, String> equalButNotRegistered = Map.of("message", "same");
+
+		assertThat(CannedBodies.bodyOf(registered, objectMapper)).isNotNull();
+		assertThat(CannedBodies.bodyOf(equalButNotRegistered, objectMapper)).isNull();
+	}
+
+	@Test
+	void converterWritesCannedBodyAndFallsBackToJackson() throws Exception {
+		CannedResponseHttpMessageConverter converter = new CannedResponseHttpMessageConverter(objectMapper);
+		Map<String, String> canned = CannedBodies.register(Map.of("message", "canned"));
+		converter.afterSingletonsInstantiated();
+
+		MockHttpOutputMessage cannedMessage = new MockHttpOutputMessage();
+		converter.write(canned, MediaType.APPLICATION_JSON, cannedMessage);
+		MockHttpOutputMessage plainMessage = new MockHttpOutputMessage();
+		converter.write(Map.of("message", "plain"), MediaType.APPLICATION_JSON, plainMessage);
+
+		assertThat(cannedMessage.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(canned));
+		assertThat(cannedMessage.getHeaders().getContentLength())
+			.isEqualTo(objectMapper.writeValueAsBytes(canned).length);
+		assertThat(plainMessage.getBodyAsString()).isEqualTo("{\"message\":\"plain\"}");
+	}
+
+	private static byte[] bytesOf(CannedBody body) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		body.writeTo(out);
+		return out.toByteArray();
+	}
+}
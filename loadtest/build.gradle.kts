@@ -0,0 +1,45 @@
+import org.springframework.boot.gradle.tasks.bundling.BootJar
+
+// 오프라인 부하 도구
+// ./gradlew :loadtest:loadTest -PloadTestArgs="--path=/api/v1/caller/test-circuit-flow --rate=200 --duration=60s"
+// caller / callee bootJar 를 직접 띄우고, 끝나면 build/loadtest/ 아래에 리포트를 남긴다.
+dependencies {
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+    implementation("com.fasterxml.jackson.core:jackson-databind")
+}
+
+tasks.named<BootJar>("bootJar") {
+    enabled = false
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "caller/callee 를 로컬에서 띄우고 open-loop 부하를 걸어 지연 분포와 서킷 상태 타임라인을 기록한다."
+
+    val callerJar = project(":caller").tasks.named<BootJar>("bootJar").flatMap { it.archiveFile }
+    val calleeJar = project(":callee").tasks.named<BootJar>("bootJar").flatMap { it.archiveFile }
+    dependsOn(":caller:bootJar", ":callee:bootJar")
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.wisehero.loadtest.LoadTestMain")
+    args(
+        "--caller-jar=${callerJar.get().asFile}",
+        "--callee-jar=${calleeJar.get().asFile}",
+        "--out=${layout.buildDirectory.dir("loadtest").get().asFile}"
+    )
+    (project.findProperty("loadTestArgs") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
+// ./gradlew :loadtest:compareThreadingModes -Plabel=platform|virtual
+// caller 를 먼저 띄워 둔 상태에서 실행한다. (ThreadingModeComparison 참고)
+tasks.register<JavaExec>("compareThreadingModes") {
+    group = "verification"
+    description = "플랫폼/가상 스레드 모드의 동시 느린 호출 처리량과 지연을 비교한다."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.wisehero.loadtest.ThreadingModeComparison")
+    args(
+        "--label=${project.findProperty("label") ?: "platform"}",
+        "--concurrency=${project.findProperty("concurrency") ?: "1000,2000,5000,10000"}",
+        "--out=${layout.buildDirectory.file("threading-comparison.csv").get().asFile}"
+    )
+}
@@ -0,0 +1,168 @@
+package com.wisehero.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * caller 의 /actuator/circuitbreakerevents 에서 지난 조회 이후의 STATE_TRANSITION 이벤트를 읽어 상태 전환 시점을 기록한다.
+ * 전환 시점은 조회 시점이 아니라 이벤트의 creationTime 이라서 조회 간격보다 짧게 OPEN 되었다 닫힌 전환도 빠지지 않는다.
+ * 현재 상태는 /actuator/circuitbreakers 에서 읽는다. 서킷마다 이벤트 버퍼(eventConsumerBufferSize)가 작아서
+ * 부하가 크면 전환 이벤트가 다음 조회 전에 밀려날 수 있는데, 이때는 상태가 달라진 것을 보고 조회 시점으로 기록한다.
+ * 서킷 이름은 고정하지 않고 응답에 있는 모든 인스턴스를 따라간다.
+ */
+final class CircuitStatePoller implements Runnable {
+
+	private static final String STATE_TRANSITION = "STATE_TRANSITION";
+
+	record Transition(long elapsedMillis, String name, String from, String to) {
+	}
+
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpRequest statesRequest;
+	private final HttpRequest eventsRequest;
+	private final Duration interval;
+	/** startNanos 에 해당하는 벽시계 시각. 이벤트의 creationTime 을 시작 후 경과 시간으로 바꿀 때 쓴다. */
+	private final long startEpochMillis;
+
+	private final Map<String, String> states = new ConcurrentHashMap<>();
+	private final List<Transition> transitions = new CopyOnWriteArrayList<>();
+	/**
+	 * 이미 기록한 가장 늦은 이벤트 시각과, 그 시각에 기록한 이벤트들. creationTime 이 같은 이벤트를 두 번 세지 않는다.
+	 * 부하를 걸기 전의 이벤트는 세지 않도록 시작 시각에서 출발한다.
+	 */
+	private Instant lastEventTime;
+	private final Set<String> eventsAtLastTime = new HashSet<>();
+	private volatile boolean running = true;
+
+	CircuitStatePoller(URI actuator, Duration interval, long startNanos) {
+		this.statesRequest = get(URI.create(actuator + "/circuitbreakers"));
+		this.eventsRequest = get(URI.create(actuator + "/circuitbreakerevents"));
+		this.interval = interval;
+		this.startEpochMillis = System.currentTimeMillis() - (System.nanoTime() - startNanos) / 1_000_000;
+		this.lastEventTime = Instant.ofEpochMilli(startEpochMillis);
+	}
+
+	private static HttpRequest get(URI uri) {
+		return HttpRequest.newBuilder(uri)
+			.timeout(Duration.ofSeconds(1))
+			.GET()
+			.build();
+	}
+
+	@Override
+	public void run() {
+		while (running) {
+			poll();
+			try {
+				Thread.sleep(interval);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	void stop() {
+		running = false;
+	}
+
+	Map<String, String> snapshot() {
+		return new TreeMap<>(states);
+	}
+
+	List<Transition> transitions() {
+		return transitions.stream().sorted(Comparator.comparingLong(Transition::elapsedMillis)).toList();
+	}
+
+	private void poll() {
+		try {
+			// 상태를 먼저 읽어야 이벤트를 읽는 사이에 일어난 전환을 상태 차이로 한 번 더 세지 않는다.
+			JsonNode circuitBreakers = read(statesRequest).path("circuitBreakers");
+			Set<String> transitioned = readTransitions(read(eventsRequest).path("circuitBreakerEvents"));
+			long elapsedMillis = System.currentTimeMillis() - startEpochMillis;
+			Iterator<Map.Entry<String, JsonNode>> fields = circuitBreakers.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				if (transitioned.contains(field.getKey())) {
+					continue;
+				}
+				String state = field.getValue().path("state").asText("UNKNOWN");
+				String previous = states.put(field.getKey(), state);
+				if (previous != null && !previous.equals(state)) {
+					// 전환 이벤트가 버퍼에서 밀려났다.
+					transitions.add(new Transition(elapsedMillis, field.getKey(), previous, state));
+				}
+			}
+		} catch (IOException e) {
+			// 일시적인 조회 실패는 다음 주기에 다시 시도한다.
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			running = false;
+		}
+	}
+
+	/**
+	 * 지난 조회 이후의 STATE_TRANSITION 이벤트를 시간 순으로 기록하고, 이번에 전환을 기록한 서킷 이름을 돌려준다.
+	 */
+	private Set<String> readTransitions(JsonNode events) {
+		Set<String> transitioned = new HashSet<>();
+		Instant latest = lastEventTime;
+		Set<String> atLatest = new HashSet<>(eventsAtLastTime);
+		for (JsonNode event : events) {
+			if (!STATE_TRANSITION.equals(event.path("type").asText())) {
+				continue;
+			}
+			String name = event.path("circuitBreakerName").asText();
+			String creationTime = event.path("creationTime").asText();
+			String stateTransition = event.path("stateTransition").asText();
+			Instant time = ZonedDateTime.parse(creationTime).toInstant();
+			String key = name + " " + creationTime + " " + stateTransition;
+			if (time.isBefore(lastEventTime) || time.equals(lastEventTime) && eventsAtLastTime.contains(key)) {
+				continue;
+			}
+			// CLOSED_TO_OPEN, HALF_OPEN_TO_CLOSED ...
+			int separator = stateTransition.indexOf("_TO_");
+			String from = stateTransition.substring(0, separator);
+			String to = stateTransition.substring(separator + "_TO_".length());
+			transitions.add(new Transition(time.toEpochMilli() - startEpochMillis, name, from, to));
+			states.put(name, to);
+			transitioned.add(name);
+			if (time.isAfter(latest)) {
+				latest = time;
+				atLatest.clear();
+			}
+			atLatest.add(key);
+		}
+		lastEventTime = latest;
+		eventsAtLastTime.clear();
+		eventsAtLastTime.addAll(atLatest);
+		return transitioned;
+	}
+
+	private JsonNode read(HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IOException("status " + response.statusCode() + " from " + request.uri());
+		}
+		return objectMapper.readTree(response.body());
+	}
+}
@@ -0,0 +1,66 @@
+package com.wisehero.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 서킷 브레이커 설정(slidingWindowSize, failureRateThreshold, waitDurationInOpenState) 튜닝용 오프라인 부하 도구
+ *
+ * 1. callee, caller bootJar 를 띄운다. (--start-services=false 면 이미 떠 있는 서버를 사용)
+ * 2. CallerControllerV1 엔드포인트에 open-loop 로 부하를 건다.
+ * 3. 지연 분포, 초 단위 처리량/오류율, 서킷 상태 전환을 build/loadtest/{시각}/ 에 남긴다.
+ */
+public class LoadTestMain {
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		Path directory = options.outputDirectory()
+			.resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+		Files.createDirectories(directory);
+
+		try (LocalServices services = new LocalServices()) {
+			if (options.startServices()) {
+				services.start("callee", options.calleeJar(), URI.create("http://localhost:9081/actuator/health"),
+					directory);
+				services.start("caller", options.callerJar(), URI.create(options.actuator() + "/health"), directory);
+			}
+			run(options, directory);
+		}
+	}
+
+	private static void run(LoadTestOptions options, Path directory) throws Exception {
+		try (ExecutorService executor = OpenLoopDriver.newClientExecutor()) {
+			HttpClient httpClient = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(2))
+				.executor(executor)
+				.build();
+			HttpRequest request = HttpRequest.newBuilder(options.target())
+				.timeout(options.requestTimeout())
+				.GET()
+				.build();
+
+			long start = System.nanoTime();
+			CircuitStatePoller poller = new CircuitStatePoller(options.actuator(), options.pollInterval(), start);
+			Thread pollerThread = Thread.ofPlatform().name("circuit-state-poller").daemon().start(poller);
+
+			System.out.printf("[loadtest] %s 에 %d req/s 로 %ds 동안 부하 시작%n",
+				options.target(), options.rate(), options.duration().toSeconds());
+			OpenLoopDriver driver = new OpenLoopDriver(httpClient, request, poller);
+			driver.run(options.rate(), options.duration().toNanos(), options.requestTimeout().toNanos());
+
+			poller.stop();
+			pollerThread.join(1_000);
+
+			LoadTestReport.write(directory, options, driver.total(), driver.timeline(), poller.transitions());
+			System.out.println(Files.readString(directory.resolve("report.txt")));
+			System.out.printf("[loadtest] 리포트: %s%n", directory.toAbsolutePath());
+		}
+	}
+}
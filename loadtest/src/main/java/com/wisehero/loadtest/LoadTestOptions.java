@@ -0,0 +1,74 @@
+package com.wisehero.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 도구 실행 옵션 (--key=value)
+ *
+ * --caller-url          caller 주소 (기본 http://localhost:8080)
+ * --path                부하를 걸 CallerControllerV1 경로 (기본 /api/v1/caller/test-circuit-flow)
+ * --rate                초당 요청 수. 응답과 무관하게 이 간격으로 요청을 보낸다. (open-loop)
+ * --duration            부하 시간 (예: 60s, 2m)
+ * --request-timeout     요청 하나의 최대 대기 시간
+ * --actuator-url        서킷 상태를 읽어올 caller actuator 주소 (기본 http://localhost:9080/actuator)
+ * --poll-interval       서킷 상태 조회 간격
+ * --start-services      true 면 caller/callee bootJar 를 직접 띄운다.
+ * --caller-jar / --callee-jar / --out
+ */
+record LoadTestOptions(
+	URI target,
+	int rate,
+	Duration duration,
+	Duration requestTimeout,
+	URI actuator,
+	Duration pollInterval,
+	boolean startServices,
+	Path callerJar,
+	Path calleeJar,
+	Path outputDirectory
+) {
+
+	static LoadTestOptions parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			String option = arg.startsWith("--") ? arg.substring(2) : arg;
+			int separator = option.indexOf('=');
+			if (separator > 0) {
+				options.put(option.substring(0, separator), option.substring(separator + 1));
+			}
+		}
+
+		String callerUrl = options.getOrDefault("caller-url", "http://localhost:8080");
+		String path = options.getOrDefault("path", "/api/v1/caller/test-circuit-flow");
+		return new LoadTestOptions(
+			URI.create(callerUrl + path),
+			Integer.parseInt(options.getOrDefault("rate", "100")),
+			duration(options.getOrDefault("duration", "60s")),
+			duration(options.getOrDefault("request-timeout", "10s")),
+			URI.create(options.getOrDefault("actuator-url", "http://localhost:9080/actuator")),
+			duration(options.getOrDefault("poll-interval", "100ms")),
+			Boolean.parseBoolean(options.getOrDefault("start-services", "true")),
+			options.containsKey("caller-jar") ? Path.of(options.get("caller-jar")) : null,
+			options.containsKey("callee-jar") ? Path.of(options.get("callee-jar")) : null,
+			Path.of(options.getOrDefault("out", "build/loadtest"))
+		);
+	}
+
+	private static Duration duration(String value) {
+		String text = value.trim().toLowerCase();
+		if (text.endsWith("ms")) {
+			return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+		}
+		if (text.endsWith("s")) {
+			return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+		}
+		if (text.endsWith("m")) {
+			return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+		}
+		return Duration.ofSeconds(Long.parseLong(text));
+	}
+}
@@ -0,0 +1,95 @@
+package com.wisehero.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * 부하 결과 리포트
+ *
+ * - report.txt   : 요약(지연 백분위) + 초 단위 타임라인(처리량, 오류율, fallback 비율, 서킷 상태) + 상태 전환 목록
+ * - timeline.csv : 같은 타임라인을 그래프 도구에 바로 넣을 수 있는 CSV 로
+ * - latency.hgrm : 전체 지연 분포 (HdrHistogram percentile distribution, 단위 ms)
+ */
+final class LoadTestReport {
+
+	private LoadTestReport() {
+	}
+
+	static void write(Path directory, LoadTestOptions options, Histogram total, List<OpenLoopDriver.Second> timeline,
+		List<CircuitStatePoller.Transition> transitions) throws IOException {
+		Files.createDirectories(directory);
+
+		try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directory.resolve("latency.hgrm")))) {
+			total.outputPercentileDistribution(hgrm, 1_000.0);
+		}
+
+		try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(directory.resolve("timeline.csv")))) {
+			csv.println("second,sent,ok,fallback,error,errorRate,fallbackRate,p50Ms,p99Ms,maxMs,circuitStates");
+			for (OpenLoopDriver.Second second : timeline) {
+				long completed = second.ok() + second.fallback() + second.error();
+				csv.printf("%d,%d,%d,%d,%d,%.4f,%.4f,%.3f,%.3f,%.3f,%s%n",
+					second.second(), second.sent(), second.ok(), second.fallback(), second.error(),
+					ratio(second.error(), completed), ratio(second.fallback(), completed),
+					second.p50Millis(), second.p99Millis(), second.maxMillis(), states(second.states(), ";"));
+			}
+		}
+
+		try (PrintWriter report = new PrintWriter(Files.newBufferedWriter(directory.resolve("report.txt")))) {
+			long ok = timeline.stream().mapToLong(OpenLoopDriver.Second::ok).sum();
+			long fallback = timeline.stream().mapToLong(OpenLoopDriver.Second::fallback).sum();
+			long error = timeline.stream().mapToLong(OpenLoopDriver.Second::error).sum();
+			long completed = ok + fallback + error;
+
+			report.printf("target   : %s%n", options.target());
+			report.printf("rate     : %d req/s (open-loop), duration: %ds%n", options.rate(), options.duration().toSeconds());
+			report.printf("requests : %d (ok %d, fallback %d, error %d)%n", completed, ok, fallback, error);
+			report.printf("latency  : p50 %.1fms  p90 %.1fms  p99 %.1fms  p99.9 %.1fms  max %.1fms%n",
+				millis(total, 50), millis(total, 90), millis(total, 99), millis(total, 99.9),
+				total.getMaxValue() / 1_000.0);
+			report.println("           (coordinated omission 보정: 의도한 발송 시각 기준)");
+			report.println();
+
+			report.printf("%4s %7s %7s %8s %10s %9s %9s %9s  %s%n",
+				"sec", "sent", "done/s", "error%", "fallback%", "p50(ms)", "p99(ms)", "max(ms)", "circuit");
+			for (OpenLoopDriver.Second second : timeline) {
+				long done = second.ok() + second.fallback() + second.error();
+				report.printf("%4d %7d %7d %7.1f%% %9.1f%% %9.1f %9.1f %9.1f  %s%n",
+					second.second(), second.sent(), done,
+					ratio(second.error(), done) * 100, ratio(second.fallback(), done) * 100,
+					second.p50Millis(), second.p99Millis(), second.maxMillis(), states(second.states(), " "));
+			}
+
+			report.println();
+			report.println("circuit state transitions");
+			if (transitions.isEmpty()) {
+				report.println("  (none)");
+			}
+			for (CircuitStatePoller.Transition transition : transitions) {
+				report.printf("  +%6.1fs  %s  %s -> %s%n", transition.elapsedMillis() / 1_000.0,
+					transition.name(), transition.from(), transition.to());
+			}
+		}
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1_000.0;
+	}
+
+	private static double ratio(long part, long whole) {
+		return whole == 0 ? 0 : (double)part / whole;
+	}
+
+	private static String states(Map<String, String> states, String delimiter) {
+		return states.entrySet().stream()
+			.map(entry -> entry.getKey() + "=" + entry.getValue())
+			.collect(Collectors.joining(delimiter));
+	}
+}
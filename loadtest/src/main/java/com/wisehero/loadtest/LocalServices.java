@@ -0,0 +1,69 @@
+package com.wisehero.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * callee, caller bootJar 를 자식 프로세스로 띄우고 actuator health 가 UP 이 될 때까지 기다린다.
+ * 각 프로세스 로그는 출력 디렉터리의 {이름}.log 로 남긴다.
+ */
+final class LocalServices implements AutoCloseable {
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+	private final List<Process> processes = new ArrayList<>();
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+	void start(String name, Path jar, URI health, Path logDirectory) throws IOException, InterruptedException {
+		if (jar == null || Files.notExists(jar)) {
+			throw new IllegalArgumentException(name + " jar 를 찾을 수 없습니다: " + jar);
+		}
+		Path javaBin = Path.of(System.getProperty("java.home"), "bin", "java");
+		Process process = new ProcessBuilder(javaBin.toString(), "-jar", jar.toString())
+			.redirectErrorStream(true)
+			.redirectOutput(logDirectory.resolve(name + ".log").toFile())
+			.start();
+		processes.add(process);
+		awaitHealthy(name, process, health);
+	}
+
+	private void awaitHealthy(String name, Process process, URI health) throws InterruptedException {
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).GET().build();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException(name + " 프로세스가 시작 중에 종료되었습니다. 로그를 확인하세요.");
+			}
+			try {
+				HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+				if (response.statusCode() == 200 && response.body().contains("UP")) {
+					System.out.printf("[loadtest] %s 준비 완료%n", name);
+					return;
+				}
+			} catch (IOException ignored) {
+				// 아직 포트가 열리지 않음
+			}
+			Thread.sleep(500);
+		}
+		throw new IllegalStateException(name + " 가 " + STARTUP_TIMEOUT.toSeconds() + "초 안에 준비되지 않았습니다.");
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		for (Process process : processes.reversed()) {
+			process.destroy();
+			if (!process.waitFor(15, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.wisehero.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 응답을 기다리지 않고 정해진 간격으로 요청을 보내는 open-loop 부하 생성기
+ *
+ * 지연 시간은 "실제로 보낸 시각"이 아니라 "보냈어야 할 시각(intended start)"부터 잰다.
+ * 대상이 느려져 발송이 밀리면 그 밀린 시간까지 지연에 포함되므로
+ * coordinated omission 으로 지연 분포가 좋아 보이는 문제를 피할 수 있다.
+ *
+ * 1초마다 구간 히스토그램과 결과 수, 그 시점의 서킷 상태를 한 줄(Second)로 남긴다.
+ */
+final class OpenLoopDriver {
+
+	record Second(int second, long sent, long ok, long fallback, long error,
+				  double p50Millis, double p99Millis, double maxMillis, Map<String, String> states) {
+	}
+
+	private final HttpClient httpClient;
+	private final HttpRequest request;
+	private final CircuitStatePoller poller;
+
+	private final Recorder recorder = new Recorder(3);
+	private final Histogram total = new Histogram(3);
+	private final List<Second> timeline = new ArrayList<>();
+
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder ok = new LongAdder();
+	private final LongAdder fallback = new LongAdder();
+	private final LongAdder error = new LongAdder();
+	private final AtomicLong inFlight = new AtomicLong();
+
+	OpenLoopDriver(HttpClient httpClient, HttpRequest request, CircuitStatePoller poller) {
+		this.httpClient = httpClient;
+		this.request = request;
+		this.poller = poller;
+	}
+
+	void run(int rate, long durationNanos, long drainTimeoutNanos) throws InterruptedException {
+		long intervalNanos = 1_000_000_000L / Math.max(1, rate);
+		long start = System.nanoTime();
+		long end = start + durationNanos;
+
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(this::sample, 1, 1, TimeUnit.SECONDS);
+		try {
+			for (long i = 0; ; i++) {
+				long intendedStart = start + i * intervalNanos;
+				if (intendedStart >= end) {
+					break;
+				}
+				long wait = intendedStart - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				fire(intendedStart);
+			}
+
+			long drainDeadline = System.nanoTime() + drainTimeoutNanos;
+			while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+				Thread.sleep(50);
+			}
+		} finally {
+			sampler.shutdown();
+			sampler.awaitTermination(2, TimeUnit.SECONDS);
+			sample();
+		}
+	}
+
+	private void fire(long intendedStart) {
+		sent.increment();
+		inFlight.incrementAndGet();
+		httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+			.whenComplete((response, failure) -> {
+				recorder.recordValue((System.nanoTime() - intendedStart) / 1_000);
+				if (failure != null || response.statusCode() != 200) {
+					error.increment();
+				} else if (response.body().contains("Fallback:")) {
+					fallback.increment();
+				} else {
+					ok.increment();
+				}
+				inFlight.decrementAndGet();
+			});
+	}
+
+	// 1초 구간 통계. sampler 스레드에서만 호출된다. (마지막 한 번은 run 스레드에서 sampler 종료 후 호출)
+	private synchronized void sample() {
+		Histogram interval = recorder.getIntervalHistogram();
+		total.add(interval);
+		timeline.add(new Second(
+			timeline.size() + 1,
+			sent.sumThenReset(),
+			ok.sumThenReset(),
+			fallback.sumThenReset(),
+			error.sumThenReset(),
+			interval.getValueAtPercentile(50) / 1_000.0,
+			interval.getValueAtPercentile(99) / 1_000.0,
+			interval.getMaxValue() / 1_000.0,
+			poller.snapshot()
+		));
+	}
+
+	synchronized Histogram total() {
+		return total.copy();
+	}
+
+	synchronized List<Second> timeline() {
+		return List.copyOf(timeline);
+	}
+
+	static ExecutorService newClientExecutor() {
+		return Executors.newVirtualThreadPerTaskExecutor();
+	}
+}
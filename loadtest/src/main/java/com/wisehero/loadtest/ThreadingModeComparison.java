@@ -0,0 +1,187 @@
+package com.wisehero.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드 모드 비교용 부하 도구
+ *
+ * 같은 시점에 N개의 느린 호출(/test-slow)을 동시에 보내고 처리량과 지연 분포를 기록한다.
+ * 결과는 CSV 에 누적되고, 실행이 끝나면 지금까지 기록된 모드들을 동시 호출 수별로 나란히 출력한다.
+ *
+ * 실행 순서 예)
+ * 1. callee 를 가상 스레드로 띄운다. (callee 가 먼저 200 스레드에서 막히지 않도록, 요청 한도는 끈다)
+ *    ./gradlew :callee:bootRun -PvirtualThreads --args='--callee.rate-limit.enabled=false'
+ * 2. caller 를 플랫폼 스레드로 띄우고 측정
+ *    ./gradlew :caller:bootRun --args='--spring.profiles.active=threading-comparison'
+ *    ./gradlew :loadtest:compareThreadingModes -Plabel=platform
+ * 3. caller 를 가상 스레드로 다시 띄우고 측정
+ *    ./gradlew :caller:bootRun -PvirtualThreads --args='--spring.profiles.active=threading-comparison'
+ *    ./gradlew :loadtest:compareThreadingModes -Plabel=virtual
+ */
+public class ThreadingModeComparison {
+
+	private static final String HEADER =
+		"label,concurrency,wallMs,throughput,p50Ms,p95Ms,p99Ms,maxMs,ok,fallback,error";
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parse(args);
+		String label = options.getOrDefault("label", "platform");
+		URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080/api/v1/caller/test-slow"));
+		int[] levels = Arrays.stream(options.getOrDefault("concurrency", "1000,2000,5000,10000").split(","))
+			.mapToInt(level -> Integer.parseInt(level.trim()))
+			.toArray();
+		Path out = Path.of(options.getOrDefault("out", "build/threading-comparison.csv"));
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			HttpClient client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(10))
+				.executor(executor)
+				.build();
+
+			for (int concurrency : levels) {
+				String row = run(client, executor, uri, label, concurrency);
+				System.out.println(row);
+				append(out, row);
+			}
+		}
+
+		printSideBySide(out);
+	}
+
+	private static String run(HttpClient client, ExecutorService executor, URI uri, String label, int concurrency)
+		throws InterruptedException {
+		long[] latencies = new long[concurrency];
+		AtomicInteger ok = new AtomicInteger();
+		AtomicInteger fallback = new AtomicInteger();
+		AtomicInteger error = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(concurrency);
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+		for (int i = 0; i < concurrency; i++) {
+			int index = i;
+			executor.submit(() -> {
+				try {
+					start.await();
+					long begin = System.nanoTime();
+					HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+					latencies[index] = System.nanoTime() - begin;
+					if (response.statusCode() != 200) {
+						error.incrementAndGet();
+					} else if (response.body().contains("Fallback:")) {
+						fallback.incrementAndGet();
+					} else {
+						ok.incrementAndGet();
+					}
+				} catch (IOException | InterruptedException e) {
+					latencies[index] = Long.MAX_VALUE;
+					error.incrementAndGet();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		long begin = System.nanoTime();
+		start.countDown();
+		done.await();
+		long wallNanos = System.nanoTime() - begin;
+
+		long[] completed = Arrays.stream(latencies).filter(latency -> latency != Long.MAX_VALUE).sorted().toArray();
+		double throughput = concurrency / (wallNanos / 1_000_000_000.0);
+		return String.join(",",
+			label,
+			String.valueOf(concurrency),
+			String.valueOf(wallNanos / 1_000_000),
+			String.format("%.1f", throughput),
+			millis(percentile(completed, 0.50)),
+			millis(percentile(completed, 0.95)),
+			millis(percentile(completed, 0.99)),
+			millis(completed.length > 0 ? completed[completed.length - 1] : 0),
+			String.valueOf(ok.get()),
+			String.valueOf(fallback.get()),
+			String.valueOf(error.get()));
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int)Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	private static String millis(long nanos) {
+		return String.valueOf(nanos / 1_000_000);
+	}
+
+	private static void append(Path out, String row) throws IOException {
+		if (out.getParent() != null) {
+			Files.createDirectories(out.getParent());
+		}
+		if (Files.notExists(out)) {
+			Files.writeString(out, HEADER + System.lineSeparator());
+		}
+		Files.writeString(out, row + System.lineSeparator(), StandardOpenOption.APPEND);
+	}
+
+	// 같은 동시 호출 수의 결과를 모드별로 나란히 보여준다. (같은 label 이 여러 번 있으면 마지막 결과 사용)
+	private static void printSideBySide(Path out) throws IOException {
+		Map<Integer, Map<String, String[]>> byConcurrency = new TreeMap<>();
+		List<String> labels = new ArrayList<>();
+		for (String line : Files.readAllLines(out)) {
+			if (line.isBlank() || line.startsWith("label,")) {
+				continue;
+			}
+			String[] columns = line.split(",");
+			if (!labels.contains(columns[0])) {
+				labels.add(columns[0]);
+			}
+			byConcurrency.computeIfAbsent(Integer.parseInt(columns[1]), key -> new HashMap<>())
+				.put(columns[0], columns);
+		}
+
+		System.out.println();
+		System.out.printf("%-12s %-10s %10s %8s %8s %8s %8s %8s %8s%n",
+			"concurrency", "mode", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "ok", "fallback", "error");
+		byConcurrency.forEach((concurrency, rows) -> {
+			for (String label : labels) {
+				String[] row = rows.get(label);
+				if (row != null) {
+					System.out.printf("%-12d %-10s %10s %8s %8s %8s %8s %8s %8s%n",
+						concurrency, label, row[3], row[4], row[5], row[6], row[8], row[9], row[10]);
+				}
+			}
+		});
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			String option = arg.startsWith("--") ? arg.substring(2) : arg;
+			int separator = option.indexOf('=');
+			if (separator > 0) {
+				options.put(option.substring(0, separator), option.substring(separator + 1));
+			}
+		}
+		return options;
+	}
+}
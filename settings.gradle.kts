@@ -1,3 +1,3 @@
 rootProject.name = "spring-resilience-practice"
 
-include(":caller", ":callee")
\ No newline at end of file
+include(":common", ":caller", ":callee", ":benchmarks", ":loadtest")
\ No newline at end of file